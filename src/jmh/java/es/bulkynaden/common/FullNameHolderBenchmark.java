@@ -0,0 +1,70 @@
+package es.bulkynaden.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link IFullNameHolder#getFullName()} default method for every combination of
+ * present and missing first and last names.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FullNameHolderBenchmark {
+
+    @Param({"full", "firstNameOnly", "lastNameOnly", "empty"})
+    private String names;
+
+    private Person person;
+
+    @Setup
+    public void setUp() {
+        person = new Person();
+        person.setFirstName(names.equals("full") || names.equals("firstNameOnly") ? "Javier" : null);
+        person.setLastName(names.equals("full") || names.equals("lastNameOnly") ? "Tomás Acín" : null);
+    }
+
+    @Benchmark
+    public String getFullName() {
+        return person.getFullName();
+    }
+
+    private static final class Person implements IFullNameHolder {
+        private String firstName;
+        private String lastName;
+
+        @Override
+        public String getFirstName() {
+            return firstName;
+        }
+
+        @Override
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        @Override
+        public String getLastName() {
+            return lastName;
+        }
+
+        @Override
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+    }
+}
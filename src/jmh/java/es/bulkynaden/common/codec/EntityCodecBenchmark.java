@@ -0,0 +1,200 @@
+package es.bulkynaden.common.codec;
+
+import es.bulkynaden.common.File;
+import es.bulkynaden.common.IFile;
+import es.bulkynaden.common.IFileCollectionHolder;
+import es.bulkynaden.common.IUser;
+import es.bulkynaden.common.geo.City;
+import es.bulkynaden.common.geo.GeoLocation;
+import es.bulkynaden.common.geo.GeographicCoordinates;
+import es.bulkynaden.common.geo.IGeoLocation;
+import es.bulkynaden.common.geo.IGeoLocationHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding users with a location in one of a few cities and a couple of small files,
+ * one of them shared by every user, with {@link EntityCodec}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EntityCodecBenchmark {
+    private static final String[] CITIES = {"Madrid", "Barcelona", "Valencia", "Sevilla", "Zaragoza"};
+
+    private final EntityCodec codec = EntityCodec.withDefaults(User::new);
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<IUser> users;
+    private ByteBuffer encoded;
+    private ByteBuffer target;
+
+    @Setup
+    public void setUp() {
+        List<City> cities = new ArrayList<>();
+        for (String name : CITIES) {
+            City city = new City();
+            city.setName(name);
+            cities.add(city);
+        }
+
+        File shared = file("terms.txt", 512);
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            GeographicCoordinates coordinates = new GeographicCoordinates();
+            coordinates.setLatitude(36 + i % 8);
+            coordinates.setLongitude(-9 + i % 12);
+            coordinates.setAltitude(i % 1000);
+
+            GeoLocation geoLocation = new GeoLocation();
+            geoLocation.setAddress("Calle Mayor " + i);
+            geoLocation.setCity(cities.get(i % cities.size()));
+            geoLocation.setCoordinates(coordinates);
+
+            User user = new User();
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setUserName("user" + i);
+            user.setGeoLocation(geoLocation);
+            user.addFile(shared);
+            user.addFile(file("avatar" + i + ".png", 256));
+            users.add(user);
+        }
+
+        encoded = codec.encodeUsers(users);
+        target = ByteBuffer.allocateDirect(encoded.remaining());
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        return codec.encodeUsers(users);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeToDirectBuffer() {
+        EntityWriter writer = codec.newWriter(target);
+        writer.getOutput().writeVarInt(users.size());
+        for (IUser user : users) {
+            writer.writeUser(user);
+        }
+        return writer.toByteBuffer();
+    }
+
+    @Benchmark
+    public List<IUser> decode() {
+        return codec.decodeUsers(encoded);
+    }
+
+    private static File file(String name, int size) {
+        File file = new File();
+        file.setName(name);
+        file.setType(name.endsWith(".png") ? "image/png" : "text/plain");
+        file.setData(new byte[size]);
+        file.setSize(size);
+        return file;
+    }
+
+    static class User implements IUser, IGeoLocationHolder, IFileCollectionHolder {
+        private final List<IFile> files = new ArrayList<>();
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String userName;
+        private IGeoLocation geoLocation;
+
+        @Override
+        public String getFirstName() {
+            return firstName;
+        }
+
+        @Override
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        @Override
+        public String getLastName() {
+            return lastName;
+        }
+
+        @Override
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+
+        @Override
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        @Override
+        public String getUserName() {
+            return userName;
+        }
+
+        @Override
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+        @Override
+        public String getPassword() {
+            return null;
+        }
+
+        @Override
+        public void setPassword() {
+        }
+
+        @Override
+        public IGeoLocation getGeoLocation() {
+            return geoLocation;
+        }
+
+        @Override
+        public void setGeoLocation(IGeoLocation geoLocation) {
+            this.geoLocation = geoLocation;
+        }
+
+        @Override
+        public Collection<IFile> getFiles() {
+            return files;
+        }
+
+        @Override
+        public void addFile(IFile file) {
+            files.add(file);
+        }
+
+        @Override
+        public void removeFile(IFile file) {
+            files.remove(file);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package es.bulkynaden.common.file;
+
+import es.bulkynaden.common.File;
+import es.bulkynaden.common.IFile;
+import es.bulkynaden.common.IFileCollectionHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures {@link BlobStore#deduplicate(IFileCollectionHolder)} over a collection of files drawn from a few
+ * distinct payloads, as with logos and templates attached many times, and the cost of a single
+ * {@link BlobStore#put(byte[])} of content already in the store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BlobStoreBenchmark {
+
+    @Param({"1000"})
+    private int files;
+
+    @Param({"10"})
+    private int distinctPayloads;
+
+    @Param({"65536"})
+    private int payloadSize;
+
+    private byte[][] payloads;
+    private Path root;
+    private BlobStore store;
+    private Holder holder;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        Random random = new Random(42);
+        payloads = new byte[distinctPayloads][payloadSize];
+        for (byte[] payload : payloads) {
+            random.nextBytes(payload);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws IOException {
+        root = Files.createTempDirectory("blobs");
+        store = new BlobStore(root);
+        store.put(payloads[0]);
+
+        holder = new Holder();
+        for (int i = 0; i < files; i++) {
+            File file = new File();
+            file.setName("file-" + i);
+            file.setData(payloads[i % distinctPayloads]);
+            file.setSize(payloadSize);
+            holder.addFile(file);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public int deduplicate() throws IOException {
+        store.deduplicate(holder);
+        return store.getBlobCount();
+    }
+
+    @Benchmark
+    public Blob putExisting() throws IOException {
+        return store.put(payloads[0]);
+    }
+
+    static final class Holder implements IFileCollectionHolder {
+        private final List<IFile> files = new ArrayList<>();
+
+        @Override
+        public Collection<IFile> getFiles() {
+            return files;
+        }
+
+        @Override
+        public void addFile(IFile file) {
+            files.add(file);
+        }
+
+        @Override
+        public void removeFile(IFile file) {
+            files.remove(file);
+        }
+    }
+}
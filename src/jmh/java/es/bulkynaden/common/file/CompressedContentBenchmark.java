@@ -0,0 +1,68 @@
+package es.bulkynaden.common.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Measures compressing a CSV-like payload with {@link DeflateCodec} at the fastest and default levels, and
+ * streaming it back through {@link CompressedContent}, compared with streaming the raw payload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CompressedContentBenchmark {
+
+    @Param({"1", "-1"})
+    private int level;
+
+    @Param({"100000"})
+    private int rows;
+
+    private IFileContent raw;
+    private IContentCodec codec;
+    private CompressedContent compressed;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(",Calle Mayor ").append(i % 200).append(",Madrid,Spain\n");
+        }
+        raw = FileContents.of(csv.toString().getBytes(StandardCharsets.UTF_8));
+        codec = new DeflateCodec(level == -1 ? Deflater.DEFAULT_COMPRESSION : level);
+        compressed = CompressedContent.compress(raw, codec);
+    }
+
+    @Benchmark
+    public CompressedContent compress() throws IOException {
+        return CompressedContent.compress(raw, codec);
+    }
+
+    @Benchmark
+    public long streamCompressed() throws IOException {
+        return compressed.transferTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long streamRaw() throws IOException {
+        return raw.transferTo(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,57 @@
+package es.bulkynaden.common.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ContentTypeDetector} on headers matching a plain signature, a signature with skipped bytes,
+ * and no signature at all, both from an array and through an {@link IFileContent}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ContentTypeDetectorBenchmark {
+
+    @Param({"png", "webp", "text"})
+    private String kind;
+
+    private byte[] header;
+    private IFileContent content;
+
+    @Setup
+    public void setUp() {
+        header = switch (kind) {
+            case "png" -> new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D, 'I', 'H', 'D', 'R'};
+            case "webp" -> "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.ISO_8859_1);
+            case "text" -> "id,name,city\n1,".getBytes(StandardCharsets.ISO_8859_1);
+            default -> throw new IllegalArgumentException(kind);
+        };
+        content = FileContents.of(header);
+    }
+
+    @Benchmark
+    public String detectArray() {
+        return ContentTypeDetector.detect(header, 0, header.length);
+    }
+
+    @Benchmark
+    public String detectContent() throws IOException {
+        return ContentTypeDetector.detect(content);
+    }
+}
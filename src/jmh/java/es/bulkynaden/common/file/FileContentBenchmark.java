@@ -0,0 +1,97 @@
+package es.bulkynaden.common.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares copying an {@link IFileContent} into a heap array with streaming it to a channel and to a stream,
+ * for heap, file and memory-mapped backings. The channel target is a file channel, so the file backing can
+ * use {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FileContentBenchmark {
+
+    @Param({"heap", "path", "mapped"})
+    private String backing;
+
+    @Param({"1048576", "67108864"})
+    private int size;
+
+    private Path source;
+    private Path target;
+    private IFileContent content;
+    private FileChannel targetChannel;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+
+        source = Files.createTempFile("content", ".bin");
+        Files.write(source, data);
+        target = Files.createTempFile("content", ".out");
+        targetChannel = FileChannel.open(target, StandardOpenOption.WRITE);
+
+        content = switch (backing) {
+            case "heap" -> FileContents.of(data);
+            case "path" -> FileContents.of(source);
+            case "mapped" -> FileContents.map(source);
+            default -> throw new IllegalArgumentException(backing);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        targetChannel.close();
+        Files.deleteIfExists(source);
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public byte[] toByteArray() throws IOException {
+        return content.toByteArray();
+    }
+
+    @Benchmark
+    public long transferToChannel() throws IOException {
+        targetChannel.position(0);
+        return content.transferTo(targetChannel);
+    }
+
+    @Benchmark
+    public long transferToStream() throws IOException {
+        return content.transferTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public int readHeader() throws IOException {
+        return content.read(ByteBuffer.allocate(16), 0);
+    }
+}
@@ -0,0 +1,73 @@
+package es.bulkynaden.common.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link FileIntegrity#compute(IFileContent, int, ForkJoinPool)} on one thread and on all available
+ * processors with a plain sequential SHA-256 of the same content.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FileIntegrityBenchmark {
+
+    @Param({"67108864", "268435456"})
+    private int size;
+
+    private byte[] data;
+    private IFileContent content;
+    private ForkJoinPool singleThread;
+    private ForkJoinPool allProcessors;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new byte[size];
+        new Random(42).nextBytes(data);
+        content = FileContents.of(data);
+        singleThread = new ForkJoinPool(1);
+        allProcessors = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        singleThread.shutdown();
+        allProcessors.shutdown();
+    }
+
+    @Benchmark
+    public FileChecksum chunkedSingleThread() throws IOException {
+        return FileIntegrity.compute(content, FileIntegrity.DEFAULT_CHUNK_SIZE, singleThread);
+    }
+
+    @Benchmark
+    public FileChecksum chunkedParallel() throws IOException {
+        return FileIntegrity.compute(content, FileIntegrity.DEFAULT_CHUNK_SIZE, allProcessors);
+    }
+
+    @Benchmark
+    public byte[] sequentialSha256() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(data);
+    }
+}
@@ -0,0 +1,71 @@
+package es.bulkynaden.common.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures listing the metadata of many {@link LazyFile} instances, and reading their payloads through a
+ * {@link PayloadCache} large enough for all of them or for only a tenth of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LazyFileBenchmark {
+
+    @Param({"10000"})
+    private int files;
+
+    @Param({"4096"})
+    private int payloadSize;
+
+    @Param({"1.0", "0.1"})
+    private double cachedFraction;
+
+    private LazyFile[] lazyFiles;
+
+    @Setup
+    public void setUp() {
+        PayloadCache cache = new PayloadCache((long) (files * cachedFraction) * payloadSize);
+        IPayloadLoader loader = key -> new byte[payloadSize];
+
+        lazyFiles = new LazyFile[files];
+        for (int i = 0; i < files; i++) {
+            LazyFile file = new LazyFile("file-" + i, loader, cache);
+            file.setName("file-" + i + ".bin");
+            file.setSize(payloadSize);
+            file.setType("application/octet-stream");
+            lazyFiles[i] = file;
+        }
+    }
+
+    @Benchmark
+    public void listMetadata(Blackhole blackhole) {
+        for (LazyFile file : lazyFiles) {
+            blackhole.consume(file.getName());
+            blackhole.consume(file.getSize());
+            blackhole.consume(file.getType());
+        }
+    }
+
+    @Benchmark
+    public void readPayloads(Blackhole blackhole) {
+        for (LazyFile file : lazyFiles) {
+            blackhole.consume(file.getData());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package es.bulkynaden.common.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GeoLocation#toString()} and {@link IGeoLocation#appendTo(StringBuilder)} into a reused
+ * buffer, for locations with and without an address and a city.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GeoLocationBenchmark {
+
+    @Param({"full", "addressOnly", "cityOnly", "blank"})
+    private String fields;
+
+    private GeoLocation geoLocation;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() {
+        City city = new City();
+        city.setName(fields.equals("full") || fields.equals("cityOnly") ? "Madrid" : " ");
+
+        geoLocation = new GeoLocation();
+        geoLocation.setAddress(fields.equals("full") || fields.equals("addressOnly") ? "Calle Mayor 1" : null);
+        geoLocation.setCity(city);
+
+        buffer = new StringBuilder(64);
+    }
+
+    @Benchmark
+    public String toStringBenchmark() {
+        return geoLocation.toString();
+    }
+
+    @Benchmark
+    public int appendTo() {
+        buffer.setLength(0);
+        return geoLocation.appendTo(buffer).length();
+    }
+}
\ No newline at end of file
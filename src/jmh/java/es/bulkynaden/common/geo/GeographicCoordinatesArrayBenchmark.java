@@ -0,0 +1,81 @@
+package es.bulkynaden.common.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scanning a {@code List} of {@link GeographicCoordinates} objects with scanning a
+ * {@link GeographicCoordinatesArray}, both through a reused view and through its backing arrays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GeographicCoordinatesArrayBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private List<IGeographicCoordinates> objects;
+    private GeographicCoordinatesArray array;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        objects = new ArrayList<>(size);
+        array = new GeographicCoordinatesArray(size);
+
+        for (int i = 0; i < size; i++) {
+            GeographicCoordinates coordinates = new GeographicCoordinates();
+            coordinates.setLatitude(random.nextDouble(-90, 90));
+            coordinates.setLongitude(random.nextDouble(-180, 180));
+            objects.add(coordinates);
+            array.add(coordinates);
+        }
+    }
+
+    @Benchmark
+    public double sumLatitudesOfObjects() {
+        double sum = 0;
+        for (IGeographicCoordinates coordinates : objects) {
+            sum += coordinates.getLatitude();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumLatitudesThroughView() {
+        double sum = 0;
+        GeographicCoordinatesArray.View view = array.newView();
+        for (int i = 0; i < array.size(); i++) {
+            sum += view.setIndex(i).getLatitude();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumLatitudesOfBackingArray() {
+        double sum = 0;
+        double[] latitudes = array.getLatitudes();
+        for (int i = 0; i < array.size(); i++) {
+            sum += latitudes[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,77 @@
+package es.bulkynaden.common.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sequential scans and random reads over a {@link MappedGeographicCoordinatesStore},
+ * as well as reopening an existing store file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MappedGeographicCoordinatesStoreBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private Path path;
+    private MappedGeographicCoordinatesStore store;
+    private double[] sum;
+
+    @Setup
+    public void setUp() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        path = Files.createTempFile("coordinates", ".geo");
+        store = MappedGeographicCoordinatesStore.create(path, size);
+
+        for (int i = 0; i < size; i++) {
+            store.add(random.nextDouble(-90, 90), random.nextDouble(-180, 180), 0);
+        }
+        sum = new double[1];
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public double scan() {
+        sum[0] = 0;
+        store.forEach((index, latitude, longitude, altitude) -> sum[0] += latitude);
+        return sum[0];
+    }
+
+    @Benchmark
+    public double randomRead() {
+        return store.getLatitude(ThreadLocalRandom.current().nextLong(size));
+    }
+
+    @Benchmark
+    public long reopen() throws IOException {
+        try (MappedGeographicCoordinatesStore reopened = MappedGeographicCoordinatesStore.open(path, false)) {
+            return reopened.size();
+        }
+    }
+}
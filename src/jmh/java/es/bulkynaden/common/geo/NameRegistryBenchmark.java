@@ -0,0 +1,79 @@
+package es.bulkynaden.common.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link NameRegistry#intern(es.bulkynaden.common.INameHolder)} on already registered names, from
+ * one and from several threads sharing the registry, and the cost of {@link NameRegistry#normalize(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NameRegistryBenchmark {
+
+    @Param({"100", "10000"})
+    private int distinctNames;
+
+    private NameRegistry<ICity> registry;
+    private ICity[] canonical;
+    private ICity[] duplicates;
+
+    @Setup
+    public void setUp() {
+        registry = new NameRegistry<>();
+        canonical = new ICity[distinctNames];
+        duplicates = new ICity[distinctNames];
+        for (int i = 0; i < distinctNames; i++) {
+            City city = new City();
+            city.setName("City " + i);
+            canonical[i] = registry.intern(city);
+
+            City duplicate = new City();
+            duplicate.setName("City " + i);
+            duplicates[i] = duplicate;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Benchmark
+    public ICity intern(Cursor cursor) {
+        return registry.intern(duplicates[advance(cursor)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ICity internContended(Cursor cursor) {
+        return registry.intern(duplicates[advance(cursor)]);
+    }
+
+    @Benchmark
+    public String normalize(Cursor cursor) {
+        return NameRegistry.normalize(duplicates[advance(cursor)].getName());
+    }
+
+    private int advance(Cursor cursor) {
+        int index = cursor.next;
+        cursor.next = index + 1 == distinctNames ? 0 : index + 1;
+        return index;
+    }
+}
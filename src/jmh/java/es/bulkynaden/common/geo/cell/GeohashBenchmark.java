@@ -0,0 +1,70 @@
+package es.bulkynaden.common.geo.cell;
+
+import es.bulkynaden.common.geo.GeoLocation;
+import es.bulkynaden.common.geo.GeographicCoordinates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Geohash} and {@link HilbertCell} encoding, and radius queries answered by a
+ * {@link GeohashIndex} of one million locations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GeohashBenchmark {
+    private static final int SIZE = 1_000_000;
+
+    private GeohashIndex<GeoLocation> index;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<GeoLocation> locations = new ArrayList<>(SIZE);
+
+        for (int i = 0; i < SIZE; i++) {
+            GeographicCoordinates coordinates = new GeographicCoordinates();
+            coordinates.setLatitude(random.nextDouble(36, 44));
+            coordinates.setLongitude(random.nextDouble(-9, 3));
+
+            GeoLocation location = new GeoLocation();
+            location.setCoordinates(coordinates);
+            locations.add(location);
+        }
+        index = GeohashIndex.of(locations);
+    }
+
+    @Benchmark
+    public long encodeGeohash() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Geohash.encode(random.nextDouble(-90, 90), random.nextDouble(-180, 180), Geohash.MAX_BITS);
+    }
+
+    @Benchmark
+    public long encodeHilbertCell() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HilbertCell.encode(random.nextDouble(-90, 90), random.nextDouble(-180, 180), HilbertCell.MAX_LEVEL);
+    }
+
+    @Benchmark
+    public List<GeoLocation> findWithinRadius() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.findWithinRadius(random.nextDouble(36, 44), random.nextDouble(-9, 3), 10_000);
+    }
+}
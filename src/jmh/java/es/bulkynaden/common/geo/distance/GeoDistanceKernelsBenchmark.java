@@ -0,0 +1,93 @@
+package es.bulkynaden.common.geo.distance;
+
+import es.bulkynaden.common.geo.GeographicCoordinates;
+import es.bulkynaden.common.geo.GeographicCoordinatesArray;
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a nearest-point lookup done with {@link GeoDistance#haversine(IGeographicCoordinates, IGeographicCoordinates)}
+ * over a list of objects with the primitive-array kernels of {@link GeoDistanceKernels}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GeoDistanceKernelsBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private GeographicCoordinates origin;
+    private List<IGeographicCoordinates> objects;
+    private GeographicCoordinatesArray points;
+    private double[] distances;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        origin = new GeographicCoordinates();
+        origin.setLatitude(40.4168);
+        origin.setLongitude(-3.7038);
+        objects = new ArrayList<>(size);
+        points = new GeographicCoordinatesArray(size);
+        distances = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            GeographicCoordinates coordinates = new GeographicCoordinates();
+            coordinates.setLatitude(random.nextDouble(36, 44));
+            coordinates.setLongitude(random.nextDouble(-9, 3));
+            objects.add(coordinates);
+            points.add(coordinates);
+        }
+    }
+
+    @Benchmark
+    public IGeographicCoordinates nearestOverObjects() {
+        IGeographicCoordinates nearest = null;
+        double best = Double.POSITIVE_INFINITY;
+        for (IGeographicCoordinates candidate : objects) {
+            double distance = GeoDistance.haversine(origin, candidate);
+            if (distance < best) {
+                best = distance;
+                nearest = candidate;
+            }
+        }
+        return nearest;
+    }
+
+    @Benchmark
+    public int nearestKernel() {
+        return GeoDistanceKernels.nearest(origin.getLatitude(), origin.getLongitude(), points);
+    }
+
+    @Benchmark
+    public double[] haversineKernel() {
+        GeoDistanceKernels.haversine(origin.getLatitude(), origin.getLongitude(), points, distances);
+        return distances;
+    }
+
+    @Benchmark
+    public double[] equirectangularKernel() {
+        GeoDistanceKernels.equirectangular(origin.getLatitude(), origin.getLongitude(),
+                points.getLatitudes(), points.getLongitudes(), distances, size);
+        return distances;
+    }
+}
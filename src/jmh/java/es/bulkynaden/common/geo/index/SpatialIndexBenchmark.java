@@ -0,0 +1,96 @@
+package es.bulkynaden.common.geo.index;
+
+import es.bulkynaden.common.geo.GeoLocation;
+import es.bulkynaden.common.geo.GeographicCoordinates;
+import es.bulkynaden.common.geo.distance.GeoDistance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares radius and k-nearest queries answered by {@link KdTree} and {@link PackedRTree} with a
+ * linear scan over the locations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SpatialIndexBenchmark {
+    private static final double RADIUS_METERS = 10_000;
+    private static final int K = 10;
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"KdTree", "PackedRTree"})
+    private String index;
+
+    private List<GeoLocation> locations;
+    private ISpatialIndex<GeoLocation> spatialIndex;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        locations = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            GeographicCoordinates coordinates = new GeographicCoordinates();
+            coordinates.setLatitude(random.nextDouble(36, 44));
+            coordinates.setLongitude(random.nextDouble(-9, 3));
+
+            GeoLocation location = new GeoLocation();
+            location.setCoordinates(coordinates);
+            locations.add(location);
+        }
+
+        spatialIndex = index.equals("KdTree") ? KdTree.of(locations) : PackedRTree.of(locations);
+    }
+
+    @Benchmark
+    public List<GeoLocation> withinRadius() {
+        return spatialIndex.findWithinRadius(randomLatitude(), randomLongitude(), RADIUS_METERS);
+    }
+
+    @Benchmark
+    public List<GeoLocation> nearest() {
+        return spatialIndex.findNearest(randomLatitude(), randomLongitude(), K);
+    }
+
+    @Benchmark
+    public List<GeoLocation> withinRadiusLinearScan() {
+        double latitude = randomLatitude();
+        double longitude = randomLongitude();
+        List<GeoLocation> result = new ArrayList<>();
+
+        for (GeoLocation location : locations) {
+            GeographicCoordinates coordinates = (GeographicCoordinates) location.getCoordinates();
+            if (GeoDistance.haversine(latitude, longitude, coordinates.getLatitude(), coordinates.getLongitude()) <= RADIUS_METERS) {
+                result.add(location);
+            }
+        }
+        return result;
+    }
+
+    private static double randomLatitude() {
+        return ThreadLocalRandom.current().nextDouble(36, 44);
+    }
+
+    private static double randomLongitude() {
+        return ThreadLocalRandom.current().nextDouble(-9, 3);
+    }
+}
@@ -0,0 +1,128 @@
+package es.bulkynaden.common.geo.loader;
+
+import es.bulkynaden.common.geo.City;
+import es.bulkynaden.common.geo.IAutonomousCommunity;
+import es.bulkynaden.common.geo.ICity;
+import es.bulkynaden.common.geo.ICountry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GazetteerLoader#load(Path)} over a generated GeoNames-style TSV file with a few countries,
+ * a few hundred autonomous communities and many cities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GazetteerLoaderBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private Path file;
+    private GazetteerLoader loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("gazetteer", ".tsv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                int country = i % 5;
+                int community = i % 250;
+                writer.write("Country " + country + "\tCommunity " + country + '-' + community + "\tCity " + (i % 50_000) + '\n');
+            }
+        }
+
+        loader = new GazetteerLoader(Country::new, AutonomousCommunity::new, City::new,
+                (autonomousCommunity, city) -> ((AutonomousCommunity) autonomousCommunity).cities.add(city));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public GazetteerLoadResult load() throws IOException {
+        return loader.load(file);
+    }
+
+    static final class Country implements ICountry {
+        private final List<IAutonomousCommunity> autonomousCommunities = new ArrayList<>();
+        private String name;
+        private ICity capital;
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public ICity getCapital() {
+            return capital;
+        }
+
+        @Override
+        public void setCapital(ICity city) {
+            this.capital = city;
+        }
+
+        @Override
+        public Collection<IAutonomousCommunity> getAutonomousCommunities() {
+            return autonomousCommunities;
+        }
+
+        @Override
+        public void addAutonomousCommunity(IAutonomousCommunity autonomousCommunity) {
+            autonomousCommunities.add(autonomousCommunity);
+        }
+
+        @Override
+        public void removeAutonomousCommunity(IAutonomousCommunity autonomousCommunity) {
+            autonomousCommunities.remove(autonomousCommunity);
+        }
+    }
+
+    static final class AutonomousCommunity implements IAutonomousCommunity {
+        private final List<ICity> cities = new ArrayList<>();
+        private String name;
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
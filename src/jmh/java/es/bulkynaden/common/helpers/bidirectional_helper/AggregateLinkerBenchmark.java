@@ -0,0 +1,86 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures moving every child of a set of parents to the parent next to it, sequentially through
+ * {@link BidirectionalHelper#linkAllOneToMany} once per parent, against a single parallel
+ * {@link AggregateLinker#reattachAllOneToMany} call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AggregateLinkerBenchmark {
+    private static final int PARENTS = 64;
+
+    private final AggregateLinker aggregateLinker = new AggregateLinker();
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private Parent[] parents;
+    private List<Child> children;
+    private Map<Parent, Parent> nextParents;
+
+    @Setup
+    public void setUp() {
+        parents = new Parent[PARENTS];
+        nextParents = new IdentityHashMap<>(PARENTS);
+        for (int i = 0; i < PARENTS; i++) {
+            parents[i] = new Parent(BenchmarkEntities.HASH_SET);
+        }
+        for (int i = 0; i < PARENTS; i++) {
+            nextParents.put(parents[i], parents[(i + 1) % PARENTS]);
+        }
+
+        Child[] all = new Child[size];
+        for (int i = 0; i < size; i++) {
+            all[i] = new Child(BenchmarkEntities.HASH_SET);
+            BidirectionalHelper.linkOneToMany(parents[i % PARENTS], all[i], Parent::addChild, Parent::removeChild,
+                    Child::getParent, Child::setParent);
+        }
+        children = Arrays.asList(all);
+    }
+
+    @Benchmark
+    public Parent sequential() {
+        List<List<Child>> batches = new ArrayList<>(PARENTS);
+        for (Parent parent : parents) {
+            batches.add(new ArrayList<>(parent.children));
+        }
+        for (int i = 0; i < PARENTS; i++) {
+            BidirectionalHelper.linkAllOneToMany(nextParents.get(parents[i]), batches.get(i), Parent::addChildren,
+                    Parent::removeChildren, Child::getParent, Child::setParent);
+        }
+        return children.get(0).parent;
+    }
+
+    @Benchmark
+    public Parent parallel() {
+        aggregateLinker.reattachAllOneToMany(children, child -> nextParents.get(child.parent), Parent::addChildren,
+                Parent::removeChildren, Child::getParent, Child::setParent);
+        return children.get(0).parent;
+    }
+}
@@ -0,0 +1,107 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Minimal entities wired together by the linker benchmarks. Their collections are created through
+ * {@link #newCollection(String)} so every benchmark can be run against {@code HashSet},
+ * {@code ArrayList} and {@code LinkedHashSet} backed relationships.
+ */
+final class BenchmarkEntities {
+    static final String HASH_SET = "HashSet";
+    static final String ARRAY_LIST = "ArrayList";
+    static final String LINKED_HASH_SET = "LinkedHashSet";
+
+    private BenchmarkEntities() {
+    }
+
+    static <E> Collection<E> newCollection(String collectionType) {
+        return switch (collectionType) {
+            case HASH_SET -> new HashSet<>();
+            case ARRAY_LIST -> new ArrayList<>();
+            case LINKED_HASH_SET -> new LinkedHashSet<>();
+            default -> throw new IllegalArgumentException("Unknown collection type: " + collectionType);
+        };
+    }
+
+    /**
+     * Removes a batch from a collection, turning the batch into a set first so that list-backed
+     * collections do not degrade into a quadratic {@code removeAll}.
+     */
+    static <E> void removeAll(Collection<E> collection, Collection<E> batch) {
+        collection.removeAll(batch instanceof Set ? batch : new HashSet<>(batch));
+    }
+
+    static final class Parent {
+        final Collection<Child> children;
+
+        Parent(String collectionType) {
+            this.children = newCollection(collectionType);
+        }
+
+        void addChild(Child child) {
+            children.add(child);
+        }
+
+        void removeChild(Child child) {
+            children.remove(child);
+        }
+
+        void addChildren(Collection<Child> batch) {
+            children.addAll(batch);
+        }
+
+        void removeChildren(Collection<Child> batch) {
+            removeAll(children, batch);
+        }
+    }
+
+    static final class Child {
+        final Collection<Parent> parents;
+        Parent parent;
+
+        Child(String collectionType) {
+            this.parents = newCollection(collectionType);
+        }
+
+        Parent getParent() {
+            return parent;
+        }
+
+        void setParent(Parent parent) {
+            this.parent = parent;
+        }
+
+        void addParent(Parent parent) {
+            parents.add(parent);
+        }
+
+        void removeParent(Parent parent) {
+            parents.remove(parent);
+        }
+
+        void addParents(Collection<Parent> batch) {
+            parents.addAll(batch);
+        }
+
+        void removeParents(Collection<Parent> batch) {
+            removeAll(parents, batch);
+        }
+    }
+
+    static final class Partner {
+        Partner partner;
+
+        Partner getPartner() {
+            return partner;
+        }
+
+        void setPartner(Partner partner) {
+            this.partner = partner;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures four threads moving random children between random parents, guarded either by one global lock
+ * around {@link OneToManyLinker} or by the striped locks of {@link ConcurrentOneToManyLinker}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class ConcurrentLinkerBenchmark {
+    private final OneToManyLinker linker = new OneToManyLinker();
+    private final ConcurrentOneToManyLinker concurrentLinker = new ConcurrentOneToManyLinker();
+    private final Object globalLock = new Object();
+
+    @Param({"1024"})
+    private int parents;
+
+    @Param({"100000"})
+    private int children;
+
+    private Parent[] parentEntities;
+    private Child[] childEntities;
+
+    @Setup
+    public void setUp() {
+        parentEntities = new Parent[parents];
+        for (int i = 0; i < parents; i++) {
+            parentEntities[i] = new Parent(BenchmarkEntities.HASH_SET);
+        }
+
+        childEntities = new Child[children];
+        for (int i = 0; i < children; i++) {
+            childEntities[i] = new Child(BenchmarkEntities.HASH_SET);
+            linker.link(parentEntities[i % parents], childEntities[i], Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public Parent globalLock(ThreadRandom threadRandom) {
+        Parent parent = parentEntities[threadRandom.random.nextInt(parents)];
+        Child child = childEntities[threadRandom.random.nextInt(children)];
+
+        synchronized (globalLock) {
+            linker.link(parent, child, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+        }
+        return parent;
+    }
+
+    @Benchmark
+    public Parent striped(ThreadRandom threadRandom) {
+        Parent parent = parentEntities[threadRandom.random.nextInt(parents)];
+        Child child = childEntities[threadRandom.random.nextInt(children)];
+
+        concurrentLinker.link(parent, child, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+        return parent;
+    }
+}
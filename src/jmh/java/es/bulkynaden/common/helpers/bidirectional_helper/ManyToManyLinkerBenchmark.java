@@ -0,0 +1,75 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ManyToManyLinker} linking and unlinking an extra child against a parent that
+ * already holds {@code size} children, and linking/unlinking a whole batch against a second parent.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ManyToManyLinkerBenchmark {
+    private final ManyToManyLinker linker = new ManyToManyLinker();
+
+    @Param({BenchmarkEntities.HASH_SET, BenchmarkEntities.ARRAY_LIST, BenchmarkEntities.LINKED_HASH_SET})
+    private String collectionType;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private Parent parent;
+    private Parent otherParent;
+    private Child extraChild;
+    private List<Parent> otherParents;
+    private List<Child> batch;
+
+    @Setup
+    public void setUp() {
+        parent = new Parent(collectionType);
+        otherParent = new Parent(collectionType);
+        extraChild = new Child(collectionType);
+        Child[] children = new Child[size];
+
+        for (int i = 0; i < size; i++) {
+            children[i] = new Child(collectionType);
+            linker.link(parent, children[i], Parent::addChild, Child::addParent);
+        }
+
+        otherParents = List.of(otherParent);
+        batch = Arrays.asList(children);
+    }
+
+    @Benchmark
+    public int linkAndUnlink() {
+        linker.link(parent, extraChild, Parent::addChild, Child::addParent);
+        linker.unlink(parent, extraChild, Parent::removeChild, Child::removeParent);
+        return parent.children.size();
+    }
+
+    @Benchmark
+    public int linkAllAndUnlinkAll() {
+        linker.linkAll(otherParents, batch, Parent::addChildren, Child::addParents);
+        linker.unlinkAll(otherParents, batch, Parent::removeChildren, Child::removeParents);
+        return otherParent.children.size();
+    }
+}
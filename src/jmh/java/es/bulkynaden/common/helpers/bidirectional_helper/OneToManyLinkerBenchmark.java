@@ -0,0 +1,77 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link OneToManyLinker} moving children between two parents, one child per call
+ * ({@code link}) and the whole set of children per call ({@code linkAll}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OneToManyLinkerBenchmark {
+    private final OneToManyLinker linker = new OneToManyLinker();
+
+    @Param({BenchmarkEntities.HASH_SET, BenchmarkEntities.ARRAY_LIST, BenchmarkEntities.LINKED_HASH_SET})
+    private String collectionType;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private Parent source;
+    private Parent target;
+    private Child[] children;
+    private List<Child> batch;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        source = new Parent(collectionType);
+        target = new Parent(collectionType);
+        children = new Child[size];
+
+        for (int i = 0; i < size; i++) {
+            children[i] = new Child(collectionType);
+            linker.link(source, children[i], Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+        }
+
+        batch = Arrays.asList(children);
+        cursor = 0;
+    }
+
+    @Benchmark
+    public Parent link() {
+        Child child = children[cursor];
+        cursor = cursor + 1 == size ? 0 : cursor + 1;
+
+        Parent next = child.parent == source ? target : source;
+        linker.link(next, child, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+        return child.parent;
+    }
+
+    @Benchmark
+    public Parent linkAll() {
+        Parent next = children[0].parent == source ? target : source;
+        linker.linkAll(next, batch, Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+        return children[0].parent;
+    }
+}
@@ -0,0 +1,94 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Measures moving a batch of children between two parents through a {@link RelationshipChangeSet}
+ * against the same moves made directly through {@link BidirectionalHelper}, and the cost of recording
+ * a batch in which every child is moved twice and coalesced back to a single operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RelationshipChangeSetBenchmark {
+    private static final BiConsumer<Parent, Child> ADD_CHILD = Parent::addChild;
+    private static final BiConsumer<Parent, Child> REMOVE_CHILD = Parent::removeChild;
+    private static final Function<Child, Parent> GET_PARENT = Child::getParent;
+    private static final BiConsumer<Child, Parent> SET_PARENT = Child::setParent;
+
+    private final RelationshipChangeSet changeSet = new RelationshipChangeSet();
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private Parent source;
+    private Parent target;
+    private Child[] children;
+
+    @Setup
+    public void setUp() {
+        source = new Parent(BenchmarkEntities.HASH_SET);
+        target = new Parent(BenchmarkEntities.HASH_SET);
+        children = new Child[size];
+
+        for (int i = 0; i < size; i++) {
+            children[i] = new Child(BenchmarkEntities.HASH_SET);
+            BidirectionalHelper.linkOneToMany(source, children[i], ADD_CHILD, REMOVE_CHILD, GET_PARENT, SET_PARENT);
+        }
+    }
+
+    @Benchmark
+    public Parent direct() {
+        Parent next = children[0].parent == source ? target : source;
+        for (Child child : children) {
+            BidirectionalHelper.linkOneToMany(next, child, ADD_CHILD, REMOVE_CHILD, GET_PARENT, SET_PARENT);
+        }
+        return children[0].parent;
+    }
+
+    @Benchmark
+    public Parent changeSet() {
+        Parent next = children[0].parent == source ? target : source;
+        for (Child child : children) {
+            changeSet.linkOneToMany(next, child, ADD_CHILD, REMOVE_CHILD, GET_PARENT, SET_PARENT);
+        }
+        changeSet.commit();
+        return children[0].parent;
+    }
+
+    @Benchmark
+    public Parent coalescedChangeSet() {
+        Parent current = children[0].parent;
+        Parent next = current == source ? target : source;
+        for (Child child : children) {
+            changeSet.linkOneToMany(next, child, ADD_CHILD, REMOVE_CHILD, GET_PARENT, SET_PARENT);
+        }
+        for (Child child : children) {
+            changeSet.linkOneToMany(current, child, ADD_CHILD, REMOVE_CHILD, GET_PARENT, SET_PARENT);
+        }
+        for (Child child : children) {
+            changeSet.linkOneToMany(next, child, ADD_CHILD, REMOVE_CHILD, GET_PARENT, SET_PARENT);
+        }
+        changeSet.commit();
+        return children[0].parent;
+    }
+}
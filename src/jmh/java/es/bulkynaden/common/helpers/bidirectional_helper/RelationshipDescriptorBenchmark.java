@@ -0,0 +1,67 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Parent;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Partner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures linking through {@link BidirectionalHelper} with method references written at the call site
+ * against linking through relationship descriptors kept in {@code static final} fields. Singular links are
+ * made in between so that the call sites shared by every relationship see more than one type of lambda.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RelationshipDescriptorBenchmark {
+    private static final ManyToOneRelationship<Child, Parent> PARENT =
+            new ManyToOneRelationship<>(Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+    private static final SingularRelationship<Partner, Partner> PARTNER =
+            new SingularRelationship<>(Partner::getPartner, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+
+    private Parent source;
+    private Parent target;
+    private Child child;
+    private Partner first;
+    private Partner second;
+
+    @Setup
+    public void setUp() {
+        source = new Parent(BenchmarkEntities.HASH_SET);
+        target = new Parent(BenchmarkEntities.HASH_SET);
+        child = new Child(BenchmarkEntities.HASH_SET);
+        first = new Partner();
+        second = new Partner();
+        PARENT.link(child, source);
+    }
+
+    @Benchmark
+    public Parent methodReferences() {
+        Parent next = child.parent == source ? target : source;
+        BidirectionalHelper.linkManyToOne(child, next, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+        BidirectionalHelper.linkSingular(first, second, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+        return child.parent;
+    }
+
+    @Benchmark
+    public Parent descriptors() {
+        Parent next = child.parent == source ? target : source;
+        PARENT.link(child, next);
+        PARTNER.link(first, second);
+        return child.parent;
+    }
+}
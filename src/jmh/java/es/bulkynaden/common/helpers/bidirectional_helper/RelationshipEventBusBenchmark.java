@@ -0,0 +1,78 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost a {@link RelationshipEventBus} adds to the thread linking entities through
+ * {@link ManyToOneLinker}, with no bus, and with a bus whose listener only counts the events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class RelationshipEventBusBenchmark {
+    private final ManyToOneLinker linker = new ManyToOneLinker();
+
+    @Param({"none", "BLOCK", "DROP"})
+    private String bus;
+
+    private RelationshipEventBus eventBus;
+    private volatile long received;
+
+    @Setup
+    public void setUp() {
+        if (!"none".equals(bus)) {
+            eventBus = new RelationshipEventBus(RelationshipEventBus.DEFAULT_CAPACITY, RelationshipEventBus.DEFAULT_BATCH_SIZE,
+                    RelationshipEventBus.OverflowPolicy.valueOf(bus));
+            eventBus.subscribe(events -> received += events.size());
+        }
+        linker.setEventBus(eventBus);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (eventBus != null) {
+            eventBus.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Entities {
+        Parent source;
+        Parent target;
+        Child child;
+
+        @Setup
+        public void setUp() {
+            source = new Parent(BenchmarkEntities.HASH_SET);
+            target = new Parent(BenchmarkEntities.HASH_SET);
+            child = new Child(BenchmarkEntities.HASH_SET);
+        }
+    }
+
+    @Benchmark
+    public Parent link(Entities entities) {
+        Parent next = entities.child.parent == entities.source ? entities.target : entities.source;
+        linker.link(entities.child, next, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+        return entities.child.parent;
+    }
+}
@@ -0,0 +1,56 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BidirectionalHelper#linkManyToOne} in a JVM with the metrics of the helper disabled and in
+ * one with them enabled through {@link RelationshipMetrics#ENABLED_PROPERTY}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RelationshipMetricsBenchmark {
+    private Parent source;
+    private Parent target;
+    private Child child;
+
+    @Setup
+    public void setUp() {
+        source = new Parent(BenchmarkEntities.HASH_SET);
+        target = new Parent(BenchmarkEntities.HASH_SET);
+        child = new Child(BenchmarkEntities.HASH_SET);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+    public Parent disabled() {
+        return link();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-D" + RelationshipMetrics.ENABLED_PROPERTY + "=true"})
+    public Parent enabled() {
+        return link();
+    }
+
+    private Parent link() {
+        Parent next = child.parent == source ? target : source;
+        BidirectionalHelper.linkManyToOne(child, next, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+        return child.parent;
+    }
+}
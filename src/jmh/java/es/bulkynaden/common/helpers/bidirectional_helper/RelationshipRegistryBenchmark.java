@@ -0,0 +1,78 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Parent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link OneToManyLinker} moving one child per call between two parents whose children are kept
+ * in an {@code ArrayList}, against the same moves with the relationship stored in a
+ * {@link RelationshipRegistry}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RelationshipRegistryBenchmark {
+    private final OneToManyLinker linker = new OneToManyLinker();
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private Parent source;
+    private Parent target;
+    private Child[] children;
+    private RelationshipRegistry<Parent, Child> registry;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        source = new Parent(BenchmarkEntities.ARRAY_LIST);
+        target = new Parent(BenchmarkEntities.ARRAY_LIST);
+        children = new Child[size];
+        registry = new RelationshipRegistry<>();
+
+        for (int i = 0; i < size; i++) {
+            children[i] = new Child(BenchmarkEntities.ARRAY_LIST);
+            linker.link(source, children[i], Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+            registry.add(source, children[i]);
+        }
+        cursor = 0;
+    }
+
+    @Benchmark
+    public Parent entityCollections() {
+        Child child = next();
+        Parent next = child.parent == source ? target : source;
+        linker.link(next, child, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+        return child.parent;
+    }
+
+    @Benchmark
+    public Parent registry() {
+        Child child = next();
+        Parent next = registry.getOwner(child) == source ? target : source;
+        linker.link(next, child, registry::add, registry::remove, registry::getOwner, registry::setOwner);
+        return registry.getOwner(child);
+    }
+
+    private Child next() {
+        Child child = children[cursor];
+        cursor = cursor + 1 == size ? 0 : cursor + 1;
+        return child;
+    }
+}
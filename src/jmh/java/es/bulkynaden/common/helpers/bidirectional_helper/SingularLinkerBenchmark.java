@@ -0,0 +1,55 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.BenchmarkEntities.Partner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SingularLinker} relinking one entity back and forth between two partners,
+ * which exercises the unlink of the previous partner on every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SingularLinkerBenchmark {
+    private final SingularLinker linker = new SingularLinker();
+
+    private Partner entity;
+    private Partner first;
+    private Partner second;
+
+    @Setup
+    public void setUp() {
+        entity = new Partner();
+        first = new Partner();
+        second = new Partner();
+        linker.link(entity, first, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+    }
+
+    @Benchmark
+    public Partner link() {
+        Partner next = entity.partner == first ? second : first;
+        linker.link(entity, next, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+        return entity.partner;
+    }
+
+    @Benchmark
+    public Partner linkAndUnlink() {
+        linker.unlink(entity, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+        linker.link(entity, first, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+        return entity.partner;
+    }
+}
@@ -0,0 +1,58 @@
+package es.bulkynaden.common.password;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PasswordVerifier} verifying a correct password with a full key derivation
+ * ({@code verify}) against rejecting a password that already failed against the same hash
+ * ({@code verifyKnownFailure}), which is answered by the {@link FailedAttemptCache} alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PasswordVerifierBenchmark {
+    private static final char[] PASSWORD = "correct horse battery staple".toCharArray();
+    private static final char[] WRONG_PASSWORD = "Tr0ub4dor&3".toCharArray();
+
+    @Param({"1000", "10000", "100000"})
+    private int iterations;
+
+    private PasswordVerifier verifier;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        PasswordHasher hasher = new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA256, iterations,
+                PasswordHasher.DEFAULT_SALT_LENGTH, PasswordHasher.DEFAULT_KEY_LENGTH);
+        FailedAttemptCache failedAttempts = new FailedAttemptCache(FailedAttemptCache.DEFAULT_MAX_ENTRIES,
+                Integer.MAX_VALUE, 1, TimeUnit.HOURS);
+        verifier = new PasswordVerifier(hasher, failedAttempts, Runnable::run, 1, 1);
+        encoded = hasher.hash(PASSWORD);
+        verifier.verify(WRONG_PASSWORD, encoded);
+    }
+
+    @Benchmark
+    public VerificationResult verify() {
+        return verifier.verify(PASSWORD, encoded);
+    }
+
+    @Benchmark
+    public VerificationResult verifyKnownFailure() {
+        return verifier.verify(WRONG_PASSWORD, encoded);
+    }
+}
@@ -1,15 +1,40 @@
 package es.bulkynaden.common;
 
+import es.bulkynaden.common.file.CompressedContent;
+import es.bulkynaden.common.file.FileChecksum;
+import es.bulkynaden.common.file.FileContents;
+import es.bulkynaden.common.file.IContentCodec;
+import es.bulkynaden.common.file.IFileChecksumHolder;
+import es.bulkynaden.common.file.IFileContent;
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * The File class represents a file with properties such as name, size, data, and type.
  * It implements the {@link IFile} interface.
+ *
+ * <p>
+ * The payload can be assigned either as an array, through {@link #setData(byte[])}, or as an
+ * {@link IFileContent}, through {@link #setContent(IFileContent)}, which keeps a file or mapped region on disk
+ * without reading it. In the latter case {@link #getData()} reads the content on first call and keeps the
+ * resulting array.
+ *
+ * <p>
+ * The content can also be kept compressed with {@link #compress(IContentCodec)}; it is then decompressed
+ * whenever it is read, {@link #getData()} included, so that only the compressed form stays in memory, and
+ * {@link #getStoredSize()} reports the compressed size next to {@link #getSize()}.
+ *
+ * <p>
+ * The file also keeps the last checksum computed over its content, which is cleared whenever the content
+ * is replaced.
  */
 @Getter
 @Setter
-public class File implements IFile {
+public class File implements IFile, IFileChecksumHolder {
     /**
      * The name of the file.
      */
@@ -25,8 +50,91 @@ public class File implements IFile {
      */
     private byte[] data;
 
+    /**
+     * The content of the file, when it was assigned as such or already wrapped from {@link #data}.
+     */
+    private IFileContent content;
+
     /**
      * The type of the file.
      */
     private String type;
-}
\ No newline at end of file
+
+    /**
+     * The last checksum computed over the content of the file.
+     */
+    private FileChecksum checksum;
+
+    /**
+     * Returns the data of the file, reading it from its content if it was not read yet. A compressed content
+     * is decompressed into a new array on every call, which is not kept.
+     *
+     * @return The file's data as a byte array, or {@code null} if the file has no data.
+     * @throws UncheckedIOException If the content cannot be read.
+     */
+    @Override
+    public byte[] getData() {
+        if (data == null && content != null) {
+            try {
+                byte[] read = content.toByteArray();
+                if (content instanceof CompressedContent) {
+                    return read;
+                }
+                data = read;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Assigns data to the file, replacing any previous content. The size is left unchanged.
+     *
+     * @param data A byte array representing the data to be assigned to the file.
+     */
+    @Override
+    public void setData(byte[] data) {
+        this.data = data;
+        this.content = null;
+        this.checksum = null;
+    }
+
+    @Override
+    public IFileContent getContent() {
+        if (content == null && data != null) {
+            content = FileContents.of(data);
+        }
+        return content;
+    }
+
+    @Override
+    public void setContent(IFileContent content) {
+        this.content = content;
+        this.data = null;
+        this.checksum = null;
+        this.size = content == null ? 0 : content.getSize();
+    }
+
+    @Override
+    public boolean isContentShareable() {
+        return true;
+    }
+
+    /**
+     * Keeps the content of the file compressed with the given codec. The data array, if any, is released;
+     * streaming the content decompresses it on the fly, and {@link #getData()} decompresses it into an array
+     * it does not keep. The cached checksum is kept, since the logical content is unchanged.
+     *
+     * @param codec The codec to compress with.
+     * @throws IOException If the content cannot be read.
+     */
+    public void compress(@NonNull IContentCodec codec) throws IOException {
+        IFileContent current = getContent();
+        if (current != null) {
+            FileChecksum retained = checksum;
+            setContent(CompressedContent.compress(current, codec));
+            checksum = retained;
+        }
+    }
+}
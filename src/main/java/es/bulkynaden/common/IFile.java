@@ -1,5 +1,13 @@
 package es.bulkynaden.common;
 
+import es.bulkynaden.common.file.FileContents;
+import es.bulkynaden.common.file.IFileContent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+
 /**
  * The IFile interface represent a file.
  */
@@ -32,9 +40,22 @@ public interface IFile {
      */
     void setSize(long size);
 
+    /**
+     * Returns the number of bytes actually kept for the content of the file, which is smaller than
+     * {@link #getSize()} when the content is stored compressed.
+     *
+     * @return The stored size of the file in bytes.
+     */
+    default long getStoredSize() {
+        IFileContent content = getContent();
+        return content == null ? getSize() : content.getStoredSize();
+    }
+
     /**
      * Returns the data contained in the file.
      *
+     * <p>This materializes the whole payload on the heap. Prefer {@link #getContent()} to stream it.</p>
+     *
      * @return The file's data as a byte array.
      */
     byte[] getData();
@@ -59,4 +80,71 @@ public interface IFile {
      * @param type A String representing the type of the file.
      */
     void setType(String type);
-}
\ No newline at end of file
+
+    /**
+     * Returns the content of the file, which can be streamed or copied without materializing it.
+     *
+     * <p>The default implementation wraps {@link #getData()} without copying it.</p>
+     *
+     * @return The content of the file, or {@code null} if the file has no data.
+     */
+    default IFileContent getContent() {
+        byte[] data = getData();
+        return data == null ? null : FileContents.of(data);
+    }
+
+    /**
+     * Assigns the content of the file and updates its size accordingly.
+     *
+     * <p>The default implementation copies the content into {@link #setData(byte[])}; implementations able
+     * to keep the content as is should override it.</p>
+     *
+     * @param content The content to be assigned to the file, or {@code null} to clear it.
+     * @throws UncheckedIOException If the content cannot be read.
+     */
+    default void setContent(IFileContent content) {
+        try {
+            setData(content == null ? null : content.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        setSize(content == null ? 0 : content.getSize());
+    }
+
+    /**
+     * Returns whether {@link #setContent(IFileContent)} keeps the given content as is, so that the same
+     * content can be shared by several files instead of being copied into each of them.
+     *
+     * <p>The default implementation returns {@code false}, as the default {@link #setContent(IFileContent)}
+     * copies the content; implementations overriding it to keep the content should return {@code true}.</p>
+     *
+     * @return {@code true} if assigned contents are kept without copying them.
+     */
+    default boolean isContentShareable() {
+        return false;
+    }
+
+    /**
+     * Opens a new stream over the content of the file.
+     *
+     * @return A new input stream, empty if the file has no data.
+     * @throws IOException If the content cannot be opened.
+     */
+    default InputStream openStream() throws IOException {
+        IFileContent content = getContent();
+        return content == null ? InputStream.nullInputStream() : content.openStream();
+    }
+
+    /**
+     * Copies the content of the file to the given channel.
+     *
+     * @param target The channel to write to, which is not closed.
+     * @return The number of bytes written.
+     * @throws IOException If the content cannot be read or the channel cannot be written.
+     * @see IFileContent#transferTo(WritableByteChannel)
+     */
+    default long transferTo(WritableByteChannel target) throws IOException {
+        IFileContent content = getContent();
+        return content == null ? 0 : content.transferTo(target);
+    }
+}
@@ -1,8 +1,20 @@
 package es.bulkynaden.common;
 
+import es.bulkynaden.common.password.PasswordHash;
+import es.bulkynaden.common.password.PasswordHasher;
+import es.bulkynaden.common.password.PasswordVerifier;
+import es.bulkynaden.common.password.VerificationResult;
+import lombok.NonNull;
+
 /**
  * The {@code IPasswordHolder} interface defines the contract for an object that holds a password.
  * It provides methods for getting and setting the password.
+ *
+ * <p>Implementations are expected to hold the password as an encoded hash made by {@link #hashPassword(char[])},
+ * never in clear text; the default methods verify candidate passwords against that hash.</p>
+ *
+ * @see PasswordHasher
+ * @see PasswordVerifier
  */
 public interface IPasswordHolder {
 
@@ -18,4 +30,65 @@ public interface IPasswordHolder {
      * This method will update the password in the object with the new specified password.
      */
     void setPassword();
-}
\ No newline at end of file
+
+    /**
+     * Returns whether the given password matches the hash held by this object, hashing it with the default
+     * {@link PasswordHasher} on the calling thread.
+     *
+     * @param password the password to check; it is not modified
+     * @return {@code true} if the password matches, {@code false} if it does not or if the object holds no hash,
+     * a clear-text password or a malformed hash
+     */
+    default boolean verifyPassword(@NonNull char[] password) {
+        String encoded = getPassword();
+        if (!PasswordHash.isEncoded(encoded)) {
+            return false;
+        }
+        try {
+            return PasswordHasher.getDefault().verify(password, encoded);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Verifies the given password against the hash held by this object through the given verifier, which bounds
+     * the concurrency and rejects repeated failures cheaply.
+     *
+     * @param password the password to check; it is not modified
+     * @param verifier the verifier to use
+     * @return the result of the verification, {@link VerificationResult#INVALID} if the object holds no hash, a
+     * clear-text password or a malformed hash
+     */
+    default VerificationResult verifyPassword(@NonNull char[] password, @NonNull PasswordVerifier verifier) {
+        String encoded = getPassword();
+        if (!PasswordHash.isEncoded(encoded)) {
+            return VerificationResult.INVALID;
+        }
+        try {
+            return verifier.verify(password, encoded);
+        } catch (IllegalArgumentException e) {
+            return VerificationResult.INVALID;
+        }
+    }
+
+    /**
+     * Returns whether the hash held by this object was made with weaker parameters than the default
+     * {@link PasswordHasher}, and should be replaced after the next successful verification.
+     *
+     * @return {@code true} if the hash should be replaced, including when no hash is held
+     */
+    default boolean passwordNeedsRehash() {
+        return PasswordHasher.getDefault().needsRehash(getPassword());
+    }
+
+    /**
+     * Hashes a password with the default {@link PasswordHasher}, for implementations to store.
+     *
+     * @param password the password to hash; it is not modified
+     * @return the encoded hash
+     */
+    static String hashPassword(@NonNull char[] password) {
+        return PasswordHasher.getDefault().hash(password);
+    }
+}
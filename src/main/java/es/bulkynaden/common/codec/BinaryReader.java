@@ -0,0 +1,137 @@
+package es.bulkynaden.common.codec;
+
+import lombok.NonNull;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code BinaryReader} class reads the values written by a {@link BinaryWriter} from the remaining bytes
+ * of a buffer. Reading past the end of the input throws a {@link BufferUnderflowException}, and malformed
+ * input throws an {@link IllegalArgumentException}.
+ *
+ * @see BinaryWriter
+ */
+public final class BinaryReader {
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a reader over the remaining bytes of the given buffer. The position of the given buffer is not
+     * changed.
+     *
+     * @param source the buffer to read from
+     */
+    public BinaryReader(@NonNull ByteBuffer source) {
+        this.buffer = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return the byte, between 0 and 255
+     */
+    public int readByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Reads a variable-length quantity written by {@link BinaryWriter#writeVarInt(int)}.
+     *
+     * @return the value
+     * @throws IllegalArgumentException if the quantity is longer than five bytes
+     */
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length int at position " + buffer.position());
+    }
+
+    /**
+     * Reads a variable-length quantity written by {@link BinaryWriter#writeVarLong(long)}.
+     *
+     * @return the value
+     * @throws IllegalArgumentException if the quantity is longer than ten bytes
+     */
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length long at position " + buffer.position());
+    }
+
+    /**
+     * Reads a little-endian {@code double}.
+     *
+     * @return the value
+     */
+    public double readDouble() {
+        return buffer.getDouble();
+    }
+
+    /**
+     * Reads a string written by {@link BinaryWriter#writeString(String)}.
+     *
+     * @return the string, or {@code null}
+     */
+    public String readString() {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+
+        ByteBuffer bytes = readSlice(length - 1);
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), StandardCharsets.UTF_8);
+        }
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    /**
+     * Returns a buffer over the next {@code length} bytes of the input, without copying them, and
+     * moves past them.
+     *
+     * @param length the number of bytes
+     * @return a buffer whose remaining bytes are the next {@code length} bytes
+     * @throws BufferUnderflowException if fewer bytes remain
+     */
+    public ByteBuffer readSlice(int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        ByteBuffer slice = buffer.slice().limit(length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     *
+     * @return the number of bytes read
+     */
+    public int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Returns the number of bytes left to read.
+     *
+     * @return the number of bytes left
+     */
+    public int remaining() {
+        return buffer.remaining();
+    }
+}
@@ -0,0 +1,199 @@
+package es.bulkynaden.common.codec;
+
+import lombok.NonNull;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code BinaryWriter} class writes primitive values in a compact binary format: unsigned integers as
+ * variable-length quantities of seven bits per byte (LEB128), doubles as raw little-endian IEEE 754 values and
+ * strings as their UTF-8 bytes prefixed by their length.
+ *
+ * <p>A writer either owns a heap buffer that grows as needed, or writes into the remaining bytes of a buffer
+ * given by the caller, such as a direct buffer about to be written to a channel, without any intermediate copy.
+ * In the latter case writing past the end of the buffer throws a {@link BufferOverflowException}.</p>
+ *
+ * @see BinaryReader
+ */
+public final class BinaryWriter {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final boolean growable;
+    private ByteBuffer buffer;
+
+    /**
+     * Creates a writer over a growable heap buffer.
+     */
+    public BinaryWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a writer over a growable heap buffer of the given initial capacity.
+     *
+     * @param initialCapacity the initial capacity in bytes
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+        this.growable = true;
+    }
+
+    /**
+     * Creates a writer over the remaining bytes of the given buffer. The position of the given buffer is not
+     * changed; {@link #toByteBuffer()} returns the written region.
+     *
+     * @param target the buffer to write into
+     */
+    public BinaryWriter(@NonNull ByteBuffer target) {
+        this.buffer = target.slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.growable = false;
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param value the byte to write, in its lowest eight bits
+     * @return this writer
+     */
+    public BinaryWriter writeByte(int value) {
+        ensureRemaining(1).put((byte) value);
+        return this;
+    }
+
+    /**
+     * Writes a non-negative {@code int} as a variable-length quantity of one to five bytes.
+     *
+     * @param value the value to write, interpreted as unsigned
+     * @return this writer
+     */
+    public BinaryWriter writeVarInt(int value) {
+        ByteBuffer target = ensureRemaining(varIntSize(value));
+        while ((value & ~0x7F) != 0) {
+            target.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+        return this;
+    }
+
+    /**
+     * Writes a non-negative {@code long} as a variable-length quantity of one to ten bytes.
+     *
+     * @param value the value to write, interpreted as unsigned
+     * @return this writer
+     */
+    public BinaryWriter writeVarLong(long value) {
+        ByteBuffer target = ensureRemaining(varLongSize(value));
+        while ((value & ~0x7FL) != 0) {
+            target.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+        return this;
+    }
+
+    /**
+     * Writes a {@code double} as eight little-endian bytes.
+     *
+     * @param value the value to write
+     * @return this writer
+     */
+    public BinaryWriter writeDouble(double value) {
+        ensureRemaining(Double.BYTES).putDouble(value);
+        return this;
+    }
+
+    /**
+     * Writes a string as the variable-length quantity of its UTF-8 length plus one, followed by its UTF-8
+     * bytes. A {@code null} string is written as a single zero byte.
+     *
+     * @param value the string to write, or {@code null}
+     * @return this writer
+     */
+    public BinaryWriter writeString(String value) {
+        if (value == null) {
+            return writeVarInt(0);
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensureRemaining(bytes.length).put(bytes);
+        return this;
+    }
+
+    /**
+     * Returns a buffer over the next {@code length} bytes of this writer and moves past them, so that the
+     * caller can fill them directly.
+     *
+     * @param length the number of bytes to reserve
+     * @return a buffer whose remaining bytes are the reserved region
+     */
+    public ByteBuffer reserve(int length) {
+        ByteBuffer target = ensureRemaining(length);
+        ByteBuffer region = target.slice().limit(length);
+        target.position(target.position() + length);
+        return region;
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return the number of bytes written
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * Returns a little-endian buffer over the bytes written so far, without copying them. The buffer shares
+     * its content with this writer and is only valid until the next write.
+     *
+     * @return a buffer whose remaining bytes are the written bytes
+     */
+    public ByteBuffer toByteBuffer() {
+        return buffer.duplicate().flip().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeVarInt(int)} takes to write the given value.
+     *
+     * @param value the value, interpreted as unsigned
+     * @return the encoded length, from one to five bytes
+     */
+    public static int varIntSize(int value) {
+        return (Integer.SIZE + 6 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeVarLong(long)} takes to write the given value.
+     *
+     * @param value the value, interpreted as unsigned
+     * @return the encoded length, from one to ten bytes
+     */
+    public static int varLongSize(long value) {
+        return (Long.SIZE + 6 - Long.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    private ByteBuffer ensureRemaining(int length) {
+        if (buffer.remaining() >= length) {
+            return buffer;
+        }
+        if (!growable) {
+            throw new BufferOverflowException();
+        }
+
+        long required = (long) buffer.position() + length;
+        if (required > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Required buffer size too large: " + required);
+        }
+        int capacity = (int) Math.min(Math.max(required, (long) buffer.capacity() << 1), Integer.MAX_VALUE - 8);
+        ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        grown.put(buffer.flip());
+        buffer = grown;
+        return buffer;
+    }
+}
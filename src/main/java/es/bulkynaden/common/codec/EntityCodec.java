@@ -0,0 +1,148 @@
+package es.bulkynaden.common.codec;
+
+import es.bulkynaden.common.File;
+import es.bulkynaden.common.IFile;
+import es.bulkynaden.common.IUser;
+import es.bulkynaden.common.geo.City;
+import es.bulkynaden.common.geo.GeoLocation;
+import es.bulkynaden.common.geo.GeographicCoordinates;
+import es.bulkynaden.common.geo.ICity;
+import es.bulkynaden.common.geo.IGeoLocation;
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The {@code EntityCodec} class serializes graphs of {@link IUser}, {@link IGeoLocation} and {@link IFile}
+ * entities to a compact binary format, and deserializes them into instances created by its factories.
+ *
+ * <p>The format is fixed by the interfaces rather than described in the stream: every entity is written as
+ * its properties in a known order, with variable-length integers, raw little-endian doubles for coordinates
+ * and a dictionary for city names and file types, which are written once and then referred to by index.
+ * Every entity is written once per stream; later occurrences of the same instance, including the ones closing
+ * a cycle, are written as a reference to the first one, so shared and bidirectionally linked entities are
+ * shared again once read.</p>
+ *
+ * <p>A stream starts with the {@link #VERSION} byte, written by {@link #newWriter()} and checked by
+ * {@link #newReader(ByteBuffer)}. Passwords are not serialized, since {@code IPasswordHolder} offers no way to
+ * set them back.</p>
+ *
+ * @see EntityWriter
+ * @see EntityReader
+ */
+@Getter
+public class EntityCodec {
+    /**
+     * The version of the format written by this codec.
+     */
+    public static final int VERSION = 1;
+
+    private final Supplier<? extends IUser> userFactory;
+    private final Supplier<? extends IGeoLocation> geoLocationFactory;
+    private final Supplier<? extends ICity> cityFactory;
+    private final Supplier<? extends IGeographicCoordinates> coordinatesFactory;
+    private final Supplier<? extends IFile> fileFactory;
+
+    /**
+     * Creates a codec reading entities into the instances created by the given factories.
+     *
+     * @param userFactory        creates the users read
+     * @param geoLocationFactory creates the locations read
+     * @param cityFactory        creates the cities read
+     * @param coordinatesFactory creates the coordinates read
+     * @param fileFactory        creates the files read
+     */
+    public EntityCodec(@NonNull Supplier<? extends IUser> userFactory,
+                       @NonNull Supplier<? extends IGeoLocation> geoLocationFactory,
+                       @NonNull Supplier<? extends ICity> cityFactory,
+                       @NonNull Supplier<? extends IGeographicCoordinates> coordinatesFactory,
+                       @NonNull Supplier<? extends IFile> fileFactory) {
+        this.userFactory = userFactory;
+        this.geoLocationFactory = geoLocationFactory;
+        this.cityFactory = cityFactory;
+        this.coordinatesFactory = coordinatesFactory;
+        this.fileFactory = fileFactory;
+    }
+
+    /**
+     * Creates a codec reading users into the instances created by the given factory, and every other entity
+     * into the implementations of this library: {@link GeoLocation}, {@link City},
+     * {@link GeographicCoordinates} and {@link File}.
+     *
+     * @param userFactory creates the users read
+     * @return the codec
+     */
+    public static EntityCodec withDefaults(@NonNull Supplier<? extends IUser> userFactory) {
+        return new EntityCodec(userFactory, GeoLocation::new, City::new, GeographicCoordinates::new, File::new);
+    }
+
+    /**
+     * Creates a writer starting a new stream in a growable heap buffer.
+     *
+     * @return the writer
+     */
+    public EntityWriter newWriter() {
+        return new EntityWriter(new BinaryWriter());
+    }
+
+    /**
+     * Creates a writer starting a new stream in the remaining bytes of the given buffer, without any
+     * intermediate copy.
+     *
+     * @param target the buffer to write into
+     * @return the writer
+     */
+    public EntityWriter newWriter(@NonNull ByteBuffer target) {
+        return new EntityWriter(new BinaryWriter(target));
+    }
+
+    /**
+     * Creates a reader over a stream written by an {@link EntityWriter}. The contents of the files read are
+     * slices of the given buffer, which must therefore not be modified while they are in use.
+     *
+     * @param source the buffer to read from
+     * @return the reader
+     * @throws IllegalArgumentException if the stream was written with another version of the format
+     */
+    public EntityReader newReader(@NonNull ByteBuffer source) {
+        return new EntityReader(this, new BinaryReader(source));
+    }
+
+    /**
+     * Writes the given users, and the entities they hold, to a new stream.
+     *
+     * @param users the users to write
+     * @return a buffer whose remaining bytes are the stream
+     */
+    public ByteBuffer encodeUsers(@NonNull Collection<? extends IUser> users) {
+        EntityWriter writer = newWriter();
+        writer.getOutput().writeVarInt(users.size());
+        for (IUser user : users) {
+            writer.writeUser(user);
+        }
+        return writer.toByteBuffer();
+    }
+
+    /**
+     * Reads the users written by {@link #encodeUsers(Collection)}.
+     *
+     * @param source the buffer to read from
+     * @return the users, in the order they were written
+     * @throws IllegalArgumentException if the stream is malformed or was written with another version of the format
+     */
+    public List<IUser> decodeUsers(@NonNull ByteBuffer source) {
+        EntityReader reader = newReader(source);
+        int count = reader.getInput().readVarInt();
+        List<IUser> users = new ArrayList<>(Math.min(count, reader.getInput().remaining()));
+        for (int i = 0; i < count; i++) {
+            users.add(reader.readUser());
+        }
+        return users;
+    }
+}
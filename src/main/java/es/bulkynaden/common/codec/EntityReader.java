@@ -0,0 +1,207 @@
+package es.bulkynaden.common.codec;
+
+import es.bulkynaden.common.IFile;
+import es.bulkynaden.common.IFileCollectionHolder;
+import es.bulkynaden.common.IFileHolder;
+import es.bulkynaden.common.IUser;
+import es.bulkynaden.common.file.FileContents;
+import es.bulkynaden.common.geo.ICity;
+import es.bulkynaden.common.geo.IGeoLocation;
+import es.bulkynaden.common.geo.IGeoLocationHolder;
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code EntityReader} class reads the entities written by an {@link EntityWriter}, creating them with
+ * the factories of its {@link EntityCodec}. References to entities already read return the same instance.
+ *
+ * <p>A user is created before its properties are read, so a property leading back to it resolves to the user
+ * being read. The properties a user was written with but its implementation cannot hold, such as files for a
+ * user that is not an {@link IFileCollectionHolder}, are read and dropped. File contents are set as slices of
+ * the input buffer, without copying them, unless the file implementation copies them itself.</p>
+ *
+ * @see EntityWriter
+ */
+public final class EntityReader {
+    private final EntityCodec codec;
+    @Getter
+    private final BinaryReader input;
+    private final List<Object> entities = new ArrayList<>();
+    private final List<String> symbols = new ArrayList<>();
+
+    EntityReader(EntityCodec codec, BinaryReader input) {
+        this.codec = codec;
+        this.input = input;
+
+        int version = input.readByte();
+        if (version != EntityCodec.VERSION) {
+            throw new IllegalArgumentException("Unsupported format version: " + version);
+        }
+    }
+
+    /**
+     * Reads a user written by {@link EntityWriter#writeUser(IUser)}.
+     *
+     * @return the user, or {@code null}
+     * @throws IllegalArgumentException if the stream is malformed
+     */
+    public IUser readUser() {
+        int tag = input.readVarInt();
+        if (tag != EntityWriter.NEW) {
+            return reference(tag, IUser.class);
+        }
+
+        IUser user = register(codec.getUserFactory().get());
+        user.setFirstName(input.readString());
+        user.setLastName(input.readString());
+        user.setEmail(input.readString());
+        user.setUserName(input.readString());
+
+        int flags = input.readByte();
+        if ((flags & EntityWriter.HAS_GEO_LOCATION) != 0) {
+            IGeoLocation geoLocation = readGeoLocation();
+            if (user instanceof IGeoLocationHolder holder) {
+                holder.setGeoLocation(geoLocation);
+            }
+        }
+        if ((flags & EntityWriter.HAS_FILE) != 0) {
+            IFile file = readFile();
+            if (user instanceof IFileHolder holder) {
+                holder.setFile(file);
+            }
+        }
+        if ((flags & EntityWriter.HAS_FILES) != 0) {
+            int count = input.readVarInt();
+            for (int i = 0; i < count; i++) {
+                IFile file = readFile();
+                if (file != null && user instanceof IFileCollectionHolder holder) {
+                    holder.addFile(file);
+                }
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Reads a location written by {@link EntityWriter#writeGeoLocation(IGeoLocation)}.
+     *
+     * @return the location, or {@code null}
+     * @throws IllegalArgumentException if the stream is malformed
+     */
+    public IGeoLocation readGeoLocation() {
+        int tag = input.readVarInt();
+        if (tag != EntityWriter.NEW) {
+            return reference(tag, IGeoLocation.class);
+        }
+
+        IGeoLocation geoLocation = register(codec.getGeoLocationFactory().get());
+        geoLocation.setAddress(input.readString());
+        geoLocation.setCity(readCity());
+        geoLocation.setCoordinates(readCoordinates());
+        return geoLocation;
+    }
+
+    /**
+     * Reads a city written by {@link EntityWriter#writeCity(ICity)}.
+     *
+     * @return the city, or {@code null}
+     * @throws IllegalArgumentException if the stream is malformed
+     */
+    public ICity readCity() {
+        int tag = input.readVarInt();
+        if (tag != EntityWriter.NEW) {
+            return reference(tag, ICity.class);
+        }
+
+        ICity city = register(codec.getCityFactory().get());
+        city.setName(readSymbol());
+        return city;
+    }
+
+    /**
+     * Reads coordinates written by {@link EntityWriter#writeCoordinates(IGeographicCoordinates)}.
+     *
+     * @return the coordinates, or {@code null}
+     * @throws IllegalArgumentException if the stream is malformed
+     */
+    public IGeographicCoordinates readCoordinates() {
+        int tag = input.readVarInt();
+        if (tag != EntityWriter.NEW) {
+            return reference(tag, IGeographicCoordinates.class);
+        }
+
+        IGeographicCoordinates coordinates = register(codec.getCoordinatesFactory().get());
+        coordinates.setLatitude(input.readDouble());
+        coordinates.setLongitude(input.readDouble());
+        coordinates.setAltitude(input.readDouble());
+        return coordinates;
+    }
+
+    /**
+     * Reads a file written by {@link EntityWriter#writeFile(IFile)}.
+     *
+     * @return the file, or {@code null}
+     * @throws IllegalArgumentException if the stream is malformed
+     */
+    public IFile readFile() {
+        int tag = input.readVarInt();
+        if (tag != EntityWriter.NEW) {
+            return reference(tag, IFile.class);
+        }
+
+        IFile file = register(codec.getFileFactory().get());
+        file.setName(input.readString());
+        file.setType(readSymbol());
+        long size = input.readVarLong();
+
+        int length = input.readVarInt();
+        if (length != 0) {
+            file.setContent(FileContents.of(input.readSlice(length - 1)));
+        }
+        file.setSize(size);
+        return file;
+    }
+
+    private String readSymbol() {
+        int tag = input.readVarInt();
+        if (tag == EntityWriter.NULL) {
+            return null;
+        }
+        if (tag == EntityWriter.NEW) {
+            String value = input.readString();
+            symbols.add(value);
+            return value;
+        }
+
+        int index = tag - EntityWriter.FIRST_REFERENCE;
+        if (index < 0 || index >= symbols.size()) {
+            throw new IllegalArgumentException("Unknown dictionary string " + index + " at position " + input.position());
+        }
+        return symbols.get(index);
+    }
+
+    private <T> T register(T entity) {
+        entities.add(entity);
+        return entity;
+    }
+
+    private <T> T reference(int tag, Class<T> type) {
+        if (tag == EntityWriter.NULL) {
+            return null;
+        }
+
+        int index = tag - EntityWriter.FIRST_REFERENCE;
+        if (index < 0 || index >= entities.size()) {
+            throw new IllegalArgumentException("Unknown entity " + index + " at position " + input.position());
+        }
+
+        Object entity = entities.get(index);
+        if (!type.isInstance(entity)) {
+            throw new IllegalArgumentException("Entity " + index + " is not a " + type.getSimpleName() + " at position " + input.position());
+        }
+        return type.cast(entity);
+    }
+}
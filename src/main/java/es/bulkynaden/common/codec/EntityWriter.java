@@ -0,0 +1,221 @@
+package es.bulkynaden.common.codec;
+
+import es.bulkynaden.common.IFile;
+import es.bulkynaden.common.IFileCollectionHolder;
+import es.bulkynaden.common.IFileHolder;
+import es.bulkynaden.common.IUser;
+import es.bulkynaden.common.file.IFileContent;
+import es.bulkynaden.common.geo.ICity;
+import es.bulkynaden.common.geo.IGeoLocation;
+import es.bulkynaden.common.geo.IGeoLocationHolder;
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@code EntityWriter} class writes entities to a stream in the format of {@link EntityCodec}. A writer
+ * remembers the entities and dictionary strings it has written, so that every entity and every city name or
+ * file type is written once per writer.
+ *
+ * <p>Every entity starts with a reference tag: {@code 0} for {@code null}, {@code 1} for an entity written in
+ * full right after the tag, and {@code n + 2} for the {@code n}-th entity already written to the stream.
+ * Dictionary strings use the same tags for their own table. An entity is numbered before its properties are
+ * written, so a property leading back to it is written as a reference.</p>
+ *
+ * @see EntityReader
+ */
+public final class EntityWriter {
+    static final int NULL = 0;
+    static final int NEW = 1;
+    static final int FIRST_REFERENCE = 2;
+
+    static final int HAS_GEO_LOCATION = 1;
+    static final int HAS_FILE = 1 << 1;
+    static final int HAS_FILES = 1 << 2;
+
+    @Getter
+    private final BinaryWriter output;
+    private final Map<Object, Integer> entities = new IdentityHashMap<>();
+    private final Map<String, Integer> symbols = new HashMap<>();
+
+    EntityWriter(BinaryWriter output) {
+        this.output = output;
+        output.writeByte(EntityCodec.VERSION);
+    }
+
+    /**
+     * Writes a user: its first name, last name, email and user name, followed by the location, file and
+     * files it holds when it implements {@link IGeoLocationHolder}, {@link IFileHolder} or
+     * {@link IFileCollectionHolder}.
+     *
+     * @param user the user to write, or {@code null}
+     * @return this writer
+     */
+    public EntityWriter writeUser(IUser user) {
+        if (!writeReference(user)) {
+            return this;
+        }
+
+        output.writeString(user.getFirstName())
+                .writeString(user.getLastName())
+                .writeString(user.getEmail())
+                .writeString(user.getUserName());
+
+        int flags = (user instanceof IGeoLocationHolder ? HAS_GEO_LOCATION : 0)
+                | (user instanceof IFileHolder ? HAS_FILE : 0)
+                | (user instanceof IFileCollectionHolder ? HAS_FILES : 0);
+        output.writeByte(flags);
+
+        if (user instanceof IGeoLocationHolder holder) {
+            writeGeoLocation(holder.getGeoLocation());
+        }
+        if (user instanceof IFileHolder holder) {
+            writeFile(holder.getFile());
+        }
+        if (user instanceof IFileCollectionHolder holder) {
+            Collection<IFile> files = holder.getFiles();
+            output.writeVarInt(files == null ? 0 : files.size());
+            if (files != null) {
+                for (IFile file : files) {
+                    writeFile(file);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes a location: its address, city and coordinates.
+     *
+     * @param geoLocation the location to write, or {@code null}
+     * @return this writer
+     */
+    public EntityWriter writeGeoLocation(IGeoLocation geoLocation) {
+        if (writeReference(geoLocation)) {
+            output.writeString(geoLocation.getAddress());
+            writeCity(geoLocation.getCity());
+            writeCoordinates(geoLocation.getCoordinates());
+        }
+        return this;
+    }
+
+    /**
+     * Writes a city: its name, through the dictionary.
+     *
+     * @param city the city to write, or {@code null}
+     * @return this writer
+     */
+    public EntityWriter writeCity(ICity city) {
+        if (writeReference(city)) {
+            writeSymbol(city.getName());
+        }
+        return this;
+    }
+
+    /**
+     * Writes coordinates: latitude, longitude and altitude, as raw little-endian doubles.
+     *
+     * @param coordinates the coordinates to write, or {@code null}
+     * @return this writer
+     */
+    public EntityWriter writeCoordinates(IGeographicCoordinates coordinates) {
+        if (writeReference(coordinates)) {
+            output.writeDouble(coordinates.getLatitude())
+                    .writeDouble(coordinates.getLongitude())
+                    .writeDouble(coordinates.getAltitude());
+        }
+        return this;
+    }
+
+    /**
+     * Writes a file: its name, its type through the dictionary, its size and its content, read straight
+     * into the output.
+     *
+     * @param file the file to write, or {@code null}
+     * @return this writer
+     * @throws UncheckedIOException     if the content of the file cannot be read
+     * @throws IllegalArgumentException if the content is larger than 2 GiB
+     */
+    public EntityWriter writeFile(IFile file) {
+        if (!writeReference(file)) {
+            return this;
+        }
+
+        output.writeString(file.getName());
+        writeSymbol(file.getType());
+        output.writeVarLong(Math.max(file.getSize(), 0));
+
+        IFileContent content = file.getContent();
+        if (content == null) {
+            output.writeVarInt(0);
+            return this;
+        }
+
+        long size = content.getSize();
+        if (size >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("File content too large to serialize: " + size + " bytes");
+        }
+        output.writeVarInt((int) size + 1);
+
+        ByteBuffer region = output.reserve((int) size);
+        try {
+            long position = 0;
+            while (region.hasRemaining()) {
+                int read = content.read(region, position);
+                if (read < 0) {
+                    throw new IOException("File content ended after " + position + " of " + size + " bytes");
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    /**
+     * Returns a buffer over the stream written so far, without copying it.
+     *
+     * @return a buffer whose remaining bytes are the stream
+     * @see BinaryWriter#toByteBuffer()
+     */
+    public ByteBuffer toByteBuffer() {
+        return output.toByteBuffer();
+    }
+
+    private void writeSymbol(String value) {
+        if (value == null) {
+            output.writeVarInt(NULL);
+            return;
+        }
+
+        Integer index = symbols.putIfAbsent(value, symbols.size());
+        if (index != null) {
+            output.writeVarInt(index + FIRST_REFERENCE);
+        } else {
+            output.writeVarInt(NEW).writeString(value);
+        }
+    }
+
+    private boolean writeReference(Object entity) {
+        if (entity == null) {
+            output.writeVarInt(NULL);
+            return false;
+        }
+
+        Integer index = entities.putIfAbsent(entity, entities.size());
+        if (index != null) {
+            output.writeVarInt(index + FIRST_REFERENCE);
+            return false;
+        }
+        output.writeVarInt(NEW);
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package es.bulkynaden.common.file;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * The {@code Blob} class is the content of a file kept once in a {@link BlobStore}, identified by the
+ * SHA-256 hash of its bytes. Every {@link es.bulkynaden.common.IFile} holding the same bytes in the same
+ * store shares the same {@code Blob} instance.
+ */
+@Getter
+public final class Blob extends PathContent {
+    /**
+     * The store holding the blob.
+     */
+    private final BlobStore store;
+
+    /**
+     * The lower-case hexadecimal SHA-256 hash of the content.
+     */
+    private final String hash;
+
+    Blob(BlobStore store, String hash, Path path, long size) {
+        super(path, size);
+        this.store = store;
+        this.hash = hash;
+    }
+
+    @Override
+    public String toString() {
+        return hash;
+    }
+}
@@ -0,0 +1,296 @@
+package es.bulkynaden.common.file;
+
+import es.bulkynaden.common.IFile;
+import es.bulkynaden.common.IFileCollectionHolder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code BlobStore} class is a content-addressed store keeping each distinct file content once on local
+ * disk, so that files holding the same bytes share a single copy.
+ *
+ * <p>
+ * Content is hashed with SHA-256 while it is streamed into a temporary file, which is then moved to
+ * {@code <root>/<first two hex digits>/<hash>} unless that blob already exists. Each {@link #put} returns the
+ * {@link Blob} for the hash and takes one reference on it; {@link #release(Blob)} drops one, and the blob
+ * file is deleted when the last reference is released, provided this store wrote it.
+ *
+ * <p>
+ * Reference counts are kept in memory. Blob files left by a previous process, or written by another process
+ * sharing the directory, are reused when the same content is stored again, and are otherwise left untouched:
+ * they are never deleted by this store. The store is safe for concurrent use.
+ */
+public class BlobStore {
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The directory holding the blobs.
+     */
+    @Getter
+    private final Path root;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a store in the given directory, creating it if needed.
+     *
+     * @param root the directory holding the blobs
+     * @throws IOException if the directory cannot be created
+     */
+    public BlobStore(@NonNull Path root) throws IOException {
+        this.root = Files.createDirectories(root);
+    }
+
+    /**
+     * Stores the content read from the given stream and takes a reference on the resulting blob. The
+     * stream is read to its end but not closed.
+     *
+     * @param source the content to store
+     * @return the blob holding the content
+     * @throws IOException if the content cannot be read or written
+     */
+    public Blob put(@NonNull InputStream source) throws IOException {
+        Path temporary = Files.createTempFile(root, "blob", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            long size = 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (OutputStream target = Files.newOutputStream(temporary)) {
+                int read;
+                while ((read = source.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                    target.write(buffer, 0, read);
+                    size += read;
+                }
+            }
+            return retain(HexFormat.of().formatHex(digest.digest()), temporary, size);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Stores the given content and takes a reference on the resulting blob. If the content already is a
+     * blob of this store, only the reference is taken.
+     *
+     * @param content the content to store
+     * @return the blob holding the content
+     * @throws IOException if the content cannot be read or written
+     */
+    public Blob put(@NonNull IFileContent content) throws IOException {
+        if (content instanceof Blob blob && blob.getStore() == this) {
+            return retain(blob);
+        }
+
+        try (InputStream source = content.openStream()) {
+            return put(source);
+        }
+    }
+
+    /**
+     * Stores the given bytes and takes a reference on the resulting blob.
+     *
+     * @param data the content to store
+     * @return the blob holding the content
+     * @throws IOException if the content cannot be written
+     */
+    public Blob put(@NonNull byte[] data) throws IOException {
+        return put(FileContents.of(data));
+    }
+
+    /**
+     * Moves the content of every file of the given holder into the store, so that files with the same bytes
+     * share one blob. Each file takes one reference on its blob. Files without data are left untouched, and so
+     * are files that would copy an assigned content rather than keep it, as reported by
+     * {@link IFile#isContentShareable()}, since they could not share the blob.
+     *
+     * @param holder the holder whose files are deduplicated
+     * @throws IOException if a content cannot be read or written
+     */
+    public void deduplicate(@NonNull IFileCollectionHolder holder) throws IOException {
+        for (IFile file : holder.getFiles()) {
+            if (!file.isContentShareable()) {
+                continue;
+            }
+            IFileContent content = file.getContent();
+            if (content == null || content instanceof Blob blob && blob.getStore() == this) {
+                continue;
+            }
+            file.setContent(put(content));
+        }
+    }
+
+    /**
+     * Takes one more reference on the given blob.
+     *
+     * @param blob a blob of this store
+     * @return the blob
+     * @throws IllegalArgumentException if the blob does not belong to this store
+     * @throws IllegalStateException    if the blob has already been released
+     */
+    public Blob retain(@NonNull Blob blob) {
+        checkOwner(blob);
+        Entry entry = entries.get(blob.getHash());
+        if (entry != null) {
+            synchronized (entry) {
+                if (entry.references > 0) {
+                    entry.references++;
+                    return entry.blob;
+                }
+            }
+        }
+        throw new IllegalStateException("Blob " + blob.getHash() + " has already been released");
+    }
+
+    /**
+     * Releases one reference on the given blob. When no reference is left, the blob is forgotten and its file
+     * is deleted if this store wrote it; files adopted from a previous or another process are left in place.
+     *
+     * @param blob a blob of this store
+     * @throws IOException              if the blob file cannot be deleted, in which case the reference is kept
+     * @throws IllegalArgumentException if the blob does not belong to this store
+     */
+    public void release(@NonNull Blob blob) throws IOException {
+        checkOwner(blob);
+        Entry entry = entries.get(blob.getHash());
+        if (entry == null) {
+            return;
+        }
+
+        synchronized (entry) {
+            if (entry.references == 0) {
+                return;
+            }
+            if (entry.references > 1) {
+                entry.references--;
+                return;
+            }
+            if (entry.created) {
+                Files.deleteIfExists(entry.blob.getPath());
+            }
+            entry.references = 0;
+            entries.remove(entry.blob.getHash(), entry);
+        }
+    }
+
+    /**
+     * Returns the number of references currently held on the blob with the given hash.
+     *
+     * @param hash the hexadecimal SHA-256 hash of the content
+     * @return the number of references, or zero if the blob is not referenced
+     */
+    public long getReferenceCount(@NonNull String hash) {
+        Entry entry = entries.get(hash);
+        if (entry == null) {
+            return 0;
+        }
+        synchronized (entry) {
+            return entry.references;
+        }
+    }
+
+    /**
+     * Returns the number of distinct blobs currently referenced.
+     *
+     * @return the number of referenced blobs
+     */
+    public int getBlobCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of bytes taken on disk by the referenced blobs.
+     *
+     * @return the stored size in bytes
+     */
+    public long getStoredSize() {
+        return entries.values().stream().mapToLong(entry -> entry.blob.getSize()).sum();
+    }
+
+    /**
+     * Takes a reference on the blob with the given hash, moving the temporary file into place if the blob is
+     * new. The map only ever publishes an entry; the file system is touched while holding the entry's own
+     * monitor, so other hashes are never blocked behind this I/O.
+     */
+    private Blob retain(String hash, Path temporary, long size) throws IOException {
+        Path target = root.resolve(hash.substring(0, 2)).resolve(hash);
+        while (true) {
+            Entry entry = entries.computeIfAbsent(hash, key -> new Entry(new Blob(this, key, target, size)));
+            synchronized (entry) {
+                if (entries.get(hash) != entry) {
+                    continue;
+                }
+                if (entry.references == 0) {
+                    try {
+                        entry.created = Files.notExists(target) && moveIfAbsent(temporary, target);
+                    } catch (IOException | RuntimeException e) {
+                        entries.remove(hash, entry);
+                        throw e;
+                    }
+                }
+                entry.references++;
+                return entry.blob;
+            }
+        }
+    }
+
+    private void checkOwner(Blob blob) {
+        if (blob.getStore() != this) {
+            throw new IllegalArgumentException("Blob " + blob.getHash() + " belongs to another store");
+        }
+    }
+
+    /**
+     * Moves the source to the target unless the target has been created in the meantime, for instance by
+     * another process sharing the directory.
+     *
+     * @return whether the source was moved
+     */
+    private static boolean moveIfAbsent(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * A blob together with its reference count, guarded by the entry's own monitor. An entry is published with
+     * no reference until its file is in place, and is removed from the map once its last reference is released.
+     */
+    private static final class Entry {
+        private final Blob blob;
+        private long references;
+
+        /**
+         * Whether this store wrote the blob file, and may therefore delete it.
+         */
+        private boolean created;
+
+        private Entry(Blob blob) {
+            this.blob = blob;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package es.bulkynaden.common.file;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The {@code ByteBufferContent} class is an {@link IFileContent} backed by a {@link ByteBuffer}: a heap
+ * buffer wrapping an array, a direct buffer or a memory-mapped region of a file.
+ *
+ * <p>
+ * The content spans the remaining bytes of the buffer at construction time. The buffer is never modified
+ * through this class; every stream, channel and read works on its own read-only view, so instances are safe
+ * to share between threads.
+ */
+public final class ByteBufferContent implements IFileContent {
+    private final ByteBuffer buffer;
+    private final byte[] array;
+    private final int arrayOffset;
+
+    /**
+     * Creates a content over the remaining bytes of the given buffer, without copying them.
+     *
+     * @param buffer the backing buffer
+     */
+    public ByteBufferContent(@NonNull ByteBuffer buffer) {
+        ByteBuffer slice = buffer.slice();
+        boolean hasArray = slice.hasArray();
+
+        this.buffer = slice.asReadOnlyBuffer();
+        this.array = hasArray ? slice.array() : null;
+        this.arrayOffset = hasArray ? slice.arrayOffset() : 0;
+    }
+
+    @Override
+    public long getSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns a new read-only view of the content, positioned at its start.
+     *
+     * @return a read-only buffer over the content
+     */
+    public ByteBuffer asByteBuffer() {
+        return buffer.duplicate();
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new BufferInputStream(buffer.duplicate());
+    }
+
+    @Override
+    public ReadableByteChannel openChannel() {
+        return new BufferChannel(buffer.duplicate());
+    }
+
+    @Override
+    public int read(@NonNull ByteBuffer target, long position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("The position must not be negative");
+        }
+        if (position >= buffer.capacity()) {
+            return -1;
+        }
+
+        int length = (int) Math.min(target.remaining(), buffer.capacity() - position);
+        target.put(buffer.slice((int) position, length));
+        return length;
+    }
+
+    @Override
+    public long transferTo(@NonNull WritableByteChannel target) throws IOException {
+        ByteBuffer source = buffer.duplicate();
+        long transferred = 0;
+        while (source.hasRemaining()) {
+            transferred += target.write(source);
+        }
+        return transferred;
+    }
+
+    @Override
+    public long transferTo(@NonNull OutputStream target) throws IOException {
+        if (array != null) {
+            target.write(array, arrayOffset, buffer.capacity());
+            return buffer.capacity();
+        }
+        return IFileContent.super.transferTo(target);
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] copy = new byte[buffer.capacity()];
+        buffer.get(0, copy);
+        return copy;
+    }
+
+    /**
+     * An input stream reading from a private view of the buffer.
+     */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer source;
+
+        private BufferInputStream(ByteBuffer source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read() {
+            return source.hasRemaining() ? source.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!source.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(length, source.remaining());
+            source.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, source.remaining()));
+            source.position(source.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return source.remaining();
+        }
+    }
+
+    /**
+     * A channel reading from a private view of the buffer.
+     */
+    private static final class BufferChannel implements ReadableByteChannel {
+        private final ByteBuffer source;
+        private boolean open = true;
+
+        private BufferChannel(ByteBuffer source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+            if (!source.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(target.remaining(), source.remaining());
+            target.put(source.slice(source.position(), count));
+            source.position(source.position() + count);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package es.bulkynaden.common.file;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The {@code CompressedContent} class is an {@link IFileContent} kept compressed, in memory or on disk, and
+ * decompressed on the fly whenever it is read. {@link #getSize()} reports the logical, uncompressed size, and
+ * {@link #getStoredSize()} the size actually kept.
+ *
+ * <p>
+ * Streams decompress incrementally, so reading a compressed content never needs a buffer of its logical
+ * size. Positional reads decompress from the start up to the requested position, so the content does not
+ * report {@linkplain #isRandomAccess() random access}.
+ */
+@Getter
+public final class CompressedContent implements IFileContent {
+    /**
+     * The compressed bytes.
+     */
+    private final IFileContent compressed;
+
+    /**
+     * The codec the bytes were compressed with.
+     */
+    private final IContentCodec codec;
+
+    /**
+     * The logical, uncompressed size in bytes.
+     */
+    private final long size;
+
+    /**
+     * Wraps already compressed bytes.
+     *
+     * @param compressed the compressed bytes
+     * @param codec      the codec the bytes were compressed with
+     * @param size       the uncompressed size in bytes
+     */
+    public CompressedContent(@NonNull IFileContent compressed, @NonNull IContentCodec codec, long size) {
+        this.compressed = compressed;
+        this.codec = codec;
+        this.size = size;
+    }
+
+    /**
+     * Compresses the given content into memory.
+     *
+     * @param content the content to compress
+     * @param codec   the codec to compress with
+     * @return the compressed content
+     * @throws IOException if the content cannot be read
+     */
+    public static CompressedContent compress(@NonNull IFileContent content, @NonNull IContentCodec codec) throws IOException {
+        if (content instanceof CompressedContent compressedContent && compressedContent.codec == codec) {
+            return compressedContent;
+        }
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        long size;
+        try (OutputStream compressor = codec.compress(target)) {
+            size = content.transferTo(compressor);
+        }
+        return new CompressedContent(FileContents.of(target.toByteArray()), codec, size);
+    }
+
+    /**
+     * Compresses the given content into a file on disk.
+     *
+     * @param content the content to compress
+     * @param codec   the codec to compress with
+     * @param path    the file receiving the compressed bytes, replaced if it exists
+     * @return the compressed content, backed by the file
+     * @throws IOException if the content cannot be read or the file cannot be written
+     */
+    public static CompressedContent compress(@NonNull IFileContent content, @NonNull IContentCodec codec, @NonNull Path path) throws IOException {
+        long size;
+        try (OutputStream compressor = codec.compress(Files.newOutputStream(path))) {
+            size = content.transferTo(compressor);
+        }
+        return new CompressedContent(FileContents.of(path), codec, size);
+    }
+
+    /**
+     * Returns the number of bytes actually kept for the content.
+     *
+     * @return the compressed size in bytes
+     */
+    @Override
+    public long getStoredSize() {
+        return compressed.getSize();
+    }
+
+    /**
+     * Returns the compressed size relative to the logical size.
+     *
+     * @return the compression ratio, lower is better, or {@code 1} for an empty content
+     */
+    public double getCompressionRatio() {
+        return size == 0 ? 1 : (double) getStoredSize() / size;
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        return codec.decompress(compressed.openStream());
+    }
+
+    /**
+     * Returns {@code false}, since every positional read decompresses the content from its start.
+     *
+     * @return {@code false}
+     */
+    @Override
+    public boolean isRandomAccess() {
+        return false;
+    }
+
+    @Override
+    public int read(@NonNull ByteBuffer target, long position) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("The position must not be negative");
+        }
+        if (position >= size) {
+            return -1;
+        }
+
+        try (InputStream source = openStream()) {
+            source.skipNBytes(position);
+            int length = (int) Math.min(target.remaining(), size - position);
+            if (target.hasArray()) {
+                int read = source.readNBytes(target.array(), target.arrayOffset() + target.position(), length);
+                target.position(target.position() + read);
+                return read;
+            }
+            byte[] bytes = source.readNBytes(length);
+            target.put(bytes);
+            return bytes.length;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package es.bulkynaden.common.file;
+
+import lombok.NonNull;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code ContentCodecs} class looks up {@link IContentCodec} implementations by name. The
+ * {@link DeflateCodec} is always available; other codecs are discovered through {@link ServiceLoader} on
+ * first lookup, or registered explicitly.
+ */
+public final class ContentCodecs {
+    private static final Map<String, IContentCodec> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        register(new DeflateCodec());
+        for (IContentCodec codec : ServiceLoader.load(IContentCodec.class)) {
+            CODECS.putIfAbsent(codec.getName(), codec);
+        }
+    }
+
+    private ContentCodecs() {
+    }
+
+    /**
+     * Returns the codec with the given name.
+     *
+     * @param name the name of the codec
+     * @return the codec
+     * @throws IllegalArgumentException if no codec has that name
+     */
+    public static IContentCodec forName(@NonNull String name) {
+        IContentCodec codec = CODECS.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown content codec " + name);
+        }
+        return codec;
+    }
+
+    /**
+     * Registers a codec, replacing any codec with the same name.
+     *
+     * @param codec the codec to register
+     */
+    public static void register(@NonNull IContentCodec codec) {
+        CODECS.put(codec.getName(), codec);
+    }
+}
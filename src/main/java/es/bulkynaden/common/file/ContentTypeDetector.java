@@ -0,0 +1,308 @@
+package es.bulkynaden.common.file;
+
+import es.bulkynaden.common.IFile;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code ContentTypeDetector} class detects the MIME type of a file content from its first
+ * {@value #HEADER_SIZE} bytes.
+ *
+ * <p>
+ * Known magic signatures are compiled once into a flat byte trie, in which a signature may skip bytes it
+ * does not care about (for instance the size field of a RIFF header). A lookup walks the trie over the header
+ * and returns the type of the longest matching signature, allocating nothing. Headers matching no signature
+ * are reported as {@link MimeTypes#TEXT_PLAIN} when they contain no control characters, and as
+ * {@link MimeTypes#APPLICATION_OCTET_STREAM} otherwise.
+ *
+ * <p>
+ * Every returned type is one of the {@link MimeTypes} constants.
+ */
+public final class ContentTypeDetector {
+    /**
+     * The number of leading bytes inspected.
+     */
+    public static final int HEADER_SIZE = 16;
+
+    private static final int ANY = -1;
+    private static final int NONE = -1;
+
+    private static final ThreadLocal<ByteBuffer> HEADERS = ThreadLocal.withInitial(() -> ByteBuffer.allocate(HEADER_SIZE));
+
+    private static final String[] TYPES;
+    private static final int[] NODE_TYPE;
+    private static final int[] NODE_WILDCARD;
+    private static final int[] NODE_EDGES;
+    private static final byte[] EDGE_LABELS;
+    private static final int[] EDGE_TARGETS;
+
+    static {
+        TrieBuilder builder = new TrieBuilder();
+        builder.add(MimeTypes.IMAGE_PNG, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A);
+        builder.add(MimeTypes.IMAGE_JPEG, 0xFF, 0xD8, 0xFF);
+        builder.add(MimeTypes.IMAGE_GIF, "GIF87a");
+        builder.add(MimeTypes.IMAGE_GIF, "GIF89a");
+        builder.add(MimeTypes.IMAGE_WEBP, 'R', 'I', 'F', 'F', ANY, ANY, ANY, ANY, 'W', 'E', 'B', 'P');
+        builder.add(MimeTypes.AUDIO_WAV, 'R', 'I', 'F', 'F', ANY, ANY, ANY, ANY, 'W', 'A', 'V', 'E');
+        builder.add(MimeTypes.VIDEO_X_MSVIDEO, 'R', 'I', 'F', 'F', ANY, ANY, ANY, ANY, 'A', 'V', 'I', ' ');
+        builder.add(MimeTypes.IMAGE_BMP, "BM");
+        builder.add(MimeTypes.IMAGE_TIFF, 'I', 'I', 0x2A, 0x00);
+        builder.add(MimeTypes.IMAGE_TIFF, 'M', 'M', 0x00, 0x2A);
+        builder.add(MimeTypes.IMAGE_X_ICON, 0x00, 0x00, 0x01, 0x00);
+        builder.add(MimeTypes.VIDEO_MP4, ANY, ANY, ANY, ANY, 'f', 't', 'y', 'p');
+        builder.add(MimeTypes.IMAGE_AVIF, ANY, ANY, ANY, ANY, 'f', 't', 'y', 'p', 'a', 'v', 'i', 'f');
+        builder.add(MimeTypes.IMAGE_HEIC, ANY, ANY, ANY, ANY, 'f', 't', 'y', 'p', 'h', 'e', 'i', 'c');
+        builder.add(MimeTypes.VIDEO_QUICKTIME, ANY, ANY, ANY, ANY, 'f', 't', 'y', 'p', 'q', 't', ' ', ' ');
+        builder.add(MimeTypes.VIDEO_WEBM, 0x1A, 0x45, 0xDF, 0xA3);
+        builder.add(MimeTypes.AUDIO_MPEG, "ID3");
+        builder.add(MimeTypes.AUDIO_MPEG, 0xFF, 0xFB);
+        builder.add(MimeTypes.AUDIO_OGG, "OggS");
+        builder.add(MimeTypes.AUDIO_FLAC, "fLaC");
+        builder.add(MimeTypes.APPLICATION_PDF, "%PDF-");
+        builder.add(MimeTypes.APPLICATION_POSTSCRIPT, "%!PS");
+        builder.add(MimeTypes.APPLICATION_RTF, "{\\rtf");
+        builder.add(MimeTypes.APPLICATION_ZIP, 'P', 'K', 0x03, 0x04);
+        builder.add(MimeTypes.APPLICATION_ZIP, 'P', 'K', 0x05, 0x06);
+        builder.add(MimeTypes.APPLICATION_GZIP, 0x1F, 0x8B);
+        builder.add(MimeTypes.APPLICATION_ZSTD, 0x28, 0xB5, 0x2F, 0xFD);
+        builder.add(MimeTypes.APPLICATION_X_BZIP2, "BZh");
+        builder.add(MimeTypes.APPLICATION_X_XZ, 0xFD, '7', 'z', 'X', 'Z', 0x00);
+        builder.add(MimeTypes.APPLICATION_X_7Z_COMPRESSED, '7', 'z', 0xBC, 0xAF, 0x27, 0x1C);
+        builder.add(MimeTypes.APPLICATION_VND_RAR, 'R', 'a', 'r', '!', 0x1A, 0x07);
+        builder.add(MimeTypes.APPLICATION_X_OLE_STORAGE, 0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1);
+        builder.add(MimeTypes.APPLICATION_JAVA_VM, 0xCA, 0xFE, 0xBA, 0xBE);
+        builder.add(MimeTypes.APPLICATION_X_ELF, 0x7F, 'E', 'L', 'F');
+        builder.add(MimeTypes.APPLICATION_X_MSDOWNLOAD, "MZ");
+        builder.add(MimeTypes.APPLICATION_WASM, 0x00, 'a', 's', 'm');
+        builder.add(MimeTypes.APPLICATION_VND_SQLITE3, "SQLite format 3\0");
+        builder.add(MimeTypes.FONT_WOFF, "wOFF");
+        builder.add(MimeTypes.FONT_WOFF2, "wOF2");
+        builder.add(MimeTypes.FONT_OTF, "OTTO");
+        builder.add(MimeTypes.FONT_TTF, 0x00, 0x01, 0x00, 0x00, 0x00);
+        builder.add(MimeTypes.TEXT_XML, "<?xml");
+        builder.add(MimeTypes.TEXT_XML, 0xEF, 0xBB, 0xBF, '<', '?', 'x', 'm', 'l');
+        builder.add(MimeTypes.TEXT_PLAIN, 0xEF, 0xBB, 0xBF);
+
+        TYPES = builder.types.toArray(new String[0]);
+        int nodes = builder.nodes.size();
+        NODE_TYPE = new int[nodes];
+        NODE_WILDCARD = new int[nodes];
+        NODE_EDGES = new int[nodes + 1];
+        int edges = builder.nodes.stream().mapToInt(node -> node.labels.size()).sum();
+        EDGE_LABELS = new byte[edges];
+        EDGE_TARGETS = new int[edges];
+
+        int edge = 0;
+        for (int i = 0; i < nodes; i++) {
+            TrieBuilder.Node node = builder.nodes.get(i);
+            NODE_TYPE[i] = node.type;
+            NODE_WILDCARD[i] = node.wildcard;
+            NODE_EDGES[i] = edge;
+            for (int j = 0; j < node.labels.size(); j++, edge++) {
+                EDGE_LABELS[edge] = node.labels.get(j);
+                EDGE_TARGETS[edge] = node.targets.get(j);
+            }
+        }
+        NODE_EDGES[nodes] = edge;
+    }
+
+    private ContentTypeDetector() {
+    }
+
+    /**
+     * Detects the MIME type of a content from its leading bytes.
+     *
+     * @param header an array holding the leading bytes
+     * @param offset the position of the first byte in the array
+     * @param length the number of leading bytes available, of which at most {@value #HEADER_SIZE} are used
+     * @return the detected type
+     */
+    public static String detect(@NonNull byte[] header, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > header.length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + (offset + length) + ") out of bounds for length " + header.length);
+        }
+
+        int inspected = Math.min(length, HEADER_SIZE);
+        int match = match(header, offset, inspected, 0, 0);
+        if (match != NONE) {
+            return TYPES[match & 0xFFFF];
+        }
+        return isText(header, offset, inspected) ? MimeTypes.TEXT_PLAIN : MimeTypes.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * Detects the MIME type of a content from its leading bytes, held between the position and the limit of
+     * the given buffer. The buffer is left unchanged.
+     *
+     * @param header a buffer holding the leading bytes
+     * @return the detected type
+     */
+    public static String detect(@NonNull ByteBuffer header) {
+        int length = Math.min(header.remaining(), HEADER_SIZE);
+        if (header.hasArray()) {
+            return detect(header.array(), header.arrayOffset() + header.position(), length);
+        }
+
+        ByteBuffer copy = HEADERS.get();
+        header.get(header.position(), copy.array(), 0, length);
+        return detect(copy.array(), 0, length);
+    }
+
+    /**
+     * Detects the MIME type of the given content, reading only its first {@value #HEADER_SIZE} bytes.
+     *
+     * @param content the content to inspect
+     * @return the detected type
+     * @throws IOException if the content cannot be read
+     */
+    public static String detect(@NonNull IFileContent content) throws IOException {
+        ByteBuffer header = HEADERS.get();
+        header.clear();
+        while (header.hasRemaining()) {
+            if (content.read(header, header.position()) <= 0) {
+                break;
+            }
+        }
+        return detect(header.array(), 0, header.position());
+    }
+
+    /**
+     * Detects the MIME type of the given file from the first bytes of its content.
+     *
+     * @param file the file to inspect
+     * @return the detected type, or {@code null} if the file has no content
+     * @throws IOException if the content cannot be read
+     */
+    public static String detect(@NonNull IFile file) throws IOException {
+        IFileContent content = file.getContent();
+        return content == null ? null : detect(content);
+    }
+
+    /**
+     * Assigns the detected MIME type to the given file if it has no type yet.
+     *
+     * @param file the file to inspect
+     * @return the type of the file after the call
+     * @throws IOException if the content cannot be read
+     */
+    public static String fillType(@NonNull IFile file) throws IOException {
+        String type = file.getType();
+        if (type != null && !type.isBlank()) {
+            return type;
+        }
+
+        type = detect(file);
+        if (type != null) {
+            file.setType(type);
+        }
+        return type;
+    }
+
+    /**
+     * Returns the longest match below the given node as {@code depth << 16 | type}, or {@link #NONE}.
+     */
+    private static int match(byte[] header, int start, int length, int node, int depth) {
+        int best = NODE_TYPE[node] == NONE ? NONE : depth << 16 | NODE_TYPE[node];
+        if (depth == length) {
+            return best;
+        }
+
+        byte value = header[start + depth];
+        for (int edge = NODE_EDGES[node]; edge < NODE_EDGES[node + 1]; edge++) {
+            if (EDGE_LABELS[edge] == value) {
+                best = longest(best, match(header, start, length, EDGE_TARGETS[edge], depth + 1));
+                break;
+            }
+        }
+        if (NODE_WILDCARD[node] != NONE) {
+            best = longest(best, match(header, start, length, NODE_WILDCARD[node], depth + 1));
+        }
+        return best;
+    }
+
+    private static int longest(int first, int second) {
+        return second != NONE && (first == NONE || second >>> 16 > first >>> 16) ? second : first;
+    }
+
+    private static boolean isText(byte[] header, int start, int length) {
+        if (length == 0) {
+            return false;
+        }
+        for (int i = start; i < start + length; i++) {
+            int value = header[i] & 0xFF;
+            if (value < 0x20 && value != '\t' && value != '\n' && value != '\r' && value != '\f' && value != 0x1B
+                    || value == 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects signatures into a tree of nodes before it is flattened into arrays.
+     */
+    private static final class TrieBuilder {
+        private final List<String> types = new ArrayList<>();
+        private final List<Node> nodes = new ArrayList<>(List.of(new Node()));
+
+        void add(String type, String signature) {
+            byte[] bytes = signature.getBytes(StandardCharsets.ISO_8859_1);
+            int[] values = new int[bytes.length];
+            for (int i = 0; i < bytes.length; i++) {
+                values[i] = bytes[i] & 0xFF;
+            }
+            add(type, values);
+        }
+
+        void add(String type, int... signature) {
+            if (signature.length > HEADER_SIZE) {
+                throw new IllegalArgumentException("Signature for " + type + " is longer than the header");
+            }
+
+            int node = 0;
+            for (int value : signature) {
+                node = value == ANY ? wildcard(node) : child(node, (byte) value);
+            }
+
+            int index = types.indexOf(type);
+            if (index < 0) {
+                index = types.size();
+                types.add(type);
+            }
+            nodes.get(node).type = index;
+        }
+
+        private int child(int parent, byte label) {
+            Node node = nodes.get(parent);
+            int edge = node.labels.indexOf(label);
+            if (edge >= 0) {
+                return node.targets.get(edge);
+            }
+            node.labels.add(label);
+            node.targets.add(nodes.size());
+            nodes.add(new Node());
+            return nodes.size() - 1;
+        }
+
+        private int wildcard(int parent) {
+            Node node = nodes.get(parent);
+            if (node.wildcard == NONE) {
+                node.wildcard = nodes.size();
+                nodes.add(new Node());
+            }
+            return node.wildcard;
+        }
+
+        private static final class Node {
+            private final List<Byte> labels = new ArrayList<>();
+            private final List<Integer> targets = new ArrayList<>();
+            private int type = NONE;
+            private int wildcard = NONE;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package es.bulkynaden.common.file;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The {@code DeflateCodec} class is an {@link IContentCodec} producing raw Deflate streams with the JDK
+ * {@link Deflater}. The native resources of each stream are released when the stream is closed.
+ */
+@Getter
+public final class DeflateCodec implements IContentCodec {
+    /**
+     * The name of the codec.
+     */
+    public static final String NAME = "deflate";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The compression level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}.
+     */
+    private final int level;
+
+    /**
+     * Creates a codec compressing with the default level.
+     */
+    public DeflateCodec() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates a codec compressing with the given level.
+     *
+     * @param level the compression level, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @throws IllegalArgumentException if the level is out of range
+     */
+    public DeflateCodec(int level) {
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level " + level);
+        }
+        this.level = level;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public OutputStream compress(@NonNull OutputStream target) {
+        Deflater deflater = new Deflater(level, true);
+        return new DeflaterOutputStream(target, deflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    @Override
+    public InputStream decompress(@NonNull InputStream source) {
+        Inflater inflater = new Inflater(true);
+        return new InflaterInputStream(source, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+}
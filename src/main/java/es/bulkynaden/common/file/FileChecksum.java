@@ -0,0 +1,89 @@
+package es.bulkynaden.common.file;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * The {@code FileChecksum} class holds the integrity values computed over a file content by
+ * {@link FileIntegrity}: its CRC32C, the root of its SHA-256 Merkle tree and the size and chunk size they were
+ * computed with.
+ *
+ * <p>
+ * Two checksums are only comparable if they were computed with the same chunk size, since the Merkle root
+ * depends on it.
+ */
+@Getter
+public final class FileChecksum {
+    /**
+     * The size of the content in bytes.
+     */
+    private final long size;
+
+    /**
+     * The size of the chunks hashed as Merkle leaves.
+     */
+    private final int chunkSize;
+
+    /**
+     * The CRC32C of the whole content.
+     */
+    private final int crc32c;
+
+    private final byte[] merkleRoot;
+
+    /**
+     * Creates a checksum from known values, for instance to compare against stored ones.
+     *
+     * @param size       the size of the content in bytes
+     * @param chunkSize  the size of the chunks hashed as Merkle leaves
+     * @param crc32c     the CRC32C of the whole content
+     * @param merkleRoot the root of the SHA-256 Merkle tree
+     */
+    public FileChecksum(long size, int chunkSize, int crc32c, @NonNull byte[] merkleRoot) {
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.crc32c = crc32c;
+        this.merkleRoot = merkleRoot.clone();
+    }
+
+    /**
+     * Returns the root of the SHA-256 Merkle tree of the content.
+     *
+     * @return a copy of the 32-byte root
+     */
+    public byte[] getMerkleRoot() {
+        return merkleRoot.clone();
+    }
+
+    /**
+     * Returns the root of the SHA-256 Merkle tree of the content as lower-case hexadecimal.
+     *
+     * @return the hexadecimal root
+     */
+    public String getMerkleRootHex() {
+        return HexFormat.of().formatHex(merkleRoot);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FileChecksum checksum
+                && size == checksum.size
+                && chunkSize == checksum.chunkSize
+                && crc32c == checksum.crc32c
+                && MessageDigest.isEqual(merkleRoot, checksum.merkleRoot);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * crc32c + Arrays.hashCode(merkleRoot);
+    }
+
+    @Override
+    public String toString() {
+        return "crc32c=" + String.format("%08x", crc32c) + ", sha256-merkle=" + getMerkleRootHex() + ", size=" + size;
+    }
+}
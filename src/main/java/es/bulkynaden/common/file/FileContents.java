@@ -0,0 +1,97 @@
+package es.bulkynaden.common.file;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code FileContents} class creates {@link IFileContent} instances over the supported backings: heap
+ * arrays, buffers, files on disk and memory-mapped regions of files.
+ */
+public final class FileContents {
+    private static final IFileContent EMPTY = new ByteBufferContent(ByteBuffer.allocate(0));
+
+    private FileContents() {
+    }
+
+    /**
+     * Returns an empty content.
+     *
+     * @return a content of size zero
+     */
+    public static IFileContent empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a content over the given array, without copying it. The array must not be modified afterwards.
+     *
+     * @param data the backing array
+     * @return a content over the array
+     */
+    public static IFileContent of(@NonNull byte[] data) {
+        return new ByteBufferContent(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Creates a content over the remaining bytes of the given buffer, without copying them.
+     *
+     * @param buffer the backing buffer
+     * @return a content over the buffer
+     */
+    public static IFileContent of(@NonNull ByteBuffer buffer) {
+        return new ByteBufferContent(buffer);
+    }
+
+    /**
+     * Creates a content over the given file, read on demand.
+     *
+     * @param path the backing file
+     * @return a content over the file
+     * @throws IOException if the size of the file cannot be read
+     */
+    public static IFileContent of(@NonNull Path path) throws IOException {
+        return new PathContent(path);
+    }
+
+    /**
+     * Maps the whole given file into memory and creates a content over the mapping.
+     *
+     * @param path the file to map
+     * @return a content over the mapped file
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is larger than a single mapping allows
+     */
+    public static IFileContent map(@NonNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return map(channel, 0, channel.size());
+        }
+    }
+
+    /**
+     * Maps a region of the given file into memory and creates a content over the mapping.
+     *
+     * @param path     the file to map
+     * @param position the position of the region in the file
+     * @param size     the size of the region in bytes
+     * @return a content over the mapped region
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the region is larger than a single mapping allows
+     */
+    public static IFileContent map(@NonNull Path path, long position, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return map(channel, position, size);
+        }
+    }
+
+    private static IFileContent map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cannot map " + size + " bytes in a single region");
+        }
+        return new ByteBufferContent(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+    }
+}
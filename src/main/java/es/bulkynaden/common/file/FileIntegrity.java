@@ -0,0 +1,340 @@
+package es.bulkynaden.common.file;
+
+import es.bulkynaden.common.IFile;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32C;
+
+/**
+ * The {@code FileIntegrity} class computes and verifies the integrity of file contents.
+ *
+ * <p>
+ * The content is split into fixed-size chunks that are processed in parallel on a {@link ForkJoinPool}.
+ * Each chunk gets a CRC32C, and the chunk values are merged with the CRC combination algorithm, so the result
+ * equals the CRC32C of the whole content. Each chunk is also a leaf of a SHA-256 Merkle tree built as in
+ * RFC 6962: leaves hash {@code 0x00 || chunk}, inner nodes hash {@code 0x01 || left || right}, and a range of
+ * {@code n} leaves is split at the largest power of two below {@code n}. The Merkle root is not the plain
+ * SHA-256 of the content.
+ *
+ * <p>
+ * Contents backed by a buffer are hashed in place; other contents are read chunk by chunk with positional
+ * reads, so chunks can be processed in any order. Contents without {@linkplain IFileContent#isRandomAccess()
+ * random access}, such as compressed ones, are streamed once in order by the calling thread instead, while
+ * the chunks already read are hashed on the pool.
+ */
+public final class FileIntegrity {
+    /**
+     * The default chunk size, 4 MiB.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    private static final int CRC32C_POLYNOMIAL = 0x82F63B78;
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private FileIntegrity() {
+    }
+
+    /**
+     * Returns the checksum of the given file. If the file is an {@link IFileChecksumHolder} holding a
+     * checksum computed for its current size, that checksum is returned without reading the content;
+     * otherwise it is computed with the default chunk size on the common pool and cached on the file.
+     *
+     * @param file the file to check
+     * @return the checksum of the content of the file
+     * @throws IOException if the content cannot be read
+     */
+    public static FileChecksum checksum(@NonNull IFile file) throws IOException {
+        IFileChecksumHolder holder = file instanceof IFileChecksumHolder checksumHolder ? checksumHolder : null;
+        if (holder != null) {
+            FileChecksum cached = holder.getChecksum();
+            if (cached != null && cached.getSize() == file.getSize()) {
+                return cached;
+            }
+        }
+
+        IFileContent content = file.getContent();
+        FileChecksum checksum = compute(content == null ? FileContents.empty() : content);
+        if (holder != null) {
+            holder.setChecksum(checksum);
+        }
+        return checksum;
+    }
+
+    /**
+     * Returns whether the content of the given file matches the expected checksum. The content is always
+     * read again, with the chunk size of the expected checksum, so that changes not reflected in the size of
+     * the file are detected. When the default chunk size is used, the fresh checksum replaces the one cached
+     * on an {@link IFileChecksumHolder}.
+     *
+     * @param file     the file to verify
+     * @param expected the expected checksum
+     * @return {@code true} if the content matches
+     * @throws IOException if the content cannot be read
+     */
+    public static boolean verify(@NonNull IFile file, @NonNull FileChecksum expected) throws IOException {
+        if (expected.getChunkSize() <= 0) {
+            return false;
+        }
+
+        IFileContent content = file.getContent();
+        FileChecksum actual = compute(content == null ? FileContents.empty() : content, expected.getChunkSize(),
+                ForkJoinPool.commonPool());
+        if (actual.getChunkSize() == DEFAULT_CHUNK_SIZE && file instanceof IFileChecksumHolder holder) {
+            holder.setChecksum(actual);
+        }
+        return actual.equals(expected);
+    }
+
+    /**
+     * Computes the checksum of the given content with the default chunk size on the common pool.
+     *
+     * @param content the content to check
+     * @return the checksum of the content
+     * @throws IOException if the content cannot be read
+     */
+    public static FileChecksum compute(@NonNull IFileContent content) throws IOException {
+        return compute(content, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the checksum of the given content.
+     *
+     * @param content   the content to check
+     * @param chunkSize the size of the chunks processed in parallel and hashed as Merkle leaves
+     * @param pool      the pool processing the chunks
+     * @return the checksum of the content
+     * @throws IOException              if the content cannot be read
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public static FileChecksum compute(@NonNull IFileContent content, int chunkSize, @NonNull ForkJoinPool pool) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive");
+        }
+
+        long size = content.getSize();
+        if (size == 0) {
+            return new FileChecksum(0, chunkSize, 0, newDigest().digest());
+        }
+
+        long chunks = (size + chunkSize - 1) / chunkSize;
+        ByteBuffer buffer = content instanceof ByteBufferContent bufferContent ? bufferContent.asByteBuffer() : null;
+        try {
+            Node root = buffer == null && !content.isRandomAccess()
+                    ? computeSequentially(content, size, chunkSize, pool)
+                    : pool.invoke(new ChunkTask(content, buffer, size, chunkSize, 0, chunks));
+            return new FileChecksum(size, chunkSize, root.crc, root.hash);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streams the content once in order, hashing the chunks on the pool as they are read. At most one chunk
+     * per pool thread, plus the one being read, is held in memory.
+     */
+    private static Node computeSequentially(IFileContent content, long size, int chunkSize, ForkJoinPool pool) throws IOException {
+        List<Node> leaves = new ArrayList<>();
+        Deque<ForkJoinTask<Node>> pending = new ArrayDeque<>();
+        int window = pool.getParallelism() + 1;
+
+        try (InputStream source = content.openStream()) {
+            for (long position = 0; position < size; position += chunkSize) {
+                int length = (int) Math.min(chunkSize, size - position);
+                byte[] chunk = source.readNBytes(length);
+                if (chunk.length < length) {
+                    throw new IOException("Content ended before its size of " + size + " bytes");
+                }
+                if (pending.size() == window) {
+                    leaves.add(pending.removeFirst().join());
+                }
+                pending.addLast(pool.submit(() -> leaf(ByteBuffer.wrap(chunk))));
+            }
+        }
+        while (!pending.isEmpty()) {
+            leaves.add(pending.removeFirst().join());
+        }
+        return merge(leaves, 0, leaves.size());
+    }
+
+    /**
+     * Merges a range of leaves, splitting it as the Merkle tree does.
+     */
+    private static Node merge(List<Node> leaves, int from, int to) {
+        int count = to - from;
+        if (count == 1) {
+            return leaves.get(from);
+        }
+
+        int split = from + Integer.highestOneBit(count - 1);
+        return merge(merge(leaves, from, split), merge(leaves, split, to));
+    }
+
+    private static Node merge(Node left, Node right) {
+        MessageDigest digest = newDigest();
+        digest.update(NODE_PREFIX);
+        digest.update(left.hash);
+        digest.update(right.hash);
+        return new Node(combineCrc32c(left.crc, right.crc, right.length), left.length + right.length, digest.digest());
+    }
+
+    private static Node leaf(ByteBuffer chunk) {
+        CRC32C crc = new CRC32C();
+        crc.update(chunk);
+        chunk.rewind();
+
+        MessageDigest digest = newDigest();
+        digest.update(LEAF_PREFIX);
+        int length = chunk.remaining();
+        digest.update(chunk);
+        return new Node((int) crc.getValue(), length, digest.digest());
+    }
+
+    /**
+     * Combines the CRC32C of two consecutive byte sequences into the CRC32C of their concatenation.
+     *
+     * @param first        the CRC32C of the first sequence
+     * @param second       the CRC32C of the second sequence
+     * @param secondLength the length of the second sequence in bytes
+     * @return the CRC32C of the concatenation
+     */
+    public static int combineCrc32c(int first, int second, long secondLength) {
+        if (secondLength <= 0) {
+            return first;
+        }
+
+        int[] even = new int[32];
+        int[] odd = new int[32];
+        odd[0] = CRC32C_POLYNOMIAL;
+        for (int n = 1, row = 1; n < 32; n++, row <<= 1) {
+            odd[n] = row;
+        }
+        square(even, odd);
+        square(odd, even);
+
+        int crc = first;
+        long length = secondLength;
+        do {
+            square(even, odd);
+            if ((length & 1) != 0) {
+                crc = times(even, crc);
+            }
+            length >>>= 1;
+            if (length == 0) {
+                break;
+            }
+
+            square(odd, even);
+            if ((length & 1) != 0) {
+                crc = times(odd, crc);
+            }
+            length >>>= 1;
+        } while (length != 0);
+
+        return crc ^ second;
+    }
+
+    private static int times(int[] matrix, int vector) {
+        int sum = 0;
+        for (int i = 0; vector != 0; i++, vector >>>= 1) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void square(int[] target, int[] matrix) {
+        for (int n = 0; n < 32; n++) {
+            target[n] = times(matrix, matrix[n]);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The CRC32C, length and Merkle hash of a range of chunks.
+     */
+    private record Node(int crc, long length, byte[] hash) {
+    }
+
+    /**
+     * Processes a range of chunks, splitting it as the Merkle tree does.
+     */
+    private static final class ChunkTask extends RecursiveTask<Node> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final IFileContent content;
+        private final ByteBuffer buffer;
+        private final long size;
+        private final int chunkSize;
+        private final long from;
+        private final long to;
+
+        private ChunkTask(IFileContent content, ByteBuffer buffer, long size, int chunkSize, long from, long to) {
+            this.content = content;
+            this.buffer = buffer;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Node compute() {
+            long count = to - from;
+            if (count == 1) {
+                return leaf();
+            }
+
+            long split = from + Long.highestOneBit(count - 1);
+            ChunkTask left = new ChunkTask(content, buffer, size, chunkSize, from, split);
+            ChunkTask right = new ChunkTask(content, buffer, size, chunkSize, split, to);
+            left.fork();
+            Node rightNode = right.compute();
+            return merge(left.join(), rightNode);
+        }
+
+        private Node leaf() {
+            long position = from * chunkSize;
+            int length = (int) Math.min(chunkSize, size - position);
+            return FileIntegrity.leaf(buffer != null ? buffer.slice((int) position, length) : read(position, length));
+        }
+
+        private ByteBuffer read(long position, int length) {
+            ByteBuffer target = ByteBuffer.allocate(length);
+
+            try {
+                while (target.hasRemaining()) {
+                    if (content.read(target, position + target.position()) < 0) {
+                        throw new IOException("Content ended before its size of " + size + " bytes");
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return target.flip();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package es.bulkynaden.common.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The {@code IContentCodec} interface is the service provider interface for the compression codecs used by
+ * {@link CompressedContent}. Implementations are looked up by name through {@link ContentCodecs}, and can be
+ * contributed through {@link java.util.ServiceLoader}.
+ */
+public interface IContentCodec {
+    /**
+     * Returns the name identifying the codec, such as {@code "deflate"}.
+     *
+     * @return the name of the codec
+     */
+    String getName();
+
+    /**
+     * Wraps the given stream so that bytes written to the wrapper are compressed into it. Closing the
+     * wrapper finishes the compressed stream and closes the given one.
+     *
+     * @param target the stream receiving compressed bytes
+     * @return a stream accepting uncompressed bytes
+     * @throws IOException if the compressed stream cannot be started
+     */
+    OutputStream compress(OutputStream target) throws IOException;
+
+    /**
+     * Wraps the given stream so that reading from the wrapper decompresses its bytes. Closing the wrapper
+     * closes the given stream.
+     *
+     * @param source the stream providing compressed bytes
+     * @return a stream providing uncompressed bytes
+     * @throws IOException if the compressed stream cannot be read
+     */
+    InputStream decompress(InputStream source) throws IOException;
+}
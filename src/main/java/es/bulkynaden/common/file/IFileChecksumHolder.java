@@ -0,0 +1,22 @@
+package es.bulkynaden.common.file;
+
+/**
+ * The {@code IFileChecksumHolder} interface represents a file able to keep the last {@link FileChecksum}
+ * computed over its content, so that {@link FileIntegrity#checksum(es.bulkynaden.common.IFile)} does not
+ * compute it again while the content is unchanged.
+ */
+public interface IFileChecksumHolder {
+    /**
+     * Returns the cached checksum of the content.
+     *
+     * @return the checksum, or {@code null} if none is cached
+     */
+    FileChecksum getChecksum();
+
+    /**
+     * Caches the checksum of the content. Implementations clear it whenever their content changes.
+     *
+     * @param checksum the checksum, or {@code null} to clear it
+     */
+    void setChecksum(FileChecksum checksum);
+}
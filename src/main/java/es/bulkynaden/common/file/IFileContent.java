@@ -0,0 +1,135 @@
+package es.bulkynaden.common.file;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The {@code IFileContent} interface represents the payload of a file, independently of where it is kept.
+ * Content can be streamed, read at arbitrary positions and copied to a channel without materializing it
+ * as a single array.
+ *
+ * @see FileContents
+ */
+public interface IFileContent {
+    /**
+     * The size of the intermediate buffer used by the default copying methods.
+     */
+    int TRANSFER_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Returns the size of the content in bytes.
+     *
+     * @return the size of the content
+     */
+    long getSize();
+
+    /**
+     * Returns the number of bytes actually kept for the content, which differs from {@link #getSize()} when
+     * the content is stored compressed.
+     *
+     * @return the stored size in bytes
+     */
+    default long getStoredSize() {
+        return getSize();
+    }
+
+    /**
+     * Opens a new stream over the content, positioned at its start.
+     *
+     * @return a new input stream, to be closed by the caller
+     * @throws IOException if the content cannot be opened
+     */
+    InputStream openStream() throws IOException;
+
+    /**
+     * Reads bytes starting at the given position into the target buffer, without affecting any open stream.
+     *
+     * @param target   the buffer to fill up to its limit
+     * @param position the position of the first byte to read
+     * @return the number of bytes read, or {@code -1} if the position is at or past the end of the content
+     * @throws IOException if the content cannot be read
+     */
+    int read(@NonNull ByteBuffer target, long position) throws IOException;
+
+    /**
+     * Returns whether {@link #read(ByteBuffer, long)} costs about the same at any position. Contents that
+     * must decode everything before the requested position return {@code false}, and are best read once in
+     * order through {@link #openStream()}.
+     *
+     * @return {@code true} if positional reads are cheap at any position
+     */
+    default boolean isRandomAccess() {
+        return true;
+    }
+
+    /**
+     * Opens a new channel over the content, positioned at its start.
+     *
+     * @return a new channel, to be closed by the caller
+     * @throws IOException if the content cannot be opened
+     */
+    default ReadableByteChannel openChannel() throws IOException {
+        return Channels.newChannel(openStream());
+    }
+
+    /**
+     * Copies the whole content to the given channel. Implementations backed by a file or a buffer write to
+     * the channel directly, without an intermediate copy.
+     *
+     * @param target the channel to write to, which is not closed
+     * @return the number of bytes written
+     * @throws IOException if the content cannot be read or the channel cannot be written
+     */
+    default long transferTo(@NonNull WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+        long transferred = 0;
+        try (ReadableByteChannel source = openChannel()) {
+            while (source.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    transferred += target.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return transferred;
+    }
+
+    /**
+     * Copies the whole content to the given stream.
+     *
+     * @param target the stream to write to, which is not closed
+     * @return the number of bytes written
+     * @throws IOException if the content cannot be read or the stream cannot be written
+     */
+    default long transferTo(@NonNull OutputStream target) throws IOException {
+        try (InputStream source = openStream()) {
+            return source.transferTo(target);
+        }
+    }
+
+    /**
+     * Copies the whole content into a new array.
+     *
+     * @return a new array holding the content
+     * @throws IOException if the content cannot be read
+     * @throws IllegalStateException if the content is too large for an array
+     */
+    default byte[] toByteArray() throws IOException {
+        long size = getSize();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Content of " + size + " bytes does not fit in an array");
+        }
+
+        try (InputStream source = openStream()) {
+            return source.readNBytes((int) size);
+        }
+    }
+}
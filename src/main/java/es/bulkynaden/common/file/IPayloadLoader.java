@@ -0,0 +1,21 @@
+package es.bulkynaden.common.file;
+
+import java.io.IOException;
+
+/**
+ * The {@code IPayloadLoader} interface loads the payload of a file from wherever it is kept, given the key
+ * the file was created with: a database id, an object storage key, a path...
+ *
+ * @see LazyFile
+ */
+@FunctionalInterface
+public interface IPayloadLoader {
+    /**
+     * Loads the payload identified by the given key.
+     *
+     * @param key the key of the payload
+     * @return the payload
+     * @throws IOException if the payload cannot be loaded
+     */
+    byte[] load(String key) throws IOException;
+}
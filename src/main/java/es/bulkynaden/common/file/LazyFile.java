@@ -0,0 +1,113 @@
+package es.bulkynaden.common.file;
+
+import es.bulkynaden.common.IFile;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The {@code LazyFile} class is an {@link IFile} carrying only its metadata: name, size, type and the key of
+ * its payload. The payload is pulled through an {@link IPayloadLoader} on first access and kept in a shared
+ * {@link PayloadCache}, so listing many files costs no payload memory, and payloads evicted from the cache
+ * are simply loaded again.
+ *
+ * <p>
+ * Data assigned with {@link #setData(byte[])} is kept by the file itself and takes precedence over the
+ * loader until it is cleared with {@code null}.
+ */
+@Getter
+@Setter
+public class LazyFile implements IFile, IFileChecksumHolder {
+    /**
+     * The name of the file.
+     */
+    private String name;
+
+    /**
+     * The size of the file in bytes.
+     */
+    private long size;
+
+    /**
+     * The type of the file.
+     */
+    private String type;
+
+    /**
+     * The key identifying the payload for the loader and the cache.
+     */
+    private final String key;
+
+    /**
+     * The loader pulling the payload.
+     */
+    private final IPayloadLoader loader;
+
+    /**
+     * The cache holding the loaded payload.
+     */
+    private final PayloadCache cache;
+
+    /**
+     * The last checksum computed over the payload, kept across cache evictions.
+     */
+    private FileChecksum checksum;
+
+    private byte[] data;
+
+    /**
+     * Creates a file whose payload is loaded on demand.
+     *
+     * @param key    the key identifying the payload
+     * @param loader the loader pulling the payload
+     * @param cache  the cache holding loaded payloads, usually shared by many files
+     */
+    public LazyFile(@NonNull String key, @NonNull IPayloadLoader loader, @NonNull PayloadCache cache) {
+        this.key = key;
+        this.loader = loader;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the data of the file, loading it through the cache if it was not assigned explicitly.
+     *
+     * @return The file's data as a byte array.
+     * @throws UncheckedIOException If the payload cannot be loaded.
+     */
+    @Override
+    public byte[] getData() {
+        if (data != null) {
+            return data;
+        }
+
+        try {
+            return cache.get(key, loader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Assigns data to the file, taking precedence over the loader. Passing {@code null} restores loading.
+     *
+     * @param data A byte array representing the data to be assigned to the file.
+     */
+    @Override
+    public void setData(byte[] data) {
+        this.data = data;
+        this.checksum = null;
+    }
+
+    /**
+     * Returns whether the payload is available without loading it, either because it was assigned or
+     * because it is cached.
+     *
+     * @return {@code true} if accessing the data will not call the loader
+     */
+    public boolean isLoaded() {
+        return data != null || cache.getIfPresent(key) != null;
+    }
+}
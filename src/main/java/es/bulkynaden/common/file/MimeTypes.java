@@ -0,0 +1,211 @@
+package es.bulkynaden.common.file;
+
+/**
+ * The {@code MimeTypes} class holds the MIME types returned by {@link ContentTypeDetector}. The constants are
+ * compile-time literals, so every detected type is the same interned {@code String} instance and can be
+ * compared by reference.
+ */
+public final class MimeTypes {
+    /**
+     * Arbitrary binary data, returned when no other type is recognized.
+     */
+    public static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+
+    /**
+     * Portable Document Format documents.
+     */
+    public static final String APPLICATION_PDF = "application/pdf";
+
+    /**
+     * PostScript documents.
+     */
+    public static final String APPLICATION_POSTSCRIPT = "application/postscript";
+
+    /**
+     * Rich Text Format documents.
+     */
+    public static final String APPLICATION_RTF = "application/rtf";
+
+    /**
+     * ZIP archives, including formats built on them such as JAR or Office Open XML.
+     */
+    public static final String APPLICATION_ZIP = "application/zip";
+
+    /**
+     * Gzip compressed data.
+     */
+    public static final String APPLICATION_GZIP = "application/gzip";
+
+    /**
+     * Zstandard compressed data.
+     */
+    public static final String APPLICATION_ZSTD = "application/zstd";
+
+    /**
+     * Bzip2 compressed data.
+     */
+    public static final String APPLICATION_X_BZIP2 = "application/x-bzip2";
+
+    /**
+     * XZ compressed data.
+     */
+    public static final String APPLICATION_X_XZ = "application/x-xz";
+
+    /**
+     * 7-Zip archives.
+     */
+    public static final String APPLICATION_X_7Z_COMPRESSED = "application/x-7z-compressed";
+
+    /**
+     * RAR archives.
+     */
+    public static final String APPLICATION_VND_RAR = "application/vnd.rar";
+
+    /**
+     * OLE2 compound documents, such as legacy Microsoft Office files.
+     */
+    public static final String APPLICATION_X_OLE_STORAGE = "application/x-ole-storage";
+
+    /**
+     * Java class files.
+     */
+    public static final String APPLICATION_JAVA_VM = "application/java-vm";
+
+    /**
+     * ELF executables and shared libraries.
+     */
+    public static final String APPLICATION_X_ELF = "application/x-elf";
+
+    /**
+     * Windows PE executables and libraries.
+     */
+    public static final String APPLICATION_X_MSDOWNLOAD = "application/x-msdownload";
+
+    /**
+     * WebAssembly binary modules.
+     */
+    public static final String APPLICATION_WASM = "application/wasm";
+
+    /**
+     * SQLite 3 database files.
+     */
+    public static final String APPLICATION_VND_SQLITE3 = "application/vnd.sqlite3";
+
+    /**
+     * PNG images.
+     */
+    public static final String IMAGE_PNG = "image/png";
+
+    /**
+     * JPEG images.
+     */
+    public static final String IMAGE_JPEG = "image/jpeg";
+
+    /**
+     * GIF images.
+     */
+    public static final String IMAGE_GIF = "image/gif";
+
+    /**
+     * WebP images.
+     */
+    public static final String IMAGE_WEBP = "image/webp";
+
+    /**
+     * BMP images.
+     */
+    public static final String IMAGE_BMP = "image/bmp";
+
+    /**
+     * TIFF images.
+     */
+    public static final String IMAGE_TIFF = "image/tiff";
+
+    /**
+     * Windows icon files.
+     */
+    public static final String IMAGE_X_ICON = "image/x-icon";
+
+    /**
+     * AVIF images.
+     */
+    public static final String IMAGE_AVIF = "image/avif";
+
+    /**
+     * HEIC images.
+     */
+    public static final String IMAGE_HEIC = "image/heic";
+
+    /**
+     * MPEG audio, such as MP3.
+     */
+    public static final String AUDIO_MPEG = "audio/mpeg";
+
+    /**
+     * Ogg audio.
+     */
+    public static final String AUDIO_OGG = "audio/ogg";
+
+    /**
+     * FLAC audio.
+     */
+    public static final String AUDIO_FLAC = "audio/flac";
+
+    /**
+     * WAVE audio.
+     */
+    public static final String AUDIO_WAV = "audio/wav";
+
+    /**
+     * MP4 video.
+     */
+    public static final String VIDEO_MP4 = "video/mp4";
+
+    /**
+     * QuickTime video.
+     */
+    public static final String VIDEO_QUICKTIME = "video/quicktime";
+
+    /**
+     * AVI video.
+     */
+    public static final String VIDEO_X_MSVIDEO = "video/x-msvideo";
+
+    /**
+     * WebM video.
+     */
+    public static final String VIDEO_WEBM = "video/webm";
+
+    /**
+     * WOFF fonts.
+     */
+    public static final String FONT_WOFF = "font/woff";
+
+    /**
+     * WOFF2 fonts.
+     */
+    public static final String FONT_WOFF2 = "font/woff2";
+
+    /**
+     * OpenType fonts with CFF outlines.
+     */
+    public static final String FONT_OTF = "font/otf";
+
+    /**
+     * TrueType fonts.
+     */
+    public static final String FONT_TTF = "font/ttf";
+
+    /**
+     * XML documents.
+     */
+    public static final String TEXT_XML = "text/xml";
+
+    /**
+     * Plain text.
+     */
+    public static final String TEXT_PLAIN = "text/plain";
+
+    private MimeTypes() {
+    }
+}
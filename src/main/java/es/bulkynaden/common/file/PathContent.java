@@ -0,0 +1,104 @@
+package es.bulkynaden.common.file;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code PathContent} class is an {@link IFileContent} backed by a file on disk. Nothing is read until
+ * the content is accessed, and {@link #transferTo(WritableByteChannel)} uses
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, letting the operating system copy the
+ * bytes without passing them through the heap.
+ *
+ * <p>
+ * The size is captured when the instance is created; the file is expected not to change afterwards.
+ */
+@Getter
+public class PathContent implements IFileContent {
+    /**
+     * The file holding the content.
+     */
+    private final Path path;
+
+    /**
+     * The size of the content in bytes.
+     */
+    private final long size;
+
+    /**
+     * Creates a content over the given file.
+     *
+     * @param path the file holding the content
+     * @throws IOException if the size of the file cannot be read
+     */
+    public PathContent(@NonNull Path path) throws IOException {
+        this(path, Files.size(path));
+    }
+
+    /**
+     * Creates a content over the given file, whose size is already known.
+     *
+     * @param path the file holding the content
+     * @param size the size of the file in bytes
+     */
+    protected PathContent(@NonNull Path path, long size) {
+        this.path = path;
+        this.size = size;
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public ReadableByteChannel openChannel() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    @Override
+    public int read(@NonNull ByteBuffer target, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int total = 0;
+            while (target.hasRemaining()) {
+                int read = channel.read(target, position + total);
+                if (read < 0) {
+                    break;
+                }
+                total += read;
+            }
+            return total == 0 && position >= size ? -1 : total;
+        }
+    }
+
+    @Override
+    public long transferTo(@NonNull WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long transferred = 0;
+            while (transferred < length) {
+                long count = channel.transferTo(transferred, length - transferred, target);
+                if (count <= 0) {
+                    break;
+                }
+                transferred += count;
+            }
+            return transferred;
+        }
+    }
+
+    @Override
+    public long transferTo(@NonNull OutputStream target) throws IOException {
+        return Files.copy(path, target);
+    }
+}
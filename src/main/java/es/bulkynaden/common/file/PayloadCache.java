@@ -0,0 +1,175 @@
+package es.bulkynaden.common.file;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code PayloadCache} class keeps recently used file payloads in memory, bounded by their total size in
+ * bytes rather than by their count. When adding a payload exceeds the bound, the least recently used payloads
+ * are evicted and will be loaded again on their next access.
+ *
+ * <p>
+ * Payloads larger than the whole bound are returned to the caller without being cached. The cache is safe
+ * for concurrent use; loading happens outside of its lock, so two threads missing the same key at the same
+ * time may both load it.
+ */
+public class PayloadCache {
+    private final LinkedHashMap<String, byte[]> payloads = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The maximum total size of the cached payloads, in bytes.
+     */
+    @Getter
+    private final long maximumSize;
+
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache holding at most the given number of payload bytes.
+     *
+     * @param maximumSize the maximum total size of the cached payloads, in bytes
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    public PayloadCache(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("The maximum size must not be negative");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the payload cached under the given key, loading and caching it on a miss.
+     *
+     * @param key    the key of the payload
+     * @param loader the loader to use on a miss
+     * @return the payload
+     * @throws IOException if the payload cannot be loaded
+     */
+    public byte[] get(@NonNull String key, @NonNull IPayloadLoader loader) throws IOException {
+        synchronized (this) {
+            byte[] payload = payloads.get(key);
+            if (payload != null) {
+                hits++;
+                return payload;
+            }
+            misses++;
+        }
+
+        byte[] loaded = loader.load(key);
+        if (loaded == null) {
+            throw new IOException("No payload for key " + key);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Returns the payload cached under the given key without loading it.
+     *
+     * @param key the key of the payload
+     * @return the payload, or {@code null} if it is not cached
+     */
+    public synchronized byte[] getIfPresent(@NonNull String key) {
+        return payloads.get(key);
+    }
+
+    /**
+     * Caches a payload under the given key, replacing any previous one and evicting the least recently used
+     * payloads as needed.
+     *
+     * @param key     the key of the payload
+     * @param payload the payload
+     */
+    public synchronized void put(@NonNull String key, @NonNull byte[] payload) {
+        byte[] previous = payloads.remove(key);
+        if (previous != null) {
+            size -= previous.length;
+        }
+        if (payload.length > maximumSize) {
+            return;
+        }
+
+        payloads.put(key, payload);
+        size += payload.length;
+
+        Iterator<Map.Entry<String, byte[]>> eldest = payloads.entrySet().iterator();
+        while (size > maximumSize) {
+            size -= eldest.next().getValue().length;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes the payload cached under the given key.
+     *
+     * @param key the key of the payload
+     */
+    public synchronized void invalidate(@NonNull String key) {
+        byte[] previous = payloads.remove(key);
+        if (previous != null) {
+            size -= previous.length;
+        }
+    }
+
+    /**
+     * Removes every cached payload.
+     */
+    public synchronized void invalidateAll() {
+        payloads.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the total size of the cached payloads.
+     *
+     * @return the cached size in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of cached payloads.
+     *
+     * @return the number of cached payloads
+     */
+    public synchronized int getCount() {
+        return payloads.size();
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that had to load their payload.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of payloads evicted to respect the maximum size.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+}
@@ -1,12 +1,9 @@
 package es.bulkynaden.common.geo;
 
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 
-import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
 /**
  * The {@code GeoLocation} class holds details of a geographical location including its
  * name, address, the city it belongs to, and its geographical coordinates,
@@ -32,45 +29,36 @@ public class GeoLocation implements IGeoLocation {
     private IGeographicCoordinates coordinates;
 
     /**
-     * Generates a comprehensive string representation of this {@code GeoLocation} instance,
-     * incorporating the location's name, address, and city name (when available). The resulting
-     * string is formatted to include the location's name and address, separated by a dash (' - '),
-     * and optionally, the city name enclosed in parentheses.
+     * Sets the city of this {@code GeoLocation} to the canonical instance registered in the given registry,
+     * so that locations in the same city share one {@code ICity} and can be compared by reference.
+     *
+     * @param city     the city to set, or {@code null} to clear it
+     * @param registry the registry interning the city
+     * @see NameRegistry#intern(es.bulkynaden.common.INameHolder)
+     */
+    public void setCity(ICity city, @NonNull NameRegistry<ICity> registry) {
+        this.city = city == null ? null : registry.intern(city);
+    }
+
+    /**
+     * Generates a string representation of this {@code GeoLocation} instance from its address and
+     * city name, separated by a comma (', ').
      *
-     * <p>The method intelligently omits any null or blank values for the name, address, or city name,
-     * ensuring only meaningful data is included in the string representation. The inclusion of the
-     * city name is conditional; it appears in the final string only if it is neither null nor blank.</p>
+     * <p>The method omits any null or blank values, ensuring only meaningful data is included in the
+     * string representation. If only one of the values is present, it is returned without a separator.</p>
      *
-     * <p>Format details:</p>
-     * <ul>
-     *   <li>If all elements (name, address, city name) are present and non-blank, the format will be:
-     *       {@code "Name - Address (City Name)"}.</li>
-     *   <li>If the city name is null or blank, it will be omitted, resulting in: {@code "Name - Address"}.</li>
-     *   <li>If either the name or the address is null or blank, only the non-blank values are included.
-     *       If both are non-blank, they're separated by a dash. If one is blank, the other is presented
-     *       without a dash.</li>
-     * </ul>
+     * <p><strong>Example:</strong> Given a {@code GeoLocation} with an address of "123 Main St" and a
+     * city name of "San Francisco", the method returns {@code "123 Main St, San Francisco"}.</p>
      *
-     * <p><strong>Example:</strong> Given a {@code GeoLocation} with the name "Google", an address of
-     * "123 Main St", and a city name of "San Francisco", the method returns
-     * {@code "Google - 123 Main St (San Francisco)"}.</p>
+     * <p>The string is built by {@link GeoLocationFormatter#format(IGeoLocation)}, which allocates at
+     * most the resulting string. Use {@link #appendTo(StringBuilder)} to render many locations into
+     * a single buffer.</p>
      *
-     * @return A string representation of the {@code GeoLocation}, formatted as described above. If all
-     * fields (name, address, and city name) are blank or null, an empty string is returned.
+     * @return A string representation of the {@code GeoLocation}, formatted as described above. If both
+     * the address and the city name are blank or null, an empty string is returned.
      */
     @Override
     public String toString() {
-        String addressPart = Optional.ofNullable(address)
-                .filter(s -> !s.isBlank())
-                .orElse("");
-
-        String cityPart = Optional.ofNullable(city)
-                .map(ICity::getName)
-                .filter(cityName -> !cityName.isBlank())
-                .orElse("");
-
-        return Stream.of(addressPart, cityPart)
-                .filter(s -> !s.isEmpty())
-                .collect(Collectors.joining(", "));
+        return GeoLocationFormatter.format(this);
     }
 }
\ No newline at end of file
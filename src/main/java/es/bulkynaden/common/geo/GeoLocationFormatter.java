@@ -0,0 +1,112 @@
+package es.bulkynaden.common.geo;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+
+/**
+ * The {@code GeoLocationFormatter} class renders {@link IGeoLocation} instances as text.
+ *
+ * <p>
+ * A location is rendered as its address followed by its city name, separated by {@value #SEPARATOR}.
+ * Null or blank values are omitted, so a location with only one of them renders just that value and
+ * a location with neither renders as an empty string.
+ *
+ * <p>
+ * The formatter does not allocate intermediate objects: {@link #format(IGeoLocation)} returns an existing
+ * {@code String} when only one value is present, and the {@code appendTo} methods write straight into the
+ * caller's buffer, so bulk exporters can render any number of locations into a single, reused
+ * {@link StringBuilder} or {@link Appendable}.
+ *
+ * @see IGeoLocation#appendTo(StringBuilder)
+ * @see IGeoLocation#appendTo(Appendable)
+ */
+public final class GeoLocationFormatter {
+    /**
+     * The separator placed between the address and the city name.
+     */
+    public static final String SEPARATOR = ", ";
+
+    private GeoLocationFormatter() {
+    }
+
+    /**
+     * Formats the given location as a {@code String}.
+     *
+     * @param location the location to format
+     * @return the formatted location, or an empty string if it has neither an address nor a city name
+     */
+    public static String format(@NonNull IGeoLocation location) {
+        String address = addressOf(location);
+        String cityName = cityNameOf(location);
+
+        if (address == null) {
+            return cityName == null ? "" : cityName;
+        } else if (cityName == null) {
+            return address;
+        } else {
+            return address + SEPARATOR + cityName;
+        }
+    }
+
+    /**
+     * Appends the formatted location to the given {@code StringBuilder}.
+     *
+     * @param location the location to format
+     * @param builder  the builder the location is appended to
+     * @return the given builder
+     */
+    public static StringBuilder appendTo(@NonNull IGeoLocation location, @NonNull StringBuilder builder) {
+        String address = addressOf(location);
+        String cityName = cityNameOf(location);
+
+        if (address != null) {
+            builder.append(address);
+        }
+        if (address != null && cityName != null) {
+            builder.append(SEPARATOR);
+        }
+        if (cityName != null) {
+            builder.append(cityName);
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the formatted location to the given {@code Appendable}.
+     *
+     * @param location   the location to format
+     * @param appendable the appendable the location is appended to
+     * @param <A>        the type of the appendable
+     * @return the given appendable
+     * @throws IOException if the appendable fails to accept the characters
+     */
+    public static <A extends Appendable> A appendTo(@NonNull IGeoLocation location, @NonNull A appendable) throws IOException {
+        String address = addressOf(location);
+        String cityName = cityNameOf(location);
+
+        if (address != null) {
+            appendable.append(address);
+        }
+        if (address != null && cityName != null) {
+            appendable.append(SEPARATOR);
+        }
+        if (cityName != null) {
+            appendable.append(cityName);
+        }
+        return appendable;
+    }
+
+    private static String addressOf(IGeoLocation location) {
+        return nonBlank(location.getAddress());
+    }
+
+    private static String cityNameOf(IGeoLocation location) {
+        ICity city = location.getCity();
+        return city == null ? null : nonBlank(city.getName());
+    }
+
+    private static String nonBlank(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,402 @@
+package es.bulkynaden.common.geo;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The {@code GeographicCoordinatesArray} class is a growable, columnar store of geographic coordinates.
+ *
+ * <p>
+ * Latitudes, longitudes and altitudes are kept in three parallel {@code double[]} arrays instead of one
+ * {@link GeographicCoordinates} object per point, which removes the per-point object header and reference
+ * and lets sequential scans run over contiguous primitive memory.
+ *
+ * <p>
+ * Individual points are exposed as {@link View} flyweights: lightweight {@link IGeographicCoordinates}
+ * instances that read and write through to the arrays at a given index. A single view can be moved across
+ * indexes with {@link View#setIndex(int)}, so a whole store can be visited without allocating per point.
+ * {@link #forEach(CoordinatesConsumer)} offers the same without any view at all.
+ *
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see IGeographicCoordinates
+ */
+public class GeographicCoordinatesArray {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] altitudes;
+    private int size;
+
+    /**
+     * Creates an empty store with a default initial capacity.
+     */
+    public GeographicCoordinatesArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store able to hold the given number of points before growing.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public GeographicCoordinatesArray(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        latitudes = new double[initialCapacity];
+        longitudes = new double[initialCapacity];
+        altitudes = new double[initialCapacity];
+    }
+
+    /**
+     * Returns the number of points in the store.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the store holds no points.
+     *
+     * @return {@code true} if the store is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends a point to the store.
+     *
+     * @param latitude  the latitude of the point
+     * @param longitude the longitude of the point
+     * @param altitude  the altitude of the point
+     * @return the index of the new point
+     */
+    public int add(double latitude, double longitude, double altitude) {
+        grow(size + 1);
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        altitudes[size] = altitude;
+        return size++;
+    }
+
+    /**
+     * Appends a copy of the given coordinates to the store.
+     *
+     * @param coordinates the coordinates to copy
+     * @return the index of the new point
+     */
+    public int add(@NonNull IGeographicCoordinates coordinates) {
+        return add(coordinates.getLatitude(), coordinates.getLongitude(), coordinates.getAltitude());
+    }
+
+    /**
+     * Appends a range of points given as parallel arrays, growing the store at most once.
+     *
+     * @param latitudes  the source latitudes
+     * @param longitudes the source longitudes
+     * @param altitudes  the source altitudes
+     * @param offset     the index of the first point to copy in the source arrays
+     * @param length     the number of points to copy
+     * @throws IndexOutOfBoundsException if the range is outside any of the source arrays
+     */
+    public void addAll(@NonNull double[] latitudes, @NonNull double[] longitudes, @NonNull double[] altitudes,
+                       int offset, int length) {
+        checkRange(latitudes.length, offset, length);
+        checkRange(longitudes.length, offset, length);
+        checkRange(altitudes.length, offset, length);
+
+        grow(size + length);
+        System.arraycopy(latitudes, offset, this.latitudes, size, length);
+        System.arraycopy(longitudes, offset, this.longitudes, size, length);
+        System.arraycopy(altitudes, offset, this.altitudes, size, length);
+        size += length;
+    }
+
+    /**
+     * Appends copies of all the given coordinates, growing the store at most once.
+     *
+     * @param coordinates the coordinates to copy
+     */
+    public void addAll(@NonNull Collection<? extends IGeographicCoordinates> coordinates) {
+        grow(size + coordinates.size());
+        for (IGeographicCoordinates point : coordinates) {
+            add(point);
+        }
+    }
+
+    /**
+     * Returns the latitude of the point at the given index.
+     *
+     * @param index the index of the point
+     * @return the latitude of the point
+     */
+    public double getLatitude(int index) {
+        return latitudes[checkIndex(index)];
+    }
+
+    /**
+     * Sets the latitude of the point at the given index.
+     *
+     * @param index    the index of the point
+     * @param latitude the latitude to be set
+     */
+    public void setLatitude(int index, double latitude) {
+        latitudes[checkIndex(index)] = latitude;
+    }
+
+    /**
+     * Returns the longitude of the point at the given index.
+     *
+     * @param index the index of the point
+     * @return the longitude of the point
+     */
+    public double getLongitude(int index) {
+        return longitudes[checkIndex(index)];
+    }
+
+    /**
+     * Sets the longitude of the point at the given index.
+     *
+     * @param index     the index of the point
+     * @param longitude the longitude to be set
+     */
+    public void setLongitude(int index, double longitude) {
+        longitudes[checkIndex(index)] = longitude;
+    }
+
+    /**
+     * Returns the altitude of the point at the given index.
+     *
+     * @param index the index of the point
+     * @return the altitude of the point
+     */
+    public double getAltitude(int index) {
+        return altitudes[checkIndex(index)];
+    }
+
+    /**
+     * Sets the altitude of the point at the given index.
+     *
+     * @param index    the index of the point
+     * @param altitude the altitude to be set
+     */
+    public void setAltitude(int index, double altitude) {
+        altitudes[checkIndex(index)] = altitude;
+    }
+
+    /**
+     * Returns a flyweight view over the point at the given index. The view reads and writes through
+     * to this store.
+     *
+     * @param index the index of the point
+     * @return a view over the point
+     */
+    public View get(int index) {
+        return new View(checkIndex(index));
+    }
+
+    /**
+     * Returns a flyweight view positioned before the first point, meant to be moved with
+     * {@link View#setIndex(int)} while scanning the store.
+     *
+     * @return a new, unpositioned view
+     */
+    public View newView() {
+        return new View(-1);
+    }
+
+    /**
+     * Visits every point in index order, passing its primitive components to the consumer.
+     *
+     * @param consumer the consumer receiving each point
+     */
+    public void forEach(@NonNull CoordinatesConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(i, latitudes[i], longitudes[i], altitudes[i]);
+        }
+    }
+
+    /**
+     * Returns the backing latitude array. Only the first {@link #size()} entries are meaningful, and the
+     * array is replaced whenever the store grows, so it must not be retained across additions.
+     *
+     * @return the backing latitude array
+     */
+    public double[] getLatitudes() {
+        return latitudes;
+    }
+
+    /**
+     * Returns the backing longitude array. Only the first {@link #size()} entries are meaningful, and the
+     * array is replaced whenever the store grows, so it must not be retained across additions.
+     *
+     * @return the backing longitude array
+     */
+    public double[] getLongitudes() {
+        return longitudes;
+    }
+
+    /**
+     * Returns the backing altitude array. Only the first {@link #size()} entries are meaningful, and the
+     * array is replaced whenever the store grows, so it must not be retained across additions.
+     *
+     * @return the backing altitude array
+     */
+    public double[] getAltitudes() {
+        return altitudes;
+    }
+
+    /**
+     * Removes every point from the store, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Grows the store, if necessary, so that it can hold at least the given number of points.
+     *
+     * @param minCapacity the minimum capacity
+     * @throws IllegalArgumentException if the minimum capacity is negative
+     * @throws OutOfMemoryError         if the minimum capacity exceeds the maximum array size
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Minimum capacity must not be negative: " + minCapacity);
+        }
+        grow(minCapacity);
+    }
+
+    /**
+     * Grows the backing arrays for an addition. A negative capacity can only come from an overflowing
+     * {@code size + count}, so it is reported as exceeding the maximum array size.
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum array size: " + minCapacity);
+        }
+        if (minCapacity <= latitudes.length) {
+            return;
+        }
+
+        int grown = latitudes.length + (latitudes.length >> 1);
+        int newCapacity = Math.max(minCapacity, grown < 0 || grown > MAX_CAPACITY ? MAX_CAPACITY : grown);
+        latitudes = Arrays.copyOf(latitudes, newCapacity);
+        longitudes = Arrays.copyOf(longitudes, newCapacity);
+        altitudes = Arrays.copyOf(altitudes, newCapacity);
+    }
+
+    /**
+     * Shrinks the backing arrays to the current number of points.
+     */
+    public void trimToSize() {
+        if (size < latitudes.length) {
+            latitudes = Arrays.copyOf(latitudes, size);
+            longitudes = Arrays.copyOf(longitudes, size);
+            altitudes = Arrays.copyOf(altitudes, size);
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length
+                    + ") out of bounds for length " + arrayLength);
+        }
+    }
+
+    /**
+     * A consumer of the primitive components of a point, used to iterate without boxing.
+     */
+    @FunctionalInterface
+    public interface CoordinatesConsumer {
+
+        /**
+         * Accepts one point of the store.
+         *
+         * @param index     the index of the point
+         * @param latitude  the latitude of the point
+         * @param longitude the longitude of the point
+         * @param altitude  the altitude of the point
+         */
+        void accept(int index, double latitude, double longitude, double altitude);
+    }
+
+    /**
+     * A flyweight {@link IGeographicCoordinates} over one point of the enclosing store. Reads and writes go
+     * straight to the backing arrays, and the view can be repositioned to reuse it across points.
+     */
+    public final class View implements IGeographicCoordinates {
+        private int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Returns the index of the point this view currently refers to.
+         *
+         * @return the index of the point
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Moves this view to another point of the store.
+         *
+         * @param index the index of the point
+         * @return this view
+         */
+        public View setIndex(int index) {
+            this.index = checkIndex(index);
+            return this;
+        }
+
+        @Override
+        public double getLongitude() {
+            return GeographicCoordinatesArray.this.getLongitude(index);
+        }
+
+        @Override
+        public void setLongitude(double longitude) {
+            GeographicCoordinatesArray.this.setLongitude(index, longitude);
+        }
+
+        @Override
+        public double getLatitude() {
+            return GeographicCoordinatesArray.this.getLatitude(index);
+        }
+
+        @Override
+        public void setLatitude(double latitude) {
+            GeographicCoordinatesArray.this.setLatitude(index, latitude);
+        }
+
+        @Override
+        public double getAltitude() {
+            return GeographicCoordinatesArray.this.getAltitude(index);
+        }
+
+        @Override
+        public void setAltitude(double altitude) {
+            GeographicCoordinatesArray.this.setAltitude(index, altitude);
+        }
+    }
+}
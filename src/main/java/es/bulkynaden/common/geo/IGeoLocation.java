@@ -2,6 +2,7 @@ package es.bulkynaden.common.geo;
 
 import es.bulkynaden.common.INameHolder;
 
+import java.io.IOException;
 
 /**
  * The {@code IGeoLocation} interface extends the {@code INameHolder} and {@code ICoordinatesHolder}
@@ -20,4 +21,28 @@ import es.bulkynaden.common.INameHolder;
  * @see IGeographicCoordinates
  */
 public interface IGeoLocation extends ICityHolder, IAddressHolder, ICoordinatesHolder<IGeographicCoordinates> {
+
+    /**
+     * Appends the address and city name of this location to the given {@code StringBuilder},
+     * using the format described in {@link GeoLocationFormatter}.
+     *
+     * @param builder the builder the location is appended to
+     * @return the given builder
+     */
+    default StringBuilder appendTo(StringBuilder builder) {
+        return GeoLocationFormatter.appendTo(this, builder);
+    }
+
+    /**
+     * Appends the address and city name of this location to the given {@code Appendable},
+     * using the format described in {@link GeoLocationFormatter}.
+     *
+     * @param appendable the appendable the location is appended to
+     * @param <A>        the type of the appendable
+     * @return the given appendable
+     * @throws IOException if the appendable fails to accept the characters
+     */
+    default <A extends Appendable> A appendTo(A appendable) throws IOException {
+        return GeoLocationFormatter.appendTo(this, appendable);
+    }
 }
\ No newline at end of file
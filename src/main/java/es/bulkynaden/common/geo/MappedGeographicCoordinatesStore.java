@@ -0,0 +1,504 @@
+package es.bulkynaden.common.geo;
+
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code MappedGeographicCoordinatesStore} class keeps geographic coordinates off-heap in a
+ * memory-mapped file, so that point sets larger than the Java heap can be scanned and queried, and
+ * so that a dataset can be reopened by mapping the file back in instead of parsing it again.
+ *
+ * <p>
+ * The file has a fixed binary layout, all values little-endian:
+ * <ul>
+ *   <li>a {@value #HEADER_SIZE}-byte header holding the magic number {@code 0x47454F43} ("GEOC"),
+ *       the format version and the number of points stored;</li>
+ *   <li>followed by one {@value #RECORD_SIZE}-byte record per point holding its latitude, longitude
+ *       and altitude as {@code double} values.</li>
+ * </ul>
+ *
+ * <p>
+ * Because a single {@link MappedByteBuffer} cannot exceed 2 GiB, the records are mapped in fixed-size
+ * segments of {@value #SEGMENT_RECORDS} points. Indexes are {@code long} values for the same reason.
+ *
+ * <p>
+ * Points are exposed as {@link View} flyweights that read and write through to the mapping, and
+ * {@link #forEach(CoordinatesConsumer)} scans the records sequentially without allocating. Concurrent
+ * reads are safe; writes must be confined to a single thread, and so must {@link #close()}. The JDK offers
+ * no way to unmap a buffer explicitly, so after {@link #close()} the mapping is released when the buffers
+ * are garbage collected; until then the store refuses any access to the points.
+ *
+ * @see GeographicCoordinatesArray
+ */
+public class MappedGeographicCoordinatesStore implements Closeable {
+    /**
+     * The size in bytes of the file header.
+     */
+    public static final int HEADER_SIZE = 16;
+
+    /**
+     * The size in bytes of a single point record.
+     */
+    public static final int RECORD_SIZE = 3 * Double.BYTES;
+
+    /**
+     * The number of points held by each mapped segment.
+     */
+    public static final int SEGMENT_RECORDS = 1 << 24;
+
+    private static final int MAGIC = 0x47454F43;
+    private static final int VERSION = 1;
+    private static final int SEGMENT_SHIFT = 24;
+    private static final int SEGMENT_MASK = SEGMENT_RECORDS - 1;
+    private static final int LATITUDE_OFFSET = 0;
+    private static final int LONGITUDE_OFFSET = Double.BYTES;
+    private static final int ALTITUDE_OFFSET = 2 * Double.BYTES;
+    private static final int COUNT_OFFSET = 8;
+
+    private final FileChannel channel;
+    private final boolean writable;
+    private final long capacity;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private long size;
+    private boolean closed;
+
+    private MappedGeographicCoordinatesStore(FileChannel channel, boolean writable, long capacity, long size) throws IOException {
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+
+        this.channel = channel;
+        this.writable = writable;
+        this.capacity = capacity;
+        this.size = size;
+        this.header = map(channel, mode, 0, HEADER_SIZE);
+        this.segments = new MappedByteBuffer[(int) ((capacity + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+
+        for (int i = 0; i < segments.length; i++) {
+            long firstRecord = (long) i << SEGMENT_SHIFT;
+            long records = Math.min(SEGMENT_RECORDS, capacity - firstRecord);
+            segments[i] = map(channel, mode, HEADER_SIZE + firstRecord * RECORD_SIZE, records * RECORD_SIZE);
+        }
+    }
+
+    /**
+     * Creates a new, empty store file able to hold the given number of points, replacing any existing file.
+     *
+     * @param path     the path of the file to create
+     * @param capacity the maximum number of points the store can hold
+     * @return a writable store over the new file
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static MappedGeographicCoordinatesStore create(@NonNull Path path, long capacity) throws IOException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedGeographicCoordinatesStore store = new MappedGeographicCoordinatesStore(channel, true, capacity, 0);
+            store.header.putInt(0, MAGIC);
+            store.header.putInt(4, VERSION);
+            store.header.putLong(COUNT_OFFSET, 0);
+            return store;
+        } catch (Throwable e) {
+            closeAfterFailure(channel, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a new store file holding a copy of all the points of the given array.
+     *
+     * @param path   the path of the file to create
+     * @param points the points to write
+     * @return a writable store over the new file, with a capacity equal to the number of points
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static MappedGeographicCoordinatesStore create(@NonNull Path path, @NonNull GeographicCoordinatesArray points) throws IOException {
+        MappedGeographicCoordinatesStore store = create(path, points.size());
+        try {
+            points.forEach((index, latitude, longitude, altitude) -> store.add(latitude, longitude, altitude));
+            return store;
+        } catch (Throwable e) {
+            closeAfterFailure(store.channel, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Maps an existing store file back in.
+     *
+     * @param path     the path of the file to open
+     * @param writable whether points may be modified or appended
+     * @return a store over the existing file
+     * @throws IOException if the file cannot be opened or mapped, or is not a valid store file
+     */
+    public static MappedGeographicCoordinatesStore open(@NonNull Path path, boolean writable) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || (fileSize - HEADER_SIZE) % RECORD_SIZE != 0) {
+                throw new IOException("Not a geographic coordinates file: " + path);
+            }
+
+            MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            long capacity = (fileSize - HEADER_SIZE) / RECORD_SIZE;
+            long size = header.getLong(COUNT_OFFSET);
+
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a geographic coordinates file: " + path);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported geographic coordinates file version " + header.getInt(4) + ": " + path);
+            }
+            if (size < 0 || size > capacity) {
+                throw new IOException("Corrupt geographic coordinates file, " + size + " points recorded for a capacity of " + capacity + ": " + path);
+            }
+            return new MappedGeographicCoordinatesStore(channel, writable, capacity, size);
+        } catch (Throwable e) {
+            closeAfterFailure(channel, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of points in the store.
+     *
+     * @return the number of points
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of points the store can hold.
+     *
+     * @return the capacity of the store
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Appends a point to the store and records the new size in the file header.
+     *
+     * @param latitude  the latitude of the point
+     * @param longitude the longitude of the point
+     * @param altitude  the altitude of the point
+     * @return the index of the new point
+     * @throws IllegalStateException if the store is read-only, full or closed
+     */
+    public long add(double latitude, double longitude, double altitude) {
+        checkOpen();
+        checkWritable();
+        if (size == capacity) {
+            throw new IllegalStateException("Store is full, capacity " + capacity);
+        }
+
+        long index = size;
+        MappedByteBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+        int offset = (int) (index & SEGMENT_MASK) * RECORD_SIZE;
+        segment.putDouble(offset + LATITUDE_OFFSET, latitude);
+        segment.putDouble(offset + LONGITUDE_OFFSET, longitude);
+        segment.putDouble(offset + ALTITUDE_OFFSET, altitude);
+
+        size = index + 1;
+        header.putLong(COUNT_OFFSET, size);
+        return index;
+    }
+
+    /**
+     * Appends a copy of the given coordinates to the store.
+     *
+     * @param coordinates the coordinates to copy
+     * @return the index of the new point
+     * @throws IllegalStateException if the store is read-only, full or closed
+     */
+    public long add(@NonNull IGeographicCoordinates coordinates) {
+        return add(coordinates.getLatitude(), coordinates.getLongitude(), coordinates.getAltitude());
+    }
+
+    /**
+     * Returns the latitude of the point at the given index.
+     *
+     * @param index the index of the point
+     * @return the latitude of the point
+     */
+    public double getLatitude(long index) {
+        return segmentOf(index).getDouble(offsetOf(index) + LATITUDE_OFFSET);
+    }
+
+    /**
+     * Sets the latitude of the point at the given index.
+     *
+     * @param index    the index of the point
+     * @param latitude the latitude to be set
+     */
+    public void setLatitude(long index, double latitude) {
+        checkWritable();
+        segmentOf(index).putDouble(offsetOf(index) + LATITUDE_OFFSET, latitude);
+    }
+
+    /**
+     * Returns the longitude of the point at the given index.
+     *
+     * @param index the index of the point
+     * @return the longitude of the point
+     */
+    public double getLongitude(long index) {
+        return segmentOf(index).getDouble(offsetOf(index) + LONGITUDE_OFFSET);
+    }
+
+    /**
+     * Sets the longitude of the point at the given index.
+     *
+     * @param index     the index of the point
+     * @param longitude the longitude to be set
+     */
+    public void setLongitude(long index, double longitude) {
+        checkWritable();
+        segmentOf(index).putDouble(offsetOf(index) + LONGITUDE_OFFSET, longitude);
+    }
+
+    /**
+     * Returns the altitude of the point at the given index.
+     *
+     * @param index the index of the point
+     * @return the altitude of the point
+     */
+    public double getAltitude(long index) {
+        return segmentOf(index).getDouble(offsetOf(index) + ALTITUDE_OFFSET);
+    }
+
+    /**
+     * Sets the altitude of the point at the given index.
+     *
+     * @param index    the index of the point
+     * @param altitude the altitude to be set
+     */
+    public void setAltitude(long index, double altitude) {
+        checkWritable();
+        segmentOf(index).putDouble(offsetOf(index) + ALTITUDE_OFFSET, altitude);
+    }
+
+    /**
+     * Returns a flyweight view over the point at the given index. The view reads and writes through
+     * to the mapped file.
+     *
+     * @param index the index of the point
+     * @return a view over the point
+     */
+    public View get(long index) {
+        return newView().setIndex(index);
+    }
+
+    /**
+     * Returns a flyweight view positioned before the first point, meant to be moved with
+     * {@link View#setIndex(long)} while scanning the store.
+     *
+     * @return a new, unpositioned view
+     */
+    public View newView() {
+        return new View();
+    }
+
+    /**
+     * Visits every point in index order, passing its primitive components to the consumer.
+     *
+     * @param consumer the consumer receiving each point
+     */
+    public void forEach(@NonNull CoordinatesConsumer consumer) {
+        forEach(0, size, consumer);
+    }
+
+    /**
+     * Visits the points in the given index range in order, passing their primitive components to the consumer.
+     *
+     * @param fromIndex the index of the first point to visit, inclusive
+     * @param toIndex   the index of the last point to visit, exclusive
+     * @param consumer  the consumer receiving each point
+     * @throws IndexOutOfBoundsException if the range is outside the store
+     * @throws IllegalStateException     if the store is closed
+     */
+    public void forEach(long fromIndex, long toIndex, @NonNull CoordinatesConsumer consumer) {
+        checkOpen();
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > size) {
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") out of bounds for size " + size);
+        }
+
+        long index = fromIndex;
+        while (index < toIndex) {
+            MappedByteBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+            long segmentEnd = Math.min(toIndex, ((index >>> SEGMENT_SHIFT) + 1) << SEGMENT_SHIFT);
+
+            for (int offset = (int) (index & SEGMENT_MASK) * RECORD_SIZE; index < segmentEnd; index++, offset += RECORD_SIZE) {
+                consumer.accept(index,
+                        segment.getDouble(offset + LATITUDE_OFFSET),
+                        segment.getDouble(offset + LONGITUDE_OFFSET),
+                        segment.getDouble(offset + ALTITUDE_OFFSET));
+            }
+        }
+    }
+
+    /**
+     * Forces any changes made to the mapped file to be written to the storage device.
+     *
+     * @throws IllegalStateException if the store is closed
+     */
+    public void force() {
+        checkOpen();
+        if (!writable) {
+            return;
+        }
+        header.force();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Forces pending changes to storage and closes the underlying file channel. The channel is closed even if
+     * the changes cannot be forced, and the store is closed either way. Closing a closed store has no effect.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            force();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private MappedByteBuffer segmentOf(long index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return segments[(int) (index >>> SEGMENT_SHIFT)];
+    }
+
+    private static int offsetOf(long index) {
+        return (int) (index & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Store is closed");
+        }
+    }
+
+    private void checkWritable() {
+        if (!writable) {
+            throw new IllegalStateException("Store is read-only");
+        }
+    }
+
+    private static void closeAfterFailure(FileChannel channel, Throwable failure) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(mode, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * A consumer of the primitive components of a stored point, used to scan without boxing.
+     */
+    @FunctionalInterface
+    public interface CoordinatesConsumer {
+
+        /**
+         * Accepts one point of the store.
+         *
+         * @param index     the index of the point
+         * @param latitude  the latitude of the point
+         * @param longitude the longitude of the point
+         * @param altitude  the altitude of the point
+         */
+        void accept(long index, double latitude, double longitude, double altitude);
+    }
+
+    /**
+     * A flyweight {@link IGeographicCoordinates} over one point of the enclosing store. Reads and writes go
+     * straight to the mapped file, and the view can be repositioned to reuse it across points.
+     */
+    public final class View implements IGeographicCoordinates {
+        private long index = -1;
+
+        private View() {
+        }
+
+        /**
+         * Returns the index of the point this view currently refers to.
+         *
+         * @return the index of the point
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Moves this view to another point of the store.
+         *
+         * @param index the index of the point
+         * @return this view
+         */
+        public View setIndex(long index) {
+            segmentOf(index);
+            this.index = index;
+            return this;
+        }
+
+        @Override
+        public double getLongitude() {
+            return MappedGeographicCoordinatesStore.this.getLongitude(index);
+        }
+
+        @Override
+        public void setLongitude(double longitude) {
+            MappedGeographicCoordinatesStore.this.setLongitude(index, longitude);
+        }
+
+        @Override
+        public double getLatitude() {
+            return MappedGeographicCoordinatesStore.this.getLatitude(index);
+        }
+
+        @Override
+        public void setLatitude(double latitude) {
+            MappedGeographicCoordinatesStore.this.setLatitude(index, latitude);
+        }
+
+        @Override
+        public double getAltitude() {
+            return MappedGeographicCoordinatesStore.this.getAltitude(index);
+        }
+
+        @Override
+        public void setAltitude(double altitude) {
+            MappedGeographicCoordinatesStore.this.setAltitude(index, altitude);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package es.bulkynaden.common.geo;
+
+import es.bulkynaden.common.INameHolder;
+import lombok.NonNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The {@code NameRegistry} class interns named instances, such as {@link ICity}, {@link IAutonomousCommunity}
+ * or {@link ICountry}, so that every instance registered under the same normalized name collapses to a single
+ * canonical one. Once interned, two instances can be compared by reference.
+ *
+ * <p>
+ * Names are normalized by {@link #normalize(String)}: Unicode NFC, trimmed, inner whitespace collapsed to a
+ * single space and lower-cased, so {@code " MADRID "} and {@code "Madrid"} share one entry. The canonical
+ * instance is the first one registered, and keeps its original name.
+ *
+ * <p>
+ * Canonical instances are held weakly: once nothing else references one, it is evicted and the next instance
+ * registered under its name becomes canonical. The registry is safe for concurrent use. Renaming a canonical
+ * instance does not move its entry, so interned instances should be treated as immutable.
+ *
+ * @param <T> the type of the interned instances
+ */
+public class NameRegistry<T extends INameHolder> {
+    private final ConcurrentHashMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    /**
+     * Returns the canonical instance for the name of the given instance, registering the instance itself
+     * if there is none. Instances with a null or blank name are returned unchanged.
+     *
+     * @param value the instance to intern
+     * @return the canonical instance
+     */
+    public T intern(@NonNull T value) {
+        String key = normalize(value.getName());
+        if (key == null) {
+            return value;
+        }
+        expunge();
+
+        while (true) {
+            Entry<T> entry = entries.get(key);
+            T existing = entry == null ? null : entry.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            Entry<T> replacement = new Entry<>(key, value, queue);
+            if (entry == null ? entries.putIfAbsent(key, replacement) == null : entries.replace(key, entry, replacement)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Returns the canonical instance for the given name, creating and registering one with the factory if
+     * there is none. The factory may be called even if a concurrent caller wins the registration.
+     *
+     * @param name    the name to look up
+     * @param factory a factory creating an empty instance, to which the name is then assigned
+     * @return the canonical instance
+     * @throws IllegalArgumentException if the name is blank
+     */
+    public T intern(@NonNull String name, @NonNull Supplier<? extends T> factory) {
+        T existing = get(name);
+        if (existing != null) {
+            return existing;
+        }
+
+        T created = factory.get();
+        created.setName(name);
+        return intern(created);
+    }
+
+    /**
+     * Returns the canonical instance registered under the given name.
+     *
+     * @param name the name to look up
+     * @return the canonical instance, or {@code null} if there is none
+     * @throws IllegalArgumentException if the name is blank
+     */
+    public T get(@NonNull String name) {
+        String key = normalize(name);
+        if (key == null) {
+            throw new IllegalArgumentException("The name must not be blank");
+        }
+
+        Entry<T> entry = entries.get(key);
+        return entry == null ? null : entry.get();
+    }
+
+    /**
+     * Returns the number of entries, including those whose instance has been collected but not yet evicted.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        expunge();
+        return entries.size();
+    }
+
+    /**
+     * Removes every entry. Previously returned canonical instances are not affected.
+     */
+    public void clear() {
+        entries.clear();
+        expunge();
+    }
+
+    /**
+     * Normalizes a name into its registry key.
+     *
+     * @param name the name to normalize
+     * @return the key, or {@code null} if the name is null or blank
+     */
+    public static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+
+        String composed = Normalizer.normalize(name, Normalizer.Form.NFC);
+        StringBuilder key = new StringBuilder(composed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < composed.length(); i++) {
+            char c = composed.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = key.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    key.append(' ');
+                    pendingSpace = false;
+                }
+                key.append(c);
+            }
+        }
+        return key.toString().toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expunge() {
+        Entry<T> entry;
+        while ((entry = (Entry<T>) queue.poll()) != null) {
+            entries.remove(entry.key, entry);
+        }
+    }
+
+    /**
+     * A weak reference to a canonical instance, remembering its key so it can be evicted.
+     */
+    private static final class Entry<T> extends WeakReference<T> {
+        private final String key;
+
+        private Entry(String key, T value, ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package es.bulkynaden.common.geo.cell;
+
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import lombok.NonNull;
+
+/**
+ * The {@code Geohash} class encodes and decodes geohashes held in a {@code long} instead of a {@code String}.
+ * A geohash of {@code bits} bits interleaves the binary subdivisions of the longitude and the latitude,
+ * longitude first, and is right-aligned in the {@code long}; it is therefore a value in {@code [0, 2^bits)}.
+ * Up to {@value #MAX_BITS} bits are supported, the equivalent of a 12-character textual geohash.
+ *
+ * <p>
+ * Geohashes share prefixes with the geohashes of the cells that contain them: the cell of a geohash
+ * {@code h} of {@code bits} bits covers exactly the range returned by {@link #rangeStart(long, int)} and
+ * {@link #rangeEnd(long, int)} at full precision, which turns containment tests into range scans.
+ *
+ * <p>
+ * Encoding and decoding use bit-spreading arithmetic only and never allocate. Latitudes and
+ * longitudes are in degrees and are clamped to [-90, 90] and [-180, 180].
+ *
+ * @see HilbertCell
+ * @see GeohashIndex
+ */
+public final class Geohash {
+    /**
+     * The maximum number of bits of a geohash.
+     */
+    public static final int MAX_BITS = 60;
+
+    private static final int AXIS_BITS = MAX_BITS / 2;
+    private static final double AXIS_CELLS = 1L << AXIS_BITS;
+    private static final long AXIS_MASK = (1L << AXIS_BITS) - 1;
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final byte[] BASE32_VALUES = new byte[128];
+
+    static {
+        java.util.Arrays.fill(BASE32_VALUES, (byte) -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            BASE32_VALUES[BASE32[i]] = (byte) i;
+        }
+    }
+
+    private Geohash() {
+    }
+
+    /**
+     * Encodes the given coordinates as a geohash of the given precision.
+     *
+     * @param coordinates the coordinates to encode
+     * @param bits        the number of bits of the geohash, between 0 and {@value #MAX_BITS}
+     * @return the geohash
+     */
+    public static long encode(@NonNull IGeographicCoordinates coordinates, int bits) {
+        return encode(coordinates.getLatitude(), coordinates.getLongitude(), bits);
+    }
+
+    /**
+     * Encodes a latitude and a longitude as a geohash of the given precision.
+     *
+     * @param latitude  the latitude, in degrees
+     * @param longitude the longitude, in degrees
+     * @param bits      the number of bits of the geohash, between 0 and {@value #MAX_BITS}
+     * @return the geohash
+     * @throws IllegalArgumentException if the number of bits is out of range
+     */
+    public static long encode(double latitude, double longitude, int bits) {
+        checkBits(bits);
+        long hash = (spread(quantize(longitude, -180, 360)) << 1) | spread(quantize(latitude, -90, 180));
+        return hash >>> (MAX_BITS - bits);
+    }
+
+    /**
+     * Returns the latitude of the center of a geohash cell.
+     *
+     * @param hash the geohash
+     * @param bits the number of bits of the geohash
+     * @return the latitude of the cell center, in degrees
+     */
+    public static double decodeLatitude(long hash, int bits) {
+        checkBits(bits);
+        long full = hash << (MAX_BITS - bits);
+        int latitudeBits = bits / 2;
+        return center(compact(full), latitudeBits, -90, 180);
+    }
+
+    /**
+     * Returns the longitude of the center of a geohash cell.
+     *
+     * @param hash the geohash
+     * @param bits the number of bits of the geohash
+     * @return the longitude of the cell center, in degrees
+     */
+    public static double decodeLongitude(long hash, int bits) {
+        checkBits(bits);
+        long full = hash << (MAX_BITS - bits);
+        int longitudeBits = bits - bits / 2;
+        return center(compact(full >>> 1), longitudeBits, -180, 360);
+    }
+
+    /**
+     * Returns the height, in degrees of latitude, of the cells of the given precision.
+     *
+     * @param bits the number of bits of the geohash
+     * @return the height of a cell, in degrees
+     */
+    public static double latitudeSpan(int bits) {
+        checkBits(bits);
+        return 180 / (double) (1L << (bits / 2));
+    }
+
+    /**
+     * Returns the width, in degrees of longitude, of the cells of the given precision.
+     *
+     * @param bits the number of bits of the geohash
+     * @return the width of a cell, in degrees
+     */
+    public static double longitudeSpan(int bits) {
+        checkBits(bits);
+        return 360 / (double) (1L << (bits - bits / 2));
+    }
+
+    /**
+     * Returns the geohash of the cell containing the given one at a coarser precision.
+     *
+     * @param hash       the geohash
+     * @param bits       the number of bits of the geohash
+     * @param parentBits the number of bits of the containing cell, not greater than {@code bits}
+     * @return the geohash of the containing cell
+     */
+    public static long parent(long hash, int bits, int parentBits) {
+        checkBits(bits);
+        if (parentBits < 0 || parentBits > bits) {
+            throw new IllegalArgumentException("Parent bits must be between 0 and " + bits + ": " + parentBits);
+        }
+        return hash >>> (bits - parentBits);
+    }
+
+    /**
+     * Returns the first full-precision geohash contained in the given cell.
+     *
+     * @param hash the geohash of the cell
+     * @param bits the number of bits of the geohash
+     * @return the first contained geohash of {@value #MAX_BITS} bits
+     */
+    public static long rangeStart(long hash, int bits) {
+        checkBits(bits);
+        return hash << (MAX_BITS - bits);
+    }
+
+    /**
+     * Returns the last full-precision geohash contained in the given cell.
+     *
+     * @param hash the geohash of the cell
+     * @param bits the number of bits of the geohash
+     * @return the last contained geohash of {@value #MAX_BITS} bits
+     */
+    public static long rangeEnd(long hash, int bits) {
+        checkBits(bits);
+        return ((hash + 1) << (MAX_BITS - bits)) - 1;
+    }
+
+    /**
+     * Returns the textual base-32 representation of a geohash.
+     *
+     * @param hash the geohash
+     * @param bits the number of bits of the geohash, a multiple of 5
+     * @return the textual geohash
+     * @throws IllegalArgumentException if the number of bits is not a multiple of 5
+     */
+    public static String toBase32(long hash, int bits) {
+        checkBits(bits);
+        if (bits % 5 != 0) {
+            throw new IllegalArgumentException("Bits must be a multiple of 5: " + bits);
+        }
+
+        char[] chars = new char[bits / 5];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = BASE32[(int) (hash & 31)];
+            hash >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Parses a textual base-32 geohash. The result has five bits per character.
+     *
+     * @param geohash the textual geohash, of at most 12 characters
+     * @return the geohash
+     * @throws IllegalArgumentException if the text is too long or contains invalid characters
+     */
+    public static long fromBase32(@NonNull CharSequence geohash) {
+        if (geohash.length() * 5 > MAX_BITS) {
+            throw new IllegalArgumentException("Geohash longer than " + MAX_BITS / 5 + " characters: " + geohash);
+        }
+
+        long hash = 0;
+        for (int i = 0; i < geohash.length(); i++) {
+            char c = Character.toLowerCase(geohash.charAt(i));
+            int value = c < BASE32_VALUES.length ? BASE32_VALUES[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash character '" + geohash.charAt(i) + "': " + geohash);
+            }
+            hash = (hash << 5) | value;
+        }
+        return hash;
+    }
+
+    static long quantize(double value, double min, double span) {
+        long cell = (long) Math.floor((value - min) / span * AXIS_CELLS);
+        return Math.max(0, Math.min(AXIS_MASK, cell));
+    }
+
+    private static double center(long cell, int cellBits, double min, double span) {
+        long truncated = cell >>> (AXIS_BITS - cellBits);
+        return min + (truncated + 0.5) * span / (1L << cellBits);
+    }
+
+    private static long spread(long value) {
+        value = (value | (value << 16)) & 0x0000FFFF0000FFFFL;
+        value = (value | (value << 8)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value << 2)) & 0x3333333333333333L;
+        return (value | (value << 1)) & 0x5555555555555555L;
+    }
+
+    private static long compact(long value) {
+        value &= 0x5555555555555555L;
+        value = (value | (value >>> 1)) & 0x3333333333333333L;
+        value = (value | (value >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value >>> 4)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value >>> 8)) & 0x0000FFFF0000FFFFL;
+        return (value | (value >>> 16)) & 0x00000000FFFFFFFFL;
+    }
+
+    private static void checkBits(int bits) {
+        if (bits < 0 || bits > MAX_BITS) {
+            throw new IllegalArgumentException("Bits must be between 0 and " + MAX_BITS + ": " + bits);
+        }
+    }
+}
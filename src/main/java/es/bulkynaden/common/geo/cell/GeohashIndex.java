@@ -0,0 +1,295 @@
+package es.bulkynaden.common.geo.cell;
+
+import es.bulkynaden.common.geo.IGeoLocation;
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import es.bulkynaden.common.geo.distance.GeoDistance;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The {@code GeohashIndex} class is an immutable index of items sorted by their full-precision
+ * {@link Geohash}. Every geohash cell maps to a contiguous run of the sorted keys, so finding the items of a
+ * cell is two binary searches and a range scan.
+ *
+ * <p>
+ * Proximity queries pick the finest precision whose cells are at least as large as the search radius,
+ * and scan the cell containing the point plus its eight neighbours. {@link #findCandidates} returns that
+ * coarse superset, and {@link #findWithinRadius} filters it with an exact distance check.
+ *
+ * <p>
+ * Keys and coordinates are kept in primitive arrays. Items whose coordinates are {@code null} are not indexed.
+ *
+ * @param <T> the type of the indexed items
+ */
+public class GeohashIndex<T> {
+    private final long[] geohashes;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final Object[] items;
+    private final int size;
+
+    /**
+     * Builds an index over the given items.
+     *
+     * @param items         the items to index
+     * @param coordinatesOf a function returning the coordinates of an item
+     */
+    public GeohashIndex(@NonNull Collection<? extends T> items,
+                        @NonNull Function<? super T, ? extends IGeographicCoordinates> coordinatesOf) {
+        long[] keys = new long[items.size()];
+        double[] itemLatitudes = new double[items.size()];
+        double[] itemLongitudes = new double[items.size()];
+        Object[] indexed = new Object[items.size()];
+        int count = 0;
+
+        for (T item : items) {
+            IGeographicCoordinates coordinates = item == null ? null : coordinatesOf.apply(item);
+            if (coordinates != null) {
+                keys[count] = Geohash.encode(coordinates, Geohash.MAX_BITS);
+                itemLatitudes[count] = coordinates.getLatitude();
+                itemLongitudes[count] = coordinates.getLongitude();
+                indexed[count] = item;
+                count++;
+            }
+        }
+
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        sort(keys, order, 0, count);
+
+        this.size = count;
+        this.geohashes = Arrays.copyOf(keys, count);
+        this.latitudes = new double[count];
+        this.longitudes = new double[count];
+        this.items = new Object[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = itemLatitudes[order[i]];
+            longitudes[i] = itemLongitudes[order[i]];
+            this.items[i] = indexed[order[i]];
+        }
+    }
+
+    /**
+     * Builds an index over the given locations, keyed on their coordinates.
+     *
+     * @param locations the locations to index
+     * @param <T>       the type of the locations
+     * @return a new index
+     */
+    public static <T extends IGeoLocation> GeohashIndex<T> of(@NonNull Collection<? extends T> locations) {
+        return new GeohashIndex<>(locations, IGeoLocation::getCoordinates);
+    }
+
+    /**
+     * Returns the number of indexed items.
+     *
+     * @return the number of indexed items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits, in geohash order, every item whose full-precision geohash lies in the given inclusive range.
+     *
+     * @param fromGeohash the first geohash of the range, of {@value Geohash#MAX_BITS} bits
+     * @param toGeohash   the last geohash of the range, of {@value Geohash#MAX_BITS} bits
+     * @param consumer    the consumer receiving each item
+     */
+    public void scan(long fromGeohash, long toGeohash, @NonNull Consumer<? super T> consumer) {
+        for (int i = lowerBound(fromGeohash); i < size && geohashes[i] <= toGeohash; i++) {
+            consumer.accept(item(i));
+        }
+    }
+
+    /**
+     * Finds every item inside the given geohash cell.
+     *
+     * @param geohash the geohash of the cell
+     * @param bits    the number of bits of the geohash
+     * @return the items of the cell, in geohash order
+     */
+    public List<T> findByPrefix(long geohash, int bits) {
+        List<T> result = new ArrayList<>();
+        scan(Geohash.rangeStart(geohash, bits), Geohash.rangeEnd(geohash, bits), result::add);
+        return result;
+    }
+
+    /**
+     * Finds a superset of the items within the given distance of a point, by scanning the cells that
+     * cover the search circle. Use it as a cheap coarse filter before exact distance checks.
+     *
+     * @param latitude     the latitude of the center, in degrees
+     * @param longitude    the longitude of the center, in degrees
+     * @param radiusMeters the search radius, in meters
+     * @return the candidate items
+     */
+    public List<T> findCandidates(double latitude, double longitude, double radiusMeters) {
+        List<T> result = new ArrayList<>();
+        scanCovering(latitude, longitude, radiusMeters, index -> result.add(item(index)));
+        return result;
+    }
+
+    /**
+     * Finds every item within the given distance of a point.
+     *
+     * @param latitude     the latitude of the center, in degrees
+     * @param longitude    the longitude of the center, in degrees
+     * @param radiusMeters the search radius, in meters
+     * @return the matching items
+     */
+    public List<T> findWithinRadius(double latitude, double longitude, double radiusMeters) {
+        List<T> result = new ArrayList<>();
+        scanCovering(latitude, longitude, radiusMeters, index -> {
+            if (GeoDistance.haversine(latitude, longitude, latitudes[index], longitudes[index]) <= radiusMeters) {
+                result.add(item(index));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the finest geohash precision whose cells, around the given latitude, are large enough for the
+     * cell of a point and its eight neighbours to cover a circle of the given radius around that point.
+     *
+     * @param latitude     the latitude of the center, in degrees
+     * @param radiusMeters the search radius, in meters
+     * @return the number of bits, {@code 0} if only the whole world covers the circle
+     */
+    public static int bitsForRadius(double latitude, double radiusMeters) {
+        double angularRadius = radiusMeters / GeoDistance.EARTH_MEAN_RADIUS_METERS;
+        double sinLongitudeExtent = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+        if (angularRadius >= Math.PI / 2 || sinLongitudeExtent >= 1) {
+            return 0;
+        }
+
+        double latitudeExtent = Math.toDegrees(angularRadius);
+        double longitudeExtent = Math.toDegrees(Math.asin(sinLongitudeExtent));
+        for (int bits = Geohash.MAX_BITS; bits > 0; bits--) {
+            if (Geohash.latitudeSpan(bits) >= latitudeExtent && Geohash.longitudeSpan(bits) >= longitudeExtent) {
+                return bits;
+            }
+        }
+        return 0;
+    }
+
+    private void scanCovering(double latitude, double longitude, double radiusMeters, IndexConsumer consumer) {
+        int bits = bitsForRadius(latitude, radiusMeters);
+        if (bits == 0) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(i);
+            }
+            return;
+        }
+
+        long center = Geohash.encode(latitude, longitude, bits);
+        double centerLatitude = Geohash.decodeLatitude(center, bits);
+        double centerLongitude = Geohash.decodeLongitude(center, bits);
+        double latitudeSpan = Geohash.latitudeSpan(bits);
+        double longitudeSpan = Geohash.longitudeSpan(bits);
+
+        long[] cells = new long[9];
+        int cellCount = 0;
+        for (int dy = -1; dy <= 1; dy++) {
+            double cellLatitude = centerLatitude + dy * latitudeSpan;
+            if (cellLatitude < -90 || cellLatitude > 90) {
+                continue;
+            }
+            for (int dx = -1; dx <= 1; dx++) {
+                double cellLongitude = centerLongitude + dx * longitudeSpan;
+                cellLongitude -= 360 * Math.floor((cellLongitude + 180) / 360);
+                cells[cellCount++] = Geohash.encode(cellLatitude, cellLongitude, bits);
+            }
+        }
+        Arrays.sort(cells, 0, cellCount);
+
+        for (int i = 0; i < cellCount; ) {
+            long first = cells[i];
+            long last = first;
+            while (++i < cellCount && cells[i] <= last + 1) {
+                last = cells[i];
+            }
+
+            long to = Geohash.rangeEnd(last, bits);
+            for (int index = lowerBound(Geohash.rangeStart(first, bits)); index < size && geohashes[index] <= to; index++) {
+                consumer.accept(index);
+            }
+        }
+    }
+
+    private int lowerBound(long geohash) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (geohashes[mid] < geohash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int index) {
+        return (T) items[index];
+    }
+
+    private static void sort(long[] keys, int[] order, int from, int to) {
+        while (to - from > 16) {
+            int mid = (from + to) >>> 1;
+            long pivot = Math.max(Math.min(keys[from], keys[mid]), Math.min(Math.max(keys[from], keys[mid]), keys[to - 1]));
+            int lower = from;
+            int upper = to - 1;
+            int i = from;
+
+            while (i <= upper) {
+                if (keys[i] < pivot) {
+                    swap(keys, order, lower++, i++);
+                } else if (keys[i] > pivot) {
+                    swap(keys, order, i, upper--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (lower - from < to - upper - 1) {
+                sort(keys, order, from, lower);
+                from = upper + 1;
+            } else {
+                sort(keys, order, upper + 1, to);
+                to = lower;
+            }
+        }
+
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && keys[j - 1] > keys[j]; j--) {
+                swap(keys, order, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(long[] keys, int[] order, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+
+        int position = order[i];
+        order[i] = order[j];
+        order[j] = position;
+    }
+
+    @FunctionalInterface
+    private interface IndexConsumer {
+        void accept(int index);
+    }
+}
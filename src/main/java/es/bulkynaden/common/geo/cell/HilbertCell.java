@@ -0,0 +1,148 @@
+package es.bulkynaden.common.geo.cell;
+
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import lombok.NonNull;
+
+/**
+ * The {@code HilbertCell} class encodes and decodes cell ids along a Hilbert curve laid over a
+ * latitude/longitude grid, in the spirit of S2 cell ids but without S2's cube projection. At level {@code L}
+ * the world is split into {@code 2^L x 2^L} cells, and each cell is identified by its position along the
+ * curve, a {@code long} in {@code [0, 4^L)}. Up to {@value #MAX_LEVEL} levels are supported.
+ *
+ * <p>
+ * Unlike geohashes, consecutive Hilbert ids are always adjacent cells, so range scans over sorted ids
+ * touch fewer disjoint runs. Like geohashes, the id of the cell containing a cell at a coarser level is
+ * obtained by dropping two bits per level, see {@link #parent(long, int, int)}.
+ *
+ * <p>
+ * Encoding and decoding never allocate. Latitudes and longitudes are in degrees and are clamped to
+ * [-90, 90] and [-180, 180].
+ *
+ * @see Geohash
+ */
+public final class HilbertCell {
+    /**
+     * The maximum level of a cell.
+     */
+    public static final int MAX_LEVEL = 30;
+
+    private HilbertCell() {
+    }
+
+    /**
+     * Encodes the given coordinates as the id of the cell containing them at the given level.
+     *
+     * @param coordinates the coordinates to encode
+     * @param level       the level of the cell, between 0 and {@value #MAX_LEVEL}
+     * @return the cell id
+     */
+    public static long encode(@NonNull IGeographicCoordinates coordinates, int level) {
+        return encode(coordinates.getLatitude(), coordinates.getLongitude(), level);
+    }
+
+    /**
+     * Encodes a latitude and a longitude as the id of the cell containing them at the given level.
+     *
+     * @param latitude  the latitude, in degrees
+     * @param longitude the longitude, in degrees
+     * @param level     the level of the cell, between 0 and {@value #MAX_LEVEL}
+     * @return the cell id
+     * @throws IllegalArgumentException if the level is out of range
+     */
+    public static long encode(double latitude, double longitude, int level) {
+        checkLevel(level);
+        int shift = MAX_LEVEL - level;
+        long x = Geohash.quantize(longitude, -180, 360) >>> shift;
+        long y = Geohash.quantize(latitude, -90, 180) >>> shift;
+
+        long id = 0;
+        for (long s = 1L << (level - 1); s > 0; s >>>= 1) {
+            long rx = (x & s) != 0 ? 1 : 0;
+            long ry = (y & s) != 0 ? 1 : 0;
+            id += s * s * ((3 * rx) ^ ry);
+
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - (x & (s - 1));
+                    y = s - 1 - (y & (s - 1));
+                }
+                long t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Returns the latitude of the center of a cell.
+     *
+     * @param id    the cell id
+     * @param level the level of the cell
+     * @return the latitude of the cell center, in degrees
+     */
+    public static double decodeLatitude(long id, int level) {
+        checkLevel(level);
+        return -90 + (decodeAxis(id, level, false) + 0.5) * 180 / (1L << level);
+    }
+
+    /**
+     * Returns the longitude of the center of a cell.
+     *
+     * @param id    the cell id
+     * @param level the level of the cell
+     * @return the longitude of the cell center, in degrees
+     */
+    public static double decodeLongitude(long id, int level) {
+        checkLevel(level);
+        return -180 + (decodeAxis(id, level, true) + 0.5) * 360 / (1L << level);
+    }
+
+    /**
+     * Returns the id of the cell containing the given one at a coarser level.
+     *
+     * @param id          the cell id
+     * @param level       the level of the cell
+     * @param parentLevel the level of the containing cell, not greater than {@code level}
+     * @return the id of the containing cell
+     */
+    public static long parent(long id, int level, int parentLevel) {
+        checkLevel(level);
+        if (parentLevel < 0 || parentLevel > level) {
+            throw new IllegalArgumentException("Parent level must be between 0 and " + level + ": " + parentLevel);
+        }
+        return id >>> (2 * (level - parentLevel));
+    }
+
+    private static long decodeAxis(long id, int level, boolean longitude) {
+        long x = 0;
+        long y = 0;
+        long t = id;
+
+        for (long s = 1; s < (1L << level); s <<= 1) {
+            long rx = 1 & (t >>> 1);
+            long ry = 1 & (t ^ rx);
+
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                long swap = x;
+                x = y;
+                y = swap;
+            }
+
+            x += s * rx;
+            y += s * ry;
+            t >>>= 2;
+        }
+        return longitude ? x : y;
+    }
+
+    private static void checkLevel(int level) {
+        if (level < 0 || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Level must be between 0 and " + MAX_LEVEL + ": " + level);
+        }
+    }
+}
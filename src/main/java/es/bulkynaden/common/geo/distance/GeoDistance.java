@@ -0,0 +1,191 @@
+package es.bulkynaden.common.geo.distance;
+
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import lombok.NonNull;
+
+/**
+ * The {@code GeoDistance} class computes distances in meters between two points on the Earth's surface
+ * given as {@link IGeographicCoordinates} or as latitude/longitude pairs in degrees. Altitudes are ignored.
+ *
+ * <p>
+ * Three formulas are offered, trading accuracy for speed:
+ * <ul>
+ *   <li>{@link #vincenty} solves the inverse geodesic problem on the WGS-84 ellipsoid and is accurate
+ *       to within millimeters, at the cost of an iterative computation;</li>
+ *   <li>{@link #haversine} computes the great-circle distance on a sphere of radius
+ *       {@link #EARTH_MEAN_RADIUS_METERS}, with an error of up to about 0.5%;</li>
+ *   <li>{@link #equirectangular} projects both points on a plane and is only suitable for short
+ *       distances, where it is much cheaper than the other two.</li>
+ * </ul>
+ *
+ * <p>
+ * Batch versions working on primitive arrays live in {@link GeoDistanceKernels}.
+ */
+public final class GeoDistance {
+    /**
+     * The mean radius of the Earth in meters, as defined by the IUGG.
+     */
+    public static final double EARTH_MEAN_RADIUS_METERS = 6_371_008.8;
+
+    private static final double WGS84_SEMI_MAJOR_AXIS = 6_378_137.0;
+    private static final double WGS84_FLATTENING = 1 / 298.257223563;
+    private static final double WGS84_SEMI_MINOR_AXIS = WGS84_SEMI_MAJOR_AXIS * (1 - WGS84_FLATTENING);
+    private static final int VINCENTY_MAX_ITERATIONS = 200;
+    private static final double VINCENTY_TOLERANCE = 1e-12;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * Computes the great-circle distance between two points with the haversine formula.
+     *
+     * @param from the first point
+     * @param to   the second point
+     * @return the distance in meters
+     */
+    public static double haversine(@NonNull IGeographicCoordinates from, @NonNull IGeographicCoordinates to) {
+        return haversine(from.getLatitude(), from.getLongitude(), to.getLatitude(), to.getLongitude());
+    }
+
+    /**
+     * Computes the great-circle distance between two points with the haversine formula.
+     *
+     * @param fromLatitude  the latitude of the first point, in degrees
+     * @param fromLongitude the longitude of the first point, in degrees
+     * @param toLatitude    the latitude of the second point, in degrees
+     * @param toLongitude   the longitude of the second point, in degrees
+     * @return the distance in meters
+     */
+    public static double haversine(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double fromLatitudeRadians = Math.toRadians(fromLatitude);
+        double toLatitudeRadians = Math.toRadians(toLatitude);
+        double halfLatitudeDelta = (toLatitudeRadians - fromLatitudeRadians) * 0.5;
+        double halfLongitudeDelta = Math.toRadians(toLongitude - fromLongitude) * 0.5;
+
+        double sinHalfLatitude = Math.sin(halfLatitudeDelta);
+        double sinHalfLongitude = Math.sin(halfLongitudeDelta);
+        double a = sinHalfLatitude * sinHalfLatitude
+                + Math.cos(fromLatitudeRadians) * Math.cos(toLatitudeRadians) * sinHalfLongitude * sinHalfLongitude;
+
+        return 2 * EARTH_MEAN_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1, a)));
+    }
+
+    /**
+     * Computes the geodesic distance between two points on the WGS-84 ellipsoid with Vincenty's inverse formula.
+     *
+     * @param from the first point
+     * @param to   the second point
+     * @return the distance in meters, or {@link Double#NaN} if the formula does not converge
+     */
+    public static double vincenty(@NonNull IGeographicCoordinates from, @NonNull IGeographicCoordinates to) {
+        return vincenty(from.getLatitude(), from.getLongitude(), to.getLatitude(), to.getLongitude());
+    }
+
+    /**
+     * Computes the geodesic distance between two points on the WGS-84 ellipsoid with Vincenty's inverse formula.
+     * The formula may fail to converge for nearly antipodal points, in which case {@link Double#NaN} is returned.
+     *
+     * @param fromLatitude  the latitude of the first point, in degrees
+     * @param fromLongitude the longitude of the first point, in degrees
+     * @param toLatitude    the latitude of the second point, in degrees
+     * @param toLongitude   the longitude of the second point, in degrees
+     * @return the distance in meters, or {@link Double#NaN} if the formula does not converge
+     */
+    public static double vincenty(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double a = WGS84_SEMI_MAJOR_AXIS;
+        double b = WGS84_SEMI_MINOR_AXIS;
+        double f = WGS84_FLATTENING;
+
+        double longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+        double reducedFrom = Math.atan((1 - f) * Math.tan(Math.toRadians(fromLatitude)));
+        double reducedTo = Math.atan((1 - f) * Math.tan(Math.toRadians(toLatitude)));
+        double sinFrom = Math.sin(reducedFrom);
+        double cosFrom = Math.cos(reducedFrom);
+        double sinTo = Math.sin(reducedTo);
+        double cosTo = Math.cos(reducedTo);
+
+        double lambda = longitudeDelta;
+        double sinSigma;
+        double cosSigma;
+        double sigma;
+        double cosSquaredAlpha;
+        double cos2SigmaM;
+
+        for (int iteration = 0; ; iteration++) {
+            if (iteration == VINCENTY_MAX_ITERATIONS) {
+                return Double.NaN;
+            }
+
+            double sinLambda = Math.sin(lambda);
+            double cosLambda = Math.cos(lambda);
+            double crossTerm = cosFrom * sinTo - sinFrom * cosTo * cosLambda;
+            sinSigma = Math.sqrt(cosTo * sinLambda * cosTo * sinLambda + crossTerm * crossTerm);
+
+            if (sinSigma == 0) {
+                return 0;
+            }
+
+            cosSigma = sinFrom * sinTo + cosFrom * cosTo * cosLambda;
+            sigma = Math.atan2(sinSigma, cosSigma);
+            double sinAlpha = cosFrom * cosTo * sinLambda / sinSigma;
+            cosSquaredAlpha = 1 - sinAlpha * sinAlpha;
+            cos2SigmaM = cosSquaredAlpha == 0 ? 0 : cosSigma - 2 * sinFrom * sinTo / cosSquaredAlpha;
+
+            double c = f / 16 * cosSquaredAlpha * (4 + f * (4 - 3 * cosSquaredAlpha));
+            double previousLambda = lambda;
+            lambda = longitudeDelta + (1 - c) * f * sinAlpha
+                    * (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+
+            if (Math.abs(lambda - previousLambda) < VINCENTY_TOLERANCE) {
+                break;
+            }
+        }
+
+        double uSquared = cosSquaredAlpha * (a * a - b * b) / (b * b);
+        double coefficientA = 1 + uSquared / 16384 * (4096 + uSquared * (-768 + uSquared * (320 - 175 * uSquared)));
+        double coefficientB = uSquared / 1024 * (256 + uSquared * (-128 + uSquared * (74 - 47 * uSquared)));
+        double deltaSigma = coefficientB * sinSigma * (cos2SigmaM + coefficientB / 4
+                * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)
+                - coefficientB / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+
+        return b * coefficientA * (sigma - deltaSigma);
+    }
+
+    /**
+     * Computes an approximate distance between two points with the equirectangular projection.
+     *
+     * @param from the first point
+     * @param to   the second point
+     * @return the approximate distance in meters
+     */
+    public static double equirectangular(@NonNull IGeographicCoordinates from, @NonNull IGeographicCoordinates to) {
+        return equirectangular(from.getLatitude(), from.getLongitude(), to.getLatitude(), to.getLongitude());
+    }
+
+    /**
+     * Computes an approximate distance between two points with the equirectangular projection, scaling the
+     * longitude difference by the cosine of the mean latitude. The result is only accurate for short distances.
+     *
+     * @param fromLatitude  the latitude of the first point, in degrees
+     * @param fromLongitude the longitude of the first point, in degrees
+     * @param toLatitude    the latitude of the second point, in degrees
+     * @param toLongitude   the longitude of the second point, in degrees
+     * @return the approximate distance in meters
+     */
+    public static double equirectangular(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double x = Math.toRadians(wrapLongitudeDelta(toLongitude - fromLongitude))
+                * Math.cos(Math.toRadians((fromLatitude + toLatitude) * 0.5));
+        double y = Math.toRadians(toLatitude - fromLatitude);
+        return EARTH_MEAN_RADIUS_METERS * Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * Wraps a longitude difference in degrees into the range [-180, 180].
+     *
+     * @param longitudeDelta the longitude difference, in degrees
+     * @return the equivalent difference within [-180, 180]
+     */
+    private static double wrapLongitudeDelta(double longitudeDelta) {
+        return longitudeDelta - 360 * Math.rint(longitudeDelta / 360);
+    }
+}
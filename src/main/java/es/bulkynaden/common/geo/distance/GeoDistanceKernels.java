@@ -0,0 +1,251 @@
+package es.bulkynaden.common.geo.distance;
+
+import es.bulkynaden.common.geo.GeographicCoordinatesArray;
+import lombok.NonNull;
+
+import static es.bulkynaden.common.geo.distance.GeoDistance.EARTH_MEAN_RADIUS_METERS;
+
+/**
+ * The {@code GeoDistanceKernels} class provides batch distance computations over points stored in primitive
+ * arrays of latitudes and longitudes, in degrees, such as the backing arrays of a
+ * {@link GeographicCoordinatesArray}. Distances are in meters.
+ *
+ * <p>
+ * The kernels are written as flat, branch-free counted loops over {@code double[]} after a single
+ * up-front bounds check, with per-query values hoisted out of the loop, so that the JIT can eliminate
+ * bounds checks and unroll them, and vectorize the purely arithmetic ones
+ * ({@link #equirectangular(double, double, double[], double[], double[], int)}). Results are written into
+ * caller-supplied arrays, and the matrix kernel also takes its working space from the caller, so repeated
+ * queries do not allocate.
+ *
+ * @see GeoDistance
+ */
+public final class GeoDistanceKernels {
+    /**
+     * The number of scratch values {@link #haversineMatrix(double[], double[], int, double[], double[], int, double[], double[])}
+     * needs per target.
+     */
+    public static final int MATRIX_SCRATCH_PER_TARGET = 3;
+
+    private static final double DEGREES_TO_RADIANS = Math.PI / 180;
+
+    private GeoDistanceKernels() {
+    }
+
+    /**
+     * Computes the haversine distance from one point to each of {@code length} points.
+     *
+     * @param latitude   the latitude of the origin, in degrees
+     * @param longitude  the longitude of the origin, in degrees
+     * @param latitudes  the latitudes of the targets, in degrees
+     * @param longitudes the longitudes of the targets, in degrees
+     * @param distances  the array receiving the distance to each target
+     * @param length     the number of targets
+     * @throws IndexOutOfBoundsException if any array is shorter than {@code length}
+     */
+    public static void haversine(double latitude, double longitude,
+                                 @NonNull double[] latitudes, @NonNull double[] longitudes,
+                                 @NonNull double[] distances, int length) {
+        checkLength(length, latitudes, longitudes, distances);
+
+        double originLatitude = latitude * DEGREES_TO_RADIANS;
+        double originLongitude = longitude * DEGREES_TO_RADIANS;
+        double cosOriginLatitude = Math.cos(originLatitude);
+
+        for (int i = 0; i < length; i++) {
+            double targetLatitude = latitudes[i] * DEGREES_TO_RADIANS;
+            double sinHalfLatitude = Math.sin((targetLatitude - originLatitude) * 0.5);
+            double sinHalfLongitude = Math.sin((longitudes[i] * DEGREES_TO_RADIANS - originLongitude) * 0.5);
+            double a = sinHalfLatitude * sinHalfLatitude
+                    + cosOriginLatitude * Math.cos(targetLatitude) * sinHalfLongitude * sinHalfLongitude;
+            distances[i] = 2 * EARTH_MEAN_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1, a)));
+        }
+    }
+
+    /**
+     * Computes the haversine distance from one point to every point of the given store.
+     *
+     * @param latitude  the latitude of the origin, in degrees
+     * @param longitude the longitude of the origin, in degrees
+     * @param points    the targets
+     * @param distances the array receiving the distance to each target
+     * @throws IndexOutOfBoundsException if {@code distances} is shorter than the number of points
+     */
+    public static void haversine(double latitude, double longitude,
+                                 @NonNull GeographicCoordinatesArray points, @NonNull double[] distances) {
+        haversine(latitude, longitude, points.getLatitudes(), points.getLongitudes(), distances, points.size());
+    }
+
+    /**
+     * Computes the approximate equirectangular distance from one point to each of {@code length} points.
+     *
+     * <p> Unlike {@link GeoDistance#equirectangular(double, double, double, double)}, the longitude difference
+     * is scaled by the cosine of the origin's latitude rather than of the mean latitude. This keeps the loop
+     * free of transcendental calls so it can be vectorized, and is accurate for the short distances this
+     * approximation is meant for, such as ranking candidates around a query point.
+     *
+     * @param latitude   the latitude of the origin, in degrees
+     * @param longitude  the longitude of the origin, in degrees
+     * @param latitudes  the latitudes of the targets, in degrees
+     * @param longitudes the longitudes of the targets, in degrees
+     * @param distances  the array receiving the distance to each target
+     * @param length     the number of targets
+     * @throws IndexOutOfBoundsException if any array is shorter than {@code length}
+     */
+    public static void equirectangular(double latitude, double longitude,
+                                       @NonNull double[] latitudes, @NonNull double[] longitudes,
+                                       @NonNull double[] distances, int length) {
+        checkLength(length, latitudes, longitudes, distances);
+
+        double longitudeScale = Math.cos(latitude * DEGREES_TO_RADIANS) * DEGREES_TO_RADIANS;
+
+        for (int i = 0; i < length; i++) {
+            double longitudeDelta = longitudes[i] - longitude;
+            double x = (longitudeDelta - 360 * Math.rint(longitudeDelta / 360)) * longitudeScale;
+            double y = (latitudes[i] - latitude) * DEGREES_TO_RADIANS;
+            distances[i] = EARTH_MEAN_RADIUS_METERS * Math.sqrt(x * x + y * y);
+        }
+    }
+
+    /**
+     * Computes the haversine distance between every origin and every target, writing a row-major
+     * {@code originLength x targetLength} matrix where {@code matrix[o * targetLength + t]} is the distance
+     * from origin {@code o} to target {@code t}.
+     *
+     * <p> This method allocates its working space on each call; repeated queries should pass a reusable
+     * scratch array to {@link #haversineMatrix(double[], double[], int, double[], double[], int, double[], double[])}.
+     *
+     * @param originLatitudes  the latitudes of the origins, in degrees
+     * @param originLongitudes the longitudes of the origins, in degrees
+     * @param originLength     the number of origins
+     * @param targetLatitudes  the latitudes of the targets, in degrees
+     * @param targetLongitudes the longitudes of the targets, in degrees
+     * @param targetLength     the number of targets
+     * @param matrix           the array receiving the distances
+     * @throws IndexOutOfBoundsException if any array is too short
+     */
+    public static void haversineMatrix(@NonNull double[] originLatitudes, @NonNull double[] originLongitudes, int originLength,
+                                       @NonNull double[] targetLatitudes, @NonNull double[] targetLongitudes, int targetLength,
+                                       @NonNull double[] matrix) {
+        haversineMatrix(originLatitudes, originLongitudes, originLength, targetLatitudes, targetLongitudes, targetLength,
+                matrix, new double[Math.max(0, MATRIX_SCRATCH_PER_TARGET * targetLength)]);
+    }
+
+    /**
+     * Computes the haversine distance between every origin and every target like
+     * {@link #haversineMatrix(double[], double[], int, double[], double[], int, double[])}, keeping the
+     * per-target values it precomputes in the given scratch array instead of allocating them.
+     *
+     * @param originLatitudes  the latitudes of the origins, in degrees
+     * @param originLongitudes the longitudes of the origins, in degrees
+     * @param originLength     the number of origins
+     * @param targetLatitudes  the latitudes of the targets, in degrees
+     * @param targetLongitudes the longitudes of the targets, in degrees
+     * @param targetLength     the number of targets
+     * @param matrix           the array receiving the distances
+     * @param scratch          the working space, holding at least {@value #MATRIX_SCRATCH_PER_TARGET} values
+     *                         per target; its contents are overwritten
+     * @throws IndexOutOfBoundsException if any array is too short
+     */
+    public static void haversineMatrix(@NonNull double[] originLatitudes, @NonNull double[] originLongitudes, int originLength,
+                                       @NonNull double[] targetLatitudes, @NonNull double[] targetLongitudes, int targetLength,
+                                       @NonNull double[] matrix, @NonNull double[] scratch) {
+        checkLength(originLength, originLatitudes, originLongitudes);
+        checkLength(targetLength, targetLatitudes, targetLongitudes);
+        if ((long) originLength * targetLength > matrix.length) {
+            throw new IndexOutOfBoundsException("Matrix of length " + matrix.length + " cannot hold "
+                    + originLength + " x " + targetLength + " distances");
+        }
+        if ((long) MATRIX_SCRATCH_PER_TARGET * targetLength > scratch.length) {
+            throw new IndexOutOfBoundsException("Scratch array of length " + scratch.length + " cannot hold "
+                    + MATRIX_SCRATCH_PER_TARGET + " x " + targetLength + " values");
+        }
+
+        int longitudes = targetLength;
+        int cosines = 2 * targetLength;
+
+        for (int t = 0; t < targetLength; t++) {
+            double targetLatitude = targetLatitudes[t] * DEGREES_TO_RADIANS;
+            scratch[t] = targetLatitude;
+            scratch[longitudes + t] = targetLongitudes[t] * DEGREES_TO_RADIANS;
+            scratch[cosines + t] = Math.cos(targetLatitude);
+        }
+
+        for (int o = 0; o < originLength; o++) {
+            double originLatitude = originLatitudes[o] * DEGREES_TO_RADIANS;
+            double originLongitude = originLongitudes[o] * DEGREES_TO_RADIANS;
+            double cosOriginLatitude = Math.cos(originLatitude);
+            int row = o * targetLength;
+
+            for (int t = 0; t < targetLength; t++) {
+                double sinHalfLatitude = Math.sin((scratch[t] - originLatitude) * 0.5);
+                double sinHalfLongitude = Math.sin((scratch[longitudes + t] - originLongitude) * 0.5);
+                double a = sinHalfLatitude * sinHalfLatitude
+                        + cosOriginLatitude * scratch[cosines + t] * sinHalfLongitude * sinHalfLongitude;
+                matrix[row + t] = 2 * EARTH_MEAN_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1, a)));
+            }
+        }
+    }
+
+    /**
+     * Finds the point closest to the given origin by great-circle distance.
+     *
+     * <p> Points are ranked by the haversine term {@code a}, which grows monotonically with the distance,
+     * so the exact nearest point is found without computing a square root or arcsine per point.
+     *
+     * @param latitude   the latitude of the origin, in degrees
+     * @param longitude  the longitude of the origin, in degrees
+     * @param latitudes  the latitudes of the candidates, in degrees
+     * @param longitudes the longitudes of the candidates, in degrees
+     * @param length     the number of candidates
+     * @return the index of the nearest candidate, or {@code -1} if {@code length} is zero
+     * @throws IndexOutOfBoundsException if any array is shorter than {@code length}
+     */
+    public static int nearest(double latitude, double longitude,
+                              @NonNull double[] latitudes, @NonNull double[] longitudes, int length) {
+        checkLength(length, latitudes, longitudes);
+
+        double originLatitude = latitude * DEGREES_TO_RADIANS;
+        double originLongitude = longitude * DEGREES_TO_RADIANS;
+        double cosOriginLatitude = Math.cos(originLatitude);
+        double best = Double.POSITIVE_INFINITY;
+        int bestIndex = -1;
+
+        for (int i = 0; i < length; i++) {
+            double targetLatitude = latitudes[i] * DEGREES_TO_RADIANS;
+            double sinHalfLatitude = Math.sin((targetLatitude - originLatitude) * 0.5);
+            double sinHalfLongitude = Math.sin((longitudes[i] * DEGREES_TO_RADIANS - originLongitude) * 0.5);
+            double a = sinHalfLatitude * sinHalfLatitude
+                    + cosOriginLatitude * Math.cos(targetLatitude) * sinHalfLongitude * sinHalfLongitude;
+
+            if (a < best) {
+                best = a;
+                bestIndex = i;
+            }
+        }
+        return bestIndex;
+    }
+
+    /**
+     * Finds the point of the given store closest to the given origin by great-circle distance.
+     *
+     * @param latitude  the latitude of the origin, in degrees
+     * @param longitude the longitude of the origin, in degrees
+     * @param points    the candidates
+     * @return the index of the nearest candidate, or {@code -1} if the store is empty
+     */
+    public static int nearest(double latitude, double longitude, @NonNull GeographicCoordinatesArray points) {
+        return nearest(latitude, longitude, points.getLatitudes(), points.getLongitudes(), points.size());
+    }
+
+    private static void checkLength(int length, double[]... arrays) {
+        if (length < 0) {
+            throw new IndexOutOfBoundsException("Negative length: " + length);
+        }
+        for (double[] array : arrays) {
+            if (array.length < length) {
+                throw new IndexOutOfBoundsException("Array of length " + array.length + " shorter than " + length);
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package es.bulkynaden.common.geo.index;
+
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import es.bulkynaden.common.geo.distance.GeoDistance;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Base class of the spatial indexes. It copies the coordinates of the indexed items into primitive
+ * arrays once, so that queries only touch {@code double[]} data and never the items themselves, and
+ * provides the spherical geometry shared by the concrete indexes.
+ *
+ * @param <T> the type of the indexed items
+ */
+abstract class AbstractSpatialIndex<T> implements ISpatialIndex<T> {
+    final Object[] items;
+    final double[] latitudes;
+    final double[] longitudes;
+    final int size;
+
+    AbstractSpatialIndex(@NonNull Collection<? extends T> items,
+                         @NonNull Function<? super T, ? extends IGeographicCoordinates> coordinatesOf) {
+        Object[] indexed = new Object[items.size()];
+        double[] indexedLatitudes = new double[items.size()];
+        double[] indexedLongitudes = new double[items.size()];
+        int count = 0;
+
+        for (T item : items) {
+            IGeographicCoordinates coordinates = item == null ? null : coordinatesOf.apply(item);
+            if (coordinates != null) {
+                indexed[count] = item;
+                indexedLatitudes[count] = coordinates.getLatitude();
+                indexedLongitudes[count] = coordinates.getLongitude();
+                count++;
+            }
+        }
+
+        this.items = indexed;
+        this.latitudes = indexedLatitudes;
+        this.longitudes = indexedLongitudes;
+        this.size = count;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<T> findNearest(double latitude, double longitude, int k) {
+        if (k <= 0 || size == 0) {
+            return new ArrayList<>(0);
+        }
+
+        DistanceHeap nearest = new DistanceHeap(Math.min(k, size));
+        collectNearest(latitude, longitude, k, nearest);
+
+        int found = nearest.size();
+        Object[] ordered = new Object[found];
+        for (int i = found - 1; i >= 0; i--) {
+            ordered[i] = items[nearest.peekValue()];
+            nearest.pop();
+        }
+
+        List<T> result = new ArrayList<>(found);
+        for (Object item : ordered) {
+            result.add(item(item));
+        }
+        return result;
+    }
+
+    /**
+     * Collects the indexes of the {@code k} points closest to the given point into the heap, keyed by
+     * their negated distance so that the heap top is always the farthest point kept so far.
+     */
+    abstract void collectNearest(double latitude, double longitude, int k, DistanceHeap nearest);
+
+    @SuppressWarnings("unchecked")
+    T item(Object item) {
+        return (T) item;
+    }
+
+    static double distance(double latitude, double longitude, double otherLatitude, double otherLongitude) {
+        return GeoDistance.haversine(latitude, longitude, otherLatitude, otherLongitude);
+    }
+
+    /**
+     * Offers a candidate to the bounded k-nearest heap.
+     */
+    static void offer(DistanceHeap nearest, int k, double distance, int index) {
+        if (nearest.size() < k) {
+            nearest.push(-distance, index);
+        } else if (distance < -nearest.peekKey()) {
+            nearest.replaceTop(-distance, index);
+        }
+    }
+
+    /**
+     * Returns the distance beyond which a candidate cannot enter the bounded k-nearest heap.
+     */
+    static double worstDistance(DistanceHeap nearest, int k) {
+        return nearest.size() < k ? Double.POSITIVE_INFINITY : -nearest.peekKey();
+    }
+
+    /**
+     * Returns a lower bound, in meters, of the great-circle distance between a point and any point of a
+     * latitude/longitude box that does not cross the antimeridian.
+     */
+    static double minDistance(double latitude, double longitude,
+                              double minLatitude, double minLongitude,
+                              double maxLatitude, double maxLongitude) {
+        if (longitude >= minLongitude && longitude <= maxLongitude) {
+            double latitudeDelta = latitude < minLatitude ? minLatitude - latitude
+                    : latitude > maxLatitude ? latitude - maxLatitude : 0;
+            return Math.toRadians(latitudeDelta) * GeoDistance.EARTH_MEAN_RADIUS_METERS;
+        }
+
+        return Math.min(
+                distanceToMeridian(latitude, longitude, minLongitude, minLatitude, maxLatitude),
+                distanceToMeridian(latitude, longitude, maxLongitude, minLatitude, maxLatitude));
+    }
+
+    /**
+     * Returns the great-circle distance between a point and the segment of a meridian between two latitudes.
+     * The distance along a meridian is unimodal, so the closest point is the projection of the point on the
+     * meridian's great circle, clamped to the segment.
+     */
+    private static double distanceToMeridian(double latitude, double longitude, double meridian,
+                                             double minLatitude, double maxLatitude) {
+        double cosLongitudeDelta = Math.cos(Math.toRadians(meridian - longitude));
+        double closestLatitude = cosLongitudeDelta <= 0
+                ? (latitude >= 0 ? 90 : -90)
+                : Math.toDegrees(Math.atan(Math.tan(Math.toRadians(latitude)) / cosLongitudeDelta));
+
+        closestLatitude = Math.max(minLatitude, Math.min(maxLatitude, closestLatitude));
+        return distance(latitude, longitude, closestLatitude, meridian);
+    }
+
+    /**
+     * Returns whether a query box, which may cross the antimeridian, intersects a box that does not.
+     */
+    static boolean intersects(double queryMinLatitude, double queryMinLongitude,
+                              double queryMaxLatitude, double queryMaxLongitude,
+                              double minLatitude, double minLongitude,
+                              double maxLatitude, double maxLongitude) {
+        if (maxLatitude < queryMinLatitude || minLatitude > queryMaxLatitude) {
+            return false;
+        }
+        if (queryMinLongitude <= queryMaxLongitude) {
+            return maxLongitude >= queryMinLongitude && minLongitude <= queryMaxLongitude;
+        }
+        return maxLongitude >= queryMinLongitude || minLongitude <= queryMaxLongitude;
+    }
+
+    /**
+     * Returns whether a query box, which may cross the antimeridian, contains a point.
+     */
+    static boolean contains(double queryMinLatitude, double queryMinLongitude,
+                            double queryMaxLatitude, double queryMaxLongitude,
+                            double latitude, double longitude) {
+        if (latitude < queryMinLatitude || latitude > queryMaxLatitude) {
+            return false;
+        }
+        if (queryMinLongitude <= queryMaxLongitude) {
+            return longitude >= queryMinLongitude && longitude <= queryMaxLongitude;
+        }
+        return longitude >= queryMinLongitude || longitude <= queryMaxLongitude;
+    }
+
+    /**
+     * Sorts the index range {@code [from, to)} by the given keys, using a three-way quicksort so that
+     * long runs of equal keys do not degrade it.
+     */
+    static void sortIndexes(int[] indexes, int from, int to, double[] keys) {
+        while (to - from > 16) {
+            double pivot = keys[indexes[medianOfThree(indexes, from, (from + to) >>> 1, to - 1, keys)]];
+            int lower = from;
+            int upper = to - 1;
+            int i = from;
+
+            while (i <= upper) {
+                double key = keys[indexes[i]];
+                if (key < pivot) {
+                    swap(indexes, lower++, i++);
+                } else if (key > pivot) {
+                    swap(indexes, i, upper--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (lower - from < to - upper - 1) {
+                sortIndexes(indexes, from, lower, keys);
+                from = upper + 1;
+            } else {
+                sortIndexes(indexes, upper + 1, to, keys);
+                to = lower;
+            }
+        }
+
+        for (int i = from + 1; i < to; i++) {
+            int index = indexes[i];
+            double key = keys[index];
+            int j = i - 1;
+            while (j >= from && keys[indexes[j]] > key) {
+                indexes[j + 1] = indexes[j];
+                j--;
+            }
+            indexes[j + 1] = index;
+        }
+    }
+
+    /**
+     * Partially sorts the index range {@code [from, to)} so that position {@code nth} holds the index whose key
+     * would be there in sorted order, with no greater key before it and no smaller key after it.
+     */
+    static void selectIndex(int[] indexes, int from, int to, int nth, double[] keys) {
+        while (to - from > 16) {
+            double pivot = keys[indexes[medianOfThree(indexes, from, (from + to) >>> 1, to - 1, keys)]];
+            int lower = from;
+            int upper = to - 1;
+            int i = from;
+
+            while (i <= upper) {
+                double key = keys[indexes[i]];
+                if (key < pivot) {
+                    swap(indexes, lower++, i++);
+                } else if (key > pivot) {
+                    swap(indexes, i, upper--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (nth < lower) {
+                to = lower;
+            } else if (nth > upper) {
+                from = upper + 1;
+            } else {
+                return;
+            }
+        }
+        sortIndexes(indexes, from, to, keys);
+    }
+
+    private static int medianOfThree(int[] indexes, int a, int b, int c, double[] keys) {
+        double keyA = keys[indexes[a]];
+        double keyB = keys[indexes[b]];
+        double keyC = keys[indexes[c]];
+
+        if (keyA < keyB) {
+            return keyB < keyC ? b : keyA < keyC ? c : a;
+        }
+        return keyA < keyC ? a : keyB < keyC ? c : b;
+    }
+
+    private static void swap(int[] indexes, int i, int j) {
+        int tmp = indexes[i];
+        indexes[i] = indexes[j];
+        indexes[j] = tmp;
+    }
+}
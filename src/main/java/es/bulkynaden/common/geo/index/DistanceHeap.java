@@ -0,0 +1,85 @@
+package es.bulkynaden.common.geo.index;
+
+import java.util.Arrays;
+
+/**
+ * A growable binary min-heap of {@code (double key, int value)} pairs kept in two primitive arrays,
+ * used by the spatial indexes to order candidates and results without boxing.
+ */
+final class DistanceHeap {
+    private double[] keys;
+    private int[] values;
+    private int size;
+
+    DistanceHeap(int initialCapacity) {
+        keys = new double[Math.max(1, initialCapacity)];
+        values = new int[keys.length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    double peekKey() {
+        return keys[0];
+    }
+
+    int peekValue() {
+        return values[0];
+    }
+
+    void push(double key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            values = Arrays.copyOf(values, size << 1);
+        }
+        siftUp(size++, key, value);
+    }
+
+    void pop() {
+        size--;
+        if (size > 0) {
+            siftDown(0, keys[size], values[size]);
+        }
+    }
+
+    void replaceTop(double key, int value) {
+        siftDown(0, key, value);
+    }
+
+    private void siftUp(int position, double key, int value) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[position] = keys[parent];
+            values[position] = values[parent];
+            position = parent;
+        }
+        keys[position] = key;
+        values[position] = value;
+    }
+
+    private void siftDown(int position, double key, int value) {
+        int half = size >>> 1;
+        while (position < half) {
+            int child = (position << 1) + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[position] = keys[child];
+            values[position] = values[child];
+            position = child;
+        }
+        keys[position] = key;
+        values[position] = value;
+    }
+}
@@ -0,0 +1,82 @@
+package es.bulkynaden.common.geo.index;
+
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * The {@code ISpatialIndex} interface represents an immutable index of items positioned by geographic
+ * coordinates, answering proximity queries without scanning every item.
+ *
+ * <p>
+ * Latitudes and longitudes are expressed in degrees and distances in meters, measured along great circles
+ * as in {@link es.bulkynaden.common.geo.distance.GeoDistance#haversine(double, double, double, double)}.
+ *
+ * @param <T> the type of the indexed items
+ * @see KdTree
+ * @see PackedRTree
+ */
+public interface ISpatialIndex<T> {
+
+    /**
+     * Returns the number of indexed items.
+     *
+     * @return the number of indexed items
+     */
+    int size();
+
+    /**
+     * Finds every item within the given distance of a point.
+     *
+     * @param latitude     the latitude of the center, in degrees
+     * @param longitude    the longitude of the center, in degrees
+     * @param radiusMeters the maximum distance, in meters
+     * @return the matching items, in no particular order
+     */
+    List<T> findWithinRadius(double latitude, double longitude, double radiusMeters);
+
+    /**
+     * Finds every item within the given distance of a point.
+     *
+     * @param center       the center of the search
+     * @param radiusMeters the maximum distance, in meters
+     * @return the matching items, in no particular order
+     */
+    default List<T> findWithinRadius(@NonNull IGeographicCoordinates center, double radiusMeters) {
+        return findWithinRadius(center.getLatitude(), center.getLongitude(), radiusMeters);
+    }
+
+    /**
+     * Finds every item inside a latitude/longitude bounding box. A box whose minimum longitude is greater
+     * than its maximum longitude is understood to cross the antimeridian.
+     *
+     * @param minLatitude  the southern edge of the box, in degrees
+     * @param minLongitude the western edge of the box, in degrees
+     * @param maxLatitude  the northern edge of the box, in degrees
+     * @param maxLongitude the eastern edge of the box, in degrees
+     * @return the matching items, in no particular order
+     */
+    List<T> findWithinBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude);
+
+    /**
+     * Finds the {@code k} items closest to a point.
+     *
+     * @param latitude  the latitude of the point, in degrees
+     * @param longitude the longitude of the point, in degrees
+     * @param k         the maximum number of items to return
+     * @return up to {@code k} items, ordered from the closest to the farthest
+     */
+    List<T> findNearest(double latitude, double longitude, int k);
+
+    /**
+     * Finds the {@code k} items closest to a point.
+     *
+     * @param point the point
+     * @param k     the maximum number of items to return
+     * @return up to {@code k} items, ordered from the closest to the farthest
+     */
+    default List<T> findNearest(@NonNull IGeographicCoordinates point, int k) {
+        return findNearest(point.getLatitude(), point.getLongitude(), k);
+    }
+}
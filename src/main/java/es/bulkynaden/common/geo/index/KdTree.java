@@ -0,0 +1,218 @@
+package es.bulkynaden.common.geo.index;
+
+import es.bulkynaden.common.geo.IGeoLocation;
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The {@code KdTree} class is an immutable two-dimensional k-d tree over the latitude and longitude of the
+ * indexed items, alternating longitude and latitude splits from the root down.
+ *
+ * <p>
+ * The tree is implicit: items are reordered once at build time so that the median of every range
+ * {@code [from, to)} sits at {@code (from + to) >>> 1}, with smaller keys before it and greater keys after it.
+ * No node objects exist; the whole structure is the coordinate arrays themselves.
+ *
+ * <p>
+ * Items whose coordinates are {@code null} are not indexed.
+ *
+ * @param <T> the type of the indexed items
+ * @see PackedRTree
+ */
+public class KdTree<T> extends AbstractSpatialIndex<T> {
+    private double minLatitude;
+    private double minLongitude;
+    private double maxLatitude;
+    private double maxLongitude;
+
+    /**
+     * Builds a k-d tree over the given items.
+     *
+     * @param items         the items to index
+     * @param coordinatesOf a function returning the coordinates of an item
+     */
+    public KdTree(@NonNull Collection<? extends T> items,
+                  @NonNull Function<? super T, ? extends IGeographicCoordinates> coordinatesOf) {
+        super(items, coordinatesOf);
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            updateBounds(latitudes[i], longitudes[i], i == 0);
+        }
+
+        build(order, 0, size, 0);
+        reorder(order);
+    }
+
+    /**
+     * Builds a k-d tree over the given locations, keyed on their coordinates.
+     *
+     * @param locations the locations to index
+     * @param <T>       the type of the locations
+     * @return a new k-d tree
+     */
+    public static <T extends IGeoLocation> KdTree<T> of(@NonNull Collection<? extends T> locations) {
+        return new KdTree<>(locations, IGeoLocation::getCoordinates);
+    }
+
+    @Override
+    public List<T> findWithinRadius(double latitude, double longitude, double radiusMeters) {
+        List<T> result = new ArrayList<>();
+        withinRadius(0, size, 0, minLatitude, minLongitude, maxLatitude, maxLongitude,
+                latitude, longitude, radiusMeters, result);
+        return result;
+    }
+
+    @Override
+    public List<T> findWithinBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        List<T> result = new ArrayList<>();
+        withinBoundingBox(0, size, 0, this.minLatitude, this.minLongitude, this.maxLatitude, this.maxLongitude,
+                minLatitude, minLongitude, maxLatitude, maxLongitude, result);
+        return result;
+    }
+
+    @Override
+    void collectNearest(double latitude, double longitude, int k, DistanceHeap nearest) {
+        nearest(0, size, 0, minLatitude, minLongitude, maxLatitude, maxLongitude, latitude, longitude, k, nearest);
+    }
+
+    private void build(int[] order, int from, int to, int depth) {
+        while (to - from > 1) {
+            int median = (from + to) >>> 1;
+            selectIndex(order, from, to, median, splitsOnLongitude(depth) ? longitudes : latitudes);
+            build(order, from, median, depth + 1);
+            from = median + 1;
+            depth++;
+        }
+    }
+
+    private void reorder(int[] order) {
+        Object[] orderedItems = new Object[size];
+        double[] orderedLatitudes = new double[size];
+        double[] orderedLongitudes = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            orderedItems[i] = items[order[i]];
+            orderedLatitudes[i] = latitudes[order[i]];
+            orderedLongitudes[i] = longitudes[order[i]];
+        }
+
+        System.arraycopy(orderedItems, 0, items, 0, size);
+        System.arraycopy(orderedLatitudes, 0, latitudes, 0, size);
+        System.arraycopy(orderedLongitudes, 0, longitudes, 0, size);
+    }
+
+    private void updateBounds(double latitude, double longitude, boolean first) {
+        minLatitude = first ? latitude : Math.min(minLatitude, latitude);
+        maxLatitude = first ? latitude : Math.max(maxLatitude, latitude);
+        minLongitude = first ? longitude : Math.min(minLongitude, longitude);
+        maxLongitude = first ? longitude : Math.max(maxLongitude, longitude);
+    }
+
+    private void withinRadius(int from, int to, int depth,
+                              double boxMinLatitude, double boxMinLongitude, double boxMaxLatitude, double boxMaxLongitude,
+                              double latitude, double longitude, double radiusMeters, List<T> result) {
+        if (from >= to || minDistance(latitude, longitude,
+                boxMinLatitude, boxMinLongitude, boxMaxLatitude, boxMaxLongitude) > radiusMeters) {
+            return;
+        }
+
+        int median = (from + to) >>> 1;
+        if (distance(latitude, longitude, latitudes[median], longitudes[median]) <= radiusMeters) {
+            result.add(item(items[median]));
+        }
+
+        if (splitsOnLongitude(depth)) {
+            double split = longitudes[median];
+            withinRadius(from, median, depth + 1, boxMinLatitude, boxMinLongitude, boxMaxLatitude, split,
+                    latitude, longitude, radiusMeters, result);
+            withinRadius(median + 1, to, depth + 1, boxMinLatitude, split, boxMaxLatitude, boxMaxLongitude,
+                    latitude, longitude, radiusMeters, result);
+        } else {
+            double split = latitudes[median];
+            withinRadius(from, median, depth + 1, boxMinLatitude, boxMinLongitude, split, boxMaxLongitude,
+                    latitude, longitude, radiusMeters, result);
+            withinRadius(median + 1, to, depth + 1, split, boxMinLongitude, boxMaxLatitude, boxMaxLongitude,
+                    latitude, longitude, radiusMeters, result);
+        }
+    }
+
+    private void withinBoundingBox(int from, int to, int depth,
+                                   double boxMinLatitude, double boxMinLongitude, double boxMaxLatitude, double boxMaxLongitude,
+                                   double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                   List<T> result) {
+        if (from >= to || !intersects(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                boxMinLatitude, boxMinLongitude, boxMaxLatitude, boxMaxLongitude)) {
+            return;
+        }
+
+        int median = (from + to) >>> 1;
+        if (contains(minLatitude, minLongitude, maxLatitude, maxLongitude, latitudes[median], longitudes[median])) {
+            result.add(item(items[median]));
+        }
+
+        if (splitsOnLongitude(depth)) {
+            double split = longitudes[median];
+            withinBoundingBox(from, median, depth + 1, boxMinLatitude, boxMinLongitude, boxMaxLatitude, split,
+                    minLatitude, minLongitude, maxLatitude, maxLongitude, result);
+            withinBoundingBox(median + 1, to, depth + 1, boxMinLatitude, split, boxMaxLatitude, boxMaxLongitude,
+                    minLatitude, minLongitude, maxLatitude, maxLongitude, result);
+        } else {
+            double split = latitudes[median];
+            withinBoundingBox(from, median, depth + 1, boxMinLatitude, boxMinLongitude, split, boxMaxLongitude,
+                    minLatitude, minLongitude, maxLatitude, maxLongitude, result);
+            withinBoundingBox(median + 1, to, depth + 1, split, boxMinLongitude, boxMaxLatitude, boxMaxLongitude,
+                    minLatitude, minLongitude, maxLatitude, maxLongitude, result);
+        }
+    }
+
+    private void nearest(int from, int to, int depth,
+                         double boxMinLatitude, double boxMinLongitude, double boxMaxLatitude, double boxMaxLongitude,
+                         double latitude, double longitude, int k, DistanceHeap nearest) {
+        if (from >= to || minDistance(latitude, longitude,
+                boxMinLatitude, boxMinLongitude, boxMaxLatitude, boxMaxLongitude) > worstDistance(nearest, k)) {
+            return;
+        }
+
+        int median = (from + to) >>> 1;
+        offer(nearest, k, distance(latitude, longitude, latitudes[median], longitudes[median]), median);
+
+        if (splitsOnLongitude(depth)) {
+            double split = longitudes[median];
+            if (longitude < split) {
+                nearest(from, median, depth + 1, boxMinLatitude, boxMinLongitude, boxMaxLatitude, split,
+                        latitude, longitude, k, nearest);
+                nearest(median + 1, to, depth + 1, boxMinLatitude, split, boxMaxLatitude, boxMaxLongitude,
+                        latitude, longitude, k, nearest);
+            } else {
+                nearest(median + 1, to, depth + 1, boxMinLatitude, split, boxMaxLatitude, boxMaxLongitude,
+                        latitude, longitude, k, nearest);
+                nearest(from, median, depth + 1, boxMinLatitude, boxMinLongitude, boxMaxLatitude, split,
+                        latitude, longitude, k, nearest);
+            }
+        } else {
+            double split = latitudes[median];
+            if (latitude < split) {
+                nearest(from, median, depth + 1, boxMinLatitude, boxMinLongitude, split, boxMaxLongitude,
+                        latitude, longitude, k, nearest);
+                nearest(median + 1, to, depth + 1, split, boxMinLongitude, boxMaxLatitude, boxMaxLongitude,
+                        latitude, longitude, k, nearest);
+            } else {
+                nearest(median + 1, to, depth + 1, split, boxMinLongitude, boxMaxLatitude, boxMaxLongitude,
+                        latitude, longitude, k, nearest);
+                nearest(from, median, depth + 1, boxMinLatitude, boxMinLongitude, split, boxMaxLongitude,
+                        latitude, longitude, k, nearest);
+            }
+        }
+    }
+
+    private static boolean splitsOnLongitude(int depth) {
+        return (depth & 1) == 0;
+    }
+}
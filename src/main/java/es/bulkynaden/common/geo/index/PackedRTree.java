@@ -0,0 +1,337 @@
+package es.bulkynaden.common.geo.index;
+
+import es.bulkynaden.common.geo.IGeoLocation;
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The {@code PackedRTree} class is an immutable R-tree over the latitude and longitude of the indexed items,
+ * bulk-loaded with the Sort-Tile-Recursive (STR) algorithm: at every level the entries are sorted by
+ * longitude into vertical slices, each slice is sorted by latitude, and consecutive runs of
+ * {@code nodeCapacity} entries become one node. This yields full nodes with little overlap, and no node ever
+ * needs to be split.
+ *
+ * <p>
+ * Nodes are stored in flat primitive arrays, leaves first and the root last: four {@code double}
+ * bounds and a {@code [first, end)} range of children per node, the children of a leaf being points.
+ *
+ * <p>
+ * Items whose coordinates are {@code null} are not indexed.
+ *
+ * @param <T> the type of the indexed items
+ * @see KdTree
+ */
+public class PackedRTree<T> extends AbstractSpatialIndex<T> {
+    /**
+     * The number of children per node used when none is given.
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 16;
+
+    private static final int MIN_LATITUDE = 0;
+    private static final int MIN_LONGITUDE = 1;
+    private static final int MAX_LATITUDE = 2;
+    private static final int MAX_LONGITUDE = 3;
+
+    private final int nodeCapacity;
+    private final int leafCount;
+    private final int nodeCount;
+    private final int height;
+    private final double[] bounds;
+    private final int[] children;
+
+    /**
+     * Builds an R-tree over the given items with the default node capacity.
+     *
+     * @param items         the items to index
+     * @param coordinatesOf a function returning the coordinates of an item
+     */
+    public PackedRTree(@NonNull Collection<? extends T> items,
+                       @NonNull Function<? super T, ? extends IGeographicCoordinates> coordinatesOf) {
+        this(items, coordinatesOf, DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Builds an R-tree over the given items.
+     *
+     * @param items         the items to index
+     * @param coordinatesOf a function returning the coordinates of an item
+     * @param nodeCapacity  the maximum number of children per node
+     * @throws IllegalArgumentException if the node capacity is lower than 2
+     */
+    public PackedRTree(@NonNull Collection<? extends T> items,
+                       @NonNull Function<? super T, ? extends IGeographicCoordinates> coordinatesOf,
+                       int nodeCapacity) {
+        super(items, coordinatesOf);
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException("Node capacity must be at least 2: " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+
+        int total = 0;
+        int levels = 0;
+        for (int count = ceilDiv(size, nodeCapacity); count > 0; count = count == 1 ? 0 : ceilDiv(count, nodeCapacity)) {
+            total += count;
+            levels++;
+        }
+
+        this.leafCount = ceilDiv(size, nodeCapacity);
+        this.nodeCount = total;
+        this.height = levels;
+        this.bounds = new double[4 * total];
+        this.children = new int[2 * total];
+
+        if (size > 0) {
+            build();
+        }
+    }
+
+    /**
+     * Builds an R-tree over the given locations, keyed on their coordinates.
+     *
+     * @param locations the locations to index
+     * @param <T>       the type of the locations
+     * @return a new R-tree
+     */
+    public static <T extends IGeoLocation> PackedRTree<T> of(@NonNull Collection<? extends T> locations) {
+        return new PackedRTree<>(locations, IGeoLocation::getCoordinates);
+    }
+
+    @Override
+    public List<T> findWithinRadius(double latitude, double longitude, double radiusMeters) {
+        List<T> result = new ArrayList<>();
+        if (nodeCount == 0) {
+            return result;
+        }
+
+        int[] stack = new int[height * nodeCapacity + 1];
+        int top = 0;
+        stack[top++] = nodeCount - 1;
+
+        while (top > 0) {
+            int node = stack[--top];
+            if (minDistance(latitude, longitude, node) > radiusMeters) {
+                continue;
+            }
+
+            if (isLeaf(node)) {
+                for (int point = children[2 * node]; point < children[2 * node + 1]; point++) {
+                    if (distance(latitude, longitude, latitudes[point], longitudes[point]) <= radiusMeters) {
+                        result.add(item(items[point]));
+                    }
+                }
+            } else {
+                for (int child = children[2 * node]; child < children[2 * node + 1]; child++) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> findWithinBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        List<T> result = new ArrayList<>();
+        if (nodeCount == 0) {
+            return result;
+        }
+
+        int[] stack = new int[height * nodeCapacity + 1];
+        int top = 0;
+        stack[top++] = nodeCount - 1;
+
+        while (top > 0) {
+            int node = stack[--top];
+            int offset = 4 * node;
+            if (!intersects(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                    bounds[offset + MIN_LATITUDE], bounds[offset + MIN_LONGITUDE],
+                    bounds[offset + MAX_LATITUDE], bounds[offset + MAX_LONGITUDE])) {
+                continue;
+            }
+
+            if (isLeaf(node)) {
+                for (int point = children[2 * node]; point < children[2 * node + 1]; point++) {
+                    if (contains(minLatitude, minLongitude, maxLatitude, maxLongitude, latitudes[point], longitudes[point])) {
+                        result.add(item(items[point]));
+                    }
+                }
+            } else {
+                for (int child = children[2 * node]; child < children[2 * node + 1]; child++) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    void collectNearest(double latitude, double longitude, int k, DistanceHeap nearest) {
+        DistanceHeap candidates = new DistanceHeap(height * nodeCapacity);
+        candidates.push(minDistance(latitude, longitude, nodeCount - 1), nodeCount - 1);
+
+        while (!candidates.isEmpty()) {
+            double candidateDistance = candidates.peekKey();
+            int node = candidates.peekValue();
+            candidates.pop();
+
+            if (candidateDistance > worstDistance(nearest, k)) {
+                break;
+            }
+
+            if (isLeaf(node)) {
+                for (int point = children[2 * node]; point < children[2 * node + 1]; point++) {
+                    offer(nearest, k, distance(latitude, longitude, latitudes[point], longitudes[point]), point);
+                }
+            } else {
+                for (int child = children[2 * node]; child < children[2 * node + 1]; child++) {
+                    double childDistance = minDistance(latitude, longitude, child);
+                    if (childDistance <= worstDistance(nearest, k)) {
+                        candidates.push(childDistance, child);
+                    }
+                }
+            }
+        }
+    }
+
+    private void build() {
+        int[] order = identity(size);
+        tile(order, size, latitudes, longitudes);
+        reorderPoints(order);
+
+        for (int leaf = 0; leaf < leafCount; leaf++) {
+            int first = leaf * nodeCapacity;
+            int end = Math.min(size, first + nodeCapacity);
+            children[2 * leaf] = first;
+            children[2 * leaf + 1] = end;
+
+            int offset = 4 * leaf;
+            bounds[offset + MIN_LATITUDE] = Double.POSITIVE_INFINITY;
+            bounds[offset + MIN_LONGITUDE] = Double.POSITIVE_INFINITY;
+            bounds[offset + MAX_LATITUDE] = Double.NEGATIVE_INFINITY;
+            bounds[offset + MAX_LONGITUDE] = Double.NEGATIVE_INFINITY;
+            for (int point = first; point < end; point++) {
+                expand(offset, latitudes[point], longitudes[point], latitudes[point], longitudes[point]);
+            }
+        }
+
+        int levelStart = 0;
+        int levelSize = leafCount;
+        while (levelSize > 1) {
+            reorderLevel(levelStart, levelSize);
+
+            int parentStart = levelStart + levelSize;
+            int parentCount = ceilDiv(levelSize, nodeCapacity);
+            for (int parent = 0; parent < parentCount; parent++) {
+                int node = parentStart + parent;
+                int first = levelStart + parent * nodeCapacity;
+                int end = Math.min(levelStart + levelSize, first + nodeCapacity);
+                children[2 * node] = first;
+                children[2 * node + 1] = end;
+
+                int offset = 4 * node;
+                bounds[offset + MIN_LATITUDE] = Double.POSITIVE_INFINITY;
+                bounds[offset + MIN_LONGITUDE] = Double.POSITIVE_INFINITY;
+                bounds[offset + MAX_LATITUDE] = Double.NEGATIVE_INFINITY;
+                bounds[offset + MAX_LONGITUDE] = Double.NEGATIVE_INFINITY;
+                for (int child = first; child < end; child++) {
+                    int childOffset = 4 * child;
+                    expand(offset, bounds[childOffset + MIN_LATITUDE], bounds[childOffset + MIN_LONGITUDE],
+                            bounds[childOffset + MAX_LATITUDE], bounds[childOffset + MAX_LONGITUDE]);
+                }
+            }
+
+            levelStart = parentStart;
+            levelSize = parentCount;
+        }
+    }
+
+    /**
+     * Sorts the entries by longitude, cuts them into vertical slices of whole nodes, and sorts every
+     * slice by latitude.
+     */
+    private void tile(int[] order, int count, double[] entryLatitudes, double[] entryLongitudes) {
+        sortIndexes(order, 0, count, entryLongitudes);
+
+        int slices = (int) Math.ceil(Math.sqrt(ceilDiv(count, nodeCapacity)));
+        int sliceSize = slices * nodeCapacity;
+        for (int from = 0; from < count; from += sliceSize) {
+            sortIndexes(order, from, Math.min(count, from + sliceSize), entryLatitudes);
+        }
+    }
+
+    private void reorderPoints(int[] order) {
+        Object[] orderedItems = new Object[size];
+        double[] orderedLatitudes = new double[size];
+        double[] orderedLongitudes = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            orderedItems[i] = items[order[i]];
+            orderedLatitudes[i] = latitudes[order[i]];
+            orderedLongitudes[i] = longitudes[order[i]];
+        }
+
+        System.arraycopy(orderedItems, 0, items, 0, size);
+        System.arraycopy(orderedLatitudes, 0, latitudes, 0, size);
+        System.arraycopy(orderedLongitudes, 0, longitudes, 0, size);
+    }
+
+    /**
+     * Tiles the nodes of one level by their centers and moves their records into that order, before
+     * their parents are created over consecutive runs.
+     */
+    private void reorderLevel(int levelStart, int levelSize) {
+        double[] centerLatitudes = new double[levelSize];
+        double[] centerLongitudes = new double[levelSize];
+        for (int i = 0; i < levelSize; i++) {
+            int offset = 4 * (levelStart + i);
+            centerLatitudes[i] = (bounds[offset + MIN_LATITUDE] + bounds[offset + MAX_LATITUDE]) * 0.5;
+            centerLongitudes[i] = (bounds[offset + MIN_LONGITUDE] + bounds[offset + MAX_LONGITUDE]) * 0.5;
+        }
+
+        int[] order = identity(levelSize);
+        tile(order, levelSize, centerLatitudes, centerLongitudes);
+
+        double[] orderedBounds = new double[4 * levelSize];
+        int[] orderedChildren = new int[2 * levelSize];
+        for (int i = 0; i < levelSize; i++) {
+            System.arraycopy(bounds, 4 * (levelStart + order[i]), orderedBounds, 4 * i, 4);
+            System.arraycopy(children, 2 * (levelStart + order[i]), orderedChildren, 2 * i, 2);
+        }
+        System.arraycopy(orderedBounds, 0, bounds, 4 * levelStart, 4 * levelSize);
+        System.arraycopy(orderedChildren, 0, children, 2 * levelStart, 2 * levelSize);
+    }
+
+    private void expand(int offset, double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        bounds[offset + MIN_LATITUDE] = Math.min(bounds[offset + MIN_LATITUDE], minLatitude);
+        bounds[offset + MIN_LONGITUDE] = Math.min(bounds[offset + MIN_LONGITUDE], minLongitude);
+        bounds[offset + MAX_LATITUDE] = Math.max(bounds[offset + MAX_LATITUDE], maxLatitude);
+        bounds[offset + MAX_LONGITUDE] = Math.max(bounds[offset + MAX_LONGITUDE], maxLongitude);
+    }
+
+    private double minDistance(double latitude, double longitude, int node) {
+        int offset = 4 * node;
+        return minDistance(latitude, longitude,
+                bounds[offset + MIN_LATITUDE], bounds[offset + MIN_LONGITUDE],
+                bounds[offset + MAX_LATITUDE], bounds[offset + MAX_LONGITUDE]);
+    }
+
+    private boolean isLeaf(int node) {
+        return node < leafCount;
+    }
+
+    private static int[] identity(int length) {
+        int[] order = new int[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static int ceilDiv(int dividend, int divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+}
@@ -0,0 +1,55 @@
+package es.bulkynaden.common.geo.loader;
+
+import es.bulkynaden.common.geo.ICountry;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The {@code GazetteerLoadResult} class holds the outcome of a {@link GazetteerLoader} run: the countries
+ * built from the input and the statistics of the run.
+ */
+@Getter
+public class GazetteerLoadResult {
+    /**
+     * The countries found in the input, in order of first appearance.
+     */
+    private final List<ICountry> countries;
+
+    /**
+     * The number of rows read, excluding the header.
+     */
+    private final long rowCount;
+
+    /**
+     * The number of rows that were skipped because they lacked a country or an autonomous community.
+     */
+    private final long skippedRowCount;
+
+    /**
+     * The number of cities created.
+     */
+    private final long cityCount;
+
+    /**
+     * The wall-clock time spent loading, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    GazetteerLoadResult(List<ICountry> countries, long rowCount, long skippedRowCount, long cityCount, long elapsedNanos) {
+        this.countries = countries;
+        this.rowCount = rowCount;
+        this.skippedRowCount = skippedRowCount;
+        this.cityCount = cityCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the loading throughput.
+     *
+     * @return the number of rows read per second
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowCount * 1_000_000_000.0 / elapsedNanos;
+    }
+}
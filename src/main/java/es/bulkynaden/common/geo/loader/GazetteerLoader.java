@@ -0,0 +1,309 @@
+package es.bulkynaden.common.geo.loader;
+
+import es.bulkynaden.common.INameHolder;
+import es.bulkynaden.common.geo.IAutonomousCommunity;
+import es.bulkynaden.common.geo.ICity;
+import es.bulkynaden.common.geo.ICountry;
+import es.bulkynaden.common.geo.NameRegistry;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The {@code GazetteerLoader} class streams delimited gazetteer files (CSV, TSV, GeoNames-style dumps) and
+ * builds {@link ICountry} → {@link IAutonomousCommunity} → {@link ICity} graphs from them.
+ *
+ * <p>
+ * The input is read line by line through a file channel, and each line is split by scanning for the
+ * delimiter, extracting only the configured columns. Fields are trimmed; quoting is not supported, as in
+ * GeoNames dumps. Rows without a country or an autonomous community are counted as skipped, and rows
+ * without a city only declare their country and autonomous community.
+ *
+ * <p>
+ * Countries and autonomous communities are created once, on their first appearance, and the autonomous
+ * community is added to its country at that moment. Each city is created and handed to the configured
+ * attacher together with its autonomous community, and is not retained by the loader. Names are
+ * interned in a per-run pool, so repeated names share one {@code String}. Memory use is therefore bounded
+ * by the number of distinct names, countries and autonomous communities, not by the size of the input.
+ *
+ * <p>
+ * The implementations to build are supplied as factories, since the relationship between an autonomous
+ * community and its cities is owned by the caller's model. When a {@link NameRegistry} is configured for a
+ * level, instances of that level are obtained through it instead, so they are shared with earlier runs and
+ * with the rest of the application.
+ */
+@Getter
+@Setter
+public class GazetteerLoader {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Supplier<? extends ICountry> countryFactory;
+    private final Supplier<? extends IAutonomousCommunity> autonomousCommunityFactory;
+    private final Supplier<? extends ICity> cityFactory;
+    private final BiConsumer<IAutonomousCommunity, ICity> cityAttacher;
+
+    /**
+     * The field delimiter. Defaults to a tab.
+     */
+    private char delimiter = '\t';
+
+    /**
+     * The zero-based column holding the country name.
+     */
+    private int countryColumn = 0;
+
+    /**
+     * The zero-based column holding the autonomous community name.
+     */
+    private int autonomousCommunityColumn = 1;
+
+    /**
+     * The zero-based column holding the city name.
+     */
+    private int cityColumn = 2;
+
+    /**
+     * Whether the first line is a header to be ignored.
+     */
+    private boolean skipHeader = false;
+
+    /**
+     * The charset of the input files. Defaults to UTF-8.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * The number of rows between two calls to the progress listener.
+     */
+    private long progressInterval = 100_000;
+
+    /**
+     * An optional listener receiving intermediate statistics every {@link #progressInterval} rows.
+     */
+    private Consumer<GazetteerLoadResult> progressListener;
+
+    /**
+     * An optional registry through which countries are interned.
+     */
+    private NameRegistry<ICountry> countryRegistry;
+
+    /**
+     * An optional registry through which autonomous communities are interned.
+     */
+    private NameRegistry<IAutonomousCommunity> autonomousCommunityRegistry;
+
+    /**
+     * An optional registry through which cities are interned. Cities with the same name in different
+     * autonomous communities then share one instance.
+     */
+    private NameRegistry<ICity> cityRegistry;
+
+    /**
+     * Creates a loader building the given implementations.
+     *
+     * @param countryFactory             a factory creating empty countries
+     * @param autonomousCommunityFactory a factory creating empty autonomous communities
+     * @param cityFactory                a factory creating empty cities
+     * @param cityAttacher               a consumer adding a city to its autonomous community
+     */
+    public GazetteerLoader(@NonNull Supplier<? extends ICountry> countryFactory,
+                           @NonNull Supplier<? extends IAutonomousCommunity> autonomousCommunityFactory,
+                           @NonNull Supplier<? extends ICity> cityFactory,
+                           @NonNull BiConsumer<IAutonomousCommunity, ICity> cityAttacher) {
+        this.countryFactory = countryFactory;
+        this.autonomousCommunityFactory = autonomousCommunityFactory;
+        this.cityFactory = cityFactory;
+        this.cityAttacher = cityAttacher;
+    }
+
+    /**
+     * Loads a gazetteer file.
+     *
+     * @param path the file to load
+     * @return the countries built and the statistics of the run
+     * @throws IOException if the file cannot be read
+     */
+    public GazetteerLoadResult load(@NonNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Reader reader = new InputStreamReader(Channels.newInputStream(channel), charset.newDecoder())) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Loads a gazetteer from a character stream. The reader is not closed.
+     *
+     * @param reader the gazetteer content
+     * @return the countries built and the statistics of the run
+     * @throws IOException if the content cannot be read
+     */
+    public GazetteerLoadResult load(@NonNull Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, BUFFER_SIZE);
+        Run run = new Run();
+
+        if (skipHeader) {
+            lines.readLine();
+        }
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            run.accept(line);
+
+            if (progressListener != null && progressInterval > 0 && run.rows % progressInterval == 0) {
+                progressListener.accept(run.result());
+            }
+        }
+        return run.result();
+    }
+
+    /**
+     * The state of a single loading run.
+     */
+    private final class Run {
+        private final long start = System.nanoTime();
+        private final int maxColumn = Math.max(countryColumn, Math.max(autonomousCommunityColumn, cityColumn));
+        private final String[] fields = new String[maxColumn + 1];
+        private final Map<String, String> names = new HashMap<>();
+        private final Map<String, ICountry> countries = new HashMap<>();
+        private final Map<ICountry, Map<String, IAutonomousCommunity>> autonomousCommunities = new HashMap<>();
+        private final List<ICountry> orderedCountries = new ArrayList<>();
+        private final Set<ICountry> seenCountries = Collections.newSetFromMap(new IdentityHashMap<>());
+        private long rows;
+        private long skippedRows;
+        private long cities;
+
+        void accept(String line) {
+            rows++;
+            split(line);
+
+            String countryName = fields[countryColumn];
+            String autonomousCommunityName = fields[autonomousCommunityColumn];
+            String cityName = fields[cityColumn];
+            if (countryName == null || autonomousCommunityName == null) {
+                skippedRows++;
+                return;
+            }
+
+            ICountry country = countries.computeIfAbsent(countryName, this::newCountry);
+            IAutonomousCommunity autonomousCommunity = autonomousCommunities
+                    .computeIfAbsent(country, key -> new HashMap<>())
+                    .computeIfAbsent(autonomousCommunityName, name -> newAutonomousCommunity(country, name));
+
+            if (cityName != null) {
+                ICity city = newCity(cityName);
+                cityAttacher.accept(autonomousCommunity, city);
+                cities++;
+            }
+        }
+
+        GazetteerLoadResult result() {
+            return new GazetteerLoadResult(List.copyOf(orderedCountries), rows, skippedRows, cities, System.nanoTime() - start);
+        }
+
+        private ICountry newCountry(String name) {
+            ICountry country = countryRegistry != null
+                    ? countryRegistry.intern(name, countryFactory)
+                    : named(countryFactory.get(), name);
+            if (seenCountries.add(country)) {
+                orderedCountries.add(country);
+            }
+            return country;
+        }
+
+        private IAutonomousCommunity newAutonomousCommunity(ICountry country, String name) {
+            if (autonomousCommunityRegistry == null) {
+                IAutonomousCommunity autonomousCommunity = named(autonomousCommunityFactory.get(), name);
+                country.addAutonomousCommunity(autonomousCommunity);
+                return autonomousCommunity;
+            }
+
+            IAutonomousCommunity autonomousCommunity = autonomousCommunityRegistry.intern(name, autonomousCommunityFactory);
+            if (!country.getAutonomousCommunities().contains(autonomousCommunity)) {
+                country.addAutonomousCommunity(autonomousCommunity);
+            }
+            return autonomousCommunity;
+        }
+
+        private ICity newCity(String name) {
+            return cityRegistry != null ? cityRegistry.intern(name, cityFactory) : named(cityFactory.get(), name);
+        }
+
+        private <N extends INameHolder> N named(N value, String name) {
+            value.setName(name);
+            return value;
+        }
+
+        /**
+         * Extracts the configured columns of a line into {@link #fields}, trimmed and interned, or
+         * {@code null} when a column is missing or blank.
+         */
+        private void split(String line) {
+            int column = 0;
+            int start = 0;
+            int length = line.length();
+
+            while (column <= maxColumn) {
+                int end = line.indexOf(delimiter, start);
+                if (end < 0) {
+                    end = length;
+                }
+
+                fields[column] = isSelected(column) ? field(line, start, end) : null;
+                column++;
+
+                if (end == length) {
+                    break;
+                }
+                start = end + 1;
+            }
+
+            while (column <= maxColumn) {
+                fields[column++] = null;
+            }
+        }
+
+        private boolean isSelected(int column) {
+            return column == countryColumn || column == autonomousCommunityColumn || column == cityColumn;
+        }
+
+        private String field(String line, int start, int end) {
+            while (start < end && Character.isWhitespace(line.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+                end--;
+            }
+            if (start == end) {
+                return null;
+            }
+
+            String value = line.substring(start, end);
+            String interned = names.putIfAbsent(value, value);
+            return interned == null ? value : interned;
+        }
+    }
+}
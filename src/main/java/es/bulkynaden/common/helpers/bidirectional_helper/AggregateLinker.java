@@ -0,0 +1,428 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <strong>AggregateLinker</strong>
+ *
+ * <p> Walks, detaches and reattaches whole aggregates of linked entities in parallel on a {@link ForkJoinPool}.
+ * Where the other linkers change one link per call, this class changes every link of a batch of entities at
+ * once, such as all the communities and cities of a country or all the files of many users.
+ *
+ * <p> The work is partitioned by the entity whose collection is changed: the entities of a batch are grouped
+ * by that entity, and each group is handled by a single task. Every collection is therefore changed by one
+ * thread only, including the collections of entities shared by several entities of the batch, without locking.
+ * Entities are compared by identity, and an entity appearing more than once in a batch is handled once.
+ *
+ * <p> The batches must not be changed by other threads while an operation is running. The functions passed
+ * to an operation are called concurrently for distinct entities, so they must not share mutable state.
+ *
+ * <p> Every link and unlink made is published to the event bus, if any, by the task making it; the events of
+ * different entities may therefore be published in any order.
+ */
+@Getter
+public class AggregateLinker {
+    /**
+     * The default number of entities below which a task stops splitting its work.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    /**
+     * The bus the links and unlinks made by this linker are published to, or {@code null} to publish nothing.
+     */
+    @Setter
+    private volatile RelationshipEventBus eventBus;
+
+    /**
+     * Creates an aggregate linker running on the common pool with the default batch size.
+     */
+    public AggregateLinker() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates an aggregate linker.
+     *
+     * @param pool      The pool running the tasks.
+     * @param batchSize The number of entities below which a task stops splitting its work.
+     * @throws NullPointerException     if the pool is null.
+     * @throws IllegalArgumentException if the batch size is not positive.
+     */
+    public AggregateLinker(@NonNull ForkJoinPool pool, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns every entity reachable from the given roots, the roots included. The graph is walked level by
+     * level, each level in parallel; every entity is visited once, so cycles and entities shared by several
+     * others are safe. Graphs made of several entity types can be walked with {@code T} being a common
+     * supertype, usually {@code Object}.
+     *
+     * @param <T>           The type of the entities in the graph.
+     * @param roots         The entities to start from.
+     * @param getNeighbours A function returning the entities linked to an entity, or {@code null} if there are none.
+     * @return The reachable entities, in breadth-first order of levels.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T> List<T> traverse(@NonNull Collection<? extends T> roots,
+                                @NonNull Function<T, ? extends Collection<? extends T>> getNeighbours) {
+        Set<Identity> visited = ConcurrentHashMap.newKeySet();
+        List<T> reachable = new ArrayList<>();
+        List<T> level = new ArrayList<>();
+
+        for (T root : roots) {
+            if (visited.add(new Identity(root))) {
+                level.add(root);
+            }
+        }
+
+        while (!level.isEmpty()) {
+            reachable.addAll(level);
+            level = pool.invoke(new ExpandTask<>(level, 0, level.size(), getNeighbours, visited, batchSize));
+        }
+        return reachable;
+    }
+
+    /**
+     * Breaks every one-to-many link of the given entities, in parallel per entity.
+     *
+     * @param <T>                                 The type of the entities that can link to multiple entities.
+     * @param <U>                                 The type of the entities that can be linked to only one entity.
+     * @param entitiesOne                         The entities to be detached from all their entityTwo.
+     * @param getEntitiesTwoFromOne               A function to get the collection of entityTwo within entityOne.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param setInternalEntityTwoToOne           A consumer that sets the link of entityTwo to entityOne.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> void detachAllOneToMany(@NonNull Collection<? extends T> entitiesOne,
+                                          @NonNull Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                                          @NonNull BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                          @NonNull BiConsumer<U, T> setInternalEntityTwoToOne) {
+        RelationshipEventBus bus = eventBus;
+        run(distinct(entitiesOne), entityOne -> {
+            List<U> entitiesTwo = new ArrayList<>(getEntitiesTwoFromOne.apply(entityOne));
+            removeAllInternalEntitiesTwoFromOne.accept(entityOne, entitiesTwo);
+            for (U entityTwo : entitiesTwo) {
+                setInternalEntityTwoToOne.accept(entityTwo, null);
+            }
+            publishAll(bus, RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.ONE_TO_MANY, entityOne, entitiesTwo);
+        });
+    }
+
+    /**
+     * Links every given entity to the entityOne returned for it by {@code getNewEntityFromTwo}, removing it
+     * from its current entityOne. Entities are first removed from their current entityOne, in parallel per
+     * current entityOne, then added to their new entityOne, in parallel per new entityOne. Entities for which
+     * {@code getNewEntityFromTwo} returns {@code null} are only detached.
+     *
+     * @param <T>                                 The type of the entities that can link to multiple entities.
+     * @param <U>                                 The type of the entities that can be linked to only one entity.
+     * @param entitiesTwo                         The entities to be reattached.
+     * @param getNewEntityFromTwo                 A function returning the new entityOne of an entityTwo.
+     * @param addAllInternalEntitiesTwoToOne      A consumer that adds a batch of entityTwo to the collection within entityOne.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param getCurrentEntityFromTwo             A function to get the current entityOne linked to entityTwo.
+     * @param setInternalEntityTwoToOne           A consumer that sets the link of entityTwo to entityOne.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> void reattachAllOneToMany(@NonNull Collection<? extends U> entitiesTwo,
+                                            @NonNull Function<U, T> getNewEntityFromTwo,
+                                            @NonNull BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+                                            @NonNull BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                            @NonNull Function<U, T> getCurrentEntityFromTwo,
+                                            @NonNull BiConsumer<U, T> setInternalEntityTwoToOne) {
+        RelationshipEventBus bus = eventBus;
+        List<U> batch = distinct(entitiesTwo);
+        Map<T, List<U>> byNewEntity = group(batch, getNewEntityFromTwo);
+        Map<T, List<U>> byCurrentEntity = group(batch, getCurrentEntityFromTwo);
+        List<U> detached = byNewEntity.remove(null);
+        byCurrentEntity.remove(null);
+
+        run(new ArrayList<>(byCurrentEntity.entrySet()), entry -> {
+            T currentEntityOne = entry.getKey();
+            List<U> moved = new ArrayList<>(entry.getValue().size());
+            for (U entityTwo : entry.getValue()) {
+                if (getNewEntityFromTwo.apply(entityTwo) != currentEntityOne) {
+                    moved.add(entityTwo);
+                }
+            }
+            if (!moved.isEmpty()) {
+                removeAllInternalEntitiesTwoFromOne.accept(currentEntityOne, moved);
+                publishAll(bus, RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.ONE_TO_MANY, currentEntityOne, moved);
+            }
+        });
+
+        run(new ArrayList<>(byNewEntity.entrySet()), entry -> {
+            T newEntityOne = entry.getKey();
+            List<U> added = new ArrayList<>(entry.getValue().size());
+            for (U entityTwo : entry.getValue()) {
+                if (getCurrentEntityFromTwo.apply(entityTwo) != newEntityOne) {
+                    added.add(entityTwo);
+                }
+            }
+            if (!added.isEmpty()) {
+                addAllInternalEntitiesTwoToOne.accept(newEntityOne, added);
+            }
+            for (U entityTwo : added) {
+                setInternalEntityTwoToOne.accept(entityTwo, newEntityOne);
+            }
+            publishAll(bus, RelationshipEvent.Type.LINK, RelationshipEvent.Kind.ONE_TO_MANY, newEntityOne, added);
+        });
+
+        if (detached != null) {
+            run(detached, entityTwo -> setInternalEntityTwoToOne.accept(entityTwo, null));
+        }
+    }
+
+    /**
+     * Breaks every many-to-many link of the given entities. The collections of the given entities are
+     * cleared in parallel per entity, then each linked entityTwo, shared or not, is updated by a single task.
+     *
+     * @param <T>                                 The type of the first entity in the relationship.
+     * @param <U>                                 The type of the second entity in the relationship.
+     * @param entitiesOne                         The entities to be detached from all their entityTwo.
+     * @param getEntitiesTwoFromOne               A function to get the collection of entityTwo within entityOne.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param removeAllInternalEntitiesOneFromTwo A consumer that removes a batch of entityOne from the collection within entityTwo.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> void detachAllManyToMany(@NonNull Collection<? extends T> entitiesOne,
+                                           @NonNull Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                                           @NonNull BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                           @NonNull BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo) {
+        List<T> batch = distinct(entitiesOne);
+        Map<U, List<T>> byEntityTwo = new IdentityHashMap<>();
+        for (T entityOne : batch) {
+            for (U entityTwo : getEntitiesTwoFromOne.apply(entityOne)) {
+                byEntityTwo.computeIfAbsent(entityTwo, key -> new ArrayList<>()).add(entityOne);
+            }
+        }
+
+        RelationshipEventBus bus = eventBus;
+        run(batch, entityOne -> {
+            List<U> entitiesTwo = new ArrayList<>(getEntitiesTwoFromOne.apply(entityOne));
+            removeAllInternalEntitiesTwoFromOne.accept(entityOne, entitiesTwo);
+            publishAll(bus, RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.MANY_TO_MANY, entityOne, entitiesTwo);
+        });
+        run(new ArrayList<>(byEntityTwo.entrySet()), entry ->
+                removeAllInternalEntitiesOneFromTwo.accept(entry.getKey(), entry.getValue()));
+    }
+
+    private <E> void run(List<E> entities, Consumer<E> action) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        if (entities.size() <= batchSize) {
+            entities.forEach(action);
+            return;
+        }
+        pool.invoke(new ForEachTask<>(entities, 0, entities.size(), action, batchSize));
+    }
+
+    private static <T, U> void publishAll(RelationshipEventBus bus, RelationshipEvent.Type type, RelationshipEvent.Kind kind,
+                                          T entityOne, List<U> entitiesTwo) {
+        if (bus != null) {
+            for (U entityTwo : entitiesTwo) {
+                bus.publish(type, kind, entityOne, entityTwo);
+            }
+        }
+    }
+
+    private <K, E> Map<K, List<E>> group(List<E> entities, Function<E, K> getKey) {
+        return pool.invoke(new GroupTask<>(entities, 0, entities.size(), getKey, batchSize));
+    }
+
+    private static <E> List<E> distinct(Collection<? extends E> entities) {
+        Set<E> seen = Collections.newSetFromMap(new IdentityHashMap<>(entities.size()));
+        List<E> distinct = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            if (seen.add(entity)) {
+                distinct.add(entity);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Wraps an entity so that it is compared by identity in concurrent sets.
+     */
+    private record Identity(Object entity) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Identity identity && identity.entity == entity;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(entity);
+        }
+    }
+
+    /**
+     * Applies an action to a range of entities, splitting the range in halves above the batch size.
+     */
+    private static final class ForEachTask<E> extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final List<E> entities;
+        private final int from;
+        private final int to;
+        private final Consumer<E> action;
+        private final int batchSize;
+
+        private ForEachTask(List<E> entities, int from, int to, Consumer<E> action, int batchSize) {
+            this.entities = entities;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                for (int i = from; i < to; i++) {
+                    action.accept(entities.get(i));
+                }
+                return;
+            }
+
+            int split = (from + to) >>> 1;
+            invokeAll(new ForEachTask<>(entities, from, split, action, batchSize),
+                    new ForEachTask<>(entities, split, to, action, batchSize));
+        }
+    }
+
+    /**
+     * Groups a range of entities by identity of a key, merging the groups of both halves of the range.
+     */
+    private static final class GroupTask<K, E> extends RecursiveTask<Map<K, List<E>>> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final List<E> entities;
+        private final int from;
+        private final int to;
+        private final Function<E, K> getKey;
+        private final int batchSize;
+
+        private GroupTask(List<E> entities, int from, int to, Function<E, K> getKey, int batchSize) {
+            this.entities = entities;
+            this.from = from;
+            this.to = to;
+            this.getKey = getKey;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected Map<K, List<E>> compute() {
+            if (to - from <= batchSize) {
+                Map<K, List<E>> groups = new IdentityHashMap<>();
+                for (int i = from; i < to; i++) {
+                    E entity = entities.get(i);
+                    groups.computeIfAbsent(getKey.apply(entity), key -> new ArrayList<>()).add(entity);
+                }
+                return groups;
+            }
+
+            int split = (from + to) >>> 1;
+            GroupTask<K, E> left = new GroupTask<>(entities, from, split, getKey, batchSize);
+            left.fork();
+            Map<K, List<E>> groups = new GroupTask<>(entities, split, to, getKey, batchSize).compute();
+            Map<K, List<E>> leftGroups = left.join();
+
+            if (leftGroups.size() > groups.size()) {
+                Map<K, List<E>> swap = leftGroups;
+                leftGroups = groups;
+                groups = swap;
+            }
+            for (Map.Entry<K, List<E>> entry : leftGroups.entrySet()) {
+                List<E> group = groups.get(entry.getKey());
+                if (group == null) {
+                    groups.put(entry.getKey(), entry.getValue());
+                } else {
+                    group.addAll(entry.getValue());
+                }
+            }
+            return groups;
+        }
+    }
+
+    /**
+     * Collects the unvisited neighbours of a range of entities of one level of a traversal.
+     */
+    private static final class ExpandTask<T> extends RecursiveTask<List<T>> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> level;
+        private final int from;
+        private final int to;
+        private final Function<T, ? extends Collection<? extends T>> getNeighbours;
+        private final Set<Identity> visited;
+        private final int batchSize;
+
+        private ExpandTask(List<T> level, int from, int to, Function<T, ? extends Collection<? extends T>> getNeighbours,
+                           Set<Identity> visited, int batchSize) {
+            this.level = level;
+            this.from = from;
+            this.to = to;
+            this.getNeighbours = getNeighbours;
+            this.visited = visited;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (to - from <= batchSize) {
+                List<T> next = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    Collection<? extends T> neighbours = getNeighbours.apply(level.get(i));
+                    if (neighbours == null) {
+                        continue;
+                    }
+                    for (T neighbour : neighbours) {
+                        if (neighbour != null && visited.add(new Identity(neighbour))) {
+                            next.add(neighbour);
+                        }
+                    }
+                }
+                return next;
+            }
+
+            int split = (from + to) >>> 1;
+            ExpandTask<T> left = new ExpandTask<>(level, from, split, getNeighbours, visited, batchSize);
+            left.fork();
+            List<T> right = new ExpandTask<>(level, split, to, getNeighbours, visited, batchSize).compute();
+            List<T> next = left.join();
+            next.addAll(right);
+            return next;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package es.bulkynaden.common.helpers.bidirectional_helper;
 
 import lombok.NonNull;
 
+import java.util.Collection;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -27,6 +28,38 @@ public final class BidirectionalHelper {
     private static final OneToManyLinker ONE_TO_MANY_LINKER = new OneToManyLinker();
     private static final ManyToOneLinker MANY_TO_ONE_LINKER = new ManyToOneLinker();
     private static final ManyToManyLinker MANY_TO_MANY_LINKER = new ManyToManyLinker();
+    private static final RelationshipMetrics METRICS = RelationshipMetrics.fromSystemProperty();
+
+    /**
+     * Publishes every link and unlink made through this helper to the given bus, or stops publishing them.
+     *
+     * @param eventBus The bus to publish to, or {@code null} to publish nothing.
+     */
+    public static void setEventBus(RelationshipEventBus eventBus) {
+        SINGULAR_LINKER.setEventBus(eventBus);
+        ONE_TO_MANY_LINKER.setEventBus(eventBus);
+        MANY_TO_ONE_LINKER.setEventBus(eventBus);
+        MANY_TO_MANY_LINKER.setEventBus(eventBus);
+    }
+
+    /**
+     * Returns the registry recording the metrics of the operations of this helper. Metrics are only recorded
+     * when the {@value RelationshipMetrics#ENABLED_PROPERTY} system property is {@code true} at startup.
+     *
+     * @return The registry, or {@code null} if metrics are disabled.
+     */
+    public static RelationshipMetrics getMetrics() {
+        return METRICS;
+    }
+
+    /**
+     * Returns the bus the links and unlinks made through this helper are published to.
+     *
+     * @return The bus, or {@code null} if nothing is published.
+     */
+    public static RelationshipEventBus getEventBus() {
+        return SINGULAR_LINKER.getEventBus();
+    }
 
     /**
      * Establishes a singular bidirectional link between two entities. This method ensures
@@ -46,7 +79,11 @@ public final class BidirectionalHelper {
                                            Function<T, U> getCurrentEntityTwoFromOne,
                                            BiConsumer<T, U> setInternalEntityTwoToOne,
                                            BiConsumer<U, T> setInternalEntityOneToTwo) {
-        SINGULAR_LINKER.link(entityOne, entityTwo, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = SINGULAR_LINKER.link(entityOne, entityTwo, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.SINGULAR, RelationshipMetrics.Operation.LINK, start, links);
+        }
     }
 
     /**
@@ -67,7 +104,11 @@ public final class BidirectionalHelper {
             Function<T, U> getCurrentEntityTwoFromOne,
             BiConsumer<T, U> setInternalEntityTwoToOne,
             BiConsumer<U, T> setInternalEntityOneToTwo) {
-        SINGULAR_LINKER.unlink(entityOne, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = SINGULAR_LINKER.unlink(entityOne, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.SINGULAR, RelationshipMetrics.Operation.UNLINK, start, links);
+        }
     }
 
     /**
@@ -91,7 +132,11 @@ public final class BidirectionalHelper {
             BiConsumer<T, U> removeInternalEntityTwoFromCurrentOne,
             Function<U, T> getCurrentEntityFromTwo,
             BiConsumer<U, T> setInternalEntityTwoToOne) {
-        ONE_TO_MANY_LINKER.link(entityOne, entityTwo, addInternalEntityTwoToOne, removeInternalEntityTwoFromCurrentOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = ONE_TO_MANY_LINKER.link(entityOne, entityTwo, addInternalEntityTwoToOne, removeInternalEntityTwoFromCurrentOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.LINK, start, links);
+        }
     }
 
     /**
@@ -110,7 +155,114 @@ public final class BidirectionalHelper {
             @NonNull T entityOne, @NonNull U entityTwo,
             BiConsumer<T, U> removeInternalEntityTwoFromOne,
             BiConsumer<U, T> setInternalEntityTwoToOne) {
-        ONE_TO_MANY_LINKER.unlink(entityOne, entityTwo, removeInternalEntityTwoFromOne, setInternalEntityTwoToOne);
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = ONE_TO_MANY_LINKER.unlink(entityOne, entityTwo, removeInternalEntityTwoFromOne, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.UNLINK, start, links);
+        }
+    }
+
+    /**
+     * Breaks the one-to-many bidirectional link between two entities if entityTwo is currently linked to
+     * entityOne, and does nothing otherwise. Unlike the overload without {@code getCurrentEntityFromTwo},
+     * an entity that is not linked is neither changed nor published to the event bus of the helper.
+     *
+     * @param <T>                            The type of the entity that can link to multiple entities.
+     * @param <U>                            The type of the entities that can be linked to only one entity.
+     * @param entityOne                      The entity containing the collection of linked entities.
+     * @param entityTwo                      The entity to be unlinked from entityOne.
+     * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
+     * @param getCurrentEntityFromTwo        A function to get the current entityOne linked to entityTwo.
+     * @param setInternalEntityTwoToOne      A consumer that removes the link of entityTwo to entityOne.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void unlinkOneToMany(
+            @NonNull T entityOne, @NonNull U entityTwo,
+            BiConsumer<T, U> removeInternalEntityTwoFromOne,
+            Function<U, T> getCurrentEntityFromTwo,
+            BiConsumer<U, T> setInternalEntityTwoToOne) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = ONE_TO_MANY_LINKER.unlink(entityOne, entityTwo, removeInternalEntityTwoFromOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.UNLINK, start, links);
+        }
+    }
+
+    /**
+     * Establishes one-to-many bidirectional links between one entity and a batch of entities. Each entityTwo
+     * is detached from its previous entityOne with a single bulk removal per previous entityOne, and the whole
+     * batch is then added to entityOne with a single bulk addition.
+     *
+     * @param <T>                                        The type of the entity that can link to multiple entities.
+     * @param <U>                                        The type of the entities that can be linked to only one entity.
+     * @param entityOne                                  The entity that can link to multiple entities.
+     * @param entitiesTwo                                The entities to be linked to entityOne.
+     * @param addAllInternalEntitiesTwoToOne             A consumer that adds a batch of entityTwo to the collection within entityOne.
+     * @param removeAllInternalEntitiesTwoFromCurrentOne A consumer that removes a batch of entityTwo from their current entityOne.
+     * @param getCurrentEntityFromTwo                    A function to get the current entityOne linked to entityTwo.
+     * @param setInternalEntityTwoToOne                  A consumer that sets the link of entityTwo to entityOne.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void linkAllOneToMany(
+            @NonNull T entityOne, @NonNull Collection<? extends U> entitiesTwo,
+            BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+            BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromCurrentOne,
+            Function<U, T> getCurrentEntityFromTwo,
+            BiConsumer<U, T> setInternalEntityTwoToOne) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = ONE_TO_MANY_LINKER.linkAll(entityOne, entitiesTwo, addAllInternalEntitiesTwoToOne, removeAllInternalEntitiesTwoFromCurrentOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.LINK_ALL, start, links);
+        }
+    }
+
+    /**
+     * Breaks existing one-to-many bidirectional links between one entity and a batch of entities.
+     * The batch is removed from the collection within entityOne with a single bulk removal.
+     *
+     * @param <T>                                 The type of the entity that can link to multiple entities.
+     * @param <U>                                 The type of the entities that can be linked to only one entity.
+     * @param entityOne                           The entity containing the collection of linked entities.
+     * @param entitiesTwo                         The entities to be unlinked from entityOne.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param setInternalEntityTwoToOne           A consumer that removes the link of entityTwo to entityOne.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void unlinkAllOneToMany(
+            @NonNull T entityOne, @NonNull Collection<? extends U> entitiesTwo,
+            BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+            BiConsumer<U, T> setInternalEntityTwoToOne) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = ONE_TO_MANY_LINKER.unlinkAll(entityOne, entitiesTwo, removeAllInternalEntitiesTwoFromOne, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.UNLINK_ALL, start, links);
+        }
+    }
+
+    /**
+     * Breaks the one-to-many bidirectional links between one entity and the entities of a batch currently
+     * linked to it; the other entities of the batch are left untouched. Unlike the overload without
+     * {@code getCurrentEntityFromTwo}, only the actual unlinks are published to the event bus of the helper.
+     *
+     * @param <T>                                 The type of the entity that can link to multiple entities.
+     * @param <U>                                 The type of the entities that can be linked to only one entity.
+     * @param entityOne                           The entity containing the collection of linked entities.
+     * @param entitiesTwo                         The entities to be unlinked from entityOne.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param getCurrentEntityFromTwo             A function to get the current entityOne linked to entityTwo.
+     * @param setInternalEntityTwoToOne           A consumer that removes the link of entityTwo to entityOne.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void unlinkAllOneToMany(
+            @NonNull T entityOne, @NonNull Collection<? extends U> entitiesTwo,
+            BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+            Function<U, T> getCurrentEntityFromTwo,
+            BiConsumer<U, T> setInternalEntityTwoToOne) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = ONE_TO_MANY_LINKER.unlinkAll(entityOne, entitiesTwo, removeAllInternalEntitiesTwoFromOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.UNLINK_ALL, start, links);
+        }
     }
 
     /**
@@ -134,7 +286,11 @@ public final class BidirectionalHelper {
             BiConsumer<U, T> removeInternalEntityTwoFromCurrentOne,
             Function<T, U> getCurrentEntityTwoFromOne,
             BiConsumer<T, U> setInternalEntityTwoToOne) {
-        MANY_TO_ONE_LINKER.link(entityOne, entityTwo, addInternalEntityOneToTwo, removeInternalEntityTwoFromCurrentOne, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne);
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = MANY_TO_ONE_LINKER.link(entityOne, entityTwo, addInternalEntityOneToTwo, removeInternalEntityTwoFromCurrentOne, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_ONE, RelationshipMetrics.Operation.LINK, start, links);
+        }
     }
 
     /**
@@ -153,7 +309,62 @@ public final class BidirectionalHelper {
             @NonNull T entityOne, Function<T, U> getEntityTwoFromOne,
             BiConsumer<U, T> removeInternalEntityOneFromTwo,
             BiConsumer<T, U> setInternalEntityTwoToOne) {
-        MANY_TO_ONE_LINKER.unlink(entityOne, getEntityTwoFromOne, removeInternalEntityOneFromTwo, setInternalEntityTwoToOne);
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = MANY_TO_ONE_LINKER.unlink(entityOne, getEntityTwoFromOne, removeInternalEntityOneFromTwo, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_ONE, RelationshipMetrics.Operation.UNLINK, start, links);
+        }
+    }
+
+    /**
+     * Establishes many-to-one bidirectional links between a batch of entities and a single entity. Each entityOne
+     * is detached from its previous entityTwo with a single bulk removal per previous entityTwo, and the whole
+     * batch is then added to entityTwo with a single bulk addition.
+     *
+     * @param <T>                                        The type of the entities that can be linked to only one entity.
+     * @param <U>                                        The type of the entity that can link to multiple entities.
+     * @param entitiesOne                                The entities to be linked to entityTwo.
+     * @param entityTwo                                  The entity that can link to multiple entities.
+     * @param addAllInternalEntitiesOneToTwo             A consumer that adds a batch of entityOne to the collection within entityTwo.
+     * @param removeAllInternalEntitiesOneFromCurrentTwo A consumer that removes a batch of entityOne from their current entityTwo.
+     * @param getCurrentEntityTwoFromOne                 A function to get the current entityTwo linked to entityOne.
+     * @param setInternalEntityTwoToOne                  A consumer that sets the link of entityOne to entityTwo.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void linkAllManyToOne(
+            @NonNull Collection<? extends T> entitiesOne, @NonNull U entityTwo,
+            BiConsumer<U, Collection<T>> addAllInternalEntitiesOneToTwo,
+            BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromCurrentTwo,
+            Function<T, U> getCurrentEntityTwoFromOne,
+            BiConsumer<T, U> setInternalEntityTwoToOne) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = MANY_TO_ONE_LINKER.linkAll(entitiesOne, entityTwo, addAllInternalEntitiesOneToTwo, removeAllInternalEntitiesOneFromCurrentTwo, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_ONE, RelationshipMetrics.Operation.LINK_ALL, start, links);
+        }
+    }
+
+    /**
+     * Breaks existing many-to-one bidirectional links for a batch of entities. The entities are grouped
+     * by their current entityTwo, and each group is removed from that entityTwo with a single bulk removal.
+     *
+     * @param <T>                                 The type of the entities that can be linked to only one entity.
+     * @param <U>                                 The type of the entity that can link to multiple entities.
+     * @param entitiesOne                         The entities to be unlinked from their entityTwo.
+     * @param getEntityTwoFromOne                 A function to get the current entityTwo linked to entityOne.
+     * @param removeAllInternalEntitiesOneFromTwo A consumer that removes a batch of entityOne from the collection within entityTwo.
+     * @param setInternalEntityTwoToOne           A consumer that removes the link of entityOne to entityTwo.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void unlinkAllManyToOne(
+            @NonNull Collection<? extends T> entitiesOne, Function<T, U> getEntityTwoFromOne,
+            BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo,
+            BiConsumer<T, U> setInternalEntityTwoToOne) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = MANY_TO_ONE_LINKER.unlinkAll(entitiesOne, getEntityTwoFromOne, removeAllInternalEntitiesOneFromTwo, setInternalEntityTwoToOne);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_ONE, RelationshipMetrics.Operation.UNLINK_ALL, start, links);
+        }
     }
 
     /**
@@ -172,7 +383,11 @@ public final class BidirectionalHelper {
             @NonNull T entityOne, @NonNull U entityTwo,
             BiConsumer<T, U> addInternalEntityTwoToOne,
             BiConsumer<U, T> addInternalEntityOneToTwo) {
-        MANY_TO_MANY_LINKER.link(entityOne, entityTwo, addInternalEntityTwoToOne, addInternalEntityOneToTwo);
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = MANY_TO_MANY_LINKER.link(entityOne, entityTwo, addInternalEntityTwoToOne, addInternalEntityOneToTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_MANY, RelationshipMetrics.Operation.LINK, start, links);
+        }
     }
 
     /**
@@ -191,6 +406,160 @@ public final class BidirectionalHelper {
             @NonNull T entityOne, @NonNull U entityTwo,
             BiConsumer<T, U> removeInternalEntityTwoFromOne,
             BiConsumer<U, T> removeInternalEntityOneFromTwo) {
-        MANY_TO_MANY_LINKER.unlink(entityOne, entityTwo, removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo);
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = MANY_TO_MANY_LINKER.unlink(entityOne, entityTwo, removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_MANY, RelationshipMetrics.Operation.UNLINK, start, links);
+        }
+    }
+
+    /**
+     * Establishes a many-to-many bidirectional link between two entities unless they are already linked,
+     * in which case nothing is changed or published to the event bus of the helper.
+     *
+     * @param <T>                       The type of the first entity in the relationship.
+     * @param <U>                       The type of the second entity in the relationship.
+     * @param entityOne                 The first entity in the relationship.
+     * @param entityTwo                 The second entity in the relationship.
+     * @param getEntitiesTwoFromOne     A function to get the collection of entityTwo within entityOne.
+     * @param addInternalEntityTwoToOne A consumer that adds entityTwo to the collection within entityOne.
+     * @param addInternalEntityOneToTwo A consumer that adds entityOne to the collection within entityTwo.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void linkManyToMany(
+            @NonNull T entityOne, @NonNull U entityTwo,
+            Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+            BiConsumer<T, U> addInternalEntityTwoToOne,
+            BiConsumer<U, T> addInternalEntityOneToTwo) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = MANY_TO_MANY_LINKER.link(entityOne, entityTwo, getEntitiesTwoFromOne, addInternalEntityTwoToOne, addInternalEntityOneToTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_MANY, RelationshipMetrics.Operation.LINK, start, links);
+        }
+    }
+
+    /**
+     * Breaks the many-to-many bidirectional link between two entities if they are linked, and does nothing
+     * otherwise. Only an actual unlink is published to the event bus of the helper.
+     *
+     * @param <T>                            The type of the first entity in the relationship.
+     * @param <U>                            The type of the second entity in the relationship.
+     * @param entityOne                      The first entity in the relationship.
+     * @param entityTwo                      The second entity in the relationship.
+     * @param getEntitiesTwoFromOne          A function to get the collection of entityTwo within entityOne.
+     * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
+     * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void unlinkManyToMany(
+            @NonNull T entityOne, @NonNull U entityTwo,
+            Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+            BiConsumer<T, U> removeInternalEntityTwoFromOne,
+            BiConsumer<U, T> removeInternalEntityOneFromTwo) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        int links = MANY_TO_MANY_LINKER.unlink(entityOne, entityTwo, getEntitiesTwoFromOne, removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_MANY, RelationshipMetrics.Operation.UNLINK, start, links);
+        }
+    }
+
+    /**
+     * Establishes many-to-many bidirectional links between every entity of one batch and every entity
+     * of another batch, using a single bulk addition per entity on each side.
+     *
+     * @param <T>                            The type of the first entity in the relationship.
+     * @param <U>                            The type of the second entity in the relationship.
+     * @param entitiesOne                    The first entities in the relationship.
+     * @param entitiesTwo                    The second entities in the relationship.
+     * @param addAllInternalEntitiesTwoToOne A consumer that adds a batch of entityTwo to the collection within entityOne.
+     * @param addAllInternalEntitiesOneToTwo A consumer that adds a batch of entityOne to the collection within entityTwo.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void linkAllManyToMany(
+            @NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+            BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+            BiConsumer<U, Collection<T>> addAllInternalEntitiesOneToTwo) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        long links = MANY_TO_MANY_LINKER.linkAll(entitiesOne, entitiesTwo, addAllInternalEntitiesTwoToOne, addAllInternalEntitiesOneToTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_MANY, RelationshipMetrics.Operation.LINK_ALL, start, links);
+        }
+    }
+
+    /**
+     * Breaks existing many-to-many bidirectional links between every entity of one batch and every entity
+     * of another batch, using a single bulk removal per entity on each side.
+     *
+     * @param <T>                                 The type of the first entity in the relationship.
+     * @param <U>                                 The type of the second entity in the relationship.
+     * @param entitiesOne                         The first entities in the relationship.
+     * @param entitiesTwo                         The second entities in the relationship.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param removeAllInternalEntitiesOneFromTwo A consumer that removes a batch of entityOne from the collection within entityTwo.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void unlinkAllManyToMany(
+            @NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+            BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+            BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        long links = MANY_TO_MANY_LINKER.unlinkAll(entitiesOne, entitiesTwo, removeAllInternalEntitiesTwoFromOne, removeAllInternalEntitiesOneFromTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_MANY, RelationshipMetrics.Operation.UNLINK_ALL, start, links);
+        }
+    }
+
+    /**
+     * Establishes many-to-many bidirectional links between every entity of one batch and every entity
+     * of another batch, skipping the pairs that are already linked. Only the new links are published to
+     * the event bus of the helper.
+     *
+     * @param <T>                            The type of the first entity in the relationship.
+     * @param <U>                            The type of the second entity in the relationship.
+     * @param entitiesOne                    The first entities in the relationship.
+     * @param entitiesTwo                    The second entities in the relationship.
+     * @param getEntitiesTwoFromOne          A function to get the collection of entityTwo within entityOne.
+     * @param addAllInternalEntitiesTwoToOne A consumer that adds a batch of entityTwo to the collection within entityOne.
+     * @param addAllInternalEntitiesOneToTwo A consumer that adds a batch of entityOne to the collection within entityTwo.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void linkAllManyToMany(
+            @NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+            Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+            BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+            BiConsumer<U, Collection<T>> addAllInternalEntitiesOneToTwo) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        long links = MANY_TO_MANY_LINKER.linkAll(entitiesOne, entitiesTwo, getEntitiesTwoFromOne, addAllInternalEntitiesTwoToOne,
+                addAllInternalEntitiesOneToTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_MANY, RelationshipMetrics.Operation.LINK_ALL, start, links);
+        }
+    }
+
+    /**
+     * Breaks the many-to-many bidirectional links between every entity of one batch and every entity of
+     * another batch, skipping the pairs that are not linked. Only the removed links are published to the
+     * event bus of the helper.
+     *
+     * @param <T>                                 The type of the first entity in the relationship.
+     * @param <U>                                 The type of the second entity in the relationship.
+     * @param entitiesOne                         The first entities in the relationship.
+     * @param entitiesTwo                         The second entities in the relationship.
+     * @param getEntitiesTwoFromOne               A function to get the collection of entityTwo within entityOne.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param removeAllInternalEntitiesOneFromTwo A consumer that removes a batch of entityOne from the collection within entityTwo.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public static <T, U> void unlinkAllManyToMany(
+            @NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+            Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+            BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+            BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo) {
+        long start = METRICS == null ? 0 : System.nanoTime();
+        long links = MANY_TO_MANY_LINKER.unlinkAll(entitiesOne, entitiesTwo, getEntitiesTwoFromOne, removeAllInternalEntitiesTwoFromOne,
+                removeAllInternalEntitiesOneFromTwo);
+        if (METRICS != null) {
+            METRICS.record(RelationshipEvent.Kind.MANY_TO_MANY, RelationshipMetrics.Operation.UNLINK_ALL, start, links);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <strong>ConcurrentManyToManyLinker</strong>
+ *
+ * <p> A {@link ManyToManyLinker} whose operations are atomic across both sides of the relationship. Each
+ * operation locks the stripes of every involved entity before updating both collections.
+ *
+ * <p> Entities must only be mutated through linkers sharing the same {@link StripedLocks} for the guarantee
+ * to hold.
+ */
+@Getter
+public class ConcurrentManyToManyLinker extends ManyToManyLinker {
+    /**
+     * The lock set guarding the entities.
+     */
+    private final StripedLocks locks;
+
+    /**
+     * Creates a linker with its own lock set.
+     */
+    public ConcurrentManyToManyLinker() {
+        this(new StripedLocks());
+    }
+
+    /**
+     * Creates a linker guarded by the given lock set, which may be shared with other linkers.
+     *
+     * @param locks The lock set guarding the entities.
+     */
+    public ConcurrentManyToManyLinker(@NonNull StripedLocks locks) {
+        this.locks = locks;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           BiConsumer<T, U> addInternalEntityTwoToOne,
+                           BiConsumer<U, T> addInternalEntityOneToTwo) {
+        try (StripedLocks.Guard guard = locks.lock(entityOne, entityTwo)) {
+            return super.link(entityOne, entityTwo, addInternalEntityTwoToOne, addInternalEntityOneToTwo);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int unlink(@NonNull T entityOne, @NonNull U entityTwo,
+                             BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                             BiConsumer<U, T> removeInternalEntityOneFromTwo) {
+        try (StripedLocks.Guard guard = locks.lock(entityOne, entityTwo)) {
+            return super.unlink(entityOne, entityTwo, removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> long linkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+                               BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+                               BiConsumer<U, Collection<T>> addAllInternalEntitiesOneToTwo) {
+        List<T> batchOne = new ArrayList<>(entitiesOne);
+        List<U> batchTwo = new ArrayList<>(entitiesTwo);
+
+        try (StripedLocks.Guard guard = locks.lockAll(null, batchOne, batchTwo)) {
+            return super.linkAll(batchOne, batchTwo, addAllInternalEntitiesTwoToOne, addAllInternalEntitiesOneToTwo);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> long unlinkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+                                 BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                 BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo) {
+        List<T> batchOne = new ArrayList<>(entitiesOne);
+        List<U> batchTwo = new ArrayList<>(entitiesTwo);
+
+        try (StripedLocks.Guard guard = locks.lockAll(null, batchOne, batchTwo)) {
+            return super.unlinkAll(batchOne, batchTwo, removeAllInternalEntitiesTwoFromOne, removeAllInternalEntitiesOneFromTwo);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                           BiConsumer<T, U> addInternalEntityTwoToOne,
+                           BiConsumer<U, T> addInternalEntityOneToTwo) {
+        try (StripedLocks.Guard guard = locks.lock(entityOne, entityTwo)) {
+            return super.link(entityOne, entityTwo, getEntitiesTwoFromOne, addInternalEntityTwoToOne, addInternalEntityOneToTwo);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int unlink(@NonNull T entityOne, @NonNull U entityTwo,
+                             Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                             BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                             BiConsumer<U, T> removeInternalEntityOneFromTwo) {
+        try (StripedLocks.Guard guard = locks.lock(entityOne, entityTwo)) {
+            return super.unlink(entityOne, entityTwo, getEntitiesTwoFromOne, removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> long linkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+                               Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                               BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+                               BiConsumer<U, Collection<T>> addAllInternalEntitiesOneToTwo) {
+        List<T> batchOne = new ArrayList<>(entitiesOne);
+        List<U> batchTwo = new ArrayList<>(entitiesTwo);
+
+        try (StripedLocks.Guard guard = locks.lockAll(null, batchOne, batchTwo)) {
+            return super.linkAll(batchOne, batchTwo, getEntitiesTwoFromOne, addAllInternalEntitiesTwoToOne, addAllInternalEntitiesOneToTwo);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> long unlinkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+                                 Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                                 BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                 BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo) {
+        List<T> batchOne = new ArrayList<>(entitiesOne);
+        List<U> batchTwo = new ArrayList<>(entitiesTwo);
+
+        try (StripedLocks.Guard guard = locks.lockAll(null, batchOne, batchTwo)) {
+            return super.unlinkAll(batchOne, batchTwo, getEntitiesTwoFromOne, removeAllInternalEntitiesTwoFromOne,
+                    removeAllInternalEntitiesOneFromTwo);
+        }
+    }
+}
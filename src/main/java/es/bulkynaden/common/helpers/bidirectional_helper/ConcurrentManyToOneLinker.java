@@ -0,0 +1,119 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <strong>ConcurrentManyToOneLinker</strong>
+ *
+ * <p> A {@link ManyToOneLinker} whose operations are atomic across both sides of the relationship. Each
+ * operation locks the stripes of the linked entities, of entityTwo and of their current entityTwo, and starts
+ * over if any current entityTwo changed while the locks were being acquired. The read of the current
+ * entityTwo, its removal, the addition and the assignment therefore happen as a single step.
+ *
+ * <p> Entities must only be mutated through linkers sharing the same {@link StripedLocks} for the guarantee
+ * to hold.
+ */
+@Getter
+public class ConcurrentManyToOneLinker extends ManyToOneLinker {
+    /**
+     * The lock set guarding the entities.
+     */
+    private final StripedLocks locks;
+
+    /**
+     * Creates a linker with its own lock set.
+     */
+    public ConcurrentManyToOneLinker() {
+        this(new StripedLocks());
+    }
+
+    /**
+     * Creates a linker guarded by the given lock set, which may be shared with other linkers.
+     *
+     * @param locks The lock set guarding the entities.
+     */
+    public ConcurrentManyToOneLinker(@NonNull StripedLocks locks) {
+        this.locks = locks;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           BiConsumer<U, T> addInternalEntityOneToTwo,
+                           BiConsumer<U, T> removeInternalEntityTwoFromCurrentOne,
+                           Function<T, U> getCurrentEntityTwoFromOne,
+                           BiConsumer<T, U> setInternalEntityTwoToOne) {
+        while (true) {
+            U currentEntityTwo = getCurrentEntityTwoFromOne.apply(entityOne);
+
+            try (StripedLocks.Guard guard = locks.lock(entityOne, entityTwo, currentEntityTwo)) {
+                if (getCurrentEntityTwoFromOne.apply(entityOne) == currentEntityTwo) {
+                    return super.link(entityOne, entityTwo, addInternalEntityOneToTwo, removeInternalEntityTwoFromCurrentOne,
+                            getCurrentEntityTwoFromOne, setInternalEntityTwoToOne);
+                }
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int unlink(@NonNull T entityOne, Function<T, U> getEntityTwoFromOne,
+                             BiConsumer<U, T> removeInternalEntityOneFromTwo,
+                             BiConsumer<T, U> setInternalEntityTwoToOne) {
+        while (true) {
+            U currentEntityTwo = getEntityTwoFromOne.apply(entityOne);
+
+            try (StripedLocks.Guard guard = locks.lock(entityOne, currentEntityTwo)) {
+                if (getEntityTwoFromOne.apply(entityOne) == currentEntityTwo) {
+                    return super.unlink(entityOne, getEntityTwoFromOne, removeInternalEntityOneFromTwo, setInternalEntityTwoToOne);
+                }
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int linkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull U entityTwo,
+                              BiConsumer<U, Collection<T>> addAllInternalEntitiesOneToTwo,
+                              BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromCurrentTwo,
+                              Function<T, U> getCurrentEntityTwoFromOne,
+                              BiConsumer<T, U> setInternalEntityTwoToOne) {
+        List<T> batch = new ArrayList<>(entitiesOne);
+
+        while (true) {
+            List<U> currentEntitiesTwo = StripedLocks.currentEntities(batch, getCurrentEntityTwoFromOne);
+
+            try (StripedLocks.Guard guard = locks.lockAll(entityTwo, batch, currentEntitiesTwo)) {
+                if (StripedLocks.isUnchanged(batch, getCurrentEntityTwoFromOne, currentEntitiesTwo)) {
+                    return super.linkAll(batch, entityTwo, addAllInternalEntitiesOneToTwo, removeAllInternalEntitiesOneFromCurrentTwo,
+                            getCurrentEntityTwoFromOne, setInternalEntityTwoToOne);
+                }
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int unlinkAll(@NonNull Collection<? extends T> entitiesOne, Function<T, U> getEntityTwoFromOne,
+                                BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo,
+                                BiConsumer<T, U> setInternalEntityTwoToOne) {
+        List<T> batch = new ArrayList<>(entitiesOne);
+
+        while (true) {
+            List<U> currentEntitiesTwo = StripedLocks.currentEntities(batch, getEntityTwoFromOne);
+
+            try (StripedLocks.Guard guard = locks.lockAll(null, batch, currentEntitiesTwo)) {
+                if (StripedLocks.isUnchanged(batch, getEntityTwoFromOne, currentEntitiesTwo)) {
+                    return super.unlinkAll(batch, getEntityTwoFromOne, removeAllInternalEntitiesOneFromTwo, setInternalEntityTwoToOne);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <strong>ConcurrentOneToManyLinker</strong>
+ *
+ * <p> A {@link OneToManyLinker} whose operations are atomic across both sides of the relationship. Each
+ * operation locks the stripes of entityOne, of the linked entities and of their current entityOne, and
+ * starts over if any current entityOne changed while the locks were being acquired. The read of the current
+ * entityOne, its removal, the addition and the assignment therefore happen as a single step.
+ *
+ * <p> Entities must only be mutated through linkers sharing the same {@link StripedLocks} for the guarantee
+ * to hold.
+ */
+@Getter
+public class ConcurrentOneToManyLinker extends OneToManyLinker {
+    /**
+     * The lock set guarding the entities.
+     */
+    private final StripedLocks locks;
+
+    /**
+     * Creates a linker with its own lock set.
+     */
+    public ConcurrentOneToManyLinker() {
+        this(new StripedLocks());
+    }
+
+    /**
+     * Creates a linker guarded by the given lock set, which may be shared with other linkers.
+     *
+     * @param locks The lock set guarding the entities.
+     */
+    public ConcurrentOneToManyLinker(@NonNull StripedLocks locks) {
+        this.locks = locks;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           BiConsumer<T, U> addInternalEntityTwoToOne,
+                           BiConsumer<T, U> removeInternalEntityTwoFromCurrentOne,
+                           Function<U, T> getCurrentEntityFromTwo,
+                           BiConsumer<U, T> setInternalEntityTwoToOne) {
+        while (true) {
+            T currentEntityOne = getCurrentEntityFromTwo.apply(entityTwo);
+
+            try (StripedLocks.Guard guard = locks.lock(entityOne, entityTwo, currentEntityOne)) {
+                if (getCurrentEntityFromTwo.apply(entityTwo) == currentEntityOne) {
+                    return super.link(entityOne, entityTwo, addInternalEntityTwoToOne, removeInternalEntityTwoFromCurrentOne,
+                            getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+                }
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int unlink(@NonNull T entityOne, @NonNull U entityTwo,
+                             BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                             BiConsumer<U, T> setInternalEntityTwoToOne) {
+        try (StripedLocks.Guard guard = locks.lock(entityOne, entityTwo)) {
+            return super.unlink(entityOne, entityTwo, removeInternalEntityTwoFromOne, setInternalEntityTwoToOne);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int unlink(@NonNull T entityOne, @NonNull U entityTwo,
+                             BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                             Function<U, T> getCurrentEntityFromTwo,
+                             BiConsumer<U, T> setInternalEntityTwoToOne) {
+        try (StripedLocks.Guard guard = locks.lock(entityOne, entityTwo)) {
+            return super.unlink(entityOne, entityTwo, removeInternalEntityTwoFromOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int linkAll(@NonNull T entityOne, @NonNull Collection<? extends U> entitiesTwo,
+                              BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+                              BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromCurrentOne,
+                              Function<U, T> getCurrentEntityFromTwo,
+                              BiConsumer<U, T> setInternalEntityTwoToOne) {
+        List<U> batch = new ArrayList<>(entitiesTwo);
+
+        while (true) {
+            List<T> currentEntitiesOne = StripedLocks.currentEntities(batch, getCurrentEntityFromTwo);
+
+            try (StripedLocks.Guard guard = locks.lockAll(entityOne, batch, currentEntitiesOne)) {
+                if (StripedLocks.isUnchanged(batch, getCurrentEntityFromTwo, currentEntitiesOne)) {
+                    return super.linkAll(entityOne, batch, addAllInternalEntitiesTwoToOne, removeAllInternalEntitiesTwoFromCurrentOne,
+                            getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+                }
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int unlinkAll(@NonNull T entityOne, @NonNull Collection<? extends U> entitiesTwo,
+                                BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                BiConsumer<U, T> setInternalEntityTwoToOne) {
+        List<U> batch = new ArrayList<>(entitiesTwo);
+
+        try (StripedLocks.Guard guard = locks.lockAll(entityOne, batch)) {
+            return super.unlinkAll(entityOne, batch, removeAllInternalEntitiesTwoFromOne, setInternalEntityTwoToOne);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int unlinkAll(@NonNull T entityOne, @NonNull Collection<? extends U> entitiesTwo,
+                                BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                Function<U, T> getCurrentEntityFromTwo,
+                                BiConsumer<U, T> setInternalEntityTwoToOne) {
+        List<U> batch = new ArrayList<>(entitiesTwo);
+
+        try (StripedLocks.Guard guard = locks.lockAll(entityOne, batch)) {
+            return super.unlinkAll(entityOne, batch, removeAllInternalEntitiesTwoFromOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <strong>ConcurrentSingularLinker</strong>
+ *
+ * <p> A {@link SingularLinker} whose operations are atomic across both sides of the relationship. Each
+ * operation locks the stripes of entityOne, entityTwo and the entity currently linked to entityOne, and
+ * starts over if that current entity changed while the locks were being acquired.
+ *
+ * <p> Entities must only be mutated through linkers sharing the same {@link StripedLocks} for the guarantee
+ * to hold.
+ */
+@Getter
+public class ConcurrentSingularLinker extends SingularLinker {
+    /**
+     * The lock set guarding the entities.
+     */
+    private final StripedLocks locks;
+
+    /**
+     * Creates a linker with its own lock set.
+     */
+    public ConcurrentSingularLinker() {
+        this(new StripedLocks());
+    }
+
+    /**
+     * Creates a linker guarded by the given lock set, which may be shared with other linkers.
+     *
+     * @param locks The lock set guarding the entities.
+     */
+    public ConcurrentSingularLinker(@NonNull StripedLocks locks) {
+        this.locks = locks;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           Function<T, U> getCurrentEntityTwoFromOne,
+                           BiConsumer<T, U> setInternalEntityTwoToOne,
+                           BiConsumer<U, T> setInternalEntityOneToTwo) {
+        while (true) {
+            U currentEntityTwo = getCurrentEntityTwoFromOne.apply(entityOne);
+
+            try (StripedLocks.Guard guard = locks.lock(entityOne, entityTwo, currentEntityTwo)) {
+                if (getCurrentEntityTwoFromOne.apply(entityOne) == currentEntityTwo) {
+                    return super.link(entityOne, entityTwo, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+                }
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public <T, U> int unlink(@NonNull T entityOne,
+                             Function<T, U> getCurrentEntityTwoFromOne,
+                             BiConsumer<T, U> setInternalEntityTwoToOne,
+                             BiConsumer<U, T> setInternalEntityOneToTwo) {
+        while (true) {
+            U currentEntityTwo = getCurrentEntityTwoFromOne.apply(entityOne);
+
+            try (StripedLocks.Guard guard = locks.lock(entityOne, currentEntityTwo)) {
+                if (getCurrentEntityTwoFromOne.apply(entityOne) == currentEntityTwo) {
+                    return super.unlink(entityOne, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <strong>Histogram</strong>
+ *
+ * <p> Records the distribution of non-negative {@code long} values, such as latencies in nanoseconds, in
+ * log-linear buckets in the manner of HdrHistogram. Values below 32 have a bucket of their own, and every
+ * power-of-two range above is split into 16 buckets, so a recorded value is known within 1/16 of its
+ * magnitude, about 6%, with a fixed array of 960 counters covering the whole {@code long} range.
+ *
+ * <p> Recording is lock-free and can be done from any number of threads. Reads are not atomic with respect to
+ * concurrent recordings, which is fine for monitoring.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT >> 1;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - SUB_BUCKET_BITS - 1) * HALF_SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value) {
+        long recorded = Math.max(value, 0);
+        counts.getAndIncrement(bucketOf(recorded));
+        count.increment();
+        sum.add(recorded);
+
+        long currentMax = max.get();
+        while (recorded > currentMax && !max.compareAndSet(currentMax, recorded)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of the recorded values.
+     *
+     * @return The sum of the recorded values.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return The largest recorded value, or zero if none was recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return The mean of the recorded values, or zero if none was recorded.
+     */
+    public double getMean() {
+        long total = getCount();
+        return total == 0 ? 0 : (double) getSum() / total;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall, as the upper bound of
+     * the bucket holding it, capped by the largest recorded value.
+     *
+     * @param percentile The percentage, between 0 and 100.
+     * @return The value at the percentile, or zero if none was recorded.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100: " + percentile);
+        }
+
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + (int) (value >>> shift) - HALF_SUB_BUCKET_COUNT;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = (bucket - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        long upperBound = ((subBucket + 1) << shift) - 1;
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+}
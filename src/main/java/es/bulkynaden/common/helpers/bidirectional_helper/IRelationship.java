@@ -0,0 +1,41 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+/**
+ * <strong>IRelationship</strong>
+ *
+ * <p> A bidirectional relationship between two entity types, declared once with the functions that read
+ * and write both of its sides. Linking and unlinking through a descriptor replaces passing the same
+ * method references to {@link BidirectionalHelper} at every call site.
+ *
+ * <p> Descriptors are immutable records and are meant to be kept in {@code static final} fields. The JIT
+ * compiler treats the components of such records as constants, so once a call to {@link #link(Object, Object)}
+ * is inlined, the calls to the getters, setters, adders and removers are resolved to the exact methods of
+ * that relationship instead of going through call sites shared by every relationship.
+ *
+ * @param <T> The type of the first entity in the relationship.
+ * @param <U> The type of the second entity in the relationship.
+ * @see SingularRelationship
+ * @see OneToManyRelationship
+ * @see ManyToOneRelationship
+ * @see ManyToManyRelationship
+ */
+public interface IRelationship<T, U> {
+    /**
+     * Establishes a bidirectional link between two entities, with the semantics of the relationship type.
+     *
+     * @param entityOne The first entity in the relationship.
+     * @param entityTwo The second entity in the relationship.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    void link(T entityOne, U entityTwo);
+
+    /**
+     * Breaks the bidirectional link between two entities. Nothing happens if the entities are not linked
+     * to each other.
+     *
+     * @param entityOne The first entity in the relationship.
+     * @param entityTwo The second entity in the relationship.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    void unlink(T entityOne, U entityTwo);
+}
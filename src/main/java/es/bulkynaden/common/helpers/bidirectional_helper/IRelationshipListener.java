@@ -0,0 +1,19 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import java.util.List;
+
+/**
+ * <strong>IRelationshipListener</strong>
+ *
+ * <p> Receives the links and unlinks published to a {@link RelationshipEventBus}, in batches and in the order
+ * they were published, on the delivery thread of the bus.
+ */
+@FunctionalInterface
+public interface IRelationshipListener {
+    /**
+     * Handles a batch of events. The list is reused by the bus once this method returns and must not be kept.
+     *
+     * @param events The events, oldest first.
+     */
+    void onEvents(List<RelationshipEvent> events);
+}
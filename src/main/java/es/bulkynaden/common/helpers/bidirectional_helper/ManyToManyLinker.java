@@ -1,8 +1,18 @@
 package es.bulkynaden.common.helpers.bidirectional_helper;
 
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * <strong>ManyToManyLinker</strong>
@@ -15,11 +25,22 @@ import java.util.function.BiConsumer;
  * This is particularly useful in scenarios where entities are tightly coupled,
  * such as in domain models with bidirectional relationships.
  *
+ * <p> The operations taking {@code getEntitiesTwoFromOne} only change the pairs that are not already in the
+ * requested state, and only publish those changes to the event bus. The other operations cannot tell, so they
+ * apply and publish every requested pair, and should only be given pairs known to change.
+ *
  * @author Javier Tomás Acín
  * @version 1.0
  * @since 2023-11-19
  */
 public class ManyToManyLinker {
+    /**
+     * The bus the links and unlinks made by this linker are published to, or {@code null} to publish nothing.
+     */
+    @Getter
+    @Setter
+    private volatile RelationshipEventBus eventBus;
+
     /**
      * Establishes a many-to-many bidirectional link between two entities. This method is used when
      * entities of one type (entityOne) can be linked to multiple entities of another type (entityTwo) and vice versa.
@@ -30,13 +51,20 @@ public class ManyToManyLinker {
      * @param entityTwo                 The second entity in the relationship.
      * @param addInternalEntityTwoToOne A consumer that adds entityTwo to the collection within entityOne.
      * @param addInternalEntityOneToTwo A consumer that adds entityOne to the collection within entityTwo.
+     * @return 1, the number of links the caller asked for.
      * @throws NullPointerException if any of the non-nullable parameters are null.
      */
-    public <T, U> void link(@NonNull T entityOne, @NonNull U entityTwo,
-                            BiConsumer<T, U> addInternalEntityTwoToOne,
-                            BiConsumer<U, T> addInternalEntityOneToTwo) {
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           BiConsumer<T, U> addInternalEntityTwoToOne,
+                           BiConsumer<U, T> addInternalEntityOneToTwo) {
         addInternalEntityTwoToOne.accept(entityOne, entityTwo);
         addInternalEntityOneToTwo.accept(entityTwo, entityOne);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(RelationshipEvent.Type.LINK, RelationshipEvent.Kind.MANY_TO_MANY, entityOne, entityTwo);
+        }
+        return 1;
     }
 
     /**
@@ -49,12 +77,250 @@ public class ManyToManyLinker {
      * @param entityTwo                      The second entity in the relationship.
      * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
      * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
+     * @return 1, the number of unlinks the caller asked for.
      * @throws NullPointerException if any of the non-nullable parameters are null.
      */
-    public <T, U> void unlink(@NonNull T entityOne, @NonNull U entityTwo,
-                              BiConsumer<T, U> removeInternalEntityTwoFromOne,
-                              BiConsumer<U, T> removeInternalEntityOneFromTwo) {
+    public <T, U> int unlink(@NonNull T entityOne, @NonNull U entityTwo,
+                             BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                             BiConsumer<U, T> removeInternalEntityOneFromTwo) {
         removeInternalEntityTwoFromOne.accept(entityOne, entityTwo);
         removeInternalEntityOneFromTwo.accept(entityTwo, entityOne);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.MANY_TO_MANY, entityOne, entityTwo);
+        }
+        return 1;
+    }
+
+    /**
+     * Establishes a many-to-many bidirectional link between two entities unless they are already linked,
+     * in which case nothing is changed or published.
+     *
+     * @param <T>                       The type of the first entity in the relationship.
+     * @param <U>                       The type of the second entity in the relationship.
+     * @param entityOne                 The first entity in the relationship.
+     * @param entityTwo                 The second entity in the relationship.
+     * @param getEntitiesTwoFromOne     A function to get the collection of entityTwo within entityOne.
+     * @param addInternalEntityTwoToOne A consumer that adds entityTwo to the collection within entityOne.
+     * @param addInternalEntityOneToTwo A consumer that adds entityOne to the collection within entityTwo.
+     * @return 1 if the entities were not linked yet, 0 otherwise.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                           BiConsumer<T, U> addInternalEntityTwoToOne,
+                           BiConsumer<U, T> addInternalEntityOneToTwo) {
+        if (getEntitiesTwoFromOne.apply(entityOne).contains(entityTwo)) {
+            return 0;
+        }
+        return link(entityOne, entityTwo, addInternalEntityTwoToOne, addInternalEntityOneToTwo);
+    }
+
+    /**
+     * Breaks the many-to-many bidirectional link between two entities if they are linked, and does nothing
+     * otherwise. Only an actual unlink is published to the event bus.
+     *
+     * @param <T>                            The type of the first entity in the relationship.
+     * @param <U>                            The type of the second entity in the relationship.
+     * @param entityOne                      The first entity in the relationship.
+     * @param entityTwo                      The second entity in the relationship.
+     * @param getEntitiesTwoFromOne          A function to get the collection of entityTwo within entityOne.
+     * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
+     * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
+     * @return 1 if the entities were linked, 0 otherwise.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> int unlink(@NonNull T entityOne, @NonNull U entityTwo,
+                             Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                             BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                             BiConsumer<U, T> removeInternalEntityOneFromTwo) {
+        if (!getEntitiesTwoFromOne.apply(entityOne).contains(entityTwo)) {
+            return 0;
+        }
+        return unlink(entityOne, entityTwo, removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo);
+    }
+
+    /**
+     * Establishes many-to-many bidirectional links between every entity of one batch and every entity
+     * of another batch. Each entityOne receives the whole batch of entityTwo with a single bulk addition,
+     * and each entityTwo receives the whole batch of entityOne with a single bulk addition.
+     *
+     * @param <T>                            The type of the first entity in the relationship.
+     * @param <U>                            The type of the second entity in the relationship.
+     * @param entitiesOne                    The first entities in the relationship.
+     * @param entitiesTwo                    The second entities in the relationship.
+     * @param addAllInternalEntitiesTwoToOne A consumer that adds a batch of entityTwo to the collection within entityOne.
+     * @param addAllInternalEntitiesOneToTwo A consumer that adds a batch of entityOne to the collection within entityTwo.
+     * @return The number of pairs in the batches, that is, the number of links the caller asked for.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> long linkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+                               BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+                               BiConsumer<U, Collection<T>> addAllInternalEntitiesOneToTwo) {
+        return applyAll(entitiesOne, entitiesTwo, addAllInternalEntitiesTwoToOne, addAllInternalEntitiesOneToTwo, RelationshipEvent.Type.LINK);
+    }
+
+    /**
+     * Breaks existing many-to-many bidirectional links between every entity of one batch and every entity
+     * of another batch. Each entityOne loses the whole batch of entityTwo with a single bulk removal,
+     * and each entityTwo loses the whole batch of entityOne with a single bulk removal.
+     *
+     * @param <T>                                 The type of the first entity in the relationship.
+     * @param <U>                                 The type of the second entity in the relationship.
+     * @param entitiesOne                         The first entities in the relationship.
+     * @param entitiesTwo                         The second entities in the relationship.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param removeAllInternalEntitiesOneFromTwo A consumer that removes a batch of entityOne from the collection within entityTwo.
+     * @return The number of pairs in the batches, that is, the number of unlinks the caller asked for.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> long unlinkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+                                 BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                 BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo) {
+        return applyAll(entitiesOne, entitiesTwo, removeAllInternalEntitiesTwoFromOne, removeAllInternalEntitiesOneFromTwo, RelationshipEvent.Type.UNLINK);
+    }
+
+    /**
+     * Establishes many-to-many bidirectional links between every entity of one batch and every entity of
+     * another batch, skipping the pairs that are already linked. Each entityOne receives the entityTwo it is
+     * missing with a single bulk addition, each entityTwo receives the entityOne it is missing with a single
+     * bulk addition, and only the new links are published to the event bus.
+     *
+     * @param <T>                            The type of the first entity in the relationship.
+     * @param <U>                            The type of the second entity in the relationship.
+     * @param entitiesOne                    The first entities in the relationship.
+     * @param entitiesTwo                    The second entities in the relationship.
+     * @param getEntitiesTwoFromOne          A function to get the collection of entityTwo within entityOne.
+     * @param addAllInternalEntitiesTwoToOne A consumer that adds a batch of entityTwo to the collection within entityOne.
+     * @param addAllInternalEntitiesOneToTwo A consumer that adds a batch of entityOne to the collection within entityTwo.
+     * @return The number of pairs that were not linked yet.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> long linkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+                               Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                               BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+                               BiConsumer<U, Collection<T>> addAllInternalEntitiesOneToTwo) {
+        return applyChanged(entitiesOne, entitiesTwo, getEntitiesTwoFromOne, addAllInternalEntitiesTwoToOne,
+                addAllInternalEntitiesOneToTwo, RelationshipEvent.Type.LINK);
+    }
+
+    /**
+     * Breaks the many-to-many bidirectional links between every entity of one batch and every entity of
+     * another batch, skipping the pairs that are not linked. Each entityOne loses the entityTwo it is linked
+     * to with a single bulk removal, each entityTwo loses the entityOne it is linked to with a single bulk
+     * removal, and only the removed links are published to the event bus.
+     *
+     * @param <T>                                 The type of the first entity in the relationship.
+     * @param <U>                                 The type of the second entity in the relationship.
+     * @param entitiesOne                         The first entities in the relationship.
+     * @param entitiesTwo                         The second entities in the relationship.
+     * @param getEntitiesTwoFromOne               A function to get the collection of entityTwo within entityOne.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param removeAllInternalEntitiesOneFromTwo A consumer that removes a batch of entityOne from the collection within entityTwo.
+     * @return The number of pairs that were linked.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> long unlinkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull Collection<? extends U> entitiesTwo,
+                                 Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                                 BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                 BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo) {
+        return applyChanged(entitiesOne, entitiesTwo, getEntitiesTwoFromOne, removeAllInternalEntitiesTwoFromOne,
+                removeAllInternalEntitiesOneFromTwo, RelationshipEvent.Type.UNLINK);
+    }
+
+    private <T, U> long applyChanged(Collection<? extends T> entitiesOne, Collection<? extends U> entitiesTwo,
+                                     Function<T, ? extends Collection<U>> getEntitiesTwoFromOne,
+                                     BiConsumer<T, Collection<U>> applyToOne,
+                                     BiConsumer<U, Collection<T>> applyToTwo,
+                                     RelationshipEvent.Type type) {
+        if (entitiesOne.isEmpty() || entitiesTwo.isEmpty()) {
+            return 0;
+        }
+
+        boolean link = type == RelationshipEvent.Type.LINK;
+        List<T> batchOne = distinct(entitiesOne);
+        List<U> batchTwo = distinct(entitiesTwo);
+        Map<U, List<T>> changedByTwo = new IdentityHashMap<>();
+        List<T> changedOnes = new ArrayList<>();
+        List<List<U>> changedTwos = new ArrayList<>();
+        long changes = 0;
+
+        for (T entityOne : batchOne) {
+            Collection<U> current = getEntitiesTwoFromOne.apply(entityOne);
+            List<U> changed = new ArrayList<>();
+            for (U entityTwo : batchTwo) {
+                if (current.contains(entityTwo) != link) {
+                    changed.add(entityTwo);
+                }
+            }
+            if (changed.isEmpty()) {
+                continue;
+            }
+
+            changedOnes.add(entityOne);
+            changedTwos.add(changed);
+            changes += changed.size();
+            for (U entityTwo : changed) {
+                changedByTwo.computeIfAbsent(entityTwo, key -> new ArrayList<>()).add(entityOne);
+            }
+        }
+
+        for (int i = 0; i < changedOnes.size(); i++) {
+            applyToOne.accept(changedOnes.get(i), changedTwos.get(i));
+        }
+        changedByTwo.forEach(applyToTwo);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            for (int i = 0; i < changedOnes.size(); i++) {
+                for (U entityTwo : changedTwos.get(i)) {
+                    bus.publish(type, RelationshipEvent.Kind.MANY_TO_MANY, changedOnes.get(i), entityTwo);
+                }
+            }
+        }
+        return changes;
+    }
+
+    private static <E> List<E> distinct(Collection<? extends E> entities) {
+        Set<E> seen = Collections.newSetFromMap(new IdentityHashMap<>(entities.size()));
+        List<E> distinct = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            if (seen.add(entity)) {
+                distinct.add(entity);
+            }
+        }
+        return distinct;
+    }
+
+    private <T, U> long applyAll(Collection<? extends T> entitiesOne, Collection<? extends U> entitiesTwo,
+                                 BiConsumer<T, Collection<U>> applyToOne,
+                                 BiConsumer<U, Collection<T>> applyToTwo,
+                                 RelationshipEvent.Type type) {
+        if (entitiesOne.isEmpty() || entitiesTwo.isEmpty()) {
+            return 0;
+        }
+
+        List<T> batchOne = new ArrayList<>(entitiesOne);
+        List<U> batchTwo = new ArrayList<>(entitiesTwo);
+        long pairs = (long) batchOne.size() * batchTwo.size();
+
+        for (T entityOne : batchOne) {
+            applyToOne.accept(entityOne, batchTwo);
+        }
+
+        for (U entityTwo : batchTwo) {
+            applyToTwo.accept(entityTwo, batchOne);
+        }
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            for (T entityOne : batchOne) {
+                for (U entityTwo : batchTwo) {
+                    bus.publish(type, RelationshipEvent.Kind.MANY_TO_MANY, entityOne, entityTwo);
+                }
+            }
+        }
+        return pairs;
     }
 }
\ No newline at end of file
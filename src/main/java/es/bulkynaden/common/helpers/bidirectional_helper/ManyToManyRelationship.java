@@ -0,0 +1,50 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <strong>ManyToManyRelationship</strong>
+ *
+ * <p> Describes a many-to-many bidirectional relationship, linked and unlinked through
+ * {@link BidirectionalHelper#linkManyToMany} and {@link BidirectionalHelper#unlinkManyToMany}. Linking entities
+ * that are already linked, or unlinking entities that are not, changes and publishes nothing.
+ *
+ * @param <T>                            The type of the first entity in the relationship.
+ * @param <U>                            The type of the second entity in the relationship.
+ * @param getEntitiesTwoFromOne          A function to get the collection of entityTwo within entityOne.
+ * @param addInternalEntityTwoToOne      A consumer that adds entityTwo to the collection within entityOne.
+ * @param addInternalEntityOneToTwo      A consumer that adds entityOne to the collection within entityTwo.
+ * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
+ * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
+ */
+public record ManyToManyRelationship<T, U>(@NonNull Function<T, Collection<U>> getEntitiesTwoFromOne,
+                                           @NonNull BiConsumer<T, U> addInternalEntityTwoToOne,
+                                           @NonNull BiConsumer<U, T> addInternalEntityOneToTwo,
+                                           @NonNull BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                                           @NonNull BiConsumer<U, T> removeInternalEntityOneFromTwo) implements IRelationship<T, U> {
+    @Override
+    public void link(@NonNull T entityOne, @NonNull U entityTwo) {
+        BidirectionalHelper.linkManyToMany(entityOne, entityTwo, getEntitiesTwoFromOne, addInternalEntityTwoToOne, addInternalEntityOneToTwo);
+    }
+
+    @Override
+    public void unlink(@NonNull T entityOne, @NonNull U entityTwo) {
+        BidirectionalHelper.unlinkManyToMany(entityOne, entityTwo, getEntitiesTwoFromOne, removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo);
+    }
+
+    /**
+     * Returns whether two entities are linked, according to the collection within entityOne.
+     *
+     * @param entityOne The first entity in the relationship.
+     * @param entityTwo The second entity in the relationship.
+     * @return {@code true} if entityTwo is in the collection within entityOne.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public boolean isLinked(@NonNull T entityOne, @NonNull U entityTwo) {
+        return getEntitiesTwoFromOne.apply(entityOne).contains(entityTwo);
+    }
+}
@@ -1,7 +1,16 @@
 package es.bulkynaden.common.helpers.bidirectional_helper;
 
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -21,11 +30,18 @@ import java.util.function.Function;
  * @since 2023-11-19
  */
 public class ManyToOneLinker {
+    /**
+     * The bus the links and unlinks made by this linker are published to, or {@code null} to publish nothing.
+     */
+    @Getter
+    @Setter
+    private volatile RelationshipEventBus eventBus;
 
     /**
      * Establishes a many-to-one bidirectional link between two entities. This method is used when
      * multiple entities of one type (entityOne) can be linked to a single entity of another type (entityTwo),
-     * with each entityOne linked to only one entityTwo.
+     * with each entityOne linked to only one entityTwo. Relinking entities that are already linked
+     * publishes nothing.
      *
      * @param <T>                                   The type of the entities that can be linked to only one entity.
      * @param <U>                                   The type of the entity that can link to multiple entities.
@@ -35,13 +51,14 @@ public class ManyToOneLinker {
      * @param removeInternalEntityTwoFromCurrentOne A consumer that removes entityOne from its current entityTwo, if any.
      * @param getCurrentEntityTwoFromOne            A function to get the current entityTwo linked to entityOne.
      * @param setInternalEntityTwoToOne             A consumer that sets the link of entityOne to entityTwo.
+     * @return 1 if the entities were not linked yet, 0 otherwise.
      * @throws NullPointerException if any of the non-nullable parameters are null.
      */
-    public <T, U> void link(@NonNull T entityOne, @NonNull U entityTwo,
-                            BiConsumer<U, T> addInternalEntityOneToTwo,
-                            BiConsumer<U, T> removeInternalEntityTwoFromCurrentOne,
-                            Function<T, U> getCurrentEntityTwoFromOne,
-                            BiConsumer<T, U> setInternalEntityTwoToOne) {
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           BiConsumer<U, T> addInternalEntityOneToTwo,
+                           BiConsumer<U, T> removeInternalEntityTwoFromCurrentOne,
+                           Function<T, U> getCurrentEntityTwoFromOne,
+                           BiConsumer<T, U> setInternalEntityTwoToOne) {
         U currentEntityTwo = getCurrentEntityTwoFromOne.apply(entityOne);
 
         if (currentEntityTwo != null && !currentEntityTwo.equals(entityOne)) {
@@ -50,6 +67,15 @@ public class ManyToOneLinker {
 
         addInternalEntityOneToTwo.accept(entityTwo, entityOne);
         setInternalEntityTwoToOne.accept(entityOne, entityTwo);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null && currentEntityTwo != entityTwo) {
+            if (currentEntityTwo != null) {
+                bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.MANY_TO_ONE, entityOne, currentEntityTwo);
+            }
+            bus.publish(RelationshipEvent.Type.LINK, RelationshipEvent.Kind.MANY_TO_ONE, entityOne, entityTwo);
+        }
+        return currentEntityTwo == entityTwo ? 0 : 1;
     }
 
     /**
@@ -62,11 +88,12 @@ public class ManyToOneLinker {
      * @param getEntityTwoFromOne            A function to get the current entityTwo linked to entityOne.
      * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
      * @param setInternalEntityTwoToOne      A consumer that removes the link of entityOne to entityTwo.
+     * @return 1 if entityOne was linked, 0 otherwise.
      * @throws NullPointerException if any of the non-nullable parameters are null.
      */
-    public <T, U> void unlink(@NonNull T entityOne, Function<T, U> getEntityTwoFromOne,
-                              BiConsumer<U, T> removeInternalEntityOneFromTwo,
-                              BiConsumer<T, U> setInternalEntityTwoToOne) {
+    public <T, U> int unlink(@NonNull T entityOne, Function<T, U> getEntityTwoFromOne,
+                             BiConsumer<U, T> removeInternalEntityOneFromTwo,
+                             BiConsumer<T, U> setInternalEntityTwoToOne) {
         U currentEntity = getEntityTwoFromOne.apply(entityOne);
 
         if (currentEntity != null) {
@@ -74,5 +101,132 @@ public class ManyToOneLinker {
         }
 
         setInternalEntityTwoToOne.accept(entityOne, null);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null && currentEntity != null) {
+            bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.MANY_TO_ONE, entityOne, currentEntity);
+        }
+        return currentEntity == null ? 0 : 1;
+    }
+
+    /**
+     * Establishes many-to-one bidirectional links between a batch of entities and a single entity. This method
+     * produces the same relationships as calling {@link #link} once per element, but groups the work:
+     * each entityOne is detached from its previous entityTwo with a single bulk removal per previous
+     * entityTwo, and all of them are then added to the new entityTwo with a single bulk addition.
+     * Only the entities that were not already linked to entityTwo are published to the event bus.
+     *
+     * @param <T>                                        The type of the entities that can be linked to only one entity.
+     * @param <U>                                        The type of the entity that can link to multiple entities.
+     * @param entitiesOne                                The entities to be linked to entityTwo.
+     * @param entityTwo                                  The entity that can link to multiple entities.
+     * @param addAllInternalEntitiesOneToTwo             A consumer that adds a batch of entityOne to the collection within entityTwo.
+     * @param removeAllInternalEntitiesOneFromCurrentTwo A consumer that removes a batch of entityOne from their current entityTwo.
+     * @param getCurrentEntityTwoFromOne                 A function to get the current entityTwo linked to entityOne.
+     * @param setInternalEntityTwoToOne                  A consumer that sets the link of entityOne to entityTwo.
+     * @return The number of distinct entities that were not linked to entityTwo yet.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> int linkAll(@NonNull Collection<? extends T> entitiesOne, @NonNull U entityTwo,
+                              BiConsumer<U, Collection<T>> addAllInternalEntitiesOneToTwo,
+                              BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromCurrentTwo,
+                              Function<T, U> getCurrentEntityTwoFromOne,
+                              BiConsumer<T, U> setInternalEntityTwoToOne) {
+        if (entitiesOne.isEmpty()) {
+            return 0;
+        }
+
+        List<T> batch = new ArrayList<>(entitiesOne);
+        Map<U, List<T>> entitiesOneByCurrentTwo =
+                removeFromCurrentEntitiesTwo(batch, getCurrentEntityTwoFromOne, removeAllInternalEntitiesOneFromCurrentTwo);
+        addAllInternalEntitiesOneToTwo.accept(entityTwo, batch);
+
+        for (T entityOne : batch) {
+            setInternalEntityTwoToOne.accept(entityOne, entityTwo);
+        }
+
+        Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>(batch.size()));
+        seen.addAll(entitiesOneByCurrentTwo.getOrDefault(entityTwo, List.of()));
+        List<T> linked = new ArrayList<>(batch.size());
+        for (T entityOne : batch) {
+            if (seen.add(entityOne)) {
+                linked.add(entityOne);
+            }
+        }
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            entitiesOneByCurrentTwo.forEach((currentEntityTwo, entitiesOneOfCurrent) -> {
+                if (currentEntityTwo != entityTwo) {
+                    publishAll(bus, RelationshipEvent.Type.UNLINK, entitiesOneOfCurrent, currentEntityTwo);
+                }
+            });
+            publishAll(bus, RelationshipEvent.Type.LINK, linked, entityTwo);
+        }
+        return linked.size();
+    }
+
+    /**
+     * Breaks existing many-to-one bidirectional links for a batch of entities. The entities are grouped
+     * by their current entityTwo, and each group is removed from that entityTwo with a single bulk removal.
+     *
+     * @param <T>                                 The type of the entities that can be linked to only one entity.
+     * @param <U>                                 The type of the entity that can link to multiple entities.
+     * @param entitiesOne                         The entities to be unlinked from their entityTwo.
+     * @param getEntityTwoFromOne                 A function to get the current entityTwo linked to entityOne.
+     * @param removeAllInternalEntitiesOneFromTwo A consumer that removes a batch of entityOne from the collection within entityTwo.
+     * @param setInternalEntityTwoToOne           A consumer that removes the link of entityOne to entityTwo.
+     * @return The number of entities that were linked.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> int unlinkAll(@NonNull Collection<? extends T> entitiesOne, Function<T, U> getEntityTwoFromOne,
+                                BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo,
+                                BiConsumer<T, U> setInternalEntityTwoToOne) {
+        if (entitiesOne.isEmpty()) {
+            return 0;
+        }
+
+        List<T> batch = new ArrayList<>(entitiesOne);
+        Map<U, List<T>> entitiesOneByCurrentTwo =
+                removeFromCurrentEntitiesTwo(batch, getEntityTwoFromOne, removeAllInternalEntitiesOneFromTwo);
+
+        for (T entityOne : batch) {
+            setInternalEntityTwoToOne.accept(entityOne, null);
+        }
+
+        int unlinked = 0;
+        for (List<T> entitiesOneOfCurrent : entitiesOneByCurrentTwo.values()) {
+            unlinked += entitiesOneOfCurrent.size();
+        }
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            entitiesOneByCurrentTwo.forEach((currentEntityTwo, entitiesOneOfCurrent) ->
+                    publishAll(bus, RelationshipEvent.Type.UNLINK, entitiesOneOfCurrent, currentEntityTwo));
+        }
+        return unlinked;
+    }
+
+    private <T, U> Map<U, List<T>> removeFromCurrentEntitiesTwo(List<T> batch,
+                                                                Function<T, U> getCurrentEntityTwoFromOne,
+                                                                BiConsumer<U, Collection<T>> removeAllInternalEntitiesOneFromTwo) {
+        Map<U, List<T>> entitiesOneByCurrentTwo = new IdentityHashMap<>();
+
+        for (T entityOne : batch) {
+            U currentEntityTwo = getCurrentEntityTwoFromOne.apply(entityOne);
+
+            if (currentEntityTwo != null) {
+                entitiesOneByCurrentTwo.computeIfAbsent(currentEntityTwo, key -> new ArrayList<>()).add(entityOne);
+            }
+        }
+
+        entitiesOneByCurrentTwo.forEach(removeAllInternalEntitiesOneFromTwo);
+        return entitiesOneByCurrentTwo;
+    }
+
+    private static <T, U> void publishAll(RelationshipEventBus bus, RelationshipEvent.Type type, List<T> entitiesOne, U entityTwo) {
+        for (T entityOne : entitiesOne) {
+            bus.publish(type, RelationshipEvent.Kind.MANY_TO_ONE, entityOne, entityTwo);
+        }
     }
 }
\ No newline at end of file
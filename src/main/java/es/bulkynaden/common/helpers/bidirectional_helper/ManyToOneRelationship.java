@@ -0,0 +1,59 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.NonNull;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <strong>ManyToOneRelationship</strong>
+ *
+ * <p> Describes a many-to-one bidirectional relationship seen from the entities linked to only one entity,
+ * linked and unlinked through {@link BidirectionalHelper#linkManyToOne} and
+ * {@link BidirectionalHelper#unlinkManyToOne}.
+ *
+ * @param <T>                            The type of the entities that can be linked to only one entity.
+ * @param <U>                            The type of the entity that can link to multiple entities.
+ * @param addInternalEntityOneToTwo      A consumer that adds entityOne to the collection within entityTwo.
+ * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
+ * @param getCurrentEntityTwoFromOne     A function to get the current entityTwo linked to entityOne.
+ * @param setInternalEntityTwoToOne      A consumer that sets the link of entityOne to entityTwo.
+ */
+public record ManyToOneRelationship<T, U>(@NonNull BiConsumer<U, T> addInternalEntityOneToTwo,
+                                          @NonNull BiConsumer<U, T> removeInternalEntityOneFromTwo,
+                                          @NonNull Function<T, U> getCurrentEntityTwoFromOne,
+                                          @NonNull BiConsumer<T, U> setInternalEntityTwoToOne) implements IRelationship<T, U> {
+    @Override
+    public void link(@NonNull T entityOne, @NonNull U entityTwo) {
+        BidirectionalHelper.linkManyToOne(entityOne, entityTwo, addInternalEntityOneToTwo,
+                removeInternalEntityOneFromTwo, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne);
+    }
+
+    @Override
+    public void unlink(@NonNull T entityOne, @NonNull U entityTwo) {
+        if (getCurrentEntityTwoFromOne.apply(entityOne) == entityTwo) {
+            unlink(entityOne);
+        }
+    }
+
+    /**
+     * Breaks the many-to-one link of an entity, whichever entity it is linked to.
+     *
+     * @param entityOne The entity to be unlinked.
+     * @throws NullPointerException if the entity is null.
+     */
+    public void unlink(@NonNull T entityOne) {
+        BidirectionalHelper.unlinkManyToOne(entityOne, getCurrentEntityTwoFromOne,
+                removeInternalEntityOneFromTwo, setInternalEntityTwoToOne);
+    }
+
+    /**
+     * Returns the same relationship seen from the entity holding the collection.
+     *
+     * @return The inverse one-to-many relationship.
+     */
+    public OneToManyRelationship<U, T> inverse() {
+        return new OneToManyRelationship<>(addInternalEntityOneToTwo, removeInternalEntityOneFromTwo,
+                getCurrentEntityTwoFromOne, setInternalEntityTwoToOne);
+    }
+}
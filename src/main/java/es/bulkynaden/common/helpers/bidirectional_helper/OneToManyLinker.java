@@ -1,7 +1,16 @@
 package es.bulkynaden.common.helpers.bidirectional_helper;
 
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -21,10 +30,18 @@ import java.util.function.Function;
  * @since 2023-11-19
  */
 public class OneToManyLinker {
+    /**
+     * The bus the links and unlinks made by this linker are published to, or {@code null} to publish nothing.
+     */
+    @Getter
+    @Setter
+    private volatile RelationshipEventBus eventBus;
+
     /**
      * Establishes a one-to-many bidirectional link between two entities. This method is used when
      * one entity (entityOne) can be linked to multiple entities of another type (entityTwo), but
-     * each entityTwo is linked to only one entityOne.
+     * each entityTwo is linked to only one entityOne. Relinking entities that are already linked
+     * publishes nothing.
      *
      * @param <T>                                   The type of the entity that can link to multiple entities.
      * @param <U>                                   The type of the entities that can be linked to only one entity.
@@ -34,13 +51,14 @@ public class OneToManyLinker {
      * @param removeInternalEntityTwoFromCurrentOne A consumer that removes entityTwo from its current entityOne, if any.
      * @param getCurrentEntityFromTwo               A function to get the current entityOne linked to entityTwo.
      * @param setInternalEntityTwoToOne             A consumer that sets the link of entityTwo to entityOne.
+     * @return 1 if the entities were not linked yet, 0 otherwise.
      * @throws NullPointerException if any of the non-nullable parameters are null.
      */
-    public <T, U> void link(@NonNull T entityOne, @NonNull U entityTwo,
-                            BiConsumer<T, U> addInternalEntityTwoToOne,
-                            BiConsumer<T, U> removeInternalEntityTwoFromCurrentOne,
-                            Function<U, T> getCurrentEntityFromTwo,
-                            BiConsumer<U, T> setInternalEntityTwoToOne) {
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           BiConsumer<T, U> addInternalEntityTwoToOne,
+                           BiConsumer<T, U> removeInternalEntityTwoFromCurrentOne,
+                           Function<U, T> getCurrentEntityFromTwo,
+                           BiConsumer<U, T> setInternalEntityTwoToOne) {
         T currentEntityOne = getCurrentEntityFromTwo.apply(entityTwo);
 
         if (currentEntityOne != null) {
@@ -49,24 +67,231 @@ public class OneToManyLinker {
 
         addInternalEntityTwoToOne.accept(entityOne, entityTwo);
         setInternalEntityTwoToOne.accept(entityTwo, entityOne);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null && currentEntityOne != entityOne) {
+            if (currentEntityOne != null) {
+                bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.ONE_TO_MANY, currentEntityOne, entityTwo);
+            }
+            bus.publish(RelationshipEvent.Type.LINK, RelationshipEvent.Kind.ONE_TO_MANY, entityOne, entityTwo);
+        }
+        return currentEntityOne == entityOne ? 0 : 1;
     }
 
     /**
      * Breaks an existing one-to-many bidirectional link between two entities. This method is used
      * to remove an entity (entityTwo) from the collection of linked entities in entityOne.
      *
+     * <p> As the linker cannot tell whether the entities were linked, it trusts the caller and publishes the
+     * unlink to the event bus; use the overload taking {@code getCurrentEntityFromTwo} when the entities may
+     * not be linked.
+     *
      * @param <T>                            The type of the entity that can link to multiple entities.
      * @param <U>                            The type of the entities that can be linked to only one entity.
      * @param entityOne                      The entity containing the collection of linked entities.
      * @param entityTwo                      The entity to be unlinked from entityOne.
      * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
      * @param setInternalEntityTwoToOne      A consumer that removes the link of entityTwo to entityOne.
+     * @return 1, the number of unlinks the caller asked for.
      * @throws NullPointerException if any of the non-nullable parameters are null.
      */
-    public <T, U> void unlink(@NonNull T entityOne, @NonNull U entityTwo,
-                              BiConsumer<T, U> removeInternalEntityTwoFromOne,
-                              BiConsumer<U, T> setInternalEntityTwoToOne) {
+    public <T, U> int unlink(@NonNull T entityOne, @NonNull U entityTwo,
+                             BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                             BiConsumer<U, T> setInternalEntityTwoToOne) {
+        removeInternalEntityTwoFromOne.accept(entityOne, entityTwo);
+        setInternalEntityTwoToOne.accept(entityTwo, null);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.ONE_TO_MANY, entityOne, entityTwo);
+        }
+        return 1;
+    }
+
+    /**
+     * Breaks the one-to-many bidirectional link between two entities if entityTwo is currently linked to
+     * entityOne, and does nothing otherwise. Only an actual unlink is published to the event bus.
+     *
+     * @param <T>                            The type of the entity that can link to multiple entities.
+     * @param <U>                            The type of the entities that can be linked to only one entity.
+     * @param entityOne                      The entity containing the collection of linked entities.
+     * @param entityTwo                      The entity to be unlinked from entityOne.
+     * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
+     * @param getCurrentEntityFromTwo        A function to get the current entityOne linked to entityTwo.
+     * @param setInternalEntityTwoToOne      A consumer that removes the link of entityTwo to entityOne.
+     * @return 1 if the entities were linked, 0 otherwise.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> int unlink(@NonNull T entityOne, @NonNull U entityTwo,
+                             BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                             Function<U, T> getCurrentEntityFromTwo,
+                             BiConsumer<U, T> setInternalEntityTwoToOne) {
+        if (getCurrentEntityFromTwo.apply(entityTwo) != entityOne) {
+            return 0;
+        }
+
         removeInternalEntityTwoFromOne.accept(entityOne, entityTwo);
         setInternalEntityTwoToOne.accept(entityTwo, null);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.ONE_TO_MANY, entityOne, entityTwo);
+        }
+        return 1;
+    }
+
+    /**
+     * Establishes one-to-many bidirectional links between one entity and a batch of entities. This method
+     * produces the same relationships as calling {@link #link} once per element, but groups the work:
+     * each entityTwo is detached from its previous entityOne with a single bulk removal per previous
+     * entityOne, and all of them are then added to the new entityOne with a single bulk addition.
+     * Only the entities that were not already linked to entityOne are published to the event bus.
+     *
+     * @param <T>                                        The type of the entity that can link to multiple entities.
+     * @param <U>                                        The type of the entities that can be linked to only one entity.
+     * @param entityOne                                  The entity that can link to multiple entities.
+     * @param entitiesTwo                                The entities to be linked to entityOne.
+     * @param addAllInternalEntitiesTwoToOne             A consumer that adds a batch of entityTwo to the collection within entityOne.
+     * @param removeAllInternalEntitiesTwoFromCurrentOne A consumer that removes a batch of entityTwo from their current entityOne.
+     * @param getCurrentEntityFromTwo                    A function to get the current entityOne linked to entityTwo.
+     * @param setInternalEntityTwoToOne                  A consumer that sets the link of entityTwo to entityOne.
+     * @return The number of distinct entities that were not linked to entityOne yet.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> int linkAll(@NonNull T entityOne, @NonNull Collection<? extends U> entitiesTwo,
+                              BiConsumer<T, Collection<U>> addAllInternalEntitiesTwoToOne,
+                              BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromCurrentOne,
+                              Function<U, T> getCurrentEntityFromTwo,
+                              BiConsumer<U, T> setInternalEntityTwoToOne) {
+        if (entitiesTwo.isEmpty()) {
+            return 0;
+        }
+
+        List<U> batch = new ArrayList<>(entitiesTwo);
+        Map<T, List<U>> entitiesTwoByCurrentOne = new IdentityHashMap<>();
+
+        for (U entityTwo : batch) {
+            T currentEntityOne = getCurrentEntityFromTwo.apply(entityTwo);
+
+            if (currentEntityOne != null) {
+                entitiesTwoByCurrentOne.computeIfAbsent(currentEntityOne, key -> new ArrayList<>()).add(entityTwo);
+            }
+        }
+
+        entitiesTwoByCurrentOne.forEach(removeAllInternalEntitiesTwoFromCurrentOne);
+        addAllInternalEntitiesTwoToOne.accept(entityOne, batch);
+
+        for (U entityTwo : batch) {
+            setInternalEntityTwoToOne.accept(entityTwo, entityOne);
+        }
+
+        Set<U> seen = Collections.newSetFromMap(new IdentityHashMap<>(batch.size()));
+        seen.addAll(entitiesTwoByCurrentOne.getOrDefault(entityOne, List.of()));
+        List<U> linked = new ArrayList<>(batch.size());
+        for (U entityTwo : batch) {
+            if (seen.add(entityTwo)) {
+                linked.add(entityTwo);
+            }
+        }
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            entitiesTwoByCurrentOne.forEach((currentEntityOne, entitiesTwoOfCurrent) -> {
+                if (currentEntityOne != entityOne) {
+                    for (U entityTwo : entitiesTwoOfCurrent) {
+                        bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.ONE_TO_MANY, currentEntityOne, entityTwo);
+                    }
+                }
+            });
+            for (U entityTwo : linked) {
+                bus.publish(RelationshipEvent.Type.LINK, RelationshipEvent.Kind.ONE_TO_MANY, entityOne, entityTwo);
+            }
+        }
+        return linked.size();
+    }
+
+    /**
+     * Breaks existing one-to-many bidirectional links between one entity and a batch of entities.
+     * The batch is removed from the collection within entityOne with a single bulk removal.
+     *
+     * <p> As the linker cannot tell whether the entities were linked, it trusts the caller and publishes an
+     * unlink per entity of the batch to the event bus; use the overload taking {@code getCurrentEntityFromTwo}
+     * when some of them may not be linked.
+     *
+     * @param <T>                                 The type of the entity that can link to multiple entities.
+     * @param <U>                                 The type of the entities that can be linked to only one entity.
+     * @param entityOne                           The entity containing the collection of linked entities.
+     * @param entitiesTwo                         The entities to be unlinked from entityOne.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param setInternalEntityTwoToOne           A consumer that removes the link of entityTwo to entityOne.
+     * @return The number of entities in the batch, that is, the number of unlinks the caller asked for.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> int unlinkAll(@NonNull T entityOne, @NonNull Collection<? extends U> entitiesTwo,
+                                BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                BiConsumer<U, T> setInternalEntityTwoToOne) {
+        if (entitiesTwo.isEmpty()) {
+            return 0;
+        }
+
+        List<U> batch = new ArrayList<>(entitiesTwo);
+        removeAllInternalEntitiesTwoFromOne.accept(entityOne, batch);
+
+        for (U entityTwo : batch) {
+            setInternalEntityTwoToOne.accept(entityTwo, null);
+        }
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            for (U entityTwo : batch) {
+                bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.ONE_TO_MANY, entityOne, entityTwo);
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * Breaks the one-to-many bidirectional links between one entity and the entities of a batch currently
+     * linked to it; the other entities of the batch are left untouched. The linked entities are removed from
+     * the collection within entityOne with a single bulk removal, and only those unlinks are published to the
+     * event bus.
+     *
+     * @param <T>                                 The type of the entity that can link to multiple entities.
+     * @param <U>                                 The type of the entities that can be linked to only one entity.
+     * @param entityOne                           The entity containing the collection of linked entities.
+     * @param entitiesTwo                         The entities to be unlinked from entityOne.
+     * @param removeAllInternalEntitiesTwoFromOne A consumer that removes a batch of entityTwo from the collection within entityOne.
+     * @param getCurrentEntityFromTwo             A function to get the current entityOne linked to entityTwo.
+     * @param setInternalEntityTwoToOne           A consumer that removes the link of entityTwo to entityOne.
+     * @return The number of entities that were linked to entityOne.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> int unlinkAll(@NonNull T entityOne, @NonNull Collection<? extends U> entitiesTwo,
+                                BiConsumer<T, Collection<U>> removeAllInternalEntitiesTwoFromOne,
+                                Function<U, T> getCurrentEntityFromTwo,
+                                BiConsumer<U, T> setInternalEntityTwoToOne) {
+        List<U> linked = new ArrayList<>(entitiesTwo.size());
+        for (U entityTwo : entitiesTwo) {
+            if (getCurrentEntityFromTwo.apply(entityTwo) == entityOne) {
+                linked.add(entityTwo);
+            }
+        }
+        if (linked.isEmpty()) {
+            return 0;
+        }
+
+        removeAllInternalEntitiesTwoFromOne.accept(entityOne, linked);
+
+        for (U entityTwo : linked) {
+            setInternalEntityTwoToOne.accept(entityTwo, null);
+        }
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            for (U entityTwo : linked) {
+                bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.ONE_TO_MANY, entityOne, entityTwo);
+            }
+        }
+        return linked.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.NonNull;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <strong>OneToManyRelationship</strong>
+ *
+ * <p> Describes a one-to-many bidirectional relationship seen from the entity holding the collection,
+ * linked and unlinked through {@link BidirectionalHelper#linkOneToMany} and
+ * {@link BidirectionalHelper#unlinkOneToMany}.
+ *
+ * @param <T>                            The type of the entity that can link to multiple entities.
+ * @param <U>                            The type of the entities that can be linked to only one entity.
+ * @param addInternalEntityTwoToOne      A consumer that adds entityTwo to the collection within entityOne.
+ * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
+ * @param getCurrentEntityFromTwo        A function to get the current entityOne linked to entityTwo.
+ * @param setInternalEntityTwoToOne      A consumer that sets the link of entityTwo to entityOne.
+ */
+public record OneToManyRelationship<T, U>(@NonNull BiConsumer<T, U> addInternalEntityTwoToOne,
+                                          @NonNull BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                                          @NonNull Function<U, T> getCurrentEntityFromTwo,
+                                          @NonNull BiConsumer<U, T> setInternalEntityTwoToOne) implements IRelationship<T, U> {
+    @Override
+    public void link(@NonNull T entityOne, @NonNull U entityTwo) {
+        BidirectionalHelper.linkOneToMany(entityOne, entityTwo, addInternalEntityTwoToOne,
+                removeInternalEntityTwoFromOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+    }
+
+    @Override
+    public void unlink(@NonNull T entityOne, @NonNull U entityTwo) {
+        BidirectionalHelper.unlinkOneToMany(entityOne, entityTwo, removeInternalEntityTwoFromOne, getCurrentEntityFromTwo,
+                setInternalEntityTwoToOne);
+    }
+
+    /**
+     * Returns the same relationship seen from the entities linked to only one entity.
+     *
+     * @return The inverse many-to-one relationship.
+     */
+    public ManyToOneRelationship<U, T> inverse() {
+        return new ManyToOneRelationship<>(addInternalEntityTwoToOne, removeInternalEntityTwoFromOne,
+                getCurrentEntityFromTwo, setInternalEntityTwoToOne);
+    }
+}
@@ -0,0 +1,43 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.Getter;
+
+/**
+ * <strong>OperationMetrics</strong>
+ *
+ * <p> The metrics of one operation of {@link BidirectionalHelper} on one kind of relationship: how many
+ * calls were made, how long they took and how many links each of them changed.
+ *
+ * @see RelationshipMetrics
+ */
+@Getter
+public final class OperationMetrics {
+    private final RelationshipEvent.Kind kind;
+    private final RelationshipMetrics.Operation operation;
+    private final Histogram latencyNanos = new Histogram();
+    private final Histogram links = new Histogram();
+
+    OperationMetrics(RelationshipEvent.Kind kind, RelationshipMetrics.Operation operation) {
+        this.kind = kind;
+        this.operation = operation;
+    }
+
+    /**
+     * Returns the number of calls recorded.
+     *
+     * @return The number of calls.
+     */
+    public long getCount() {
+        return latencyNanos.getCount();
+    }
+
+    void record(long startNanos, long linkCount) {
+        latencyNanos.record(System.nanoTime() - startNanos);
+        links.record(linkCount);
+    }
+
+    void reset() {
+        latencyNanos.reset();
+        links.reset();
+    }
+}
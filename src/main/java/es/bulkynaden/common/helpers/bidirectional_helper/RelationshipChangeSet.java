@@ -0,0 +1,804 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <strong>RelationshipChangeSet</strong>
+ *
+ * <p> Collects link and unlink operations and applies them as a unit of work. Operations are only
+ * recorded when they are added; {@link #commit()} applies them in order through {@link BidirectionalHelper}.
+ * Before each operation is applied, the state it is about to change is captured as an inverse operation.
+ * If any operation throws, the inverses of the failed operation and of every operation already applied run
+ * in reverse order, and the exception is rethrown, leaving the graph as it was before the commit.
+ *
+ * <p> Redundant operations are coalesced while they are added, per relationship and entity:
+ * <ul>
+ *     <li>For one-to-many and many-to-one relationships, a link of an entity supersedes every earlier
+ *     operation on that entity, and a link followed by an unlink of the same pair becomes a single detach of
+ *     the entity from the owner it has when the change set is committed.</li>
+ *     <li>For many-to-many relationships, the last operation on a pair supersedes the earlier ones, and it
+ *     is skipped when the change set is committed if the pair already is in the requested state.</li>
+ *     <li>For every relationship, an operation identical to the previous one on the same entities is dropped,
+ *     as long as no operation recorded in between may have changed them. A singular link or unlink may change
+ *     entities that are only known when it is applied, such as the previous partner of its entity, so a singular
+ *     operation is only dropped when no other operation of the same relationship was recorded since.</li>
+ * </ul>
+ * These rules assume the graph is consistent, that is, both sides of every link agree. Operations are
+ * considered to belong to the same relationship when they are given the same setter or adder instance, as is
+ * the case for method references written at the same call site; otherwise they are never coalesced.
+ *
+ * <p> The inverse operations restore the captured references and collection memberships, and rely on the
+ * add and remove consumers behaving like set operations for the operation that failed. As they bypass the
+ * linkers, they publish the links and unlinks they make to the event bus of {@link BidirectionalHelper}
+ * themselves, so that listeners see the graph return to its previous state.
+ */
+public class RelationshipChangeSet {
+    private final List<Operation> operations = new ArrayList<>();
+    private final Map<Key, Integer> lastOperations = new HashMap<>();
+    private final Map<Key, Integer> lastScopes = new HashMap<>();
+    private int pending;
+
+    /**
+     * Records a singular link between two entities.
+     *
+     * @param <T>                        The type of the first entity in the relationship.
+     * @param <U>                        The type of the second entity in the relationship.
+     * @param entityOne                  The first entity in the relationship.
+     * @param entityTwo                  The second entity in the relationship.
+     * @param getCurrentEntityTwoFromOne A function to retrieve the current entity of type U linked to entityOne.
+     * @param getCurrentEntityOneFromTwo A function to retrieve the current entity of type T linked to entityTwo.
+     * @param setInternalEntityTwoToOne  A consumer that sets entityTwo within entityOne.
+     * @param setInternalEntityOneToTwo  A consumer that sets entityOne within entityTwo.
+     * @return This change set.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> RelationshipChangeSet linkSingular(@NonNull T entityOne, @NonNull U entityTwo,
+                                                     @NonNull Function<T, U> getCurrentEntityTwoFromOne,
+                                                     @NonNull Function<U, T> getCurrentEntityOneFromTwo,
+                                                     @NonNull BiConsumer<T, U> setInternalEntityTwoToOne,
+                                                     @NonNull BiConsumer<U, T> setInternalEntityOneToTwo) {
+        return add(new SingularOperation<>(true, entityOne, entityTwo, getCurrentEntityTwoFromOne, getCurrentEntityOneFromTwo,
+                setInternalEntityTwoToOne, setInternalEntityOneToTwo));
+    }
+
+    /**
+     * Records the removal of the singular link of an entity.
+     *
+     * @param <T>                        The type of the first entity in the relationship.
+     * @param <U>                        The type of the second entity in the relationship.
+     * @param entityOne                  The first entity in the relationship.
+     * @param getCurrentEntityTwoFromOne A function to retrieve the current entity of type U linked to entityOne.
+     * @param getCurrentEntityOneFromTwo A function to retrieve the current entity of type T linked to entityTwo.
+     * @param setInternalEntityTwoToOne  A consumer that sets entityTwo within entityOne.
+     * @param setInternalEntityOneToTwo  A consumer that sets entityOne within entityTwo.
+     * @return This change set.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> RelationshipChangeSet unlinkSingular(@NonNull T entityOne,
+                                                       @NonNull Function<T, U> getCurrentEntityTwoFromOne,
+                                                       @NonNull Function<U, T> getCurrentEntityOneFromTwo,
+                                                       @NonNull BiConsumer<T, U> setInternalEntityTwoToOne,
+                                                       @NonNull BiConsumer<U, T> setInternalEntityOneToTwo) {
+        return add(new SingularOperation<>(false, entityOne, null, getCurrentEntityTwoFromOne, getCurrentEntityOneFromTwo,
+                setInternalEntityTwoToOne, setInternalEntityOneToTwo));
+    }
+
+    /**
+     * Records a one-to-many link between two entities.
+     *
+     * @param <T>                              The type of the entity that can link to multiple entities.
+     * @param <U>                              The type of the entities that can be linked to only one entity.
+     * @param entityOne                        The entity that can link to multiple entities.
+     * @param entityTwo                        The entity to be linked to entityOne.
+     * @param addInternalEntityTwoToOne        A consumer that adds entityTwo to the collection within entityOne.
+     * @param removeInternalEntityTwoFromOne   A consumer that removes entityTwo from the collection within entityOne.
+     * @param getCurrentEntityFromTwo          A function to get the current entityOne linked to entityTwo.
+     * @param setInternalEntityTwoToOne        A consumer that sets the link of entityTwo to entityOne.
+     * @return This change set.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> RelationshipChangeSet linkOneToMany(@NonNull T entityOne, @NonNull U entityTwo,
+                                                      @NonNull BiConsumer<T, U> addInternalEntityTwoToOne,
+                                                      @NonNull BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                                                      @NonNull Function<U, T> getCurrentEntityFromTwo,
+                                                      @NonNull BiConsumer<U, T> setInternalEntityTwoToOne) {
+        return add(new OwnershipOperation<>(OwnershipOperation.LINK, false, entityOne, entityTwo,
+                addInternalEntityTwoToOne, removeInternalEntityTwoFromOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne));
+    }
+
+    /**
+     * Records the removal of a one-to-many link between two entities.
+     *
+     * @param <T>                              The type of the entity that can link to multiple entities.
+     * @param <U>                              The type of the entities that can be linked to only one entity.
+     * @param entityOne                        The entity containing the collection of linked entities.
+     * @param entityTwo                        The entity to be unlinked from entityOne.
+     * @param addInternalEntityTwoToOne        A consumer that adds entityTwo to the collection within entityOne.
+     * @param removeInternalEntityTwoFromOne   A consumer that removes entityTwo from the collection within entityOne.
+     * @param getCurrentEntityFromTwo          A function to get the current entityOne linked to entityTwo.
+     * @param setInternalEntityTwoToOne        A consumer that sets the link of entityTwo to entityOne.
+     * @return This change set.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> RelationshipChangeSet unlinkOneToMany(@NonNull T entityOne, @NonNull U entityTwo,
+                                                        @NonNull BiConsumer<T, U> addInternalEntityTwoToOne,
+                                                        @NonNull BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                                                        @NonNull Function<U, T> getCurrentEntityFromTwo,
+                                                        @NonNull BiConsumer<U, T> setInternalEntityTwoToOne) {
+        return add(new OwnershipOperation<>(OwnershipOperation.UNLINK, false, entityOne, entityTwo,
+                addInternalEntityTwoToOne, removeInternalEntityTwoFromOne, getCurrentEntityFromTwo, setInternalEntityTwoToOne));
+    }
+
+    /**
+     * Records a many-to-one link between two entities.
+     *
+     * @param <T>                            The type of the entities that can be linked to only one entity.
+     * @param <U>                            The type of the entity that can link to multiple entities.
+     * @param entityOne                      The entity to be linked to entityTwo.
+     * @param entityTwo                      The entity that can link to multiple entities.
+     * @param addInternalEntityOneToTwo      A consumer that adds entityOne to the collection within entityTwo.
+     * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
+     * @param getCurrentEntityTwoFromOne     A function to get the current entityTwo linked to entityOne.
+     * @param setInternalEntityTwoToOne      A consumer that sets the link of entityOne to entityTwo.
+     * @return This change set.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> RelationshipChangeSet linkManyToOne(@NonNull T entityOne, @NonNull U entityTwo,
+                                                      @NonNull BiConsumer<U, T> addInternalEntityOneToTwo,
+                                                      @NonNull BiConsumer<U, T> removeInternalEntityOneFromTwo,
+                                                      @NonNull Function<T, U> getCurrentEntityTwoFromOne,
+                                                      @NonNull BiConsumer<T, U> setInternalEntityTwoToOne) {
+        return add(new OwnershipOperation<>(OwnershipOperation.LINK, true, entityTwo, entityOne,
+                addInternalEntityOneToTwo, removeInternalEntityOneFromTwo, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne));
+    }
+
+    /**
+     * Records the removal of the many-to-one link of an entity from whichever entityTwo it is linked to
+     * when the change set is committed.
+     *
+     * @param <T>                            The type of the entities that can be linked to only one entity.
+     * @param <U>                            The type of the entity that can link to multiple entities.
+     * @param entityOne                      The entity to be unlinked from its entityTwo.
+     * @param addInternalEntityOneToTwo      A consumer that adds entityOne to the collection within entityTwo.
+     * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
+     * @param getCurrentEntityTwoFromOne     A function to get the current entityTwo linked to entityOne.
+     * @param setInternalEntityTwoToOne      A consumer that sets the link of entityOne to entityTwo.
+     * @return This change set.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> RelationshipChangeSet unlinkManyToOne(@NonNull T entityOne,
+                                                        @NonNull BiConsumer<U, T> addInternalEntityOneToTwo,
+                                                        @NonNull BiConsumer<U, T> removeInternalEntityOneFromTwo,
+                                                        @NonNull Function<T, U> getCurrentEntityTwoFromOne,
+                                                        @NonNull BiConsumer<T, U> setInternalEntityTwoToOne) {
+        return add(new OwnershipOperation<>(OwnershipOperation.DETACH, true, null, entityOne,
+                addInternalEntityOneToTwo, removeInternalEntityOneFromTwo, getCurrentEntityTwoFromOne, setInternalEntityTwoToOne));
+    }
+
+    /**
+     * Records a many-to-many link between two entities.
+     *
+     * @param <T>                            The type of the first entity in the relationship.
+     * @param <U>                            The type of the second entity in the relationship.
+     * @param entityOne                      The first entity in the relationship.
+     * @param entityTwo                      The second entity in the relationship.
+     * @param getEntitiesTwoFromOne          A function to get the collection of entityTwo within entityOne.
+     * @param addInternalEntityTwoToOne      A consumer that adds entityTwo to the collection within entityOne.
+     * @param addInternalEntityOneToTwo      A consumer that adds entityOne to the collection within entityTwo.
+     * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
+     * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
+     * @return This change set.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> RelationshipChangeSet linkManyToMany(@NonNull T entityOne, @NonNull U entityTwo,
+                                                       @NonNull Function<T, Collection<U>> getEntitiesTwoFromOne,
+                                                       @NonNull BiConsumer<T, U> addInternalEntityTwoToOne,
+                                                       @NonNull BiConsumer<U, T> addInternalEntityOneToTwo,
+                                                       @NonNull BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                                                       @NonNull BiConsumer<U, T> removeInternalEntityOneFromTwo) {
+        return add(new ManyToManyOperation<>(true, entityOne, entityTwo, getEntitiesTwoFromOne, addInternalEntityTwoToOne,
+                addInternalEntityOneToTwo, removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo));
+    }
+
+    /**
+     * Records the removal of a many-to-many link between two entities.
+     *
+     * @param <T>                            The type of the first entity in the relationship.
+     * @param <U>                            The type of the second entity in the relationship.
+     * @param entityOne                      The first entity in the relationship.
+     * @param entityTwo                      The second entity in the relationship.
+     * @param getEntitiesTwoFromOne          A function to get the collection of entityTwo within entityOne.
+     * @param addInternalEntityTwoToOne      A consumer that adds entityTwo to the collection within entityOne.
+     * @param addInternalEntityOneToTwo      A consumer that adds entityOne to the collection within entityTwo.
+     * @param removeInternalEntityTwoFromOne A consumer that removes entityTwo from the collection within entityOne.
+     * @param removeInternalEntityOneFromTwo A consumer that removes entityOne from the collection within entityTwo.
+     * @return This change set.
+     * @throws NullPointerException if any of the non-nullable parameters are null.
+     */
+    public <T, U> RelationshipChangeSet unlinkManyToMany(@NonNull T entityOne, @NonNull U entityTwo,
+                                                         @NonNull Function<T, Collection<U>> getEntitiesTwoFromOne,
+                                                         @NonNull BiConsumer<T, U> addInternalEntityTwoToOne,
+                                                         @NonNull BiConsumer<U, T> addInternalEntityOneToTwo,
+                                                         @NonNull BiConsumer<T, U> removeInternalEntityTwoFromOne,
+                                                         @NonNull BiConsumer<U, T> removeInternalEntityOneFromTwo) {
+        return add(new ManyToManyOperation<>(false, entityOne, entityTwo, getEntitiesTwoFromOne, addInternalEntityTwoToOne,
+                addInternalEntityOneToTwo, removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo));
+    }
+
+    /**
+     * Records a singular link between two entities.
+     *
+     * @param <T>          The type of the first entity in the relationship.
+     * @param <U>          The type of the second entity in the relationship.
+     * @param relationship The relationship to link the entities in.
+     * @param entityOne    The first entity in the relationship.
+     * @param entityTwo    The second entity in the relationship.
+     * @return This change set.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> RelationshipChangeSet link(@NonNull SingularRelationship<T, U> relationship, @NonNull T entityOne, @NonNull U entityTwo) {
+        return linkSingular(entityOne, entityTwo, relationship.getCurrentEntityTwoFromOne(), relationship.getCurrentEntityOneFromTwo(),
+                relationship.setInternalEntityTwoToOne(), relationship.setInternalEntityOneToTwo());
+    }
+
+    /**
+     * Records the removal of the singular link of an entity.
+     *
+     * @param <T>          The type of the first entity in the relationship.
+     * @param <U>          The type of the second entity in the relationship.
+     * @param relationship The relationship to unlink the entity from.
+     * @param entityOne    The first entity in the relationship.
+     * @return This change set.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> RelationshipChangeSet unlink(@NonNull SingularRelationship<T, U> relationship, @NonNull T entityOne) {
+        return unlinkSingular(entityOne, relationship.getCurrentEntityTwoFromOne(), relationship.getCurrentEntityOneFromTwo(),
+                relationship.setInternalEntityTwoToOne(), relationship.setInternalEntityOneToTwo());
+    }
+
+    /**
+     * Records a one-to-many link between two entities.
+     *
+     * @param <T>          The type of the entity that can link to multiple entities.
+     * @param <U>          The type of the entities that can be linked to only one entity.
+     * @param relationship The relationship to link the entities in.
+     * @param entityOne    The entity that can link to multiple entities.
+     * @param entityTwo    The entity to be linked to entityOne.
+     * @return This change set.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> RelationshipChangeSet link(@NonNull OneToManyRelationship<T, U> relationship, @NonNull T entityOne, @NonNull U entityTwo) {
+        return linkOneToMany(entityOne, entityTwo, relationship.addInternalEntityTwoToOne(), relationship.removeInternalEntityTwoFromOne(),
+                relationship.getCurrentEntityFromTwo(), relationship.setInternalEntityTwoToOne());
+    }
+
+    /**
+     * Records the removal of a one-to-many link between two entities.
+     *
+     * @param <T>          The type of the entity that can link to multiple entities.
+     * @param <U>          The type of the entities that can be linked to only one entity.
+     * @param relationship The relationship to unlink the entities from.
+     * @param entityOne    The entity containing the collection of linked entities.
+     * @param entityTwo    The entity to be unlinked from entityOne.
+     * @return This change set.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> RelationshipChangeSet unlink(@NonNull OneToManyRelationship<T, U> relationship, @NonNull T entityOne, @NonNull U entityTwo) {
+        return unlinkOneToMany(entityOne, entityTwo, relationship.addInternalEntityTwoToOne(), relationship.removeInternalEntityTwoFromOne(),
+                relationship.getCurrentEntityFromTwo(), relationship.setInternalEntityTwoToOne());
+    }
+
+    /**
+     * Records a many-to-one link between two entities.
+     *
+     * @param <T>          The type of the entities that can be linked to only one entity.
+     * @param <U>          The type of the entity that can link to multiple entities.
+     * @param relationship The relationship to link the entities in.
+     * @param entityOne    The entity to be linked to entityTwo.
+     * @param entityTwo    The entity that can link to multiple entities.
+     * @return This change set.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> RelationshipChangeSet link(@NonNull ManyToOneRelationship<T, U> relationship, @NonNull T entityOne, @NonNull U entityTwo) {
+        return linkManyToOne(entityOne, entityTwo, relationship.addInternalEntityOneToTwo(), relationship.removeInternalEntityOneFromTwo(),
+                relationship.getCurrentEntityTwoFromOne(), relationship.setInternalEntityTwoToOne());
+    }
+
+    /**
+     * Records the removal of the many-to-one link of an entity from whichever entityTwo it is linked to
+     * when the change set is committed.
+     *
+     * @param <T>          The type of the entities that can be linked to only one entity.
+     * @param <U>          The type of the entity that can link to multiple entities.
+     * @param relationship The relationship to unlink the entity from.
+     * @param entityOne    The entity to be unlinked from its entityTwo.
+     * @return This change set.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> RelationshipChangeSet unlink(@NonNull ManyToOneRelationship<T, U> relationship, @NonNull T entityOne) {
+        return unlinkManyToOne(entityOne, relationship.addInternalEntityOneToTwo(), relationship.removeInternalEntityOneFromTwo(),
+                relationship.getCurrentEntityTwoFromOne(), relationship.setInternalEntityTwoToOne());
+    }
+
+    /**
+     * Records a many-to-many link between two entities.
+     *
+     * @param <T>          The type of the first entity in the relationship.
+     * @param <U>          The type of the second entity in the relationship.
+     * @param relationship The relationship to link the entities in.
+     * @param entityOne    The first entity in the relationship.
+     * @param entityTwo    The second entity in the relationship.
+     * @return This change set.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> RelationshipChangeSet link(@NonNull ManyToManyRelationship<T, U> relationship, @NonNull T entityOne, @NonNull U entityTwo) {
+        return linkManyToMany(entityOne, entityTwo, relationship.getEntitiesTwoFromOne(), relationship.addInternalEntityTwoToOne(),
+                relationship.addInternalEntityOneToTwo(), relationship.removeInternalEntityTwoFromOne(), relationship.removeInternalEntityOneFromTwo());
+    }
+
+    /**
+     * Records the removal of a many-to-many link between two entities.
+     *
+     * @param <T>          The type of the first entity in the relationship.
+     * @param <U>          The type of the second entity in the relationship.
+     * @param relationship The relationship to unlink the entities from.
+     * @param entityOne    The first entity in the relationship.
+     * @param entityTwo    The second entity in the relationship.
+     * @return This change set.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public <T, U> RelationshipChangeSet unlink(@NonNull ManyToManyRelationship<T, U> relationship, @NonNull T entityOne, @NonNull U entityTwo) {
+        return unlinkManyToMany(entityOne, entityTwo, relationship.getEntitiesTwoFromOne(), relationship.addInternalEntityTwoToOne(),
+                relationship.addInternalEntityOneToTwo(), relationship.removeInternalEntityTwoFromOne(), relationship.removeInternalEntityOneFromTwo());
+    }
+
+    /**
+     * Returns the number of operations that will be applied on commit, after coalescing.
+     *
+     * @return The number of pending operations.
+     */
+    public int size() {
+        return pending;
+    }
+
+    /**
+     * Returns whether there is no operation to apply.
+     *
+     * @return {@code true} if committing would not change anything.
+     */
+    public boolean isEmpty() {
+        return pending == 0;
+    }
+
+    /**
+     * Applies the pending operations in order and clears the change set. If an operation throws, every
+     * change made by this commit is rolled back in reverse order before the exception is rethrown; failures
+     * of the rollback itself are attached to it as suppressed exceptions. The change set is cleared in both
+     * cases.
+     *
+     * @throws RuntimeException the exception thrown by the failed operation.
+     */
+    public void commit() {
+        List<Operation> batch = new ArrayList<>(pending);
+        for (Operation operation : operations) {
+            if (operation != null) {
+                batch.add(operation);
+            }
+        }
+        discard();
+
+        Deque<Runnable> inverses = new ArrayDeque<>(batch.size());
+        try {
+            for (Operation operation : batch) {
+                inverses.push(operation.capture());
+                operation.apply();
+            }
+        } catch (RuntimeException | Error e) {
+            while (!inverses.isEmpty()) {
+                try {
+                    inverses.pop().run();
+                } catch (RuntimeException | Error rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops every pending operation without applying it.
+     */
+    public void discard() {
+        operations.clear();
+        lastOperations.clear();
+        lastScopes.clear();
+        pending = 0;
+    }
+
+    private RelationshipChangeSet add(Operation operation) {
+        Key key = operation.key();
+        Integer lastIndex = lastOperations.get(key);
+        Operation last = lastIndex == null ? null : operations.get(lastIndex);
+
+        Key scope = operation.scope();
+        if (last != null) {
+            if (lastIndex.equals(lastScopes.get(scope)) && last.isSameAs(operation)) {
+                return this;
+            }
+
+            Operation merged = last.mergeWith(operation);
+            if (merged != null) {
+                operations.set(lastIndex, null);
+                pending--;
+                operation = merged;
+            }
+        }
+
+        lastOperations.put(key, operations.size());
+        lastScopes.put(scope, operations.size());
+        operations.add(operation);
+        pending++;
+        return this;
+    }
+
+    private static void publish(RelationshipEvent.Type type, RelationshipEvent.Kind kind, Object entityOne, Object entityTwo) {
+        RelationshipEventBus bus = BidirectionalHelper.getEventBus();
+        if (bus != null && entityOne != null && entityTwo != null) {
+            bus.publish(type, kind, entityOne, entityTwo);
+        }
+    }
+
+    /**
+     * A recorded operation.
+     */
+    private interface Operation {
+        /**
+         * Returns the key grouping the operations that may be coalesced with this one.
+         */
+        Key key();
+
+        /**
+         * Returns the key grouping the operations that may change the state this one leaves, so that it is only
+         * repeated by a later operation if no operation of the same scope was recorded in between.
+         */
+        Key scope();
+
+        /**
+         * Returns whether the given operation, recorded right after this one on the same scope, is redundant.
+         */
+        boolean isSameAs(Operation next);
+
+        /**
+         * Returns the single operation replacing this one followed by the given one, or {@code null} if both
+         * must be kept.
+         */
+        Operation mergeWith(Operation next);
+
+        /**
+         * Captures the state this operation is about to change and returns the operation restoring it.
+         */
+        Runnable capture();
+
+        /**
+         * Applies the operation.
+         */
+        void apply();
+    }
+
+    /**
+     * An identity-based key made of a relationship and up to two entities.
+     */
+    private static final class Key {
+        private final Object relationship;
+        private final Object first;
+        private final Object second;
+
+        private Key(Object relationship, Object first, Object second) {
+            this.relationship = relationship;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && relationship == key.relationship && first == key.first && second == key.second;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(relationship) + System.identityHashCode(first)) + System.identityHashCode(second);
+        }
+    }
+
+    /**
+     * A singular link or unlink.
+     */
+    private static final class SingularOperation<T, U> implements Operation {
+        private final boolean link;
+        private final T entityOne;
+        private final U entityTwo;
+        private final Function<T, U> getCurrentEntityTwoFromOne;
+        private final Function<U, T> getCurrentEntityOneFromTwo;
+        private final BiConsumer<T, U> setInternalEntityTwoToOne;
+        private final BiConsumer<U, T> setInternalEntityOneToTwo;
+
+        private SingularOperation(boolean link, T entityOne, U entityTwo,
+                                  Function<T, U> getCurrentEntityTwoFromOne, Function<U, T> getCurrentEntityOneFromTwo,
+                                  BiConsumer<T, U> setInternalEntityTwoToOne, BiConsumer<U, T> setInternalEntityOneToTwo) {
+            this.link = link;
+            this.entityOne = entityOne;
+            this.entityTwo = entityTwo;
+            this.getCurrentEntityTwoFromOne = getCurrentEntityTwoFromOne;
+            this.getCurrentEntityOneFromTwo = getCurrentEntityOneFromTwo;
+            this.setInternalEntityTwoToOne = setInternalEntityTwoToOne;
+            this.setInternalEntityOneToTwo = setInternalEntityOneToTwo;
+        }
+
+        @Override
+        public Key key() {
+            return new Key(setInternalEntityTwoToOne, entityOne, null);
+        }
+
+        @Override
+        public Key scope() {
+            return new Key(setInternalEntityTwoToOne, null, null);
+        }
+
+        @Override
+        public boolean isSameAs(Operation next) {
+            return next instanceof SingularOperation<?, ?> operation && operation.link == link && operation.entityTwo == entityTwo;
+        }
+
+        @Override
+        public Operation mergeWith(Operation next) {
+            return null;
+        }
+
+        @Override
+        public Runnable capture() {
+            U previousEntityTwo = getCurrentEntityTwoFromOne.apply(entityOne);
+            T previousEntityOneOfPrevious = previousEntityTwo == null ? null : getCurrentEntityOneFromTwo.apply(previousEntityTwo);
+            T previousEntityOneOfTwo = entityTwo == null ? null : getCurrentEntityOneFromTwo.apply(entityTwo);
+
+            return () -> {
+                U currentEntityTwo = getCurrentEntityTwoFromOne.apply(entityOne);
+                if (entityTwo != null) {
+                    setInternalEntityOneToTwo.accept(entityTwo, previousEntityOneOfTwo);
+                }
+                if (previousEntityTwo != null) {
+                    setInternalEntityOneToTwo.accept(previousEntityTwo, previousEntityOneOfPrevious);
+                }
+                setInternalEntityTwoToOne.accept(entityOne, previousEntityTwo);
+
+                if (currentEntityTwo != previousEntityTwo) {
+                    publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.SINGULAR, entityOne, currentEntityTwo);
+                    publish(RelationshipEvent.Type.LINK, RelationshipEvent.Kind.SINGULAR, entityOne, previousEntityTwo);
+                }
+            };
+        }
+
+        @Override
+        public void apply() {
+            if (link) {
+                BidirectionalHelper.linkSingular(entityOne, entityTwo, getCurrentEntityTwoFromOne,
+                        setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+            } else {
+                BidirectionalHelper.unLinkSingular(entityOne, getCurrentEntityTwoFromOne,
+                        setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+            }
+        }
+    }
+
+    /**
+     * A one-to-many or many-to-one operation, seen from the owner holding the collection.
+     */
+    private static final class OwnershipOperation<O, C> implements Operation {
+        private static final int LINK = 0;
+        private static final int UNLINK = 1;
+        private static final int DETACH = 2;
+
+        private final int kind;
+        private final boolean manyToOne;
+        private final O owner;
+        private final C child;
+        private final BiConsumer<O, C> addChild;
+        private final BiConsumer<O, C> removeChild;
+        private final Function<C, O> getOwner;
+        private final BiConsumer<C, O> setOwner;
+
+        private OwnershipOperation(int kind, boolean manyToOne, O owner, C child,
+                                   BiConsumer<O, C> addChild, BiConsumer<O, C> removeChild,
+                                   Function<C, O> getOwner, BiConsumer<C, O> setOwner) {
+            this.kind = kind;
+            this.manyToOne = manyToOne;
+            this.owner = owner;
+            this.child = child;
+            this.addChild = addChild;
+            this.removeChild = removeChild;
+            this.getOwner = getOwner;
+            this.setOwner = setOwner;
+        }
+
+        @Override
+        public Key key() {
+            return new Key(setOwner, child, null);
+        }
+
+        @Override
+        public Key scope() {
+            return key();
+        }
+
+        @Override
+        public boolean isSameAs(Operation next) {
+            return next instanceof OwnershipOperation<?, ?> operation && operation.kind == kind && operation.owner == owner;
+        }
+
+        @Override
+        public Operation mergeWith(Operation next) {
+            OwnershipOperation<?, ?> operation = (OwnershipOperation<?, ?>) next;
+            if (operation.kind == LINK || operation.kind == DETACH) {
+                return next;
+            }
+            if (kind == LINK && operation.owner == owner) {
+                return new OwnershipOperation<>(DETACH, manyToOne, null, child, addChild, removeChild, getOwner, setOwner);
+            }
+            return null;
+        }
+
+        @Override
+        public Runnable capture() {
+            O previousOwner = getOwner.apply(child);
+
+            return () -> {
+                O currentOwner = getOwner.apply(child);
+                restore(previousOwner);
+
+                if (currentOwner != previousOwner) {
+                    publish(RelationshipEvent.Type.UNLINK, currentOwner);
+                    publish(RelationshipEvent.Type.LINK, previousOwner);
+                }
+            };
+        }
+
+        private void restore(O previousOwner) {
+            if (kind == LINK) {
+                removeChild.accept(owner, child);
+            } else if (kind == UNLINK && previousOwner != owner) {
+                setOwner.accept(child, previousOwner);
+                return;
+            }
+            if (previousOwner != null) {
+                addChild.accept(previousOwner, child);
+            }
+            setOwner.accept(child, previousOwner);
+        }
+
+        /**
+         * Publishes a compensating event the way {@link #apply()} publishes its changes, that is, with the
+         * kind of the helper operation it calls.
+         */
+        private void publish(RelationshipEvent.Type type, O eventOwner) {
+            if (manyToOne && kind != UNLINK) {
+                RelationshipChangeSet.publish(type, RelationshipEvent.Kind.MANY_TO_ONE, child, eventOwner);
+            } else {
+                RelationshipChangeSet.publish(type, RelationshipEvent.Kind.ONE_TO_MANY, eventOwner, child);
+            }
+        }
+
+        @Override
+        public void apply() {
+            if (kind == LINK) {
+                if (manyToOne) {
+                    BidirectionalHelper.linkManyToOne(child, owner, addChild, removeChild, getOwner, setOwner);
+                } else {
+                    BidirectionalHelper.linkOneToMany(owner, child, addChild, removeChild, getOwner, setOwner);
+                }
+            } else if (kind == UNLINK) {
+                BidirectionalHelper.unlinkOneToMany(owner, child, removeChild, getOwner, setOwner);
+            } else if (manyToOne) {
+                BidirectionalHelper.unlinkManyToOne(child, getOwner, removeChild, setOwner);
+            } else {
+                O currentOwner = getOwner.apply(child);
+                if (currentOwner != null) {
+                    BidirectionalHelper.unlinkOneToMany(currentOwner, child, removeChild, getOwner, setOwner);
+                }
+            }
+        }
+    }
+
+    /**
+     * A many-to-many link or unlink.
+     */
+    private static final class ManyToManyOperation<T, U> implements Operation {
+        private final boolean link;
+        private final T entityOne;
+        private final U entityTwo;
+        private final Function<T, Collection<U>> getEntitiesTwoFromOne;
+        private final BiConsumer<T, U> addInternalEntityTwoToOne;
+        private final BiConsumer<U, T> addInternalEntityOneToTwo;
+        private final BiConsumer<T, U> removeInternalEntityTwoFromOne;
+        private final BiConsumer<U, T> removeInternalEntityOneFromTwo;
+
+        private ManyToManyOperation(boolean link, T entityOne, U entityTwo,
+                                    Function<T, Collection<U>> getEntitiesTwoFromOne,
+                                    BiConsumer<T, U> addInternalEntityTwoToOne, BiConsumer<U, T> addInternalEntityOneToTwo,
+                                    BiConsumer<T, U> removeInternalEntityTwoFromOne, BiConsumer<U, T> removeInternalEntityOneFromTwo) {
+            this.link = link;
+            this.entityOne = entityOne;
+            this.entityTwo = entityTwo;
+            this.getEntitiesTwoFromOne = getEntitiesTwoFromOne;
+            this.addInternalEntityTwoToOne = addInternalEntityTwoToOne;
+            this.addInternalEntityOneToTwo = addInternalEntityOneToTwo;
+            this.removeInternalEntityTwoFromOne = removeInternalEntityTwoFromOne;
+            this.removeInternalEntityOneFromTwo = removeInternalEntityOneFromTwo;
+        }
+
+        @Override
+        public Key key() {
+            return new Key(addInternalEntityTwoToOne, entityOne, entityTwo);
+        }
+
+        @Override
+        public Key scope() {
+            return key();
+        }
+
+        @Override
+        public boolean isSameAs(Operation next) {
+            return next instanceof ManyToManyOperation<?, ?> operation && operation.link == link;
+        }
+
+        @Override
+        public Operation mergeWith(Operation next) {
+            return next;
+        }
+
+        @Override
+        public Runnable capture() {
+            if (isLinked() == link) {
+                return () -> {
+                };
+            }
+
+            return () -> {
+                if (link) {
+                    BidirectionalHelper.unlinkManyToMany(entityOne, entityTwo, getEntitiesTwoFromOne,
+                            removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo);
+                } else {
+                    BidirectionalHelper.linkManyToMany(entityOne, entityTwo, getEntitiesTwoFromOne,
+                            addInternalEntityTwoToOne, addInternalEntityOneToTwo);
+                }
+            };
+        }
+
+        /**
+         * Links or unlinks the pair, unless it already is in the requested state, so that collections allowing
+         * duplicates never hold the pair twice.
+         */
+        @Override
+        public void apply() {
+            if (link) {
+                BidirectionalHelper.linkManyToMany(entityOne, entityTwo, getEntitiesTwoFromOne,
+                        addInternalEntityTwoToOne, addInternalEntityOneToTwo);
+            } else {
+                BidirectionalHelper.unlinkManyToMany(entityOne, entityTwo, getEntitiesTwoFromOne,
+                        removeInternalEntityTwoFromOne, removeInternalEntityOneFromTwo);
+            }
+        }
+
+        private boolean isLinked() {
+            return getEntitiesTwoFromOne.apply(entityOne).contains(entityTwo);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * <strong>RelationshipEvent</strong>
+ *
+ * <p> Describes a link or unlink made by one of the linkers. The entities are given in the order of the
+ * parameters of the linker method that made the change, so for a many-to-one relationship entityOne is the
+ * entity linked to only one entity and entityTwo the entity holding the collection.
+ *
+ * @see RelationshipEventBus
+ */
+@Getter
+public final class RelationshipEvent {
+    private final Type type;
+    private final Kind kind;
+    private final Object entityOne;
+    private final Object entityTwo;
+
+    /**
+     * Creates an event.
+     *
+     * @param type      Whether the entities were linked or unlinked.
+     * @param kind      The kind of the relationship.
+     * @param entityOne The first entity in the relationship.
+     * @param entityTwo The second entity in the relationship.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public RelationshipEvent(@NonNull Type type, @NonNull Kind kind, @NonNull Object entityOne, @NonNull Object entityTwo) {
+        this.type = type;
+        this.kind = kind;
+        this.entityOne = entityOne;
+        this.entityTwo = entityTwo;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + kind + " " + entityOne + " -> " + entityTwo;
+    }
+
+    /**
+     * The change made to the relationship.
+     */
+    public enum Type {
+        /**
+         * The entities were linked.
+         */
+        LINK,
+        /**
+         * The entities were unlinked.
+         */
+        UNLINK
+    }
+
+    /**
+     * The kind of the relationship, one per linker.
+     */
+    public enum Kind {
+        /**
+         * A one-to-one relationship, changed by {@link SingularLinker}.
+         */
+        SINGULAR,
+        /**
+         * A one-to-many relationship, changed by {@link OneToManyLinker}.
+         */
+        ONE_TO_MANY,
+        /**
+         * A many-to-one relationship, changed by {@link ManyToOneLinker}.
+         */
+        MANY_TO_ONE,
+        /**
+         * A many-to-many relationship, changed by {@link ManyToManyLinker}.
+         */
+        MANY_TO_MANY
+    }
+}
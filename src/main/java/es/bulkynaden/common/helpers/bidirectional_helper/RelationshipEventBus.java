@@ -0,0 +1,310 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <strong>RelationshipEventBus</strong>
+ *
+ * <p> Delivers the links and unlinks made by the linkers to {@link IRelationshipListener}s, asynchronously and
+ * in batches. A linker publishes to a bus once it is given one with {@code setEventBus}, and
+ * {@link BidirectionalHelper#setEventBus(RelationshipEventBus)} does so for the linkers of the helper.
+ *
+ * <p> Published events are stored in a bounded lock-free ring buffer that any number of threads can publish to.
+ * A single daemon thread drains the buffer in batches of up to {@code batchSize} events and hands each batch
+ * to every listener, so a mutating thread only pays for storing the event. When the buffer is full, the
+ * {@link OverflowPolicy} of the bus decides whether the publishing thread waits for room or the event is
+ * dropped and counted.
+ *
+ * <p> Listeners run on the delivery thread; anything thrown by a listener, errors included, is passed to the
+ * uncaught exception handler of that thread and does not stop the delivery to the other listeners or of the
+ * later batches. With {@link OverflowPolicy#BLOCK},
+ * listeners must not link or unlink through linkers publishing to the same bus, as they could wait for room
+ * that only they can make.
+ */
+public class RelationshipEventBus implements AutoCloseable {
+    /**
+     * The default number of events the buffer can hold.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+    /**
+     * The default maximum number of events delivered to the listeners at once.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int SPINS = 64;
+
+    @Getter
+    private final int capacity;
+    @Getter
+    private final int batchSize;
+    @Getter
+    private final OverflowPolicy overflowPolicy;
+
+    private final RelationshipEvent[] events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+    private final List<IRelationshipListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedCount = new LongAdder();
+    private final Thread deliveryThread;
+
+    @Getter
+    private volatile long deliveredCount;
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    /**
+     * Creates a bus with the default capacity and batch size, blocking publishers when it is full.
+     */
+    public RelationshipEventBus() {
+        this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Creates a bus and starts its delivery thread.
+     *
+     * @param capacity       The number of events the buffer can hold, rounded up to a power of two.
+     * @param batchSize      The maximum number of events delivered to the listeners at once.
+     * @param overflowPolicy What to do with an event published while the buffer is full.
+     * @throws NullPointerException     if the overflow policy is null.
+     * @throws IllegalArgumentException if the capacity or the batch size is not positive, or the capacity exceeds 2^30.
+     */
+    public RelationshipEventBus(int capacity, int batchSize, @NonNull OverflowPolicy overflowPolicy) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity must be between 1 and 2^30: " + capacity);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.events = new RelationshipEvent[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        this.mask = this.capacity - 1;
+
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+
+        deliveryThread = new Thread(this::deliver, "relationship-event-bus");
+        deliveryThread.setDaemon(true);
+        deliveryThread.start();
+    }
+
+    /**
+     * Registers a listener for the events published from now on.
+     *
+     * @param listener The listener to register.
+     * @throws NullPointerException if the listener is null.
+     */
+    public void subscribe(@NonNull IRelationshipListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The listener to unregister.
+     * @return {@code true} if the listener was registered.
+     */
+    public boolean unsubscribe(IRelationshipListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Publishes an event.
+     *
+     * @param event The event to publish.
+     * @return {@code true} if the event was stored, {@code false} if it was dropped because the buffer was full
+     * or the bus is closed.
+     * @throws NullPointerException  if the event is null.
+     * @throws IllegalStateException if the buffer is full and the delivery thread has stopped, so that waiting
+     *                               for room with {@link OverflowPolicy#BLOCK} would never end.
+     */
+    public boolean publish(@NonNull RelationshipEvent event) {
+        if (closed) {
+            droppedCount.increment();
+            return false;
+        }
+
+        int spins = 0;
+        while (!offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP || closed) {
+                droppedCount.increment();
+                return false;
+            }
+            if (++spins < SPINS) {
+                Thread.onSpinWait();
+            } else if (deliveryThread.isAlive()) {
+                LockSupport.parkNanos(1_000);
+            } else {
+                droppedCount.increment();
+                throw new IllegalStateException("The delivery thread of the bus has stopped");
+            }
+        }
+
+        if (idle) {
+            LockSupport.unpark(deliveryThread);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of events stored so far, delivered or not.
+     *
+     * @return The number of published events.
+     */
+    public long getPublishedCount() {
+        return tail.get();
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full or the bus was closed.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Waits until every event published before this call has been delivered to the listeners.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        long target = tail.get();
+        while (deliveredCount < target && deliveryThread.isAlive()) {
+            LockSupport.unpark(deliveryThread);
+            LockSupport.parkNanos(10_000);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting events, delivers the events already stored and waits for the delivery thread to stop.
+     * Events published concurrently with this call may be neither delivered nor counted as dropped. If the
+     * calling thread is interrupted while waiting, this method returns early with the interrupt status set,
+     * and the delivery thread finishes on its own.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(deliveryThread);
+        try {
+            deliveryThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void publish(RelationshipEvent.Type type, RelationshipEvent.Kind kind, Object entityOne, Object entityTwo) {
+        publish(new RelationshipEvent(type, kind, entityOne, entityTwo));
+    }
+
+    private boolean offer(RelationshipEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events[index] = event;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void deliver() {
+        List<RelationshipEvent> batch = new ArrayList<>(Math.min(batchSize, capacity));
+        List<RelationshipEvent> view = Collections.unmodifiableList(batch);
+        long head = 0;
+
+        while (true) {
+            while (batch.size() < batchSize) {
+                int index = (int) head & mask;
+                if (sequences.getAcquire(index) != head + 1) {
+                    break;
+                }
+                batch.add(events[index]);
+                events[index] = null;
+                sequences.setRelease(index, head + capacity);
+                head++;
+            }
+
+            if (!batch.isEmpty()) {
+                for (IRelationshipListener listener : listeners) {
+                    try {
+                        listener.onEvents(view);
+                    } catch (Throwable e) {
+                        report(e);
+                    }
+                }
+                batch.clear();
+                deliveredCount = head;
+                continue;
+            }
+
+            if (closed && head == tail.get()) {
+                return;
+            }
+
+            idle = true;
+            if (sequences.get((int) head & mask) != head + 1 && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+    }
+
+    /**
+     * Passes a failure of a listener to the uncaught exception handler of the delivery thread. A failure of
+     * the handler itself is ignored, so that it cannot stop the delivery either.
+     */
+    private static void report(Throwable failure) {
+        Thread thread = Thread.currentThread();
+        try {
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+        } catch (Throwable ignored) {
+            // Nothing is left to report to.
+        }
+    }
+
+    /**
+     * What to do with an event published while the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The publishing thread waits until the delivery thread makes room.
+         */
+        BLOCK,
+        /**
+         * The event is dropped and counted in {@link #getDroppedCount()}.
+         */
+        DROP
+    }
+}
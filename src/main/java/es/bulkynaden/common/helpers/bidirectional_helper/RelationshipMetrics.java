@@ -0,0 +1,178 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <strong>RelationshipMetrics</strong>
+ *
+ * <p> An in-process registry of the metrics of the operations of {@link BidirectionalHelper}, with one
+ * {@link OperationMetrics} per relationship kind and operation, recording the number of calls, a histogram of
+ * their latency and a histogram of the number of links changed by each call.
+ *
+ * <p> Metrics are disabled unless the JVM is started with the {@value #ENABLED_PROPERTY} system property set to
+ * {@code true}. The registry of the helper is held in a {@code static final} field that is {@code null} when
+ * metrics are disabled, so the JIT compiler removes the instrumentation entirely, including the calls to
+ * {@link System#nanoTime()}.
+ *
+ * @see BidirectionalHelper#getMetrics()
+ */
+public final class RelationshipMetrics {
+    /**
+     * The system property enabling the metrics of {@link BidirectionalHelper}.
+     */
+    public static final String ENABLED_PROPERTY = "es.bulkynaden.common.bidirectional.metrics";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] QUANTILES = {"0.5", "0.9", "0.99", "0.999"};
+
+    private final OperationMetrics[][] metrics;
+
+    /**
+     * Creates an empty registry.
+     */
+    public RelationshipMetrics() {
+        RelationshipEvent.Kind[] kinds = RelationshipEvent.Kind.values();
+        Operation[] operations = Operation.values();
+        metrics = new OperationMetrics[kinds.length][operations.length];
+
+        for (RelationshipEvent.Kind kind : kinds) {
+            for (Operation operation : operations) {
+                metrics[kind.ordinal()][operation.ordinal()] = new OperationMetrics(kind, operation);
+            }
+        }
+    }
+
+    /**
+     * Returns the metrics of an operation on a kind of relationship.
+     *
+     * @param kind      The kind of the relationship.
+     * @param operation The operation.
+     * @return The metrics of the operation.
+     */
+    public OperationMetrics get(RelationshipEvent.Kind kind, Operation operation) {
+        return metrics[kind.ordinal()][operation.ordinal()];
+    }
+
+    /**
+     * Returns the metrics of every operation that was called at least once.
+     *
+     * @return The metrics, ordered by relationship kind and operation.
+     */
+    public List<OperationMetrics> getAll() {
+        List<OperationMetrics> all = new ArrayList<>();
+        for (OperationMetrics[] byKind : metrics) {
+            for (OperationMetrics operationMetrics : byKind) {
+                if (operationMetrics.getCount() > 0) {
+                    all.add(operationMetrics);
+                }
+            }
+        }
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Forgets every recorded call.
+     */
+    public void reset() {
+        for (OperationMetrics[] byKind : metrics) {
+            for (OperationMetrics operationMetrics : byKind) {
+                operationMetrics.reset();
+            }
+        }
+    }
+
+    /**
+     * Renders the metrics of every operation that was called at least once in the Prometheus text exposition
+     * format, version 0.0.4: a call counter, a latency summary in nanoseconds with its percentiles, sum and
+     * count, the maximum latency and a counter of changed links. Each metric family is preceded by its
+     * {@code # HELP} and {@code # TYPE} lines, and families without samples are omitted.
+     *
+     * @return The metrics as text, one line per comment or sample.
+     */
+    public String scrape() {
+        List<OperationMetrics> all = getAll();
+        if (all.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder();
+
+        family(builder, "bidirectional_operations_total", "counter", "Calls of the operation.");
+        for (OperationMetrics operationMetrics : all) {
+            sample(builder, "bidirectional_operations_total", labels(operationMetrics), operationMetrics.getCount());
+        }
+
+        family(builder, "bidirectional_operation_latency_nanos", "summary", "Latency of the operation in nanoseconds.");
+        for (OperationMetrics operationMetrics : all) {
+            String labels = labels(operationMetrics);
+            Histogram latency = operationMetrics.getLatencyNanos();
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                sample(builder, "bidirectional_operation_latency_nanos", labels + ",quantile=\"" + QUANTILES[i] + "\"",
+                        latency.getValueAtPercentile(PERCENTILES[i]));
+            }
+            sample(builder, "bidirectional_operation_latency_nanos_sum", labels, latency.getSum());
+            sample(builder, "bidirectional_operation_latency_nanos_count", labels, latency.getCount());
+        }
+
+        family(builder, "bidirectional_operation_latency_nanos_max", "gauge",
+                "Maximum latency of the operation in nanoseconds.");
+        for (OperationMetrics operationMetrics : all) {
+            sample(builder, "bidirectional_operation_latency_nanos_max", labels(operationMetrics),
+                    operationMetrics.getLatencyNanos().getMax());
+        }
+
+        family(builder, "bidirectional_operation_links_total", "counter", "Links changed by the operation.");
+        for (OperationMetrics operationMetrics : all) {
+            sample(builder, "bidirectional_operation_links_total", labels(operationMetrics),
+                    operationMetrics.getLinks().getSum());
+        }
+        return builder.toString();
+    }
+
+    private static String labels(OperationMetrics operationMetrics) {
+        return "kind=\"" + operationMetrics.getKind().name().toLowerCase(Locale.ROOT)
+                + "\",operation=\"" + operationMetrics.getOperation().name().toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    private static void family(StringBuilder builder, String name, String type, String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder builder, String name, String labels, long value) {
+        builder.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    static RelationshipMetrics fromSystemProperty() {
+        return Boolean.getBoolean(ENABLED_PROPERTY) ? new RelationshipMetrics() : null;
+    }
+
+    void record(RelationshipEvent.Kind kind, Operation operation, long startNanos, long linkCount) {
+        metrics[kind.ordinal()][operation.ordinal()].record(startNanos, linkCount);
+    }
+
+    /**
+     * The operations of {@link BidirectionalHelper}.
+     */
+    public enum Operation {
+        /**
+         * The link of a pair of entities.
+         */
+        LINK,
+        /**
+         * The unlink of a pair of entities.
+         */
+        UNLINK,
+        /**
+         * The link of an entity to a collection of entities.
+         */
+        LINK_ALL,
+        /**
+         * The unlink of an entity from a collection of entities.
+         */
+        UNLINK_ALL
+    }
+}
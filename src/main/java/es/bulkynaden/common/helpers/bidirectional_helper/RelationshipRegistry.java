@@ -0,0 +1,217 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.NonNull;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * <strong>RelationshipRegistry</strong>
+ *
+ * <p> Indexes a one-to-many relationship in both directions, by entity identity. The registry knows the
+ * owner of every child and the children of every owner, so looking up the owner of a child, adding or
+ * removing a child and listing the children of an owner take constant time, whatever collection the
+ * entities themselves use.
+ *
+ * <p> The registry can be used in two ways with {@link OneToManyLinker} and {@link ManyToOneLinker}:
+ * <ul>
+ *     <li>As the storage of the relationship, passing {@code registry::add}, {@code registry::remove},
+ *     {@code registry::getOwner} and {@code registry::setOwner} as the four functions of the linker.
+ *     Entities then expose {@link #getChildren(Object)} instead of keeping a collection of their own.</li>
+ *     <li>As an index alongside the entity fields, wrapping the setter passed to the linker with
+ *     {@link #tracking(BiConsumer)}. Every link and unlink made by the linkers goes through the setter,
+ *     so the registry follows them and answers {@code getOwner} and {@code getChildren} queries without
+ *     walking the entity collections.</li>
+ * </ul>
+ *
+ * <p> Like the linkers, this class is not thread-safe.
+ *
+ * @param <O> The type of the entity owning multiple entities.
+ * @param <C> The type of the entities owned by a single entity.
+ */
+public class RelationshipRegistry<O, C> {
+    private final Map<C, O> owners = new IdentityHashMap<>();
+    private final Map<O, Set<C>> children = new IdentityHashMap<>();
+
+    /**
+     * Returns the owner of a child.
+     *
+     * @param child The child entity.
+     * @return The owner of the child, or {@code null} if it has none.
+     * @throws NullPointerException if the child is null.
+     */
+    public O getOwner(@NonNull C child) {
+        return owners.get(child);
+    }
+
+    /**
+     * Returns the children of an owner as an unmodifiable view that follows later changes, including when
+     * the owner has no children yet or loses all of them. The view looks the owner up on every access, so
+     * it does not keep the owner in the registry.
+     *
+     * @param owner The owner entity.
+     * @return The children of the owner, empty while it has none.
+     * @throws NullPointerException if the owner is null.
+     */
+    public Set<C> getChildren(@NonNull O owner) {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<C> iterator() {
+                Set<C> ownedChildren = children.get(owner);
+                return ownedChildren == null ? Collections.emptyIterator() : Collections.unmodifiableSet(ownedChildren).iterator();
+            }
+
+            @Override
+            public int size() {
+                return getChildCount(owner);
+            }
+
+            @Override
+            public boolean contains(Object child) {
+                return child != null && owners.get(child) == owner;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of children of an owner.
+     *
+     * @param owner The owner entity.
+     * @return The number of children of the owner.
+     * @throws NullPointerException if the owner is null.
+     */
+    public int getChildCount(@NonNull O owner) {
+        Set<C> ownedChildren = children.get(owner);
+        return ownedChildren == null ? 0 : ownedChildren.size();
+    }
+
+    /**
+     * Returns whether a child is owned by the given owner.
+     *
+     * @param owner The owner entity.
+     * @param child The child entity.
+     * @return {@code true} if the owner of the child is that very owner.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public boolean contains(@NonNull O owner, @NonNull C child) {
+        return owners.get(child) == owner;
+    }
+
+    /**
+     * Returns the number of children with an owner.
+     *
+     * @return The number of indexed links.
+     */
+    public int size() {
+        return owners.size();
+    }
+
+    /**
+     * Returns the number of owners with at least one child.
+     *
+     * @return The number of indexed owners.
+     */
+    public int getOwnerCount() {
+        return children.size();
+    }
+
+    /**
+     * Makes the given owner the owner of a child, removing the child from its previous owner. Has the
+     * shape of the adder expected by the linkers.
+     *
+     * @param owner The new owner of the child.
+     * @param child The child entity.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public void add(@NonNull O owner, @NonNull C child) {
+        setOwner(child, owner);
+    }
+
+    /**
+     * Removes a child from the given owner. Nothing happens if the child belongs to another owner. Has the
+     * shape of the remover expected by the linkers.
+     *
+     * @param owner The owner of the child.
+     * @param child The child entity.
+     * @throws NullPointerException if any of the parameters are null.
+     */
+    public void remove(@NonNull O owner, @NonNull C child) {
+        if (owners.get(child) == owner) {
+            setOwner(child, null);
+        }
+    }
+
+    /**
+     * Sets the owner of a child, moving it from the children of its previous owner to the children of the
+     * new one. Has the shape of the setter expected by the linkers.
+     *
+     * @param child The child entity.
+     * @param owner The new owner of the child, or {@code null} to remove it from its owner.
+     * @throws NullPointerException if the child is null.
+     */
+    public void setOwner(@NonNull C child, O owner) {
+        O previousOwner = owner == null ? owners.remove(child) : owners.put(child, owner);
+        if (previousOwner == owner) {
+            return;
+        }
+
+        if (previousOwner != null) {
+            Set<C> previousChildren = children.get(previousOwner);
+            previousChildren.remove(child);
+            if (previousChildren.isEmpty()) {
+                children.remove(previousOwner);
+            }
+        }
+
+        if (owner != null) {
+            children.computeIfAbsent(owner, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(child);
+        }
+    }
+
+    /**
+     * Removes every child of an owner.
+     *
+     * @param owner The owner entity.
+     * @return The children that were removed, empty if the owner had none.
+     * @throws NullPointerException if the owner is null.
+     */
+    public Set<C> removeOwner(@NonNull O owner) {
+        Set<C> ownedChildren = children.remove(owner);
+        if (ownedChildren == null) {
+            return Collections.emptySet();
+        }
+
+        for (C child : ownedChildren) {
+            owners.remove(child);
+        }
+        return ownedChildren;
+    }
+
+    /**
+     * Removes every link from the registry.
+     */
+    public void clear() {
+        owners.clear();
+        children.clear();
+    }
+
+    /**
+     * Wraps the setter of an entity so that every owner change made through it is also recorded in this
+     * registry. The returned consumer is meant to be passed to the linkers in place of the setter.
+     *
+     * @param setInternalOwnerToChild A consumer that sets the owner within the child.
+     * @return A consumer calling the setter and then updating the registry.
+     * @throws NullPointerException if the setter is null.
+     */
+    public BiConsumer<C, O> tracking(@NonNull BiConsumer<C, O> setInternalOwnerToChild) {
+        return (child, owner) -> {
+            setInternalOwnerToChild.accept(child, owner);
+            setOwner(child, owner);
+        };
+    }
+}
@@ -1,6 +1,8 @@
 package es.bulkynaden.common.helpers.bidirectional_helper;
 
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -22,11 +24,18 @@ import java.util.function.Function;
  * @since 2023-11-19
  */
 public class SingularLinker {
+    /**
+     * The bus the links and unlinks made by this linker are published to, or {@code null} to publish nothing.
+     */
+    @Getter
+    @Setter
+    private volatile RelationshipEventBus eventBus;
 
     /**
      * Establishes a singular bidirectional link between two entities. This method ensures
      * that each entity in the pair is only linked to one other entity, forming a one-to-one relationship.
      * It automatically unlinks any existing relationship before establishing the new one.
+     * Relinking entities that are already linked publishes nothing.
      *
      * @param <T>                        The type of the first entity in the relationship.
      * @param <U>                        The type of the second entity in the relationship.
@@ -35,12 +44,13 @@ public class SingularLinker {
      * @param getCurrentEntityTwoFromOne A function to retrieve the current entity of type U linked to entityOne.
      * @param setInternalEntityTwoToOne  A consumer that sets entityTwo within entityOne.
      * @param setInternalEntityOneToTwo  A consumer that sets entityOne within entityTwo.
+     * @return 1 if the entities were not linked yet, 0 otherwise.
      * @throws NullPointerException if any of the non-nullable parameters are null.
      */
-    public <T, U> void link(@NonNull T entityOne, @NonNull U entityTwo,
-                            Function<T, U> getCurrentEntityTwoFromOne,
-                            BiConsumer<T, U> setInternalEntityTwoToOne,
-                            BiConsumer<U, T> setInternalEntityOneToTwo) {
+    public <T, U> int link(@NonNull T entityOne, @NonNull U entityTwo,
+                           Function<T, U> getCurrentEntityTwoFromOne,
+                           BiConsumer<T, U> setInternalEntityTwoToOne,
+                           BiConsumer<U, T> setInternalEntityOneToTwo) {
         U currentEntityTwo = getCurrentEntityTwoFromOne.apply(entityOne);
 
         if (currentEntityTwo != null) {
@@ -49,6 +59,15 @@ public class SingularLinker {
 
         setInternalEntityTwoToOne.accept(entityOne, entityTwo);
         setInternalEntityOneToTwo.accept(entityTwo, entityOne);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null && currentEntityTwo != entityTwo) {
+            if (currentEntityTwo != null) {
+                bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.SINGULAR, entityOne, currentEntityTwo);
+            }
+            bus.publish(RelationshipEvent.Type.LINK, RelationshipEvent.Kind.SINGULAR, entityOne, entityTwo);
+        }
+        return currentEntityTwo == entityTwo ? 0 : 1;
     }
 
     /**
@@ -62,17 +81,26 @@ public class SingularLinker {
      * @param getCurrentEntityTwoFromOne A function to retrieve the current entity of type U linked to entityOne.
      * @param setInternalEntityTwoToOne  A consumer that removes the link to entityTwo within entityOne.
      * @param setInternalEntityOneToTwo  A consumer that removes the link to entityOne within entityTwo.
+     * @return 1 if entityOne was linked, 0 otherwise.
      * @throws NullPointerException if any of the non-nullable parameters are null.
      */
-    public <T, U> void unlink(@NonNull T entityOne,
-                              Function<T, U> getCurrentEntityTwoFromOne,
-                              BiConsumer<T, U> setInternalEntityTwoToOne,
-                              BiConsumer<U, T> setInternalEntityOneToTwo) {
+    public <T, U> int unlink(@NonNull T entityOne,
+                             Function<T, U> getCurrentEntityTwoFromOne,
+                             BiConsumer<T, U> setInternalEntityTwoToOne,
+                             BiConsumer<U, T> setInternalEntityOneToTwo) {
+        U currentEntity = getCurrentEntityTwoFromOne.apply(entityOne);
         setInternalEntityTwoToOne.accept(entityOne, null);
 
-        U currentEntity = getCurrentEntityTwoFromOne.apply(entityOne);
-        if (currentEntity != null) {
-            setInternalEntityOneToTwo.accept(currentEntity, null);
+        if (currentEntity == null) {
+            return 0;
+        }
+
+        setInternalEntityOneToTwo.accept(currentEntity, null);
+
+        RelationshipEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(RelationshipEvent.Type.UNLINK, RelationshipEvent.Kind.SINGULAR, entityOne, currentEntity);
         }
+        return 1;
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import lombok.NonNull;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <strong>SingularRelationship</strong>
+ *
+ * <p> Describes a singular (one-to-one) bidirectional relationship, linked and unlinked through
+ * {@link BidirectionalHelper#linkSingular} and {@link BidirectionalHelper#unLinkSingular}.
+ *
+ * @param <T>                        The type of the first entity in the relationship.
+ * @param <U>                        The type of the second entity in the relationship.
+ * @param getCurrentEntityTwoFromOne A function to retrieve the current entity of type U linked to entityOne.
+ * @param getCurrentEntityOneFromTwo A function to retrieve the current entity of type T linked to entityTwo.
+ * @param setInternalEntityTwoToOne  A consumer that sets entityTwo within entityOne.
+ * @param setInternalEntityOneToTwo  A consumer that sets entityOne within entityTwo.
+ */
+public record SingularRelationship<T, U>(@NonNull Function<T, U> getCurrentEntityTwoFromOne,
+                                         @NonNull Function<U, T> getCurrentEntityOneFromTwo,
+                                         @NonNull BiConsumer<T, U> setInternalEntityTwoToOne,
+                                         @NonNull BiConsumer<U, T> setInternalEntityOneToTwo) implements IRelationship<T, U> {
+    @Override
+    public void link(@NonNull T entityOne, @NonNull U entityTwo) {
+        BidirectionalHelper.linkSingular(entityOne, entityTwo, getCurrentEntityTwoFromOne,
+                setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+    }
+
+    @Override
+    public void unlink(@NonNull T entityOne, @NonNull U entityTwo) {
+        if (getCurrentEntityTwoFromOne.apply(entityOne) == entityTwo) {
+            unlink(entityOne);
+        }
+    }
+
+    /**
+     * Breaks the singular link of an entity, whichever entity it is linked to.
+     *
+     * @param entityOne The first entity in the relationship.
+     * @throws NullPointerException if the entity is null.
+     */
+    public void unlink(@NonNull T entityOne) {
+        BidirectionalHelper.unLinkSingular(entityOne, getCurrentEntityTwoFromOne,
+                setInternalEntityTwoToOne, setInternalEntityOneToTwo);
+    }
+}
@@ -0,0 +1,212 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * <strong>StripedLocks</strong>
+ *
+ * <p> Maps entities to a fixed set of locks by identity, so that operations touching the same entities
+ * exclude each other while operations on unrelated entities proceed in parallel. Many entities share each
+ * lock, which keeps memory constant regardless of the size of the object graph.
+ *
+ * <p> Every acquisition takes the stripes of all the involved entities in ascending stripe order, and
+ * takes each stripe once, so two operations can never wait for each other in a cycle. Sharing one instance
+ * between several linkers extends that guarantee across relationships.
+ */
+public final class StripedLocks {
+    /**
+     * The default number of stripes: four per available processor, rounded up to a power of two.
+     */
+    public static final int DEFAULT_STRIPES = ceilingPowerOfTwo(4 * Runtime.getRuntime().availableProcessors());
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * Creates a lock set with {@link #DEFAULT_STRIPES} stripes.
+     */
+    public StripedLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a lock set with at least the given number of stripes, rounded up to a power of two.
+     *
+     * @param stripes The minimum number of stripes.
+     * @throws IllegalArgumentException if the number of stripes is not positive.
+     */
+    public StripedLocks(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("The number of stripes must be positive");
+        }
+
+        locks = new ReentrantLock[ceilingPowerOfTwo(stripes)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        mask = locks.length - 1;
+    }
+
+    /**
+     * Returns the number of stripes.
+     *
+     * @return The number of stripes.
+     */
+    public int getStripes() {
+        return locks.length;
+    }
+
+    /**
+     * Returns the stripe guarding the given entity.
+     *
+     * @param entity The entity.
+     * @return The index of the stripe.
+     */
+    public int stripeOf(Object entity) {
+        int hash = System.identityHashCode(entity);
+        hash ^= hash >>> 16;
+        hash *= 0x45D9F3B;
+        hash ^= hash >>> 16;
+        return hash & mask;
+    }
+
+    /**
+     * Locks the stripes of the given entities, ignoring null entities.
+     *
+     * @param entities The entities to guard.
+     * @return A guard releasing the stripes when closed.
+     */
+    public Guard lock(Object... entities) {
+        int[] stripes = new int[entities.length];
+        int count = 0;
+        for (Object entity : entities) {
+            if (entity != null) {
+                stripes[count++] = stripeOf(entity);
+            }
+        }
+        return acquire(stripes, count);
+    }
+
+    /**
+     * Locks the stripes of the given entity and of every entity of the given groups, ignoring null entities.
+     *
+     * @param entity The entity to guard.
+     * @param groups The groups of entities to guard.
+     * @return A guard releasing the stripes when closed.
+     */
+    public Guard lockAll(Object entity, Collection<?>... groups) {
+        int size = 1;
+        for (Collection<?> group : groups) {
+            size += group.size();
+        }
+
+        int[] stripes = new int[Math.min(size, locks.length + 1)];
+        boolean[] seen = new boolean[locks.length];
+        int count = 0;
+        if (entity != null) {
+            int stripe = stripeOf(entity);
+            seen[stripe] = true;
+            stripes[count++] = stripe;
+        }
+        for (Collection<?> group : groups) {
+            for (Object member : group) {
+                if (member != null) {
+                    int stripe = stripeOf(member);
+                    if (!seen[stripe]) {
+                        seen[stripe] = true;
+                        stripes[count++] = stripe;
+                    }
+                }
+            }
+        }
+        return acquire(stripes, count);
+    }
+
+    private Guard acquire(int[] stripes, int count) {
+        Arrays.sort(stripes, 0, count);
+
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || stripes[unique - 1] != stripes[i]) {
+                stripes[unique++] = stripes[i];
+            }
+        }
+
+        int locked = 0;
+        try {
+            for (; locked < unique; locked++) {
+                locks[stripes[locked]].lock();
+            }
+        } catch (RuntimeException | Error e) {
+            release(stripes, locked);
+            throw e;
+        }
+        return new Guard(stripes, unique);
+    }
+
+    private void release(int[] stripes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    /**
+     * Returns the entity currently linked to each entity of the batch, to be locked along with the batch.
+     */
+    static <T, U> List<U> currentEntities(List<T> batch, Function<T, U> getCurrentEntity) {
+        List<U> currentEntities = new ArrayList<>(batch.size());
+        for (T entity : batch) {
+            currentEntities.add(getCurrentEntity.apply(entity));
+        }
+        return currentEntities;
+    }
+
+    /**
+     * Returns whether each entity of the batch is still linked to the same instance as in the snapshot.
+     */
+    static <T, U> boolean isUnchanged(List<T> batch, Function<T, U> getCurrentEntity, List<U> snapshot) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (getCurrentEntity.apply(batch.get(i)) != snapshot.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * <strong>Guard</strong>
+     *
+     * <p> Holds a set of stripes until it is closed. A guard must be closed by the thread that acquired it,
+     * and only once.
+     */
+    public final class Guard implements AutoCloseable {
+        private final int[] stripes;
+        private final int count;
+        private boolean closed;
+
+        private Guard(int[] stripes, int count) {
+            this.stripes = stripes;
+            this.count = count;
+        }
+
+        /**
+         * Releases the stripes, in the reverse order of their acquisition.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(stripes, count);
+            }
+        }
+    }
+}
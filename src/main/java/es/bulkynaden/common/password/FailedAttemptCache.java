@@ -0,0 +1,225 @@
+package es.bulkynaden.common.password;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code FailedAttemptCache} class remembers recently failed verifications, so that brute-force traffic can
+ * be rejected without running the expensive key derivation again.
+ *
+ * <p>The cache answers two questions:</p>
+ * <ul>
+ *     <li>whether the same password already failed against the same hash, in which case the verification is
+ *     known to fail again;</li>
+ *     <li>whether a hash has failed {@code maxFailures} verifications or more within the expiry time, in which
+ *     case failed verifications against it are reported as throttled until the failures expire.</li>
+ * </ul>
+ *
+ * <p>Passwords are never stored: attempts are identified by an HMAC of the hash and the password, keyed with a
+ * random key that lives only in this cache. Both maps are bounded and evict their least recently used entries
+ * first. All methods are thread-safe.</p>
+ *
+ * @see PasswordVerifier
+ */
+public final class FailedAttemptCache {
+    /**
+     * The default maximum number of entries of each map.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    /**
+     * The default number of failures after which a hash is throttled.
+     */
+    public static final int DEFAULT_MAX_FAILURES = 10;
+    /**
+     * The default time after which failures are forgotten, in seconds.
+     */
+    public static final long DEFAULT_EXPIRY_SECONDS = 300;
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    @Getter
+    private final int maxEntries;
+    @Getter
+    private final int maxFailures;
+    @Getter
+    private final long expiryNanos;
+    private final SecretKeySpec key;
+    private final Map<ByteBuffer, Long> attempts;
+    private final Map<String, Failures> failures;
+
+    /**
+     * Creates a cache with {@value #DEFAULT_MAX_ENTRIES} entries, throttling after
+     * {@value #DEFAULT_MAX_FAILURES} failures and forgetting them after {@value #DEFAULT_EXPIRY_SECONDS} seconds.
+     */
+    public FailedAttemptCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_FAILURES, DEFAULT_EXPIRY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries  the maximum number of remembered attempts, and of remembered hashes
+     * @param maxFailures the number of failures within the expiry time after which a hash is throttled
+     * @param expiry      the time after which failures are forgotten
+     * @param unit        the unit of the expiry time
+     * @throws IllegalArgumentException if any of the numbers is not positive
+     */
+    public FailedAttemptCache(int maxEntries, int maxFailures, long expiry, @NonNull TimeUnit unit) {
+        if (maxEntries <= 0 || maxFailures <= 0 || expiry <= 0) {
+            throw new IllegalArgumentException("Max entries, max failures and expiry must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxFailures = maxFailures;
+        this.expiryNanos = unit.toNanos(expiry);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, MAC_ALGORITHM);
+        this.attempts = new BoundedMap<>(maxEntries);
+        this.failures = new BoundedMap<>(maxEntries);
+    }
+
+    /**
+     * Returns whether the given password recently failed against the given hash.
+     *
+     * @param password the password; it is not modified
+     * @param encoded  the encoded hash
+     * @return {@code true} if the same attempt failed within the expiry time
+     */
+    public boolean isKnownFailure(@NonNull char[] password, @NonNull String encoded) {
+        ByteBuffer attempt = attemptOf(password, encoded);
+        long now = System.nanoTime();
+        synchronized (attempts) {
+            Long expiresAt = attempts.get(attempt);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt - now <= 0) {
+                attempts.remove(attempt);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns whether the given hash has failed too many verifications within the expiry time.
+     *
+     * @param encoded the encoded hash
+     * @return {@code true} if verifications against the hash should be throttled
+     */
+    public boolean isThrottled(@NonNull String encoded) {
+        long now = System.nanoTime();
+        synchronized (failures) {
+            Failures entry = failures.get(encoded);
+            if (entry == null) {
+                return false;
+            }
+            if (now - entry.windowStart >= expiryNanos) {
+                failures.remove(encoded);
+                return false;
+            }
+            return entry.count >= maxFailures;
+        }
+    }
+
+    /**
+     * Records a failed verification of the given password against the given hash.
+     *
+     * @param password the password; it is not modified
+     * @param encoded  the encoded hash
+     */
+    public void recordFailure(@NonNull char[] password, @NonNull String encoded) {
+        ByteBuffer attempt = attemptOf(password, encoded);
+        long now = System.nanoTime();
+        synchronized (attempts) {
+            attempts.put(attempt, now + expiryNanos);
+        }
+        synchronized (failures) {
+            Failures entry = failures.get(encoded);
+            if (entry == null || now - entry.windowStart >= expiryNanos) {
+                failures.put(encoded, new Failures(now));
+            } else {
+                entry.count++;
+            }
+        }
+    }
+
+    /**
+     * Forgets the failures of the given hash, typically after a successful verification.
+     *
+     * @param encoded the encoded hash
+     */
+    public void clearFailures(@NonNull String encoded) {
+        synchronized (failures) {
+            failures.remove(encoded);
+        }
+    }
+
+    /**
+     * Forgets every remembered attempt and hash.
+     */
+    public void clear() {
+        synchronized (attempts) {
+            attempts.clear();
+        }
+        synchronized (failures) {
+            failures.clear();
+        }
+    }
+
+    private ByteBuffer attemptOf(char[] password, String encoded) {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            mac.update(encoded.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(bytes.duplicate());
+            return ByteBuffer.wrap(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Attempt digest algorithm not available: " + MAC_ALGORITHM, e);
+        } finally {
+            if (bytes.hasArray()) {
+                Arrays.fill(bytes.array(), (byte) 0);
+            }
+        }
+    }
+
+    private static final class Failures {
+        private final long windowStart;
+        private int count = 1;
+
+        private Failures(long windowStart) {
+            this.windowStart = windowStart;
+        }
+    }
+
+    private static final class BoundedMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        private BoundedMap(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package es.bulkynaden.common.password;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Base64;
+
+/**
+ * The {@code PasswordHash} class is a parsed password hash in a self-describing format, in the manner of the
+ * PHC string format: {@code $<algorithm>$i=<iterations>$<salt>$<hash>}, the salt and the hash being encoded in
+ * Base64 without padding. Since every hash carries its own parameters, hashes made with older parameters keep
+ * verifying after the parameters are raised, and can be detected and upgraded on the next successful login.
+ *
+ * <p>Since the parameters of a stored hash decide how much work a verification does, {@link #parse(String)}
+ * rejects iteration counts above {@value #MAX_ITERATIONS} and salts or keys longer than
+ * {@value #MAX_SALT_LENGTH} and {@value #MAX_KEY_LENGTH} bytes, so that a tampered hash cannot make a single
+ * verification take arbitrarily long.</p>
+ *
+ * @see PasswordHasher
+ */
+public final class PasswordHash {
+    /**
+     * The maximum number of iterations of a hash.
+     */
+    public static final int MAX_ITERATIONS = 10_000_000;
+    /**
+     * The maximum salt length of a hash, in bytes.
+     */
+    public static final int MAX_SALT_LENGTH = 64;
+    /**
+     * The maximum derived key length of a hash, in bytes.
+     */
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    @Getter
+    private final PasswordHasher.Algorithm algorithm;
+    @Getter
+    private final int iterations;
+    private final byte[] salt;
+    private final byte[] hash;
+
+    PasswordHash(PasswordHasher.Algorithm algorithm, int iterations, byte[] salt, byte[] hash) {
+        this.algorithm = algorithm;
+        this.iterations = iterations;
+        this.salt = salt;
+        this.hash = hash;
+    }
+
+    /**
+     * Parses an encoded hash.
+     *
+     * @param encoded the encoded hash
+     * @return the parsed hash
+     * @throws IllegalArgumentException if the hash is malformed, its algorithm is not supported or its parameters
+     *                                  exceed the maximums of this class
+     */
+    public static PasswordHash parse(@NonNull String encoded) {
+        String[] parts = encoded.split("\\$", -1);
+        if (parts.length != 5 || !parts[0].isEmpty() || !parts[2].startsWith("i=")
+                || parts[3].length() > encodedLength(MAX_SALT_LENGTH) || parts[4].length() > encodedLength(MAX_KEY_LENGTH)) {
+            throw new IllegalArgumentException("Malformed password hash");
+        }
+
+        PasswordHasher.Algorithm algorithm = PasswordHasher.Algorithm.fromId(parts[1]);
+        try {
+            int iterations = Integer.parseInt(parts[2].substring(2));
+            byte[] salt = DECODER.decode(parts[3]);
+            byte[] hash = DECODER.decode(parts[4]);
+            if (iterations <= 0 || iterations > MAX_ITERATIONS || salt.length == 0 || salt.length > MAX_SALT_LENGTH
+                    || hash.length == 0 || hash.length > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException("Malformed password hash");
+            }
+            return new PasswordHash(algorithm, iterations, salt, hash);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed password hash", e);
+        }
+    }
+
+    /**
+     * Returns whether the given string looks like an encoded hash, without validating it.
+     *
+     * @param value the string to test
+     * @return {@code true} if the string starts like an encoded hash
+     */
+    public static boolean isEncoded(String value) {
+        return value != null && value.startsWith("$") && value.indexOf('$', 1) > 0;
+    }
+
+    /**
+     * Returns the encoded form of this hash.
+     *
+     * @return the encoded hash
+     */
+    public String encode() {
+        return "$" + algorithm.getId() + "$i=" + iterations + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+    }
+
+    /**
+     * Returns a copy of the salt.
+     *
+     * @return the salt
+     */
+    public byte[] getSalt() {
+        return salt.clone();
+    }
+
+    /**
+     * Returns a copy of the derived key.
+     *
+     * @return the derived key
+     */
+    public byte[] getHash() {
+        return hash.clone();
+    }
+
+    /**
+     * Returns the salt length, in bytes, without copying the salt.
+     *
+     * @return the salt length
+     */
+    public int getSaltLength() {
+        return salt.length;
+    }
+
+    /**
+     * Returns the derived key length, in bytes, without copying the key.
+     *
+     * @return the derived key length
+     */
+    public int getKeyLength() {
+        return hash.length;
+    }
+
+    /**
+     * Returns whether the given key matches the derived key of this hash, in a time that does not depend on the
+     * contents of the keys.
+     *
+     * @param derived the key derived from a candidate password
+     * @return {@code true} if both keys are equal
+     */
+    boolean matches(byte[] derived) {
+        return PasswordHasher.constantTimeEquals(derived, hash);
+    }
+
+    /**
+     * Returns the number of Base64 characters, without padding, encoding the given number of bytes.
+     */
+    private static int encodedLength(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    /**
+     * Returns the algorithm and parameters of this hash, without the salt and the derived key.
+     *
+     * @return a description of this hash
+     */
+    @Override
+    public String toString() {
+        return "$" + algorithm.getId() + "$i=" + iterations;
+    }
+}
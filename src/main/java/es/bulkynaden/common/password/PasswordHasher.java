@@ -0,0 +1,220 @@
+package es.bulkynaden.common.password;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * The {@code PasswordHasher} class hashes passwords with PBKDF2 from the JDK and verifies them against hashes
+ * in the {@link PasswordHash} format. A hasher is immutable and can be shared between threads.
+ *
+ * <p>New hashes are made with the algorithm, iteration count, salt length and key length of the hasher.
+ * Verification uses the parameters stored in each hash, and {@link #needsRehash(String)} tells whether a hash
+ * was made with weaker parameters than the current ones, so that it can be replaced after the next successful
+ * verification.</p>
+ *
+ * @see PasswordVerifier
+ */
+@Getter
+public final class PasswordHasher {
+    /**
+     * The default number of iterations of PBKDF2 with HMAC-SHA-256, as recommended by OWASP.
+     */
+    public static final int DEFAULT_ITERATIONS = 600_000;
+    /**
+     * The default salt length in bytes.
+     */
+    public static final int DEFAULT_SALT_LENGTH = 16;
+    /**
+     * The default derived key length in bytes.
+     */
+    public static final int DEFAULT_KEY_LENGTH = 32;
+
+    private static final PasswordHasher DEFAULT = new PasswordHasher(Algorithm.PBKDF2_SHA256, DEFAULT_ITERATIONS,
+            DEFAULT_SALT_LENGTH, DEFAULT_KEY_LENGTH);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Algorithm algorithm;
+    private final int iterations;
+    private final int saltLength;
+    private final int keyLength;
+
+    /**
+     * Creates a hasher.
+     *
+     * @param algorithm  the algorithm of new hashes
+     * @param iterations the number of iterations of new hashes
+     * @param saltLength the salt length of new hashes, in bytes
+     * @param keyLength  the derived key length of new hashes, in bytes
+     * @throws IllegalArgumentException if any of the numbers is not positive or exceeds the matching maximum of
+     *                                  {@link PasswordHash}
+     */
+    public PasswordHasher(@NonNull Algorithm algorithm, int iterations, int saltLength, int keyLength) {
+        if (iterations <= 0 || saltLength <= 0 || keyLength <= 0) {
+            throw new IllegalArgumentException("Iterations, salt length and key length must be positive");
+        }
+        if (iterations > PasswordHash.MAX_ITERATIONS || saltLength > PasswordHash.MAX_SALT_LENGTH
+                || keyLength > PasswordHash.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Iterations, salt length or key length exceeds the maximum of PasswordHash");
+        }
+        this.algorithm = algorithm;
+        this.iterations = iterations;
+        this.saltLength = saltLength;
+        this.keyLength = keyLength;
+    }
+
+    /**
+     * Returns the hasher with the default parameters: PBKDF2 with HMAC-SHA-256, {@value #DEFAULT_ITERATIONS}
+     * iterations, a {@value #DEFAULT_SALT_LENGTH}-byte salt and a {@value #DEFAULT_KEY_LENGTH}-byte key.
+     *
+     * @return the default hasher
+     */
+    public static PasswordHasher getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password the password; it is not modified
+     * @return the encoded hash
+     */
+    public String hash(@NonNull char[] password) {
+        byte[] salt = new byte[saltLength];
+        RANDOM.nextBytes(salt);
+        return new PasswordHash(algorithm, iterations, salt, derive(algorithm, password, salt, iterations, keyLength)).encode();
+    }
+
+    /**
+     * Verifies a password against an encoded hash, with the parameters stored in the hash.
+     *
+     * @param password the password; it is not modified
+     * @param encoded  the encoded hash, or {@code null}
+     * @return {@code true} if the password matches the hash, {@code false} if it does not or if there is no hash
+     * @throws IllegalArgumentException if the hash is malformed
+     */
+    public boolean verify(@NonNull char[] password, String encoded) {
+        if (encoded == null) {
+            return false;
+        }
+
+        PasswordHash hash = PasswordHash.parse(encoded);
+        byte[] derived = derive(hash.getAlgorithm(), password, hash.getSalt(), hash.getIterations(), hash.getKeyLength());
+        return hash.matches(derived);
+    }
+
+    /**
+     * Returns whether an encoded hash was made with other parameters than the ones of this hasher, or is not a
+     * hash at all, and should therefore be replaced by a new hash of the same password.
+     *
+     * @param encoded the encoded hash, or {@code null}
+     * @return {@code true} if the hash should be replaced
+     */
+    public boolean needsRehash(String encoded) {
+        if (!PasswordHash.isEncoded(encoded)) {
+            return true;
+        }
+
+        try {
+            PasswordHash hash = PasswordHash.parse(encoded);
+            return hash.getAlgorithm() != algorithm
+                    || hash.getIterations() < iterations
+                    || hash.getSaltLength() < saltLength
+                    || hash.getKeyLength() < keyLength;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Compares two arrays in a time that depends only on their lengths, not on their contents, so that the
+     * comparison does not reveal how many leading bytes match.
+     *
+     * @param a the first array
+     * @param b the second array
+     * @return {@code true} if both arrays have the same length and contents
+     */
+    public static boolean constantTimeEquals(@NonNull byte[] a, @NonNull byte[] b) {
+        int length = Math.max(a.length, b.length);
+        int difference = a.length ^ b.length;
+        for (int i = 0; i < length; i++) {
+            difference |= (i < a.length ? a[i] : 0) ^ (i < b.length ? b[i] : 0);
+        }
+        return difference == 0;
+    }
+
+    private static byte[] derive(Algorithm algorithm, char[] password, byte[] salt, int iterations, int keyLength) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength * Byte.SIZE);
+        try {
+            return SecretKeyFactory.getInstance(algorithm.getJcaName()).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Password hashing algorithm not available: " + algorithm.getJcaName(), e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * The supported hashing algorithms, with their identifier in encoded hashes and their JCA name.
+     */
+    public enum Algorithm {
+        /**
+         * PBKDF2 with HMAC-SHA-1, the weakest of the three, mostly found in older hashes.
+         */
+        PBKDF2_SHA1("pbkdf2-sha1", "PBKDF2WithHmacSHA1"),
+        /**
+         * PBKDF2 with HMAC-SHA-256, the algorithm of the default hasher.
+         */
+        PBKDF2_SHA256("pbkdf2-sha256", "PBKDF2WithHmacSHA256"),
+        /**
+         * PBKDF2 with HMAC-SHA-512.
+         */
+        PBKDF2_SHA512("pbkdf2-sha512", "PBKDF2WithHmacSHA512");
+
+        private final String id;
+        private final String jcaName;
+
+        Algorithm(String id, String jcaName) {
+            this.id = id;
+            this.jcaName = jcaName;
+        }
+
+        /**
+         * Returns the identifier of this algorithm in encoded hashes.
+         *
+         * @return the identifier
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Returns the JCA name of this algorithm, as given to {@link SecretKeyFactory#getInstance(String)}.
+         *
+         * @return the JCA name
+         */
+        public String getJcaName() {
+            return jcaName;
+        }
+
+        /**
+         * Returns the algorithm with the given identifier.
+         *
+         * @param id the identifier, as found in encoded hashes
+         * @return the algorithm
+         * @throws IllegalArgumentException if no algorithm has that identifier
+         */
+        public static Algorithm fromId(String id) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.id.equals(id)) {
+                    return algorithm;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported password hashing algorithm: " + id);
+        }
+    }
+}
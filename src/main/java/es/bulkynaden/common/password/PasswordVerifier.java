@@ -0,0 +1,266 @@
+package es.bulkynaden.common.password;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code PasswordVerifier} class verifies passwords against encoded hashes through a bounded pipeline, so
+ * that a burst of logins cannot take every CPU, and cheap rejections are made before any key derivation.
+ *
+ * <p>Each verification goes through the following stages:</p>
+ * <ol>
+ *     <li>if the same password recently failed against the same hash, the result is
+ *     {@link VerificationResult#INVALID}, or {@link VerificationResult#THROTTLED} if the hash is throttled,
+ *     without hashing;</li>
+ *     <li>if {@code maxPending} verifications are already in flight, the result is
+ *     {@link VerificationResult#OVERLOADED};</li>
+ *     <li>otherwise the password is hashed on the executor, with at most {@code maxConcurrency} derivations
+ *     running at once, and the failure cache is updated with the outcome. A wrong password against a hash
+ *     throttled by the {@link FailedAttemptCache} is reported as {@link VerificationResult#THROTTLED} rather
+ *     than {@link VerificationResult#INVALID}.</li>
+ * </ol>
+ *
+ * <p>Throttling is keyed by hash only, since the verifier knows nothing of where attempts come from. A
+ * throttled hash therefore still has the password derived, and the correct password is let through: otherwise
+ * anyone could lock the owner of a hash out by failing on purpose. The trade-off is that throttling does not
+ * save derivations for new guesses; those remain bounded by the concurrency limits, repeated guesses are still
+ * rejected by the failure cache, and callers that know the source of an attempt can add their own delay or
+ * challenge once they see {@link VerificationResult#THROTTLED}.</p>
+ *
+ * <p>By default the derivations run on a pool owned by the verifier, with one daemon thread per derivation
+ * slot, which is shut down by {@link #close()}. An external executor can be given instead. Tasks block on a
+ * semaphore while waiting for a derivation slot, so an executor whose threads are cheap to block, such as a
+ * virtual-thread-per-task executor, suits it best; with a fixed pool, the pool size should not be smaller than
+ * {@code maxConcurrency}. An external executor is never shut down by the verifier.</p>
+ *
+ * @see PasswordHasher
+ * @see FailedAttemptCache
+ */
+public final class PasswordVerifier implements AutoCloseable {
+    /**
+     * The default maximum number of verifications waiting or running, per derivation slot.
+     */
+    public static final int DEFAULT_PENDING_PER_SLOT = 16;
+
+    @Getter
+    private final PasswordHasher hasher;
+    @Getter
+    private final FailedAttemptCache failedAttempts;
+    @Getter
+    private final Executor executor;
+    @Getter
+    private final int maxConcurrency;
+    @Getter
+    private final int maxPending;
+    private final Semaphore slots;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Creates a verifier with the default hasher, a default failure cache, one derivation slot per available
+     * processor and {@value #DEFAULT_PENDING_PER_SLOT} pending verifications per slot, running the derivations on
+     * a pool of its own.
+     */
+    public PasswordVerifier() {
+        this(PasswordHasher.getDefault(), new FailedAttemptCache(), Runtime.getRuntime().availableProcessors(),
+                Runtime.getRuntime().availableProcessors() * DEFAULT_PENDING_PER_SLOT);
+    }
+
+    /**
+     * Creates a verifier running the derivations on a pool of its own, with one thread per derivation slot.
+     *
+     * @param hasher         the hasher deriving keys and deciding whether hashes need to be replaced
+     * @param failedAttempts the cache of recently failed attempts
+     * @param maxConcurrency the maximum number of derivations running at once
+     * @param maxPending     the maximum number of verifications waiting or running
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive or {@code maxPending} is smaller
+     *                                  than {@code maxConcurrency}
+     */
+    public PasswordVerifier(@NonNull PasswordHasher hasher, @NonNull FailedAttemptCache failedAttempts,
+                            int maxConcurrency, int maxPending) {
+        this(hasher, failedAttempts, newPool(maxConcurrency, maxPending), maxConcurrency, maxPending, true);
+    }
+
+    /**
+     * Creates a verifier.
+     *
+     * @param hasher         the hasher deriving keys and deciding whether hashes need to be replaced
+     * @param failedAttempts the cache of recently failed attempts
+     * @param executor       the executor running the derivations
+     * @param maxConcurrency the maximum number of derivations running at once
+     * @param maxPending     the maximum number of verifications waiting or running
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive or {@code maxPending} is smaller
+     *                                  than {@code maxConcurrency}
+     */
+    public PasswordVerifier(@NonNull PasswordHasher hasher, @NonNull FailedAttemptCache failedAttempts,
+                            @NonNull Executor executor, int maxConcurrency, int maxPending) {
+        this(hasher, failedAttempts, executor, maxConcurrency, maxPending, false);
+    }
+
+    private PasswordVerifier(PasswordHasher hasher, FailedAttemptCache failedAttempts, Executor executor,
+                             int maxConcurrency, int maxPending, boolean owned) {
+        checkLimits(maxConcurrency, maxPending);
+        this.hasher = hasher;
+        this.failedAttempts = failedAttempts;
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.maxPending = maxPending;
+        this.slots = new Semaphore(maxConcurrency);
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * Verifies a password against an encoded hash on the executor.
+     *
+     * <p>The password is copied before this method returns, so the caller may clear its array right away. The
+     * copy is cleared once the verification ends.</p>
+     *
+     * @param password the password; it is not modified
+     * @param encoded  the encoded hash, or {@code null}
+     * @return a future completed with the result, or completed exceptionally with an
+     * {@link IllegalArgumentException} if the hash is malformed
+     */
+    public CompletableFuture<VerificationResult> verifyAsync(@NonNull char[] password, String encoded) {
+        VerificationResult early = screen(password, encoded);
+        if (early != null) {
+            return CompletableFuture.completedFuture(early);
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            return CompletableFuture.completedFuture(VerificationResult.OVERLOADED);
+        }
+
+        char[] copy = password.clone();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return derive(copy, encoded);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                } finally {
+                    Arrays.fill(copy, '\0');
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            Arrays.fill(copy, '\0');
+            pending.decrementAndGet();
+            return CompletableFuture.completedFuture(VerificationResult.OVERLOADED);
+        }
+    }
+
+    /**
+     * Verifies a password against an encoded hash on the calling thread, within the same concurrency limits as
+     * {@link #verifyAsync(char[], String)}.
+     *
+     * @param password the password; it is not modified
+     * @param encoded  the encoded hash, or {@code null}
+     * @return the result
+     * @throws IllegalArgumentException if the hash is malformed
+     * @throws IllegalStateException    if the thread is interrupted while waiting for a derivation slot; the
+     *                                  interrupt status of the thread is kept
+     */
+    public VerificationResult verify(@NonNull char[] password, String encoded) {
+        VerificationResult early = screen(password, encoded);
+        if (early != null) {
+            return early;
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            return VerificationResult.OVERLOADED;
+        }
+
+        try {
+            return derive(password, encoded);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password derivation slot", e);
+        }
+    }
+
+    /**
+     * Returns the number of verifications currently waiting or running.
+     *
+     * @return the number of pending verifications
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Shuts down the pool owned by this verifier, letting the verifications already submitted finish. Does
+     * nothing if the verifier runs on an external executor. Verifications submitted afterwards are reported as
+     * {@link VerificationResult#OVERLOADED}.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private VerificationResult screen(char[] password, String encoded) {
+        if (encoded == null) {
+            return VerificationResult.INVALID;
+        }
+        if (failedAttempts.isKnownFailure(password, encoded)) {
+            return failedAttempts.isThrottled(encoded) ? VerificationResult.THROTTLED : VerificationResult.INVALID;
+        }
+        return null;
+    }
+
+    /**
+     * Creates the pool of a verifier. Its queue can hold every pending verification, which the verifier bounds
+     * itself, and its daemon threads do not keep the JVM alive if the verifier is never closed.
+     */
+    private static ExecutorService newPool(int maxConcurrency, int maxPending) {
+        checkLimits(maxConcurrency, maxPending);
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxPending), task -> {
+            Thread thread = new Thread(task, "password-verifier-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void checkLimits(int maxConcurrency, int maxPending) {
+        if (maxConcurrency <= 0 || maxPending < maxConcurrency) {
+            throw new IllegalArgumentException("Max concurrency must be positive and not greater than max pending");
+        }
+    }
+
+    /**
+     * Runs a derivation once a slot is free, and releases the pending count taken by the caller.
+     */
+    private VerificationResult derive(char[] password, String encoded) throws InterruptedException {
+        boolean acquired = false;
+        try {
+            slots.acquire();
+            acquired = true;
+            if (hasher.verify(password, encoded)) {
+                failedAttempts.clearFailures(encoded);
+                return hasher.needsRehash(encoded) ? VerificationResult.VALID_NEEDS_REHASH : VerificationResult.VALID;
+            }
+            failedAttempts.recordFailure(password, encoded);
+            return failedAttempts.isThrottled(encoded) ? VerificationResult.THROTTLED : VerificationResult.INVALID;
+        } finally {
+            if (acquired) {
+                slots.release();
+            }
+            pending.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package es.bulkynaden.common.password;
+
+/**
+ * The {@code VerificationResult} enum lists the outcomes of a verification by a {@link PasswordVerifier}.
+ */
+public enum VerificationResult {
+    /**
+     * The password matches the hash.
+     */
+    VALID,
+    /**
+     * The password matches the hash, but the hash was made with weaker parameters and should be replaced.
+     */
+    VALID_NEEDS_REHASH,
+    /**
+     * The password does not match the hash, or there is no hash.
+     */
+    INVALID,
+    /**
+     * The password does not match the hash, which has failed too many verifications recently. Callers may add
+     * a delay or a challenge before the next attempt.
+     */
+    THROTTLED,
+    /**
+     * Too many verifications were in flight, so the password was not checked.
+     */
+    OVERLOADED;
+
+    /**
+     * Returns whether the password matched the hash.
+     *
+     * @return {@code true} for {@link #VALID} and {@link #VALID_NEEDS_REHASH}
+     */
+    public boolean isValid() {
+        return this == VALID || this == VALID_NEEDS_REHASH;
+    }
+}
@@ -0,0 +1,82 @@
+package es.bulkynaden.common;
+
+import es.bulkynaden.common.file.CompressedContent;
+import es.bulkynaden.common.file.DeflateCodec;
+import es.bulkynaden.common.file.FileContents;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileTest {
+
+    @Test
+    void dataIsExposedAsContent() throws IOException {
+        File file = new File();
+        file.setData(new byte[]{1, 2, 3});
+
+        assertArrayEquals(new byte[]{1, 2, 3}, file.getContent().toByteArray());
+        try (InputStream stream = file.openStream()) {
+            assertArrayEquals(new byte[]{1, 2, 3}, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void contentIsReadIntoDataOnDemand() throws IOException {
+        File file = new File();
+        file.setContent(FileContents.of(new byte[]{4, 5}));
+
+        assertEquals(2, file.getSize());
+        assertArrayEquals(new byte[]{4, 5}, file.getData());
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        assertEquals(2, file.transferTo(Channels.newChannel(target)));
+        assertArrayEquals(new byte[]{4, 5}, target.toByteArray());
+    }
+
+    @Test
+    void settingDataReplacesContent() {
+        File file = new File();
+        file.setContent(FileContents.of(new byte[]{4, 5}));
+
+        file.setData(new byte[]{6});
+
+        assertArrayEquals(new byte[]{6}, file.getData());
+        file.setContent(null);
+        assertNull(file.getData());
+        assertEquals(0, file.getSize());
+    }
+
+    @Test
+    void compressedContentIsDecompressedWithoutKeepingTheData() throws IOException {
+        File file = new File();
+        file.setData(new byte[]{7, 7, 7, 7, 7, 7, 7, 7});
+        file.compress(new DeflateCodec());
+
+        byte[] first = file.getData();
+        byte[] second = file.getData();
+
+        assertArrayEquals(new byte[]{7, 7, 7, 7, 7, 7, 7, 7}, first);
+        assertArrayEquals(first, second);
+        assertNotSame(first, second);
+        assertInstanceOf(CompressedContent.class, file.getContent());
+    }
+
+    @Test
+    void emptyFilesStreamNothing() throws IOException {
+        File file = new File();
+
+        try (InputStream stream = file.openStream()) {
+            assertEquals(-1, stream.read());
+        }
+        assertEquals(0, file.transferTo(Channels.newChannel(new ByteArrayOutputStream())));
+    }
+}
@@ -0,0 +1,44 @@
+package es.bulkynaden.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IFullNameHolderTest {
+
+    @Test
+    void joinsFirstAndLastNameWithASpace() {
+        assertEquals("Javier Tomás Acín", person("Javier", "Tomás Acín").getFullName());
+    }
+
+    @Test
+    void omitsMissingNames() {
+        assertEquals("Javier", person("Javier", null).getFullName());
+        assertEquals("Tomás Acín", person(null, "Tomás Acín").getFullName());
+        assertEquals("", person(null, null).getFullName());
+    }
+
+    private static IFullNameHolder person(String firstName, String lastName) {
+        return new IFullNameHolder() {
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public void setFirstName(String firstName) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String getLastName() {
+                return lastName;
+            }
+
+            @Override
+            public void setLastName(String lastName) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
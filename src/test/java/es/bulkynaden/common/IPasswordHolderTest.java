@@ -0,0 +1,50 @@
+package es.bulkynaden.common;
+
+import es.bulkynaden.common.password.FailedAttemptCache;
+import es.bulkynaden.common.password.PasswordHasher;
+import es.bulkynaden.common.password.PasswordVerifier;
+import es.bulkynaden.common.password.VerificationResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IPasswordHolderTest {
+    private static final char[] PASSWORD = "correct horse".toCharArray();
+
+    @Test
+    void verifiesPasswordsAgainstTheHeldHash() {
+        IPasswordHolder holder = holder(IPasswordHolder.hashPassword(PASSWORD));
+
+        assertTrue(holder.verifyPassword(PASSWORD));
+        assertFalse(holder.verifyPassword("wrong".toCharArray()));
+    }
+
+    @Test
+    void clearTextAndMalformedPasswordsNeverVerify() {
+        assertFalse(holder("correct horse").verifyPassword(PASSWORD));
+        assertFalse(holder("$pbkdf2-sha256$i=x$c2FsdA$aGFzaA").verifyPassword(PASSWORD));
+        assertFalse(holder(null).verifyPassword(PASSWORD));
+
+        PasswordHasher hasher = new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA256, 1_000, 16, 32);
+        try (PasswordVerifier verifier = new PasswordVerifier(hasher, new FailedAttemptCache(), 1, 4)) {
+            assertEquals(VerificationResult.INVALID, holder("correct horse").verifyPassword(PASSWORD, verifier));
+            assertEquals(VerificationResult.INVALID, holder("$md5$i=1$c2FsdA$aGFzaA").verifyPassword(PASSWORD, verifier));
+        }
+    }
+
+    private static IPasswordHolder holder(String password) {
+        return new IPasswordHolder() {
+            @Override
+            public String getPassword() {
+                return password;
+            }
+
+            @Override
+            public void setPassword() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package es.bulkynaden.common.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryWriterTest {
+    private static final int[] INTS = {0, 1, 127, 128, 16_383, 16_384, 2_097_151, 2_097_152, Integer.MAX_VALUE, -1};
+    private static final long[] LONGS = {0, 1, 127, 128, 1L << 35, (1L << 49) - 1, Long.MAX_VALUE, -1};
+
+    @Test
+    void varIntSizeMatchesTheEncodedLength() {
+        for (int value : INTS) {
+            assertEquals(new BinaryWriter().writeVarInt(value).size(), BinaryWriter.varIntSize(value), "" + value);
+        }
+        assertEquals(1, BinaryWriter.varIntSize(127));
+        assertEquals(2, BinaryWriter.varIntSize(128));
+        assertEquals(5, BinaryWriter.varIntSize(-1));
+    }
+
+    @Test
+    void varLongSizeMatchesTheEncodedLength() {
+        for (long value : LONGS) {
+            assertEquals(new BinaryWriter().writeVarLong(value).size(), BinaryWriter.varLongSize(value), "" + value);
+        }
+        assertEquals(1, BinaryWriter.varLongSize(0));
+        assertEquals(9, BinaryWriter.varLongSize(Long.MAX_VALUE));
+        assertEquals(10, BinaryWriter.varLongSize(-1));
+    }
+
+    @Test
+    void valuesRoundTrip() {
+        BinaryWriter writer = new BinaryWriter(1);
+        for (int value : INTS) {
+            writer.writeVarInt(value);
+        }
+        for (long value : LONGS) {
+            writer.writeVarLong(value);
+        }
+        writer.writeDouble(-12.5).writeDouble(Double.NaN).writeString("Zaragoza ñ €").writeString(null)
+                .writeString("").writeByte(0xAB);
+
+        BinaryReader reader = new BinaryReader(writer.toByteBuffer());
+        for (int value : INTS) {
+            assertEquals(value, reader.readVarInt());
+        }
+        for (long value : LONGS) {
+            assertEquals(value, reader.readVarLong());
+        }
+        assertEquals(-12.5, reader.readDouble());
+        assertEquals(Double.NaN, reader.readDouble());
+        assertEquals("Zaragoza ñ €", reader.readString());
+        assertNull(reader.readString());
+        assertEquals("", reader.readString());
+        assertEquals(0xAB, reader.readByte());
+    }
+
+    @Test
+    void exactlySizedTargetBufferIsEnough() {
+        BinaryWriter growable = new BinaryWriter();
+        write(growable);
+        int size = growable.size();
+
+        ByteBuffer target = ByteBuffer.allocate(size);
+        BinaryWriter exact = new BinaryWriter(target);
+        write(exact);
+
+        assertEquals(size, exact.size());
+        assertArrayEquals(bytes(growable.toByteBuffer()), bytes(exact.toByteBuffer()));
+    }
+
+    @Test
+    void oneByteShortTargetBufferOverflows() {
+        BinaryWriter growable = new BinaryWriter();
+        write(growable);
+
+        BinaryWriter shortWriter = new BinaryWriter(ByteBuffer.allocate(growable.size() - 1));
+
+        assertThrows(BufferOverflowException.class, () -> write(shortWriter));
+    }
+
+    @Test
+    void singleByteVarIntFitsInTheLastByte() {
+        BinaryWriter writer = new BinaryWriter(ByteBuffer.allocate(9));
+        writer.writeDouble(1).writeVarInt(5);
+
+        assertEquals(9, writer.size());
+        assertThrows(BufferOverflowException.class, () -> writer.writeVarLong(0));
+    }
+
+    @Test
+    void reservedRegionIsFilledInPlace() {
+        BinaryWriter writer = new BinaryWriter(2);
+        writer.writeByte(7);
+        writer.reserve(3).put(new byte[]{1, 2, 3});
+        writer.writeByte(9);
+
+        assertArrayEquals(new byte[]{7, 1, 2, 3, 9}, bytes(writer.toByteBuffer()));
+    }
+
+    private static void write(BinaryWriter writer) {
+        writer.writeVarInt(3).writeString("Huesca").writeVarLong(300).writeDouble(41.65).writeVarInt(0);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
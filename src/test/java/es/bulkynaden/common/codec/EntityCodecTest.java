@@ -0,0 +1,171 @@
+package es.bulkynaden.common.codec;
+
+import es.bulkynaden.common.File;
+import es.bulkynaden.common.IFile;
+import es.bulkynaden.common.IUser;
+import es.bulkynaden.common.geo.City;
+import es.bulkynaden.common.geo.GeoLocation;
+import es.bulkynaden.common.geo.GeographicCoordinates;
+import es.bulkynaden.common.geo.IGeoLocation;
+import es.bulkynaden.common.geo.IGeoLocationHolder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EntityCodecTest {
+    private final EntityCodec codec = EntityCodec.withDefaults(TestUser::new);
+
+    @Test
+    void usersRoundTripWithSharedLocations() {
+        GeoLocation location = location("Calle Mayor 1", "Teruel");
+        TestUser first = user("Ana", "ana@example.com", location);
+        TestUser second = user("Luis", null, location);
+
+        List<IUser> decoded = codec.decodeUsers(codec.encodeUsers(List.of(first, second)));
+
+        assertEquals(2, decoded.size());
+        TestUser ana = (TestUser) decoded.get(0);
+        TestUser luis = (TestUser) decoded.get(1);
+        assertEquals("Ana", ana.getFirstName());
+        assertEquals("ana@example.com", ana.getEmail());
+        assertNull(luis.getEmail());
+        assertSame(ana.getGeoLocation(), luis.getGeoLocation());
+        assertEquals("Calle Mayor 1", ana.getGeoLocation().getAddress());
+        assertEquals("Teruel", ana.getGeoLocation().getCity().getName());
+        assertEquals(40.34, ana.getGeoLocation().getCoordinates().getLatitude());
+    }
+
+    @Test
+    void filesRoundTripWithTheirContent() {
+        File file = new File();
+        file.setName("notes.txt");
+        file.setType("text/plain");
+        file.setData(new byte[]{1, 2, 3, 4, 5});
+
+        EntityWriter writer = codec.newWriter().writeFile(file).writeFile(file);
+        EntityReader reader = codec.newReader(writer.toByteBuffer());
+        IFile decoded = reader.readFile();
+
+        assertEquals("notes.txt", decoded.getName());
+        assertEquals("text/plain", decoded.getType());
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, decoded.getData());
+        assertSame(decoded, reader.readFile());
+    }
+
+    @Test
+    void streamFitsInAnExactlySizedBuffer() {
+        GeoLocation location = location("Plaza del Pilar", "Zaragoza");
+        ByteBuffer encoded = codec.newWriter().writeGeoLocation(location).toByteBuffer();
+
+        ByteBuffer target = ByteBuffer.allocateDirect(encoded.remaining());
+        EntityWriter writer = codec.newWriter(target).writeGeoLocation(location);
+
+        assertEquals(encoded, writer.toByteBuffer());
+        IGeoLocation decoded = codec.newReader(writer.toByteBuffer()).readGeoLocation();
+        assertEquals("Plaza del Pilar", decoded.getAddress());
+        assertEquals("Zaragoza", decoded.getCity().getName());
+
+        ByteBuffer tooSmall = ByteBuffer.allocate(encoded.remaining() - 1);
+        assertThrows(BufferOverflowException.class, () -> codec.newWriter(tooSmall).writeGeoLocation(location));
+    }
+
+    private static GeoLocation location(String address, String cityName) {
+        City city = new City();
+        city.setName(cityName);
+        GeographicCoordinates coordinates = new GeographicCoordinates();
+        coordinates.setLatitude(40.34);
+        coordinates.setLongitude(-1.1);
+        coordinates.setAltitude(915);
+
+        GeoLocation location = new GeoLocation();
+        location.setAddress(address);
+        location.setCity(city);
+        location.setCoordinates(coordinates);
+        return location;
+    }
+
+    private static TestUser user(String firstName, String email, IGeoLocation location) {
+        TestUser user = new TestUser();
+        user.setFirstName(firstName);
+        user.setLastName("García");
+        user.setEmail(email);
+        user.setUserName(firstName.toLowerCase());
+        user.setGeoLocation(location);
+        return user;
+    }
+
+    static class TestUser implements IUser, IGeoLocationHolder {
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String userName;
+        private IGeoLocation geoLocation;
+
+        @Override
+        public String getFirstName() {
+            return firstName;
+        }
+
+        @Override
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        @Override
+        public String getLastName() {
+            return lastName;
+        }
+
+        @Override
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+
+        @Override
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        @Override
+        public String getUserName() {
+            return userName;
+        }
+
+        @Override
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+        @Override
+        public String getPassword() {
+            return null;
+        }
+
+        @Override
+        public void setPassword() {
+        }
+
+        @Override
+        public IGeoLocation getGeoLocation() {
+            return geoLocation;
+        }
+
+        @Override
+        public void setGeoLocation(IGeoLocation geoLocation) {
+            this.geoLocation = geoLocation;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package es.bulkynaden.common.file;
+
+import es.bulkynaden.common.File;
+import es.bulkynaden.common.IFile;
+import es.bulkynaden.common.IFileCollectionHolder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static es.bulkynaden.common.file.FileContentsTest.bytes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlobStoreTest {
+    private static final byte[] DATA = bytes(5_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sameContentSharesOneBlob() throws IOException {
+        BlobStore store = new BlobStore(directory);
+
+        Blob first = store.put(DATA);
+        Blob second = store.put(DATA.clone());
+
+        assertSame(first, second);
+        assertEquals(2, store.getReferenceCount(first.getHash()));
+        assertEquals(1, store.getBlobCount());
+        assertEquals(DATA.length, store.getStoredSize());
+        assertArrayEquals(DATA, first.toByteArray());
+        assertEquals(first.getHash().substring(0, 2), first.getPath().getParent().getFileName().toString());
+    }
+
+    @Test
+    void lastReleaseDeletesTheFileThisStoreWrote() throws IOException {
+        BlobStore store = new BlobStore(directory);
+        Blob blob = store.put(DATA);
+        store.retain(blob);
+
+        store.release(blob);
+        assertTrue(Files.exists(blob.getPath()));
+
+        store.release(blob);
+        assertFalse(Files.exists(blob.getPath()));
+        assertEquals(0, store.getReferenceCount(blob.getHash()));
+        assertThrows(IllegalStateException.class, () -> store.retain(blob));
+    }
+
+    @Test
+    void deduplicateSharesBlobsOnlyAmongFilesKeepingTheirContent() throws IOException {
+        BlobStore store = new BlobStore(directory);
+        File first = new File();
+        first.setData(DATA);
+        File second = new File();
+        second.setData(DATA.clone());
+        AtomicInteger loads = new AtomicInteger();
+        LazyFile lazy = new LazyFile("payload", key -> {
+            loads.incrementAndGet();
+            return DATA.clone();
+        }, new PayloadCache(DATA.length));
+        Holder holder = new Holder();
+        holder.addFile(first);
+        holder.addFile(second);
+        holder.addFile(lazy);
+
+        store.deduplicate(holder);
+
+        assertTrue(first.getContent() instanceof Blob);
+        assertSame(first.getContent(), second.getContent());
+        assertEquals(2, store.getReferenceCount(((Blob) first.getContent()).getHash()));
+        assertFalse(lazy.isContentShareable());
+        assertEquals(0, loads.get());
+        assertFalse(lazy.isLoaded());
+    }
+
+    @Test
+    void blobsLeftByAnotherStoreAreAdoptedButNeverDeleted() throws IOException {
+        Blob written = new BlobStore(directory).put(DATA);
+        BlobStore store = new BlobStore(directory);
+
+        Blob adopted = store.put(DATA);
+        store.release(adopted);
+
+        assertNotSame(written, adopted);
+        assertEquals(written.getPath(), adopted.getPath());
+        assertTrue(Files.exists(adopted.getPath()));
+        assertArrayEquals(DATA, Files.readAllBytes(adopted.getPath()));
+    }
+
+    @Test
+    void blobsOfAnotherStoreAreRejected() throws IOException {
+        Blob foreign = new BlobStore(directory.resolve("other")).put(DATA);
+        BlobStore store = new BlobStore(directory);
+
+        assertThrows(IllegalArgumentException.class, () -> store.retain(foreign));
+        assertThrows(IllegalArgumentException.class, () -> store.release(foreign));
+        assertNotSame(foreign, store.put(foreign));
+    }
+
+    @Test
+    void concurrentPutsAndReleasesKeepCountsConsistent() throws Exception {
+        BlobStore store = new BlobStore(directory);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                byte[] data = bytes(100 + i % 4);
+                tasks.add(() -> {
+                    for (int round = 0; round < 50; round++) {
+                        store.release(store.put(data));
+                    }
+                    store.put(data);
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4, store.getBlobCount());
+        for (int i = 0; i < 4; i++) {
+            Blob blob = store.put(bytes(100 + i));
+            assertEquals(17, store.getReferenceCount(blob.getHash()));
+            assertTrue(Files.exists(blob.getPath()));
+        }
+    }
+
+    private static class Holder implements IFileCollectionHolder {
+        private final List<IFile> files = new ArrayList<>();
+
+        @Override
+        public Collection<IFile> getFiles() {
+            return files;
+        }
+
+        @Override
+        public void addFile(IFile file) {
+            files.add(file);
+        }
+
+        @Override
+        public void removeFile(IFile file) {
+            files.remove(file);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package es.bulkynaden.common.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static es.bulkynaden.common.file.FileContentsTest.bytes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedContentTest {
+    private static final byte[] DATA = bytes(200_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsInMemoryAndOnDisk() throws IOException {
+        DeflateCodec codec = new DeflateCodec();
+        CompressedContent inMemory = CompressedContent.compress(FileContents.of(DATA), codec);
+        CompressedContent onDisk = CompressedContent.compress(FileContents.of(DATA), codec, directory.resolve("data.z"));
+
+        for (CompressedContent content : new CompressedContent[]{inMemory, onDisk}) {
+            assertEquals(DATA.length, content.getSize());
+            assertArrayEquals(DATA, content.toByteArray());
+            assertFalse(content.isRandomAccess());
+        }
+        assertEquals(Files.size(directory.resolve("data.z")), onDisk.getStoredSize());
+        assertSame(inMemory, CompressedContent.compress(inMemory, codec));
+    }
+
+    @Test
+    void readsAtAPosition() throws IOException {
+        CompressedContent content = CompressedContent.compress(FileContents.of(DATA), new DeflateCodec());
+        ByteBuffer heap = ByteBuffer.allocate(100);
+        ByteBuffer direct = ByteBuffer.allocateDirect(100);
+
+        assertEquals(100, content.read(heap, 150_000));
+        assertEquals(50, content.read(direct.limit(50), DATA.length - 50));
+        assertArrayEquals(Arrays.copyOfRange(DATA, 150_000, 150_100), heap.array());
+        assertEquals(-1, content.read(ByteBuffer.allocate(1), DATA.length));
+        assertThrows(IllegalArgumentException.class, () -> content.read(ByteBuffer.allocate(1), -1));
+    }
+
+    @Test
+    void integrityStreamsContentsWithoutRandomAccessOnce() throws IOException {
+        CompressedContent compressed = CompressedContent.compress(FileContents.of(DATA), new DeflateCodec());
+        CountingContent counting = new CountingContent(compressed);
+
+        for (int chunkSize : new int[]{1_000, 65_536, 300_000}) {
+            FileChecksum expected = FileIntegrity.compute(FileContents.of(DATA), chunkSize, ForkJoinPool.commonPool());
+
+            assertEquals(expected, FileIntegrity.compute(counting, chunkSize, ForkJoinPool.commonPool()));
+        }
+        assertEquals(3, counting.streams.get());
+        assertEquals(0, counting.reads.get());
+    }
+
+    @Test
+    void integrityReportsTruncatedStreams() {
+        IFileContent truncated = new CountingContent(FileContents.of(Arrays.copyOf(DATA, 1_000))) {
+            @Override
+            public long getSize() {
+                return DATA.length;
+            }
+        };
+
+        IOException failure = assertThrows(IOException.class,
+                () -> FileIntegrity.compute(truncated, 100, ForkJoinPool.commonPool()));
+        assertTrue(failure.getMessage().contains(String.valueOf(DATA.length)));
+    }
+
+    /**
+     * Delegates to another content, counting the streams opened and the positional reads made.
+     */
+    private static class CountingContent implements IFileContent {
+        private final IFileContent delegate;
+        private final AtomicInteger streams = new AtomicInteger();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        private CountingContent(IFileContent delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long getSize() {
+            return delegate.getSize();
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            streams.incrementAndGet();
+            return delegate.openStream();
+        }
+
+        @Override
+        public int read(ByteBuffer target, long position) throws IOException {
+            reads.incrementAndGet();
+            return delegate.read(target, position);
+        }
+
+        @Override
+        public boolean isRandomAccess() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package es.bulkynaden.common.file;
+
+import es.bulkynaden.common.File;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContentTypeDetectorTest {
+
+    @Test
+    void detectsCommonSignatures() {
+        assertSame(MimeTypes.IMAGE_PNG, detect(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0));
+        assertSame(MimeTypes.IMAGE_JPEG, detect(0xFF, 0xD8, 0xFF, 0xE0));
+        assertSame(MimeTypes.APPLICATION_PDF, detect("%PDF-1.7\n"));
+        assertSame(MimeTypes.APPLICATION_ZIP, detect('P', 'K', 0x03, 0x04, 0x14));
+        assertSame(MimeTypes.APPLICATION_GZIP, detect(0x1F, 0x8B, 0x08));
+        assertSame(MimeTypes.APPLICATION_JAVA_VM, detect(0xCA, 0xFE, 0xBA, 0xBE, 0, 0, 0, 61));
+        assertSame(MimeTypes.APPLICATION_VND_SQLITE3, detect("SQLite format 3\0"));
+    }
+
+    @Test
+    void wildcardSignaturesPreferTheLongestMatch() {
+        assertSame(MimeTypes.IMAGE_WEBP, detect('R', 'I', 'F', 'F', 1, 2, 3, 4, 'W', 'E', 'B', 'P'));
+        assertSame(MimeTypes.AUDIO_WAV, detect('R', 'I', 'F', 'F', 1, 2, 3, 4, 'W', 'A', 'V', 'E'));
+        assertSame(MimeTypes.IMAGE_AVIF, detect(0, 0, 0, 0x20, 'f', 't', 'y', 'p', 'a', 'v', 'i', 'f'));
+        assertSame(MimeTypes.VIDEO_MP4, detect(0, 0, 0, 0x20, 'f', 't', 'y', 'p', 'i', 's', 'o', 'm'));
+        assertSame(MimeTypes.TEXT_XML, detect(0xEF, 0xBB, 0xBF, '<', '?', 'x', 'm', 'l'));
+        assertSame(MimeTypes.TEXT_PLAIN, detect(0xEF, 0xBB, 0xBF, 'h', 'i'));
+    }
+
+    @Test
+    void fallsBackToTextOrBinary() {
+        assertSame(MimeTypes.TEXT_PLAIN, detect("hello, world\n"));
+        assertSame(MimeTypes.APPLICATION_OCTET_STREAM, detect(0x01, 0x02, 0x03));
+        assertSame(MimeTypes.APPLICATION_OCTET_STREAM, detect());
+    }
+
+    @Test
+    void onlyTheRequestedRangeIsInspected() {
+        byte[] data = "xx%PDF-1.7".getBytes(StandardCharsets.US_ASCII);
+
+        assertSame(MimeTypes.APPLICATION_PDF, ContentTypeDetector.detect(data, 2, 8));
+        assertSame(MimeTypes.TEXT_PLAIN, ContentTypeDetector.detect(data, 2, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> ContentTypeDetector.detect(data, 5, 8));
+    }
+
+    @Test
+    void buffersAreLeftUnchanged() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(16).put("%PDF-1.7".getBytes(StandardCharsets.US_ASCII)).flip();
+
+        assertSame(MimeTypes.APPLICATION_PDF, ContentTypeDetector.detect(direct));
+        assertEquals(0, direct.position());
+        assertEquals(8, direct.limit());
+    }
+
+    @Test
+    void fillTypeKeepsAnExistingType() throws IOException {
+        File detected = new File();
+        detected.setData("GIF89a".getBytes(StandardCharsets.US_ASCII));
+        File typed = new File();
+        typed.setData("GIF89a".getBytes(StandardCharsets.US_ASCII));
+        typed.setType("application/custom");
+
+        assertEquals(MimeTypes.IMAGE_GIF, ContentTypeDetector.fillType(detected));
+        assertEquals(MimeTypes.IMAGE_GIF, detected.getType());
+        assertEquals("application/custom", ContentTypeDetector.fillType(typed));
+        assertNull(ContentTypeDetector.fillType(new File()));
+    }
+
+    private static String detect(String header) {
+        return detect(header.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String detect(int... header) {
+        byte[] bytes = new byte[header.length];
+        for (int i = 0; i < header.length; i++) {
+            bytes[i] = (byte) header[i];
+        }
+        return detect(bytes);
+    }
+
+    private static String detect(byte[] header) {
+        return ContentTypeDetector.detect(header, 0, header.length);
+    }
+}
@@ -0,0 +1,128 @@
+package es.bulkynaden.common.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileContentsTest {
+    private static final byte[] DATA = bytes(10_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyBackingExposesTheSameBytes() throws IOException {
+        Path path = Files.write(directory.resolve("data.bin"), DATA);
+        ByteBuffer direct = ByteBuffer.allocateDirect(DATA.length).put(DATA).flip();
+
+        for (IFileContent content : new IFileContent[]{
+                FileContents.of(DATA), FileContents.of(direct), FileContents.of(path), FileContents.map(path)}) {
+            assertEquals(DATA.length, content.getSize());
+            assertArrayEquals(DATA, content.toByteArray());
+            try (InputStream stream = content.openStream()) {
+                assertArrayEquals(DATA, stream.readAllBytes());
+            }
+            try (ReadableByteChannel channel = content.openChannel()) {
+                assertArrayEquals(DATA, Channels.newInputStream(channel).readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    void readsAtAPosition() throws IOException {
+        Path path = Files.write(directory.resolve("data.bin"), DATA);
+
+        for (IFileContent content : new IFileContent[]{FileContents.of(DATA), FileContents.of(path)}) {
+            ByteBuffer target = ByteBuffer.allocate(100);
+
+            assertEquals(100, content.read(target, 9_900));
+            assertArrayEquals(Arrays.copyOfRange(DATA, 9_900, 10_000), target.array());
+            assertEquals(-1, content.read(ByteBuffer.allocate(1), DATA.length));
+            assertThrows(IllegalArgumentException.class, () -> content.read(ByteBuffer.allocate(1), -1));
+        }
+    }
+
+    @Test
+    void mapsARegionOfAFile() throws IOException {
+        Path path = Files.write(directory.resolve("data.bin"), DATA);
+
+        IFileContent region = FileContents.map(path, 100, 50);
+
+        assertArrayEquals(Arrays.copyOfRange(DATA, 100, 150), region.toByteArray());
+    }
+
+    @Test
+    void transfersToStreamsAndChannels() throws IOException {
+        Path path = Files.write(directory.resolve("data.bin"), DATA);
+        ByteBuffer direct = ByteBuffer.allocateDirect(DATA.length).put(DATA).flip();
+
+        for (IFileContent content : new IFileContent[]{FileContents.of(DATA), FileContents.of(direct), FileContents.of(path)}) {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            assertEquals(DATA.length, content.transferTo(stream));
+            assertArrayEquals(DATA, stream.toByteArray());
+
+            ByteArrayOutputStream channelTarget = new ByteArrayOutputStream();
+            assertEquals(DATA.length, content.transferTo(Channels.newChannel(channelTarget)));
+            assertArrayEquals(DATA, channelTarget.toByteArray());
+        }
+    }
+
+    @Test
+    void arrayBackedContentWritesItsBackingArrayDirectly() throws IOException {
+        ByteBuffer window = ByteBuffer.wrap(DATA, 10, 20);
+        int[] writes = new int[1];
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream target = new OutputStream() {
+            @Override
+            public void write(int b) {
+                throw new AssertionError("Single-byte writes are not expected");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                assertSame(DATA, b);
+                writes[0]++;
+                written.write(b, off, len);
+            }
+        };
+
+        assertEquals(20, new ByteBufferContent(window).transferTo(target));
+        assertEquals(1, writes[0]);
+        assertArrayEquals(Arrays.copyOfRange(DATA, 10, 30), written.toByteArray());
+    }
+
+    @Test
+    void contentIsIndependentOfTheSourceBufferPosition() throws IOException {
+        ByteBuffer source = ByteBuffer.wrap(DATA);
+        IFileContent content = FileContents.of(source);
+
+        source.position(5_000);
+
+        assertEquals(DATA.length, content.getSize());
+        assertSame(FileContents.empty(), FileContents.empty());
+        assertEquals(0, FileContents.empty().toByteArray().length);
+    }
+
+    static byte[] bytes(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + (i >>> 8));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,131 @@
+package es.bulkynaden.common.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32C;
+
+import static es.bulkynaden.common.file.FileContentsTest.bytes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileIntegrityTest {
+    private static final byte[] DATA = bytes(100_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void combinedCrcEqualsTheCrcOfTheConcatenation() {
+        int split = 12_345;
+
+        int combined = FileIntegrity.combineCrc32c(crc(Arrays.copyOf(DATA, split)),
+                crc(Arrays.copyOfRange(DATA, split, DATA.length)), DATA.length - split);
+
+        assertEquals(crc(DATA), combined);
+        assertEquals(7, FileIntegrity.combineCrc32c(7, 0, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 4_096, 33_333, 100_000, 1 << 20})
+    void crcDoesNotDependOnTheChunkSize(int chunkSize) throws IOException {
+        Path path = Files.write(directory.resolve("data.bin"), DATA);
+
+        for (IFileContent content : new IFileContent[]{FileContents.of(DATA), FileContents.of(path)}) {
+            FileChecksum checksum = FileIntegrity.compute(content, chunkSize, ForkJoinPool.commonPool());
+
+            assertEquals(crc(DATA), checksum.getCrc32c());
+            assertEquals(DATA.length, checksum.getSize());
+            assertEquals(chunkSize, checksum.getChunkSize());
+        }
+    }
+
+    @Test
+    void merkleRootFollowsRfc6962() throws IOException {
+        byte[] left = Arrays.copyOf(DATA, 64);
+        byte[] right = Arrays.copyOfRange(DATA, 64, 100);
+
+        FileChecksum single = FileIntegrity.compute(FileContents.of(left), 64, ForkJoinPool.commonPool());
+        FileChecksum pair = FileIntegrity.compute(FileContents.of(Arrays.copyOf(DATA, 100)), 64, ForkJoinPool.commonPool());
+
+        assertArrayEquals(sha256(new byte[]{0x00}, left), single.getMerkleRoot());
+        assertArrayEquals(sha256(new byte[]{0x01}, sha256(new byte[]{0x00}, left), sha256(new byte[]{0x00}, right)),
+                pair.getMerkleRoot());
+    }
+
+    @Test
+    void checksumIsCachedOnHolders() throws IOException {
+        LazyFile file = new LazyFile("data", key -> DATA.clone(), new PayloadCache(1 << 20));
+        file.setSize(DATA.length);
+
+        FileChecksum checksum = FileIntegrity.checksum(file);
+
+        assertSame(checksum, FileIntegrity.checksum(file));
+        assertEquals(FileIntegrity.compute(FileContents.of(DATA)), checksum);
+    }
+
+    @Test
+    void verifyDetectsCorruptionThatKeepsTheSize() throws IOException {
+        LazyFile file = new LazyFile("data", key -> DATA.clone(), new PayloadCache(1 << 20));
+        file.setSize(DATA.length);
+        FileChecksum expected = FileIntegrity.checksum(file);
+        assertTrue(FileIntegrity.verify(file, expected));
+
+        file.getData()[50_000] ^= 1;
+
+        assertFalse(FileIntegrity.verify(file, expected));
+        assertNotEquals(expected, FileIntegrity.checksum(file));
+    }
+
+    @Test
+    void verifyUsesTheChunkSizeOfTheExpectedChecksum() throws IOException {
+        LazyFile file = new LazyFile("data", key -> DATA.clone(), new PayloadCache(1 << 20));
+        file.setSize(DATA.length);
+        FileChecksum expected = FileIntegrity.compute(FileContents.of(DATA), 10_000, ForkJoinPool.commonPool());
+
+        assertTrue(FileIntegrity.verify(file, expected));
+        assertEquals(FileIntegrity.DEFAULT_CHUNK_SIZE, FileIntegrity.checksum(file).getChunkSize());
+    }
+
+    @Test
+    void emptyContentAndInvalidChunkSizes() throws IOException {
+        FileChecksum empty = FileIntegrity.compute(FileContents.empty());
+
+        assertEquals(0, empty.getSize());
+        assertEquals(0, empty.getCrc32c());
+        assertThrows(IllegalArgumentException.class,
+                () -> FileIntegrity.compute(FileContents.of(DATA), 0, ForkJoinPool.commonPool()));
+    }
+
+    private static int crc(byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package es.bulkynaden.common.file;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyFileTest {
+    private final AtomicInteger loads = new AtomicInteger();
+    private final IPayloadLoader loader = key -> {
+        loads.incrementAndGet();
+        return key.getBytes();
+    };
+
+    @Test
+    void metadataDoesNotLoadThePayload() {
+        LazyFile file = new LazyFile("payload", loader, new PayloadCache(1_000));
+        file.setName("a.txt");
+        file.setSize(7);
+        file.setType("text/plain");
+
+        assertEquals("a.txt", file.getName());
+        assertEquals(7, file.getSize());
+        assertEquals("text/plain", file.getType());
+        assertFalse(file.isLoaded());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void payloadIsLoadedOnceAndReloadedAfterEviction() {
+        PayloadCache cache = new PayloadCache(1_000);
+        LazyFile file = new LazyFile("payload", loader, cache);
+
+        assertArrayEquals("payload".getBytes(), file.getData());
+        assertTrue(file.isLoaded());
+        file.getData();
+        assertEquals(1, loads.get());
+
+        cache.invalidateAll();
+        assertFalse(file.isLoaded());
+        assertArrayEquals("payload".getBytes(), file.getData());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void assignedDataTakesPrecedenceUntilCleared() {
+        LazyFile file = new LazyFile("payload", loader, new PayloadCache(1_000));
+        byte[] assigned = {1, 2, 3};
+
+        file.setData(assigned);
+        assertSame(assigned, file.getData());
+        assertTrue(file.isLoaded());
+        assertEquals(0, loads.get());
+
+        file.setData(null);
+        assertArrayEquals("payload".getBytes(), file.getData());
+    }
+
+    @Test
+    void loaderFailuresAreUnchecked() {
+        LazyFile file = new LazyFile("payload", key -> {
+            throw new IOException("unavailable");
+        }, new PayloadCache(1_000));
+
+        assertThrows(UncheckedIOException.class, file::getData);
+    }
+}
@@ -0,0 +1,87 @@
+package es.bulkynaden.common.file;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PayloadCacheTest {
+
+    @Test
+    void loadsOnceAndServesHitsFromMemory() throws IOException {
+        PayloadCache cache = new PayloadCache(1_000);
+        AtomicInteger loads = new AtomicInteger();
+        IPayloadLoader loader = key -> {
+            loads.incrementAndGet();
+            return new byte[100];
+        };
+
+        byte[] first = cache.get("a", loader);
+        byte[] second = cache.get("a", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(100, cache.getSize());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedPayloadsBySize() throws IOException {
+        PayloadCache cache = new PayloadCache(300);
+        cache.put("a", new byte[100]);
+        cache.put("b", new byte[100]);
+        cache.put("c", new byte[100]);
+        cache.get("a", key -> null);
+
+        cache.put("d", new byte[150]);
+
+        assertNotNull(cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertNull(cache.getIfPresent("c"));
+        assertNotNull(cache.getIfPresent("d"));
+        assertEquals(250, cache.getSize());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void payloadsLargerThanTheBoundAreNotCached() throws IOException {
+        PayloadCache cache = new PayloadCache(100);
+        cache.put("a", new byte[50]);
+
+        byte[] large = cache.get("a", key -> null);
+        cache.put("a", new byte[101]);
+
+        assertEquals(50, large.length);
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void missingPayloadsAreReportedAndNegativeBoundsRejected() {
+        PayloadCache cache = new PayloadCache(100);
+
+        assertThrows(IOException.class, () -> cache.get("a", key -> null));
+        assertThrows(IllegalArgumentException.class, () -> new PayloadCache(-1));
+    }
+
+    @Test
+    void invalidateReleasesTheSize() {
+        PayloadCache cache = new PayloadCache(100);
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+
+        cache.invalidate("a");
+        assertEquals(40, cache.getSize());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getCount());
+    }
+}
@@ -0,0 +1,62 @@
+package es.bulkynaden.common.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GeoLocationFormatterTest {
+
+    @Test
+    void formatsAddressAndCity() {
+        assertEquals("123 Main St, San Francisco", location("123 Main St", "San Francisco").toString());
+    }
+
+    @Test
+    void omitsNullAndBlankValues() {
+        assertEquals("123 Main St", location("123 Main St", null).toString());
+        assertEquals("123 Main St", location("123 Main St", "  ").toString());
+        assertEquals("San Francisco", location(null, "San Francisco").toString());
+        assertEquals("", location(" ", null).toString());
+        assertEquals("", new GeoLocation().toString());
+    }
+
+    @Test
+    void returnsTheExistingStringWhenOnlyOneValueIsPresent() {
+        String address = "123 Main St";
+
+        assertSame(address, GeoLocationFormatter.format(location(address, null)));
+    }
+
+    @Test
+    void appendsSeveralLocationsToOneBuilder() {
+        StringBuilder builder = new StringBuilder();
+
+        location("A", "B").appendTo(builder).append('|');
+        location(null, "C").appendTo(builder);
+
+        assertEquals("A, B|C", builder.toString());
+    }
+
+    @Test
+    void appendsToAnAppendable() throws IOException {
+        StringBuilder appendable = new StringBuilder();
+
+        GeoLocationFormatter.appendTo(location("A", "B"), (Appendable) appendable);
+
+        assertEquals("A, B", appendable.toString());
+    }
+
+    private static GeoLocation location(String address, String cityName) {
+        GeoLocation location = new GeoLocation();
+        location.setAddress(address);
+        if (cityName != null) {
+            City city = new City();
+            city.setName(cityName);
+            location.setCity(city);
+        }
+        return location;
+    }
+}
@@ -0,0 +1,112 @@
+package es.bulkynaden.common.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeographicCoordinatesArrayTest {
+
+    @Test
+    void addsPointsAndGrowsBeyondTheInitialCapacity() {
+        GeographicCoordinatesArray array = new GeographicCoordinatesArray(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, array.add(i, -i, i * 10));
+        }
+
+        assertEquals(100, array.size());
+        assertEquals(42, array.getLatitude(42));
+        assertEquals(-42, array.getLongitude(42));
+        assertEquals(420, array.getAltitude(42));
+    }
+
+    @Test
+    void addAllCopiesARangeOfParallelArrays() {
+        GeographicCoordinatesArray array = new GeographicCoordinatesArray(0);
+
+        array.addAll(new double[]{1, 2, 3}, new double[]{4, 5, 6}, new double[]{7, 8, 9}, 1, 2);
+
+        assertEquals(2, array.size());
+        assertEquals(2, array.getLatitude(0));
+        assertEquals(6, array.getLongitude(1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> array.addAll(new double[2], new double[2], new double[1], 0, 2));
+    }
+
+    @Test
+    void addAllCopiesCoordinates() {
+        GeographicCoordinatesArray array = new GeographicCoordinatesArray();
+        List<IGeographicCoordinates> coordinates = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            GeographicCoordinates point = new GeographicCoordinates();
+            point.setLatitude(i);
+            point.setLongitude(i + 1);
+            point.setAltitude(i + 2);
+            coordinates.add(point);
+        }
+
+        array.addAll(coordinates);
+
+        assertEquals(3, array.size());
+        assertEquals(3, array.getLongitude(2));
+        assertEquals(4, array.getAltitude(2));
+    }
+
+    @Test
+    void viewsReadAndWriteThrough() {
+        GeographicCoordinatesArray array = new GeographicCoordinatesArray();
+        array.add(1, 2, 3);
+        array.add(4, 5, 6);
+
+        GeographicCoordinatesArray.View view = array.newView().setIndex(1);
+        view.setLatitude(40);
+
+        assertEquals(40, array.getLatitude(1));
+        assertEquals(2, view.setIndex(0).getLongitude());
+        assertThrows(IndexOutOfBoundsException.class, () -> view.setIndex(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(-1));
+    }
+
+    @Test
+    void forEachVisitsPointsInOrder() {
+        GeographicCoordinatesArray array = new GeographicCoordinatesArray();
+        array.add(1, 2, 3);
+        array.add(4, 5, 6);
+        StringBuilder visited = new StringBuilder();
+
+        array.forEach((index, latitude, longitude, altitude) ->
+                visited.append(index).append(':').append(latitude + longitude + altitude).append(' '));
+
+        assertEquals("0:6.0 1:15.0 ", visited.toString());
+    }
+
+    @Test
+    void clearAndTrimToSize() {
+        GeographicCoordinatesArray array = new GeographicCoordinatesArray(32);
+        array.add(1, 2, 3);
+
+        array.trimToSize();
+        assertEquals(1, array.getLatitudes().length);
+
+        array.clear();
+        assertTrue(array.isEmpty());
+    }
+
+    @Test
+    void ensureCapacityRejectsNegativeCapacities() {
+        GeographicCoordinatesArray array = new GeographicCoordinatesArray();
+
+        assertThrows(IllegalArgumentException.class, () -> array.ensureCapacity(-1));
+        assertThrows(OutOfMemoryError.class, () -> array.ensureCapacity(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void rejectsNegativeInitialCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new GeographicCoordinatesArray(-1));
+    }
+}
@@ -0,0 +1,92 @@
+package es.bulkynaden.common.geo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedGeographicCoordinatesStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void pointsSurviveClosingAndReopening() throws IOException {
+        Path path = directory.resolve("points.geo");
+        try (MappedGeographicCoordinatesStore store = MappedGeographicCoordinatesStore.create(path, 10)) {
+            store.add(1, 2, 3);
+            store.add(4, 5, 6);
+            store.setAltitude(1, 60);
+        }
+
+        try (MappedGeographicCoordinatesStore store = MappedGeographicCoordinatesStore.open(path, false)) {
+            assertEquals(2, store.size());
+            assertEquals(10, store.capacity());
+            assertEquals(1, store.getLatitude(0));
+            assertEquals(5, store.getLongitude(1));
+            assertEquals(60, store.get(1).getAltitude());
+        }
+    }
+
+    @Test
+    void createsAStoreFromAnArray() throws IOException {
+        GeographicCoordinatesArray points = new GeographicCoordinatesArray();
+        points.add(1, 2, 3);
+        points.add(4, 5, 6);
+        points.add(7, 8, 9);
+        double[] sum = new double[1];
+
+        try (MappedGeographicCoordinatesStore store = MappedGeographicCoordinatesStore.create(directory.resolve("copy.geo"), points)) {
+            store.forEach(1, 3, (index, latitude, longitude, altitude) -> sum[0] += latitude);
+
+            assertEquals(3, store.size());
+            assertEquals(3, store.capacity());
+        }
+        assertEquals(11, sum[0]);
+    }
+
+    @Test
+    void rejectsWritesBeyondCapacityAndOnReadOnlyStores() throws IOException {
+        Path path = directory.resolve("small.geo");
+        try (MappedGeographicCoordinatesStore store = MappedGeographicCoordinatesStore.create(path, 1)) {
+            store.add(1, 2, 3);
+            assertThrows(IllegalStateException.class, () -> store.add(4, 5, 6));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getLatitude(1));
+        }
+
+        try (MappedGeographicCoordinatesStore store = MappedGeographicCoordinatesStore.open(path, false)) {
+            assertThrows(IllegalStateException.class, () -> store.setLatitude(0, 10));
+        }
+    }
+
+    @Test
+    void closedStoresRefuseAccessAndCloseOnce() throws IOException {
+        MappedGeographicCoordinatesStore store = MappedGeographicCoordinatesStore.create(directory.resolve("closed.geo"), 2);
+        store.add(1, 2, 3);
+        MappedGeographicCoordinatesStore.View view = store.get(0);
+
+        store.close();
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> store.getLatitude(0));
+        assertThrows(IllegalStateException.class, () -> store.setAltitude(0, 10));
+        assertThrows(IllegalStateException.class, () -> store.add(4, 5, 6));
+        assertThrows(IllegalStateException.class, view::getLongitude);
+        assertThrows(IllegalStateException.class, () -> store.forEach((index, latitude, longitude, altitude) -> { }));
+        assertThrows(IllegalStateException.class, store::force);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotStores() throws IOException {
+        Path path = directory.resolve("other.bin");
+        Files.write(path, new byte[MappedGeographicCoordinatesStore.HEADER_SIZE + MappedGeographicCoordinatesStore.RECORD_SIZE]);
+
+        assertThrows(IOException.class, () -> MappedGeographicCoordinatesStore.open(path, false));
+        assertThrows(IllegalArgumentException.class, () -> MappedGeographicCoordinatesStore.create(directory.resolve("negative.geo"), -1));
+    }
+}
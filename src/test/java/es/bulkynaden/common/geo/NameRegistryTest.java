@@ -0,0 +1,85 @@
+package es.bulkynaden.common.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NameRegistryTest {
+
+    @Test
+    void normalizesCaseWhitespaceAndComposition() {
+        assertEquals("madrid", NameRegistry.normalize("  MADRID "));
+        assertEquals("la rioja", NameRegistry.normalize("La \t Rioja"));
+        assertEquals(NameRegistry.normalize("Aragón"), NameRegistry.normalize("Aragón"));
+        assertNull(NameRegistry.normalize(" "));
+        assertNull(NameRegistry.normalize(null));
+    }
+
+    @Test
+    void internReturnsTheFirstRegisteredInstance() {
+        NameRegistry<ICity> registry = new NameRegistry<>();
+        City first = city("Madrid");
+        City second = city(" madrid ");
+
+        assertSame(first, registry.intern(first));
+        assertSame(first, registry.intern(second));
+        assertSame(first, registry.get("MADRID"));
+        assertEquals("Madrid", registry.get("madrid").getName());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void internByNameCreatesOnlyMissingInstances() {
+        NameRegistry<ICity> registry = new NameRegistry<>();
+
+        ICity created = registry.intern("Zaragoza", City::new);
+
+        assertEquals("Zaragoza", created.getName());
+        assertSame(created, registry.intern("zaragoza", () -> {
+            throw new AssertionError("The factory must not be called for a registered name");
+        }));
+    }
+
+    @Test
+    void blankNamesAreNotRegistered() {
+        NameRegistry<ICity> registry = new NameRegistry<>();
+        City unnamed = city(" ");
+
+        assertSame(unnamed, registry.intern(unnamed));
+        assertEquals(0, registry.size());
+        assertThrows(IllegalArgumentException.class, () -> registry.get(""));
+    }
+
+    @Test
+    void clearForgetsEveryInstance() {
+        NameRegistry<ICity> registry = new NameRegistry<>();
+        City madrid = city("Madrid");
+        registry.intern(madrid);
+
+        registry.clear();
+
+        assertNull(registry.get("Madrid"));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void setCityStoresTheCanonicalInstance() {
+        NameRegistry<ICity> registry = new NameRegistry<>();
+        City canonical = city("Madrid");
+        registry.intern(canonical);
+        GeoLocation location = new GeoLocation();
+
+        location.setCity(city("MADRID"), registry);
+
+        assertSame(canonical, location.getCity());
+    }
+
+    private static City city(String name) {
+        City city = new City();
+        city.setName(name);
+        return city;
+    }
+}
@@ -0,0 +1,64 @@
+package es.bulkynaden.common.geo.cell;
+
+import es.bulkynaden.common.geo.GeographicCoordinates;
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import es.bulkynaden.common.geo.distance.GeoDistance;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeohashIndexTest {
+    private static final Function<GeographicCoordinates, IGeographicCoordinates> IDENTITY = point -> point;
+
+    @Test
+    void findWithinRadiusMatchesABruteForceScan() {
+        List<GeographicCoordinates> points = randomPoints(5_000, 3, 36, 44, -10, 4);
+        GeohashIndex<GeographicCoordinates> index = new GeohashIndex<>(points, IDENTITY);
+
+        for (GeographicCoordinates query : randomPoints(20, 5, 36, 44, -10, 4)) {
+            Set<GeographicCoordinates> expected = points.stream()
+                    .filter(point -> GeoDistance.haversine(query, point) <= 50_000)
+                    .collect(Collectors.toSet());
+            List<GeographicCoordinates> candidates = index.findCandidates(query.getLatitude(), query.getLongitude(), 50_000);
+
+            assertEquals(expected, new HashSet<>(index.findWithinRadius(query.getLatitude(), query.getLongitude(), 50_000)));
+            assertTrue(candidates.containsAll(expected));
+        }
+    }
+
+    @Test
+    void findByPrefixReturnsTheItemsOfACell() {
+        List<GeographicCoordinates> points = randomPoints(1_000, 9, -90, 90, -180, 180);
+        GeohashIndex<GeographicCoordinates> index = new GeohashIndex<>(points, IDENTITY);
+        long cell = Geohash.encode(points.get(0), 10);
+
+        Set<GeographicCoordinates> expected = points.stream()
+                .filter(point -> Geohash.encode(point, 10) == cell)
+                .collect(Collectors.toSet());
+
+        assertEquals(expected, new HashSet<>(index.findByPrefix(cell, 10)));
+        assertEquals(points.size(), index.size());
+    }
+
+    private static List<GeographicCoordinates> randomPoints(int count, long seed, double minLatitude, double maxLatitude,
+                                                            double minLongitude, double maxLongitude) {
+        Random random = new Random(seed);
+        List<GeographicCoordinates> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GeographicCoordinates point = new GeographicCoordinates();
+            point.setLatitude(minLatitude + random.nextDouble() * (maxLatitude - minLatitude));
+            point.setLongitude(minLongitude + random.nextDouble() * (maxLongitude - minLongitude));
+            points.add(point);
+        }
+        return points;
+    }
+}
@@ -0,0 +1,52 @@
+package es.bulkynaden.common.geo.cell;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeohashTest {
+
+    @Test
+    void encodesTheReferenceGeohash() {
+        long hash = Geohash.encode(42.605, -5.603, 25);
+
+        assertEquals("ezs42", Geohash.toBase32(hash, 25));
+        assertEquals(hash, Geohash.fromBase32("ezs42"));
+    }
+
+    @Test
+    void decodesToTheCellCenter() {
+        long hash = Geohash.encode(40.4168, -3.7038, 40);
+
+        assertEquals(40.4168, Geohash.decodeLatitude(hash, 40), Geohash.latitudeSpan(40) / 2);
+        assertEquals(-3.7038, Geohash.decodeLongitude(hash, 40), Geohash.longitudeSpan(40) / 2);
+    }
+
+    @Test
+    void parentAndRangeContainTheFullPrecisionHash() {
+        long full = Geohash.encode(40.4168, -3.7038, Geohash.MAX_BITS);
+        long cell = Geohash.encode(40.4168, -3.7038, 20);
+
+        assertEquals(cell, Geohash.parent(full, Geohash.MAX_BITS, 20));
+        assertTrue(Geohash.rangeStart(cell, 20) <= full && full <= Geohash.rangeEnd(cell, 20));
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0, 0, Geohash.MAX_BITS + 1));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.toBase32(0, 7));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.fromBase32("ezs4a"));
+    }
+
+    @Test
+    void hilbertCellsDecodeToTheirCenterAndNest() {
+        long id = HilbertCell.encode(40.4168, -3.7038, 20);
+
+        assertEquals(40.4168, HilbertCell.decodeLatitude(id, 20), 180.0 / (1 << 20));
+        assertEquals(-3.7038, HilbertCell.decodeLongitude(id, 20), 360.0 / (1 << 20));
+        assertEquals(HilbertCell.encode(40.4168, -3.7038, 10), HilbertCell.parent(id, 20, 10));
+        assertThrows(IllegalArgumentException.class, () -> HilbertCell.encode(0, 0, HilbertCell.MAX_LEVEL + 1));
+    }
+}
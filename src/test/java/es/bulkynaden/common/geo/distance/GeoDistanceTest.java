@@ -0,0 +1,104 @@
+package es.bulkynaden.common.geo.distance;
+
+import es.bulkynaden.common.geo.GeographicCoordinatesArray;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeoDistanceTest {
+    private static final double MADRID_LATITUDE = 40.4168;
+    private static final double MADRID_LONGITUDE = -3.7038;
+    private static final double BARCELONA_LATITUDE = 41.3874;
+    private static final double BARCELONA_LONGITUDE = 2.1686;
+
+    @Test
+    void scalarDistancesAgreeOnAKnownRoute() {
+        double haversine = GeoDistance.haversine(MADRID_LATITUDE, MADRID_LONGITUDE, BARCELONA_LATITUDE, BARCELONA_LONGITUDE);
+        double vincenty = GeoDistance.vincenty(MADRID_LATITUDE, MADRID_LONGITUDE, BARCELONA_LATITUDE, BARCELONA_LONGITUDE);
+        double equirectangular = GeoDistance.equirectangular(MADRID_LATITUDE, MADRID_LONGITUDE, BARCELONA_LATITUDE, BARCELONA_LONGITUDE);
+
+        assertEquals(505_000, haversine, 2_000);
+        assertEquals(haversine, vincenty, haversine * 0.005);
+        assertEquals(haversine, equirectangular, haversine * 0.005);
+    }
+
+    @Test
+    void distanceToItselfIsZero() {
+        assertEquals(0, GeoDistance.haversine(MADRID_LATITUDE, MADRID_LONGITUDE, MADRID_LATITUDE, MADRID_LONGITUDE));
+        assertEquals(0, GeoDistance.vincenty(MADRID_LATITUDE, MADRID_LONGITUDE, MADRID_LATITUDE, MADRID_LONGITUDE));
+    }
+
+    @Test
+    void haversineKernelMatchesTheScalarFunction() {
+        double[] latitudes = {BARCELONA_LATITUDE, 0, -33.87, 89.9};
+        double[] longitudes = {BARCELONA_LONGITUDE, 0, 151.21, -179.9};
+        double[] distances = new double[latitudes.length];
+
+        GeoDistanceKernels.haversine(MADRID_LATITUDE, MADRID_LONGITUDE, latitudes, longitudes, distances, latitudes.length);
+
+        for (int i = 0; i < latitudes.length; i++) {
+            assertEquals(GeoDistance.haversine(MADRID_LATITUDE, MADRID_LONGITUDE, latitudes[i], longitudes[i]), distances[i], 1e-6);
+        }
+    }
+
+    @Test
+    void equirectangularKernelWrapsTheAntimeridian() {
+        double[] distances = new double[1];
+
+        GeoDistanceKernels.equirectangular(0, 179.9, new double[]{0}, new double[]{-179.9}, distances, 1);
+
+        assertEquals(GeoDistance.haversine(0, 179.9, 0, -179.9), distances[0], 1);
+    }
+
+    @Test
+    void haversineMatrixIsRowMajor() {
+        double[] originLatitudes = {MADRID_LATITUDE, BARCELONA_LATITUDE};
+        double[] originLongitudes = {MADRID_LONGITUDE, BARCELONA_LONGITUDE};
+        double[] targetLatitudes = {0, 10, 20};
+        double[] targetLongitudes = {0, 10, 20};
+        double[] matrix = new double[6];
+
+        GeoDistanceKernels.haversineMatrix(originLatitudes, originLongitudes, 2, targetLatitudes, targetLongitudes, 3, matrix);
+
+        assertEquals(GeoDistance.haversine(BARCELONA_LATITUDE, BARCELONA_LONGITUDE, 10, 10), matrix[4], 1e-6);
+        assertThrows(IndexOutOfBoundsException.class, () -> GeoDistanceKernels.haversineMatrix(
+                originLatitudes, originLongitudes, 2, targetLatitudes, targetLongitudes, 3, new double[5]));
+    }
+
+    @Test
+    void haversineMatrixReusesTheCallerScratch() {
+        double[] originLatitudes = {MADRID_LATITUDE, BARCELONA_LATITUDE};
+        double[] originLongitudes = {MADRID_LONGITUDE, BARCELONA_LONGITUDE};
+        double[] targetLatitudes = {0, 10, 20};
+        double[] targetLongitudes = {0, 10, 20};
+        double[] expected = new double[6];
+        double[] matrix = new double[6];
+        double[] scratch = new double[GeoDistanceKernels.MATRIX_SCRATCH_PER_TARGET * 3];
+
+        GeoDistanceKernels.haversineMatrix(originLatitudes, originLongitudes, 2, targetLatitudes, targetLongitudes, 3, expected);
+        GeoDistanceKernels.haversineMatrix(originLatitudes, originLongitudes, 2, targetLatitudes, targetLongitudes, 3, matrix, scratch);
+
+        assertArrayEquals(expected, matrix);
+        assertThrows(IndexOutOfBoundsException.class, () -> GeoDistanceKernels.haversineMatrix(
+                originLatitudes, originLongitudes, 2, targetLatitudes, targetLongitudes, 3, matrix, new double[8]));
+    }
+
+    @Test
+    void nearestFindsTheClosestPoint() {
+        GeographicCoordinatesArray points = new GeographicCoordinatesArray();
+        points.add(0, 0, 0);
+        points.add(BARCELONA_LATITUDE, BARCELONA_LONGITUDE, 0);
+        points.add(MADRID_LATITUDE + 0.1, MADRID_LONGITUDE, 0);
+
+        assertEquals(2, GeoDistanceKernels.nearest(MADRID_LATITUDE, MADRID_LONGITUDE, points));
+        assertEquals(-1, GeoDistanceKernels.nearest(0, 0, new GeographicCoordinatesArray()));
+    }
+
+    @Test
+    void kernelsRejectShortArrays() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> GeoDistanceKernels.haversine(0, 0, new double[2], new double[1], new double[2], 2));
+    }
+}
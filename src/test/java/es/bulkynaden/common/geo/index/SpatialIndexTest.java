@@ -0,0 +1,99 @@
+package es.bulkynaden.common.geo.index;
+
+import es.bulkynaden.common.geo.GeographicCoordinates;
+import es.bulkynaden.common.geo.IGeographicCoordinates;
+import es.bulkynaden.common.geo.distance.GeoDistance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialIndexTest {
+    private static final List<GeographicCoordinates> POINTS = randomPoints(2_000, 42);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"kd", "rtree"})
+    void findNearestMatchesABruteForceScan(String type) {
+        ISpatialIndex<GeographicCoordinates> index = index(type, POINTS);
+
+        for (GeographicCoordinates query : randomPoints(20, 7)) {
+            List<GeographicCoordinates> expected = POINTS.stream()
+                    .sorted(Comparator.comparingDouble(point -> distance(query, point)))
+                    .limit(5)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, index.findNearest(query, 5));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"kd", "rtree"})
+    void findWithinRadiusMatchesABruteForceScan(String type) {
+        ISpatialIndex<GeographicCoordinates> index = index(type, POINTS);
+
+        for (GeographicCoordinates query : randomPoints(20, 11)) {
+            Set<GeographicCoordinates> expected = POINTS.stream()
+                    .filter(point -> distance(query, point) <= 1_500_000)
+                    .collect(Collectors.toSet());
+
+            assertEquals(expected, new HashSet<>(index.findWithinRadius(query, 1_500_000)));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"kd", "rtree"})
+    void findWithinBoundingBoxHandlesTheAntimeridian(String type) {
+        ISpatialIndex<GeographicCoordinates> index = index(type, POINTS);
+
+        Set<GeographicCoordinates> expected = POINTS.stream()
+                .filter(point -> point.getLatitude() >= -20 && point.getLatitude() <= 20)
+                .filter(point -> point.getLongitude() >= 170 || point.getLongitude() <= -170)
+                .collect(Collectors.toSet());
+
+        assertTrue(expected.size() > 0);
+        assertEquals(expected, new HashSet<>(index.findWithinBoundingBox(-20, 170, 20, -170)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"kd", "rtree"})
+    void skipsItemsWithoutCoordinatesAndHandlesEmptyIndexes(String type) {
+        List<GeographicCoordinates> items = new ArrayList<>(POINTS.subList(0, 10));
+        items.add(null);
+
+        assertEquals(10, index(type, items).size());
+        assertTrue(index(type, List.of()).findNearest(0, 0, 3).isEmpty());
+        assertTrue(index(type, items).findNearest(0, 0, 0).isEmpty());
+        assertEquals(10, index(type, items).findNearest(0, 0, 50).size());
+    }
+
+    private static ISpatialIndex<GeographicCoordinates> index(String type, List<GeographicCoordinates> points) {
+        Function<GeographicCoordinates, IGeographicCoordinates> coordinatesOf = point -> point;
+        return type.equals("kd") ? new KdTree<>(points, coordinatesOf) : new PackedRTree<>(points, coordinatesOf);
+    }
+
+    private static double distance(IGeographicCoordinates from, IGeographicCoordinates to) {
+        return GeoDistance.haversine(from, to);
+    }
+
+    private static List<GeographicCoordinates> randomPoints(int count, long seed) {
+        Random random = new Random(seed);
+        List<GeographicCoordinates> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GeographicCoordinates point = new GeographicCoordinates();
+            point.setLatitude(random.nextDouble() * 180 - 90);
+            point.setLongitude(random.nextDouble() * 360 - 180);
+            points.add(point);
+        }
+        return points;
+    }
+}
@@ -0,0 +1,115 @@
+package es.bulkynaden.common.geo.loader;
+
+import es.bulkynaden.common.geo.City;
+import es.bulkynaden.common.geo.IAutonomousCommunity;
+import es.bulkynaden.common.geo.ICity;
+import es.bulkynaden.common.geo.ICountry;
+import es.bulkynaden.common.geo.NameRegistry;
+import es.bulkynaden.common.geo.loader.TestGeoEntities.AutonomousCommunity;
+import es.bulkynaden.common.geo.loader.TestGeoEntities.Country;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GazetteerLoaderTest {
+
+    @Test
+    void buildsCountriesAutonomousCommunitiesAndCities() throws IOException {
+        String input = "country,community,city\n"
+                + "Spain, Aragón ,Zaragoza\n"
+                + "Spain,Aragón,Huesca\n"
+                + "Spain,Cataluña,\n"
+                + "\n"
+                + "France,Bretagne,Rennes\n"
+                + ",Nowhere,Ghost\n";
+        GazetteerLoader loader = newLoader();
+        loader.setDelimiter(',');
+        loader.setSkipHeader(true);
+
+        GazetteerLoadResult result = loader.load(new StringReader(input));
+
+        assertEquals(5, result.getRowCount());
+        assertEquals(1, result.getSkippedRowCount());
+        assertEquals(3, result.getCityCount());
+        assertEquals(List.of("Spain", "France"), result.getCountries().stream().map(ICountry::getName).toList());
+
+        ICountry spain = result.getCountries().get(0);
+        List<IAutonomousCommunity> communities = new ArrayList<>(spain.getAutonomousCommunities());
+        assertEquals(List.of("Aragón", "Cataluña"), communities.stream().map(IAutonomousCommunity::getName).toList());
+        assertEquals(List.of("Zaragoza", "Huesca"),
+                ((AutonomousCommunity) communities.get(0)).cities.stream().map(ICity::getName).toList());
+    }
+
+    @Test
+    void readsTabSeparatedFilesWithCustomColumns(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("gazetteer.tsv");
+        Files.writeString(file, "1\tMadrid\tSpain\tComunidad de Madrid\n2\tAlcalá\tSpain\tComunidad de Madrid\n",
+                StandardCharsets.UTF_8);
+        GazetteerLoader loader = newLoader();
+        loader.setCityColumn(1);
+        loader.setCountryColumn(2);
+        loader.setAutonomousCommunityColumn(3);
+
+        GazetteerLoadResult result = loader.load(file);
+
+        assertEquals(2, result.getCityCount());
+        ICountry spain = result.getCountries().get(0);
+        assertEquals(1, spain.getAutonomousCommunities().size());
+        assertEquals(2, ((AutonomousCommunity) spain.getAutonomousCommunities().iterator().next()).cities.size());
+    }
+
+    @Test
+    void internsRepeatedNames() throws IOException {
+        GazetteerLoader loader = newLoader();
+
+        GazetteerLoadResult result = loader.load(new StringReader("Spain\tAragón\tTeruel\nSpain\tCataluña\tTeruel\n"));
+
+        List<IAutonomousCommunity> communities = new ArrayList<>(result.getCountries().get(0).getAutonomousCommunities());
+        assertSame(((AutonomousCommunity) communities.get(0)).cities.get(0).getName(),
+                ((AutonomousCommunity) communities.get(1)).cities.get(0).getName());
+    }
+
+    @Test
+    void reportsProgress() throws IOException {
+        List<Long> progress = new ArrayList<>();
+        GazetteerLoader loader = newLoader();
+        loader.setProgressInterval(2);
+        loader.setProgressListener(partial -> progress.add(partial.getRowCount()));
+
+        loader.load(new StringReader("A\tB\tC\nA\tB\tD\nA\tB\tE\nA\tB\tF\nA\tB\tG\n"));
+
+        assertEquals(List.of(2L, 4L), progress);
+    }
+
+    @Test
+    void sharesInstancesAcrossRunsThroughRegistries() throws IOException {
+        NameRegistry<ICountry> countries = new NameRegistry<>();
+        NameRegistry<IAutonomousCommunity> autonomousCommunities = new NameRegistry<>();
+        NameRegistry<ICity> cities = new NameRegistry<>();
+        GazetteerLoader loader = newLoader();
+        loader.setCountryRegistry(countries);
+        loader.setAutonomousCommunityRegistry(autonomousCommunities);
+        loader.setCityRegistry(cities);
+
+        ICountry first = loader.load(new StringReader("Spain\tAragón\tZaragoza\n")).getCountries().get(0);
+        ICountry second = loader.load(new StringReader("SPAIN\taragón\tzaragoza\n")).getCountries().get(0);
+
+        assertSame(first, second);
+        assertEquals(1, first.getAutonomousCommunities().size());
+        assertSame(cities.get("Zaragoza"), ((AutonomousCommunity) first.getAutonomousCommunities().iterator().next()).cities.get(0));
+    }
+
+    static GazetteerLoader newLoader() {
+        return new GazetteerLoader(Country::new, AutonomousCommunity::new, City::new, AutonomousCommunity::attach);
+    }
+}
@@ -0,0 +1,77 @@
+package es.bulkynaden.common.geo.loader;
+
+import es.bulkynaden.common.geo.IAutonomousCommunity;
+import es.bulkynaden.common.geo.ICity;
+import es.bulkynaden.common.geo.ICountry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Minimal countries and autonomous communities built by the loader tests.
+ */
+final class TestGeoEntities {
+    private TestGeoEntities() {
+    }
+
+    static final class Country implements ICountry {
+        private final List<IAutonomousCommunity> autonomousCommunities = new ArrayList<>();
+        private String name;
+        private ICity capital;
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public ICity getCapital() {
+            return capital;
+        }
+
+        @Override
+        public void setCapital(ICity city) {
+            this.capital = city;
+        }
+
+        @Override
+        public Collection<IAutonomousCommunity> getAutonomousCommunities() {
+            return autonomousCommunities;
+        }
+
+        @Override
+        public void addAutonomousCommunity(IAutonomousCommunity autonomousCommunity) {
+            autonomousCommunities.add(autonomousCommunity);
+        }
+
+        @Override
+        public void removeAutonomousCommunity(IAutonomousCommunity autonomousCommunity) {
+            autonomousCommunities.remove(autonomousCommunity);
+        }
+    }
+
+    static final class AutonomousCommunity implements IAutonomousCommunity {
+        final List<ICity> cities = new ArrayList<>();
+        private String name;
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        static void attach(IAutonomousCommunity autonomousCommunity, ICity city) {
+            ((AutonomousCommunity) autonomousCommunity).cities.add(city);
+        }
+    }
+}
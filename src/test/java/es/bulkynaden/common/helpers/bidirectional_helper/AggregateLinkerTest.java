@@ -0,0 +1,159 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Parent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AggregateLinkerTest {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final AggregateLinker linker = new AggregateLinker(pool, 2);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void traverseVisitsEveryReachableEntityOnceInLevelOrder() {
+        Map<Parent, List<Parent>> edges = new IdentityHashMap<>();
+        List<Parent> nodes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            nodes.add(new Parent());
+        }
+        for (int i = 0; i < 19; i++) {
+            edges.computeIfAbsent(nodes.get(i / 2), key -> new ArrayList<>()).add(nodes.get(i + 1));
+        }
+        edges.computeIfAbsent(nodes.get(19), key -> new ArrayList<>()).add(nodes.get(0));
+
+        List<Parent> reachable = linker.traverse(List.of(nodes.get(0), nodes.get(0)),
+                node -> edges.getOrDefault(node, List.of()));
+
+        assertEquals(20, reachable.size());
+        assertEquals(20, reachable.stream().distinct().count());
+        assertSame(nodes.get(0), reachable.get(0));
+    }
+
+    @Test
+    void detachAllOneToManyEmptiesEveryOwner() {
+        List<Parent> parents = parents(5);
+        List<Child> children = new ArrayList<>();
+        for (Parent parent : parents) {
+            for (int i = 0; i < 4; i++) {
+                Child child = new Child();
+                BidirectionalHelper.linkOneToMany(parent, child, Parent::addChild, Parent::removeChild,
+                        Child::getParent, Child::setParent);
+                children.add(child);
+            }
+        }
+
+        linker.detachAllOneToMany(parents, Parent::getChildren, Parent::removeChildren, Child::setParent);
+
+        parents.forEach(parent -> assertTrue(parent.getChildren().isEmpty()));
+        children.forEach(child -> assertNull(child.getParent()));
+    }
+
+    @Test
+    void reattachAllOneToManyMovesOnlyTheChildrenThatChangeOwner() {
+        List<Parent> parents = parents(3);
+        Map<Child, Parent> targets = new IdentityHashMap<>();
+        List<Child> children = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Child child = new Child();
+            BidirectionalHelper.linkOneToMany(parents.get(i % 3), child, Parent::addChild, Parent::removeChild,
+                    Child::getParent, Child::setParent);
+            targets.put(child, i % 5 == 0 ? null : parents.get(i % 2));
+            children.add(child);
+        }
+
+        linker.reattachAllOneToMany(children, targets::get, Parent::addChildren, Parent::removeChildren,
+                Child::getParent, Child::setParent);
+
+        for (Child child : children) {
+            Parent target = targets.get(child);
+            assertSame(target, child.getParent());
+            for (Parent parent : parents) {
+                assertEquals(parent == target ? 1 : 0, parent.getChildren().stream().filter(c -> c == child).count());
+            }
+        }
+    }
+
+    @Test
+    void detachAllManyToManyClearsBothSides() {
+        List<Parent> parents = parents(6);
+        List<Child> children = List.of(new Child(), new Child(), new Child());
+        for (Parent parent : parents) {
+            for (Child child : children) {
+                BidirectionalHelper.linkManyToMany(parent, child, Parent::addChild, Child::addParent);
+            }
+        }
+
+        linker.detachAllManyToMany(parents.subList(0, 4), Parent::getChildren, Parent::removeChildren,
+                Child::removeParents);
+
+        parents.subList(0, 4).forEach(parent -> assertTrue(parent.getChildren().isEmpty()));
+        parents.subList(4, 6).forEach(parent -> assertEquals(children, parent.getChildren()));
+        children.forEach(child -> assertEquals(parents.subList(4, 6), child.getParents()));
+    }
+
+    @Test
+    void publishesEveryLinkAndUnlinkItMakes() throws InterruptedException {
+        List<Parent> parents = parents(3);
+        Child kept = new Child();
+        Child moved = new Child();
+        Child shared = new Child();
+        BidirectionalHelper.linkOneToMany(parents.get(0), kept, Parent::addChild, Parent::removeChild,
+                Child::getParent, Child::setParent);
+        BidirectionalHelper.linkOneToMany(parents.get(0), moved, Parent::addChild, Parent::removeChild,
+                Child::getParent, Child::setParent);
+        BidirectionalHelper.linkManyToMany(parents.get(2), shared, Parent::addChild, Child::addParent);
+
+        List<RelationshipEvent> received = new CopyOnWriteArrayList<>();
+        try (RelationshipEventBus bus = new RelationshipEventBus()) {
+            bus.subscribe(received::addAll);
+            linker.setEventBus(bus);
+
+            linker.reattachAllOneToMany(List.of(kept, moved), child -> child == moved ? parents.get(1) : parents.get(0),
+                    Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+            linker.detachAllOneToMany(List.of(parents.get(1)), Parent::getChildren, Parent::removeChildren,
+                    Child::setParent);
+            linker.detachAllManyToMany(List.of(parents.get(2)), Parent::getChildren, Parent::removeChildren,
+                    Child::removeParents);
+            bus.flush();
+        }
+
+        List<String> events = received.stream()
+                .map(event -> event.getType() + " " + event.getKind() + " " + parents.indexOf(event.getEntityOne()))
+                .toList();
+        assertEquals(List.of("UNLINK ONE_TO_MANY 0", "LINK ONE_TO_MANY 1", "UNLINK ONE_TO_MANY 1",
+                "UNLINK MANY_TO_MANY 2"), events);
+        received.subList(0, 3).forEach(event -> assertSame(moved, event.getEntityTwo()));
+        assertSame(shared, received.get(3).getEntityTwo());
+    }
+
+    @Test
+    void batchSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new AggregateLinker(pool, 0));
+    }
+
+    private static List<Parent> parents(int count) {
+        List<Parent> parents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            parents.add(new Parent());
+        }
+        return parents;
+    }
+}
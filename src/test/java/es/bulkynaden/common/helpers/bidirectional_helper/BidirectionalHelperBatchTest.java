@@ -0,0 +1,127 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Parent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BidirectionalHelperBatchTest {
+
+    @Test
+    void linkAllOneToManyMovesChildrenWithOneBulkRemovalPerPreviousParent() {
+        Parent first = new Parent();
+        Parent second = new Parent();
+        Parent target = new Parent();
+        Child a = new Child();
+        Child b = new Child();
+        Child c = new Child();
+        Child d = new Child();
+        BidirectionalHelper.linkAllOneToMany(first, List.of(a, b), Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+        BidirectionalHelper.linkAllOneToMany(second, List.of(c), Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+
+        BidirectionalHelper.linkAllOneToMany(target, List.of(a, b, c, d), Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+
+        assertEquals(List.of(a, b, c, d), target.children);
+        assertTrue(first.children.isEmpty());
+        assertTrue(second.children.isEmpty());
+        assertEquals(1, first.bulkRemoves);
+        assertEquals(1, second.bulkRemoves);
+        assertEquals(1, target.bulkAdds);
+        for (Child child : List.of(a, b, c, d)) {
+            assertSame(target, child.parent);
+        }
+    }
+
+    @Test
+    void unlinkAllOneToManyClearsBothSides() {
+        Parent parent = new Parent();
+        Child a = new Child();
+        Child b = new Child();
+        Child c = new Child();
+        BidirectionalHelper.linkAllOneToMany(parent, List.of(a, b, c), Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+
+        BidirectionalHelper.unlinkAllOneToMany(parent, List.of(a, c), Parent::removeChildren, Child::setParent);
+
+        assertEquals(List.of(b), parent.children);
+        assertNull(a.parent);
+        assertSame(parent, b.parent);
+        assertNull(c.parent);
+    }
+
+    @Test
+    void linkAllManyToOneMatchesRepeatedLink() {
+        Parent old = new Parent();
+        Parent target = new Parent();
+        Child a = new Child();
+        Child b = new Child();
+        BidirectionalHelper.linkManyToOne(a, old, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+
+        BidirectionalHelper.linkAllManyToOne(List.of(a, b), target, Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+
+        assertTrue(old.children.isEmpty());
+        assertEquals(List.of(a, b), target.children);
+        assertSame(target, a.parent);
+        assertSame(target, b.parent);
+    }
+
+    @Test
+    void unlinkAllManyToOneGroupsByCurrentParent() {
+        Parent first = new Parent();
+        Parent second = new Parent();
+        Child a = new Child();
+        Child b = new Child();
+        Child c = new Child();
+        Child orphan = new Child();
+        BidirectionalHelper.linkAllManyToOne(List.of(a, b), first, Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+        BidirectionalHelper.linkAllManyToOne(List.of(c), second, Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+
+        BidirectionalHelper.unlinkAllManyToOne(List.of(a, b, c, orphan), Child::getParent, Parent::removeChildren, Child::setParent);
+
+        assertTrue(first.children.isEmpty());
+        assertTrue(second.children.isEmpty());
+        assertEquals(1, first.bulkRemoves);
+        assertEquals(1, second.bulkRemoves);
+        for (Child child : List.of(a, b, c, orphan)) {
+            assertNull(child.parent);
+        }
+    }
+
+    @Test
+    void linkAllAndUnlinkAllManyToManyCoverEveryPair() {
+        Parent p = new Parent();
+        Parent q = new Parent();
+        Child a = new Child();
+        Child b = new Child();
+
+        BidirectionalHelper.linkAllManyToMany(List.of(p, q), List.of(a, b), Parent::addChildren, Child::addParents);
+
+        assertEquals(List.of(a, b), p.children);
+        assertEquals(List.of(a, b), q.children);
+        assertEquals(List.of(p, q), a.parents);
+        assertEquals(List.of(p, q), b.parents);
+
+        BidirectionalHelper.unlinkAllManyToMany(List.of(p), List.of(a, b), Parent::removeChildren, Child::removeParents);
+
+        assertTrue(p.children.isEmpty());
+        assertEquals(List.of(a, b), q.children);
+        assertEquals(List.of(q), a.parents);
+        assertEquals(List.of(q), b.parents);
+    }
+
+    @Test
+    void emptyBatchesAreNoOps() {
+        Parent parent = new Parent();
+
+        BidirectionalHelper.linkAllOneToMany(parent, List.of(), Parent::addChildren, Parent::removeChildren, Child::getParent, Child::setParent);
+        BidirectionalHelper.unlinkAllOneToMany(parent, List.of(), Parent::removeChildren, Child::setParent);
+
+        assertEquals(0, parent.bulkAdds);
+        assertEquals(0, parent.bulkRemoves);
+    }
+}
@@ -0,0 +1,70 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Parent;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Partner;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BidirectionalHelperTest {
+
+    @Test
+    void linkSingularReplacesPreviousPartnersOnBothSides() {
+        Partner a = new Partner();
+        Partner b = new Partner();
+        Partner c = new Partner();
+        BidirectionalHelper.linkSingular(a, b, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+
+        BidirectionalHelper.linkSingular(a, c, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+
+        assertSame(c, a.partner);
+        assertSame(a, c.partner);
+        assertNull(b.partner);
+    }
+
+    @Test
+    void unlinkSingularClearsBothSides() {
+        Partner a = new Partner();
+        Partner b = new Partner();
+        BidirectionalHelper.linkSingular(a, b, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+
+        BidirectionalHelper.unLinkSingular(a, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+
+        assertNull(a.partner);
+        assertNull(b.partner);
+    }
+
+    @Test
+    void linkOneToManyMovesTheChild() {
+        Parent source = new Parent();
+        Parent target = new Parent();
+        Child child = new Child();
+        BidirectionalHelper.linkOneToMany(source, child, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+
+        BidirectionalHelper.linkOneToMany(target, child, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+
+        assertTrue(source.children.isEmpty());
+        assertEquals(List.of(child), target.children);
+        assertSame(target, child.parent);
+    }
+
+    @Test
+    void linkAndUnlinkManyToMany() {
+        Parent parent = new Parent();
+        Child child = new Child();
+
+        BidirectionalHelper.linkManyToMany(parent, child, Parent::addChild, Child::addParent);
+        assertEquals(List.of(child), parent.children);
+        assertEquals(List.of(parent), child.parents);
+
+        BidirectionalHelper.unlinkManyToMany(parent, child, Parent::removeChild, Child::removeParent);
+        assertTrue(parent.children.isEmpty());
+        assertTrue(child.parents.isEmpty());
+    }
+}
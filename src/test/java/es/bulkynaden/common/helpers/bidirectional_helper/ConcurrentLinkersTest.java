@@ -0,0 +1,183 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Parent;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Partner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentLinkersTest {
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 2_000;
+
+    @Test
+    void stripesAreRoundedUpToAPowerOfTwo() {
+        assertEquals(1, new StripedLocks(1).getStripes());
+        assertEquals(8, new StripedLocks(5).getStripes());
+        assertEquals(1, Integer.bitCount(StripedLocks.DEFAULT_STRIPES));
+    }
+
+    @Test
+    void sharedStripesAreTakenOnceAndReleased() throws Exception {
+        StripedLocks locks = new StripedLocks(1);
+        Object first = new Object();
+        Object second = new Object();
+
+        StripedLocks.Guard guard = locks.lock(first, second, null, first);
+        assertEquals(0, locks.stripeOf(first));
+        guard.close();
+        guard.close();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> locks.lockAll(first, List.of(second)).close()).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("try")
+    void concurrentMovesKeepOneToManySidesConsistent() throws Exception {
+        ConcurrentOneToManyLinker linker = new ConcurrentOneToManyLinker(new StripedLocks(4));
+        List<Parent> parents = List.of(new Parent(), new Parent(), new Parent());
+        List<Child> children = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            children.add(new Child());
+        }
+
+        run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Parent parent = parents.get(random.nextInt(parents.size()));
+            Child child = children.get(random.nextInt(children.size()));
+            if (random.nextInt(4) == 0) {
+                Parent current = child.getParent();
+                try (StripedLocks.Guard guard = linker.getLocks().lock(current, child)) {
+                    if (current != null && child.getParent() == current) {
+                        linker.unlink(current, child, Parent::removeChild, Child::setParent);
+                    }
+                }
+            } else {
+                linker.link(parent, child, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+            }
+        });
+
+        assertConsistent(parents, children);
+    }
+
+    @Test
+    void concurrentMovesKeepManyToOneSidesConsistent() throws Exception {
+        ConcurrentManyToOneLinker linker = new ConcurrentManyToOneLinker();
+        List<Parent> parents = List.of(new Parent(), new Parent(), new Parent());
+        List<Child> children = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            children.add(new Child());
+        }
+
+        run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Child child = children.get(random.nextInt(children.size()));
+            if (random.nextInt(4) == 0) {
+                linker.unlink(child, Child::getParent, Parent::removeChild, Child::setParent);
+            } else {
+                linker.link(child, parents.get(random.nextInt(parents.size())), Parent::addChild, Parent::removeChild,
+                        Child::getParent, Child::setParent);
+            }
+        });
+
+        assertConsistent(parents, children);
+    }
+
+    @Test
+    void concurrentLinksKeepManyToManySidesConsistent() throws Exception {
+        ConcurrentManyToManyLinker linker = new ConcurrentManyToManyLinker();
+        List<Parent> parents = List.of(new Parent(), new Parent(), new Parent());
+        List<Child> children = List.of(new Child(), new Child(), new Child(), new Child());
+
+        run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Parent parent = parents.get(random.nextInt(parents.size()));
+            Child child = children.get(random.nextInt(children.size()));
+            if (random.nextBoolean()) {
+                linker.unlink(parent, child, Parent::removeChild, Child::removeParent);
+            } else if (!parent.getChildren().contains(child)) {
+                linker.link(parent, child, Parent::addChild, Child::addParent);
+            }
+        });
+
+        for (Parent parent : parents) {
+            for (Child child : children) {
+                int links = (int) parent.getChildren().stream().filter(linked -> linked == child).count();
+                assertTrue(links <= 1);
+                assertEquals(links, (int) child.getParents().stream().filter(linked -> linked == parent).count());
+            }
+        }
+    }
+
+    @Test
+    void concurrentSingularLinksLeaveOnePartner() throws Exception {
+        ConcurrentSingularLinker linker = new ConcurrentSingularLinker();
+        Partner one = new Partner();
+        List<Partner> candidates = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            candidates.add(new Partner());
+        }
+
+        run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextInt(4) == 0) {
+                linker.unlink(one, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+            } else {
+                linker.link(one, candidates.get(random.nextInt(candidates.size())), Partner::getPartner,
+                        Partner::setPartner, Partner::setPartner);
+            }
+        });
+
+        long linked = candidates.stream().filter(candidate -> candidate.getPartner() == one).count();
+        assertEquals(one.getPartner() == null ? 0 : 1, linked);
+        if (one.getPartner() != null) {
+            assertSame(one, one.getPartner().getPartner());
+        }
+    }
+
+    private static void assertConsistent(List<Parent> parents, List<Child> children) {
+        int linked = 0;
+        for (Parent parent : parents) {
+            for (Child child : parent.getChildren()) {
+                assertSame(parent, child.getParent());
+            }
+            linked += parent.getChildren().size();
+        }
+        assertEquals(children.stream().filter(child -> child.getParent() != null).count(), linked);
+    }
+
+    private static void run(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                tasks.add(() -> {
+                    for (int j = 0; j < OPERATIONS; j++) {
+                        operation.run();
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistogramTest {
+
+    @Test
+    void emptyHistogramReportsZeros() {
+        Histogram histogram = new Histogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < 32; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(15, histogram.getValueAtPercentile(50));
+        assertEquals(31, histogram.getValueAtPercentile(100));
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertEquals(15.5, histogram.getMean());
+    }
+
+    @Test
+    void largeValuesAreWithinOneSixteenth() {
+        for (long value : new long[]{33, 1_000, 123_456_789, 1L << 40, Long.MAX_VALUE / 3}) {
+            Histogram histogram = new Histogram();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE);
+
+            long reported = histogram.getValueAtPercentile(50);
+            assertTrue(reported >= value && reported - value <= value / 16, value + " reported as " + reported);
+        }
+    }
+
+    @Test
+    void percentilesAreCappedByTheMaximum() {
+        Histogram histogram = new Histogram();
+        histogram.record(1_000_001);
+
+        assertEquals(1_000_001, histogram.getValueAtPercentile(100));
+        assertEquals(1_000_001, histogram.getMax());
+    }
+
+    @Test
+    void negativeValuesAreRecordedAsZero() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void invalidPercentilesAreRejected() {
+        Histogram histogram = new Histogram();
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(100.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(Double.NaN));
+    }
+
+    @Test
+    void resetForgetsEverything() {
+        Histogram histogram = new Histogram();
+        histogram.record(42);
+        histogram.record(1 << 20);
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    void concurrentRecordingsAreAllCounted() throws InterruptedException {
+        Histogram histogram = new Histogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(4L * 10_000 * 10_001 / 2, histogram.getSum());
+        assertEquals(10_000, histogram.getMax());
+        assertEquals(10_000, histogram.getValueAtPercentile(100));
+    }
+}
@@ -0,0 +1,224 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Parent;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Partner;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RelationshipChangeSetTest {
+    private static final Function<Parent, Collection<Child>> CHILDREN = Parent::getChildren;
+    private static final BiConsumer<Parent, Child> ADD_CHILD = Parent::addChild;
+    private static final BiConsumer<Parent, Child> REMOVE_CHILD = Parent::removeChild;
+    private static final BiConsumer<Child, Parent> ADD_PARENT = Child::addParent;
+    private static final BiConsumer<Child, Parent> REMOVE_PARENT = Child::removeParent;
+    private static final BiConsumer<Child, Parent> SET_PARENT = Child::setParent;
+    private static final Function<Partner, Partner> GET_PARTNER = Partner::getPartner;
+    private static final BiConsumer<Partner, Partner> SET_PARTNER = Partner::setPartner;
+
+    @Test
+    void commitAppliesEveryOperation() {
+        Parent first = new Parent();
+        Parent second = new Parent();
+        Child child = new Child();
+
+        new RelationshipChangeSet()
+                .linkOneToMany(first, child, ADD_CHILD, REMOVE_CHILD, Child::getParent, SET_PARENT)
+                .linkManyToMany(second, child, CHILDREN, ADD_CHILD, ADD_PARENT, REMOVE_CHILD, REMOVE_PARENT)
+                .commit();
+
+        assertSame(first, child.getParent());
+        assertEquals(List.of(child), first.getChildren());
+        assertEquals(List.of(child), second.getChildren());
+        assertEquals(List.of(second), child.getParents());
+    }
+
+    @Test
+    void linkingAnAlreadyLinkedManyToManyPairIsANoOp() {
+        Parent parent = new Parent();
+        Child child = new Child();
+        BidirectionalHelper.linkManyToMany(parent, child, ADD_CHILD, ADD_PARENT);
+
+        new RelationshipChangeSet()
+                .linkManyToMany(parent, child, CHILDREN, ADD_CHILD, ADD_PARENT, REMOVE_CHILD, REMOVE_PARENT)
+                .commit();
+
+        assertEquals(List.of(child), parent.getChildren());
+        assertEquals(List.of(parent), child.getParents());
+    }
+
+    @Test
+    void rollbackDoesNotDuplicateAlreadyLinkedManyToManyPairs() {
+        Parent parent = new Parent();
+        Child child = new Child();
+        Child other = new Child();
+        BidirectionalHelper.linkManyToMany(parent, child, ADD_CHILD, ADD_PARENT);
+
+        RelationshipChangeSet changes = new RelationshipChangeSet()
+                .linkManyToMany(parent, child, CHILDREN, ADD_CHILD, ADD_PARENT, REMOVE_CHILD, REMOVE_PARENT)
+                .unlinkManyToMany(parent, other, CHILDREN, ADD_CHILD, ADD_PARENT, REMOVE_CHILD, REMOVE_PARENT)
+                .linkOneToMany(parent, other, ADD_CHILD, REMOVE_CHILD, Child::getParent, RelationshipChangeSetTest::fail);
+
+        assertThrows(IllegalStateException.class, changes::commit);
+        assertEquals(List.of(child), parent.getChildren());
+        assertEquals(List.of(parent), child.getParents());
+        assertEquals(List.of(), other.getParents());
+    }
+
+    @Test
+    void rollbackRestoresOwnersAndManyToManyLinks() {
+        Parent previous = new Parent();
+        Parent next = new Parent();
+        Child moved = new Child();
+        Child linked = new Child();
+        BidirectionalHelper.linkOneToMany(previous, moved, ADD_CHILD, REMOVE_CHILD, Child::getParent, SET_PARENT);
+        BidirectionalHelper.linkManyToMany(previous, linked, ADD_CHILD, ADD_PARENT);
+
+        RelationshipChangeSet changes = new RelationshipChangeSet()
+                .linkOneToMany(next, moved, ADD_CHILD, REMOVE_CHILD, Child::getParent, SET_PARENT)
+                .unlinkManyToMany(previous, linked, CHILDREN, ADD_CHILD, ADD_PARENT, REMOVE_CHILD, REMOVE_PARENT)
+                .linkManyToMany(next, linked, CHILDREN, ADD_CHILD, (child, parent) -> {
+                    throw new IllegalStateException("rejected");
+                }, REMOVE_CHILD, REMOVE_PARENT);
+
+        assertThrows(IllegalStateException.class, changes::commit);
+        assertSame(previous, moved.getParent());
+        assertEquals(Set.of(moved, linked), Set.copyOf(previous.getChildren()));
+        assertEquals(2, previous.getChildren().size());
+        assertEquals(List.of(previous), linked.getParents());
+        assertEquals(List.of(), next.getChildren());
+    }
+
+    @Test
+    void linkFollowedByUnlinkDetachesTheChild() {
+        Parent previous = new Parent();
+        Parent next = new Parent();
+        Child child = new Child();
+        BidirectionalHelper.linkOneToMany(previous, child, ADD_CHILD, REMOVE_CHILD, Child::getParent, SET_PARENT);
+
+        new RelationshipChangeSet()
+                .linkOneToMany(next, child, ADD_CHILD, REMOVE_CHILD, Child::getParent, SET_PARENT)
+                .unlinkOneToMany(next, child, ADD_CHILD, REMOVE_CHILD, Child::getParent, SET_PARENT)
+                .commit();
+
+        assertNull(child.getParent());
+        assertEquals(List.of(), previous.getChildren());
+        assertEquals(List.of(), next.getChildren());
+    }
+
+    @Test
+    void rollbackRestoresSingularLinks() {
+        Partner one = new Partner();
+        Partner previous = new Partner();
+        Partner next = new Partner();
+        BidirectionalHelper.linkSingular(one, previous, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+
+        RelationshipChangeSet changes = new RelationshipChangeSet()
+                .linkSingular(one, next, Partner::getPartner, Partner::getPartner, Partner::setPartner, Partner::setPartner)
+                .linkOneToMany(new Parent(), new Child(), ADD_CHILD, REMOVE_CHILD, Child::getParent,
+                        RelationshipChangeSetTest::fail);
+
+        assertThrows(IllegalStateException.class, changes::commit);
+        assertSame(previous, one.getPartner());
+        assertSame(one, previous.getPartner());
+        assertNull(next.getPartner());
+    }
+
+    @Test
+    void rollbackPublishesTheCompensatingEvents() throws InterruptedException {
+        Partner one = new Partner();
+        Partner previous = new Partner();
+        Partner next = new Partner();
+        Parent parent = new Parent();
+        Child child = new Child();
+        BidirectionalHelper.linkSingular(one, previous, GET_PARTNER, SET_PARTNER, SET_PARTNER);
+
+        List<RelationshipEvent> received = new CopyOnWriteArrayList<>();
+        try (RelationshipEventBus bus = new RelationshipEventBus()) {
+            bus.subscribe(received::addAll);
+            BidirectionalHelper.setEventBus(bus);
+            try {
+                RelationshipChangeSet changes = new RelationshipChangeSet()
+                        .linkSingular(one, next, GET_PARTNER, GET_PARTNER, SET_PARTNER, SET_PARTNER)
+                        .linkOneToMany(parent, child, ADD_CHILD, REMOVE_CHILD, Child::getParent, SET_PARENT)
+                        .linkOneToMany(new Parent(), new Child(), ADD_CHILD, REMOVE_CHILD, Child::getParent,
+                                RelationshipChangeSetTest::fail);
+
+                assertThrows(IllegalStateException.class, changes::commit);
+                bus.flush();
+            } finally {
+                BidirectionalHelper.setEventBus(null);
+            }
+        }
+
+        List<String> events = received.stream()
+                .filter(event -> event.getEntityOne() == one || event.getEntityTwo() == child)
+                .map(event -> event.getType() + " " + event.getEntityTwo())
+                .toList();
+        assertEquals(List.of("UNLINK " + previous, "LINK " + next, "LINK " + child, "UNLINK " + child,
+                "UNLINK " + next, "LINK " + previous), events);
+        assertSame(previous, one.getPartner());
+        assertNull(child.getParent());
+        assertEquals(List.of(), parent.getChildren());
+    }
+
+    @Test
+    void singularRepeatIsKeptWhenAnotherOperationChangedItsPartner() {
+        Partner first = new Partner();
+        Partner second = new Partner();
+        Partner shared = new Partner();
+
+        RelationshipChangeSet changes = new RelationshipChangeSet()
+                .linkSingular(first, shared, GET_PARTNER, GET_PARTNER, SET_PARTNER, SET_PARTNER)
+                .linkSingular(second, shared, GET_PARTNER, GET_PARTNER, SET_PARTNER, SET_PARTNER)
+                .linkSingular(first, shared, GET_PARTNER, GET_PARTNER, SET_PARTNER, SET_PARTNER);
+        assertEquals(3, changes.size());
+        changes.commit();
+
+        assertSame(first, shared.getPartner());
+        assertSame(shared, first.getPartner());
+    }
+
+    @Test
+    void consecutiveSingularRepeatIsDropped() {
+        Partner first = new Partner();
+        Partner second = new Partner();
+
+        RelationshipChangeSet changes = new RelationshipChangeSet()
+                .linkSingular(first, second, GET_PARTNER, GET_PARTNER, SET_PARTNER, SET_PARTNER)
+                .linkSingular(first, second, GET_PARTNER, GET_PARTNER, SET_PARTNER, SET_PARTNER);
+        assertEquals(1, changes.size());
+        changes.commit();
+
+        assertSame(first, second.getPartner());
+        assertSame(second, first.getPartner());
+    }
+
+    @Test
+    void discardDropsPendingOperations() {
+        Parent parent = new Parent();
+        Child child = new Child();
+        RelationshipChangeSet changes = new RelationshipChangeSet()
+                .linkOneToMany(parent, child, ADD_CHILD, REMOVE_CHILD, Child::getParent, SET_PARENT);
+
+        changes.discard();
+        changes.commit();
+
+        assertNull(child.getParent());
+    }
+
+    private static void fail(Child child, Parent parent) {
+        throw new IllegalStateException("rejected");
+    }
+}
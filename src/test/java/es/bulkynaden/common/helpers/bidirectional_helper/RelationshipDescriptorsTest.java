@@ -0,0 +1,94 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Parent;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Partner;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RelationshipDescriptorsTest {
+    private static final OneToManyRelationship<Parent, Child> CHILDREN =
+            new OneToManyRelationship<>(Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+    private static final ManyToManyRelationship<Parent, Child> MEMBERS = new ManyToManyRelationship<>(
+            Parent::getChildren, Parent::addChild, Child::addParent, Parent::removeChild, Child::removeParent);
+    private static final SingularRelationship<Partner, Partner> PARTNERS = new SingularRelationship<>(
+            Partner::getPartner, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+
+    @Test
+    void oneToManyLinksMovesAndUnlinksOnlyTheCurrentOwner() {
+        Parent previous = new Parent();
+        Parent next = new Parent();
+        Child child = new Child();
+
+        CHILDREN.link(previous, child);
+        CHILDREN.link(next, child);
+        CHILDREN.unlink(previous, child);
+
+        assertSame(next, child.getParent());
+        assertEquals(List.of(), previous.getChildren());
+        assertEquals(List.of(child), next.getChildren());
+
+        CHILDREN.unlink(next, child);
+        assertNull(child.getParent());
+        assertEquals(List.of(), next.getChildren());
+    }
+
+    @Test
+    void inverseDescribesTheSameRelationship() {
+        ManyToOneRelationship<Child, Parent> parent = CHILDREN.inverse();
+        Parent owner = new Parent();
+        Child child = new Child();
+
+        parent.link(child, owner);
+        assertEquals(List.of(child), owner.getChildren());
+
+        parent.unlink(child, new Parent());
+        assertSame(owner, child.getParent());
+
+        parent.unlink(child);
+        assertNull(child.getParent());
+        assertEquals(CHILDREN, parent.inverse());
+    }
+
+    @Test
+    void manyToManyLinksBothSides() {
+        Parent parent = new Parent();
+        Child child = new Child();
+
+        MEMBERS.link(parent, child);
+        assertTrue(MEMBERS.isLinked(parent, child));
+        assertEquals(List.of(parent), child.getParents());
+
+        MEMBERS.unlink(parent, child);
+        assertFalse(MEMBERS.isLinked(parent, child));
+        assertEquals(List.of(), child.getParents());
+    }
+
+    @Test
+    void singularUnlinksOnlyTheCurrentPartner() {
+        Partner one = new Partner();
+        Partner two = new Partner();
+
+        PARTNERS.link(one, two);
+        PARTNERS.unlink(one, new Partner());
+        assertSame(two, one.getPartner());
+
+        PARTNERS.unlink(one, two);
+        assertNull(one.getPartner());
+        assertNull(two.getPartner());
+    }
+
+    @Test
+    void descriptorsRejectNullFunctions() {
+        assertThrows(NullPointerException.class,
+                () -> new OneToManyRelationship<Parent, Child>(null, Parent::removeChild, Child::getParent, Child::setParent));
+    }
+}
@@ -0,0 +1,233 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Parent;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Partner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RelationshipEventBusTest {
+
+    @Test
+    void deliversEveryEventInPublicationOrder() throws InterruptedException {
+        List<RelationshipEvent> received = new CopyOnWriteArrayList<>();
+        try (RelationshipEventBus bus = new RelationshipEventBus(16, 4, RelationshipEventBus.OverflowPolicy.BLOCK)) {
+            bus.subscribe(received::addAll);
+            List<RelationshipEvent> published = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                RelationshipEvent event = new RelationshipEvent(RelationshipEvent.Type.LINK,
+                        RelationshipEvent.Kind.MANY_TO_MANY, i, -i);
+                published.add(event);
+                assertTrue(bus.publish(event));
+            }
+
+            bus.flush();
+
+            assertEquals(published, received);
+            assertEquals(100, bus.getDeliveredCount());
+            assertEquals(100, bus.getPublishedCount());
+        }
+    }
+
+    @Test
+    void failingListenersDoNotStopTheDelivery() throws InterruptedException {
+        List<Throwable> reported = new CopyOnWriteArrayList<>();
+        List<RelationshipEvent> received = new CopyOnWriteArrayList<>();
+        Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, failure) -> reported.add(failure));
+        try (RelationshipEventBus bus = new RelationshipEventBus(16, 1, RelationshipEventBus.OverflowPolicy.BLOCK)) {
+            bus.subscribe(events -> {
+                throw new AssertionError("listener failure");
+            });
+            bus.subscribe(received::addAll);
+
+            bus.publish(link(1));
+            bus.publish(link(2));
+            bus.flush();
+
+            assertEquals(2, received.size());
+            assertEquals(2, reported.size());
+            assertTrue(reported.get(0) instanceof AssertionError);
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(handler);
+        }
+    }
+
+    @Test
+    void dropPolicyCountsEventsPublishedWhileFull() throws InterruptedException {
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (RelationshipEventBus bus = new RelationshipEventBus(2, 1, RelationshipEventBus.OverflowPolicy.DROP)) {
+            bus.subscribe(events -> {
+                delivering.countDown();
+                awaitUninterruptibly(release);
+            });
+
+            bus.publish(link(0));
+            assertTrue(delivering.await(5, TimeUnit.SECONDS));
+            assertTrue(bus.publish(link(1)));
+            assertTrue(bus.publish(link(2)));
+            assertFalse(bus.publish(link(3)));
+            assertEquals(1, bus.getDroppedCount());
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    void closeRestoresTheInterruptStatus() throws InterruptedException {
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RelationshipEventBus bus = new RelationshipEventBus(4, 1, RelationshipEventBus.OverflowPolicy.BLOCK);
+        bus.subscribe(events -> {
+            delivering.countDown();
+            awaitUninterruptibly(release);
+        });
+        bus.publish(link(0));
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+
+        Thread.currentThread().interrupt();
+        bus.close();
+
+        assertTrue(Thread.interrupted());
+        assertFalse(bus.publish(link(1)));
+        release.countDown();
+        bus.close();
+        assertEquals(1, bus.getDeliveredCount());
+    }
+
+    @Test
+    void oneToManyUnlinkPublishesOnlyActualChanges() throws InterruptedException {
+        List<RelationshipEvent> received = new CopyOnWriteArrayList<>();
+        OneToManyLinker linker = new OneToManyLinker();
+        Parent parent = new Parent();
+        Parent other = new Parent();
+        Child child = new Child();
+        try (RelationshipEventBus bus = new RelationshipEventBus()) {
+            bus.subscribe(received::addAll);
+            linker.setEventBus(bus);
+
+            linker.link(parent, child, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+            linker.unlink(other, child, Parent::removeChild, Child::getParent, Child::setParent);
+            linker.unlinkAll(other, List.of(child), Parent::removeChildren, Child::getParent, Child::setParent);
+            linker.unlink(parent, child, Parent::removeChild, Child::getParent, Child::setParent);
+            linker.unlink(parent, child, Parent::removeChild, Child::getParent, Child::setParent);
+            bus.flush();
+        }
+
+        assertEquals(List.of(RelationshipEvent.Type.LINK, RelationshipEvent.Type.UNLINK),
+                received.stream().map(RelationshipEvent::getType).toList());
+        assertEquals(List.of(), parent.getChildren());
+    }
+
+    @Test
+    void relinkingLinkedEntitiesPublishesNothing() throws InterruptedException {
+        List<RelationshipEvent> received = new CopyOnWriteArrayList<>();
+        SingularLinker singular = new SingularLinker();
+        OneToManyLinker oneToMany = new OneToManyLinker();
+        ManyToOneLinker manyToOne = new ManyToOneLinker();
+        Partner one = new Partner();
+        Partner two = new Partner();
+        Parent parent = new Parent();
+        Child first = new Child();
+        Child second = new Child();
+        try (RelationshipEventBus bus = new RelationshipEventBus()) {
+            bus.subscribe(received::addAll);
+            singular.setEventBus(bus);
+            oneToMany.setEventBus(bus);
+            manyToOne.setEventBus(bus);
+
+            singular.link(one, two, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+            singular.link(one, two, Partner::getPartner, Partner::setPartner, Partner::setPartner);
+            oneToMany.link(parent, first, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+            oneToMany.link(parent, first, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+            oneToMany.linkAll(parent, List.of(first, second, second), Parent::addChildren, Parent::removeChildren,
+                    Child::getParent, Child::setParent);
+            manyToOne.link(first, parent, Parent::addChild, Parent::removeChild, Child::getParent, Child::setParent);
+            manyToOne.linkAll(List.of(first, second), parent, Parent::addChildren, Parent::removeChildren,
+                    Child::getParent, Child::setParent);
+            bus.flush();
+        }
+
+        assertEquals(List.of("LINK SINGULAR", "LINK ONE_TO_MANY", "LINK ONE_TO_MANY"), describe(received));
+        assertSame(second, received.get(2).getEntityTwo());
+    }
+
+    @Test
+    void uncheckedOneToManyUnlinkPublishesEveryRequestedUnlink() throws InterruptedException {
+        List<RelationshipEvent> received = new CopyOnWriteArrayList<>();
+        OneToManyLinker linker = new OneToManyLinker();
+        Parent parent = new Parent();
+        Child first = new Child();
+        Child second = new Child();
+        try (RelationshipEventBus bus = new RelationshipEventBus()) {
+            bus.subscribe(received::addAll);
+            linker.setEventBus(bus);
+
+            linker.unlink(parent, first, Parent::removeChild, Child::setParent);
+            linker.unlinkAll(parent, List.of(first, second), Parent::removeChildren, Child::setParent);
+            bus.flush();
+        }
+
+        assertEquals(List.of("UNLINK ONE_TO_MANY", "UNLINK ONE_TO_MANY", "UNLINK ONE_TO_MANY"), describe(received));
+    }
+
+    @Test
+    void checkedManyToManyOperationsPublishOnlyActualChanges() throws InterruptedException {
+        List<RelationshipEvent> received = new CopyOnWriteArrayList<>();
+        ManyToManyLinker linker = new ManyToManyLinker();
+        Parent first = new Parent();
+        Parent second = new Parent();
+        Child linked = new Child();
+        Child unlinked = new Child();
+        try (RelationshipEventBus bus = new RelationshipEventBus()) {
+            linker.link(first, linked, Parent::getChildren, Parent::addChild, Child::addParent);
+            bus.subscribe(received::addAll);
+            linker.setEventBus(bus);
+
+            linker.link(first, linked, Parent::getChildren, Parent::addChild, Child::addParent);
+            linker.unlink(first, unlinked, Parent::getChildren, Parent::removeChild, Child::removeParent);
+            linker.linkAll(List.of(first, second), List.of(linked, unlinked), Parent::getChildren,
+                    Parent::addChildren, Child::addParents);
+            linker.unlinkAll(List.of(second), List.of(linked, linked), Parent::getChildren,
+                    Parent::removeChildren, Child::removeParents);
+            bus.flush();
+        }
+
+        assertEquals(List.of("LINK MANY_TO_MANY", "LINK MANY_TO_MANY", "LINK MANY_TO_MANY", "UNLINK MANY_TO_MANY"),
+                describe(received));
+        assertEquals(List.of(linked, unlinked), first.getChildren());
+        assertEquals(List.of(unlinked), second.getChildren());
+        assertEquals(List.of(first), linked.getParents());
+        assertEquals(List.of(first, second), unlinked.getParents());
+    }
+
+    private static List<String> describe(List<RelationshipEvent> events) {
+        return events.stream().map(event -> event.getType() + " " + event.getKind()).toList();
+    }
+
+    private static RelationshipEvent link(int value) {
+        return new RelationshipEvent(RelationshipEvent.Type.LINK, RelationshipEvent.Kind.SINGULAR, value, value);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // Keep waiting until the test releases the listener.
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Parent;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Partner;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RelationshipMetricsTest {
+
+    @Test
+    void recordsCallsPerKindAndOperation() {
+        RelationshipMetrics metrics = new RelationshipMetrics();
+
+        metrics.record(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.LINK_ALL, System.nanoTime(), 3);
+        metrics.record(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.LINK_ALL, System.nanoTime(), 5);
+        metrics.record(RelationshipEvent.Kind.SINGULAR, RelationshipMetrics.Operation.UNLINK, System.nanoTime(), 1);
+
+        OperationMetrics linkAll = metrics.get(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.LINK_ALL);
+        assertEquals(RelationshipEvent.Kind.ONE_TO_MANY, linkAll.getKind());
+        assertEquals(RelationshipMetrics.Operation.LINK_ALL, linkAll.getOperation());
+        assertEquals(2, linkAll.getCount());
+        assertEquals(8, linkAll.getLinks().getSum());
+        assertEquals(0, metrics.get(RelationshipEvent.Kind.SINGULAR, RelationshipMetrics.Operation.LINK).getCount());
+    }
+
+    @Test
+    void getAllListsOnlyCalledOperationsInOrder() {
+        RelationshipMetrics metrics = new RelationshipMetrics();
+        metrics.record(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.UNLINK, System.nanoTime(), 1);
+        metrics.record(RelationshipEvent.Kind.SINGULAR, RelationshipMetrics.Operation.LINK, System.nanoTime(), 1);
+
+        List<OperationMetrics> all = metrics.getAll();
+
+        assertEquals(2, all.size());
+        assertSame(metrics.get(RelationshipEvent.Kind.SINGULAR, RelationshipMetrics.Operation.LINK), all.get(0));
+        assertSame(metrics.get(RelationshipEvent.Kind.ONE_TO_MANY, RelationshipMetrics.Operation.UNLINK), all.get(1));
+    }
+
+    @Test
+    void scrapeRendersPrometheusSamples() {
+        RelationshipMetrics metrics = new RelationshipMetrics();
+        metrics.record(RelationshipEvent.Kind.MANY_TO_MANY, RelationshipMetrics.Operation.LINK, System.nanoTime(), 1);
+
+        String text = metrics.scrape();
+
+        String labels = "{kind=\"many_to_many\",operation=\"link\"";
+        assertTrue(text.contains("# TYPE bidirectional_operations_total counter\n"), text);
+        assertTrue(text.contains("# TYPE bidirectional_operation_latency_nanos summary\n"), text);
+        assertTrue(text.contains("bidirectional_operations_total" + labels + "} 1\n"), text);
+        assertTrue(text.contains("bidirectional_operation_latency_nanos" + labels + ",quantile=\"0.99\"} "), text);
+        assertTrue(text.contains("bidirectional_operation_latency_nanos_sum" + labels + "} "), text);
+        assertTrue(text.contains("bidirectional_operation_latency_nanos_count" + labels + "} 1\n"), text);
+        assertTrue(text.contains("bidirectional_operation_latency_nanos_max" + labels + "} "), text);
+        assertTrue(text.contains("bidirectional_operation_links_total" + labels + "} 1\n"), text);
+        assertEquals(17, text.lines().count());
+    }
+
+    @Test
+    void linkersReturnOnlyTheLinksTheyChanged() {
+        SingularLinker singular = new SingularLinker();
+        OneToManyLinker oneToMany = new OneToManyLinker();
+        ManyToManyLinker manyToMany = new ManyToManyLinker();
+        Partner one = new Partner();
+        Partner two = new Partner();
+        Parent parent = new Parent();
+        Child first = new Child();
+        Child second = new Child();
+
+        assertEquals(1, singular.link(one, two, Partner::getPartner, Partner::setPartner, Partner::setPartner));
+        assertEquals(0, singular.link(one, two, Partner::getPartner, Partner::setPartner, Partner::setPartner));
+        assertEquals(1, oneToMany.link(parent, first, Parent::addChild, Parent::removeChild, Child::getParent,
+                Child::setParent));
+        assertEquals(1, oneToMany.linkAll(parent, List.of(first, second, second), Parent::addChildren,
+                Parent::removeChildren, Child::getParent, Child::setParent));
+        assertEquals(0, oneToMany.unlink(new Parent(), first, Parent::removeChild, Child::getParent,
+                Child::setParent));
+        assertEquals(1, manyToMany.linkAll(List.of(first), List.of(parent), Child::getParents, Child::addParents,
+                Parent::addChildren));
+        assertEquals(0, manyToMany.linkAll(List.of(first), List.of(parent), Child::getParents, Child::addParents,
+                Parent::addChildren));
+    }
+
+    @Test
+    void resetForgetsEveryCall() {
+        RelationshipMetrics metrics = new RelationshipMetrics();
+        metrics.record(RelationshipEvent.Kind.MANY_TO_ONE, RelationshipMetrics.Operation.UNLINK_ALL, System.nanoTime(), 4);
+
+        metrics.reset();
+
+        assertEquals(List.of(), metrics.getAll());
+        assertEquals("", metrics.scrape());
+    }
+}
@@ -0,0 +1,112 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Child;
+import es.bulkynaden.common.helpers.bidirectional_helper.TestEntities.Parent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RelationshipRegistryTest {
+
+    @Test
+    void childrenViewFollowsChangesFromAndBackToEmpty() {
+        RelationshipRegistry<Parent, Child> registry = new RelationshipRegistry<>();
+        Parent parent = new Parent();
+        Child first = new Child();
+        Child second = new Child();
+        Set<Child> children = registry.getChildren(parent);
+
+        registry.add(parent, first);
+        assertEquals(Set.of(first), children);
+
+        registry.remove(parent, first);
+        assertTrue(children.isEmpty());
+        assertEquals(0, registry.getOwnerCount());
+
+        registry.add(parent, second);
+        assertEquals(Set.of(second), children);
+        assertTrue(children.contains(second));
+        assertFalse(children.contains(first));
+        assertThrows(UnsupportedOperationException.class, () -> children.remove(second));
+        assertThrows(UnsupportedOperationException.class, () -> children.iterator().remove());
+    }
+
+    @Test
+    void addingMovesTheChildBetweenOwners() {
+        RelationshipRegistry<Parent, Child> registry = new RelationshipRegistry<>();
+        Parent previous = new Parent();
+        Parent next = new Parent();
+        Child child = new Child();
+
+        registry.add(previous, child);
+        registry.add(next, child);
+        registry.remove(previous, child);
+
+        assertSame(next, registry.getOwner(child));
+        assertTrue(registry.contains(next, child));
+        assertEquals(0, registry.getChildCount(previous));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void removeOwnerDetachesEveryChild() {
+        RelationshipRegistry<Parent, Child> registry = new RelationshipRegistry<>();
+        Parent parent = new Parent();
+        Child first = new Child();
+        Child second = new Child();
+        registry.add(parent, first);
+        registry.add(parent, second);
+        Set<Child> children = registry.getChildren(parent);
+
+        assertEquals(Set.of(first, second), registry.removeOwner(parent));
+        assertTrue(children.isEmpty());
+        assertNull(registry.getOwner(first));
+        assertEquals(0, registry.size());
+        assertTrue(registry.removeOwner(parent).isEmpty());
+    }
+
+    @Test
+    void trackingIndexesLinksMadeByTheLinkers() {
+        RelationshipRegistry<Parent, Child> registry = new RelationshipRegistry<>();
+        BiConsumer<Child, Parent> setParent = registry.tracking(Child::setParent);
+        Parent previous = new Parent();
+        Parent next = new Parent();
+        Child child = new Child();
+
+        BidirectionalHelper.linkOneToMany(previous, child, Parent::addChild, Parent::removeChild, Child::getParent, setParent);
+        BidirectionalHelper.linkOneToMany(next, child, Parent::addChild, Parent::removeChild, Child::getParent, setParent);
+
+        assertSame(next, registry.getOwner(child));
+        assertEquals(Set.of(child), registry.getChildren(next));
+        assertTrue(registry.getChildren(previous).isEmpty());
+
+        BidirectionalHelper.unlinkOneToMany(next, child, Parent::removeChild, setParent);
+        assertNull(registry.getOwner(child));
+        assertEquals(0, registry.getOwnerCount());
+    }
+
+    @Test
+    void registryCanStoreTheRelationshipItself() {
+        RelationshipRegistry<Parent, Child> registry = new RelationshipRegistry<>();
+        Parent parent = new Parent();
+        Child child = new Child();
+
+        BidirectionalHelper.linkOneToMany(parent, child, registry::add, registry::remove, registry::getOwner,
+                registry::setOwner);
+
+        assertEquals(Set.of(child), registry.getChildren(parent));
+        assertTrue(parent.getChildren().isEmpty());
+
+        registry.clear();
+        assertEquals(0, registry.size());
+        assertTrue(registry.getChildren(parent).isEmpty());
+    }
+}
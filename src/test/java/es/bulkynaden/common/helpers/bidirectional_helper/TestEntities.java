@@ -0,0 +1,87 @@
+package es.bulkynaden.common.helpers.bidirectional_helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Minimal entities wired together by the linker tests. Their collections are lists, so a relationship
+ * linked twice shows up as a duplicate, and they count the bulk calls made on them.
+ */
+final class TestEntities {
+    private TestEntities() {
+    }
+
+    static final class Parent {
+        final List<Child> children = new ArrayList<>();
+        int bulkAdds;
+        int bulkRemoves;
+
+        void addChild(Child child) {
+            children.add(child);
+        }
+
+        void removeChild(Child child) {
+            children.remove(child);
+        }
+
+        void addChildren(Collection<Child> batch) {
+            bulkAdds++;
+            children.addAll(batch);
+        }
+
+        void removeChildren(Collection<Child> batch) {
+            bulkRemoves++;
+            children.removeAll(batch);
+        }
+
+        List<Child> getChildren() {
+            return children;
+        }
+    }
+
+    static final class Child {
+        final List<Parent> parents = new ArrayList<>();
+        Parent parent;
+
+        Parent getParent() {
+            return parent;
+        }
+
+        void setParent(Parent parent) {
+            this.parent = parent;
+        }
+
+        void addParent(Parent parent) {
+            parents.add(parent);
+        }
+
+        void removeParent(Parent parent) {
+            parents.remove(parent);
+        }
+
+        void addParents(Collection<Parent> batch) {
+            parents.addAll(batch);
+        }
+
+        void removeParents(Collection<Parent> batch) {
+            parents.removeAll(batch);
+        }
+
+        List<Parent> getParents() {
+            return parents;
+        }
+    }
+
+    static final class Partner {
+        Partner partner;
+
+        Partner getPartner() {
+            return partner;
+        }
+
+        void setPartner(Partner partner) {
+            this.partner = partner;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package es.bulkynaden.common.password;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FailedAttemptCacheTest {
+    private static final String HASH = "$pbkdf2-sha256$i=1000$c2FsdA$aGFzaA";
+
+    @Test
+    void remembersFailedAttemptsExactly() {
+        FailedAttemptCache cache = new FailedAttemptCache();
+        cache.recordFailure("guess".toCharArray(), HASH);
+
+        assertTrue(cache.isKnownFailure("guess".toCharArray(), HASH));
+        assertFalse(cache.isKnownFailure("guess2".toCharArray(), HASH));
+        assertFalse(cache.isKnownFailure("guess".toCharArray(), HASH + "x"));
+    }
+
+    @Test
+    void throttlesAfterTheMaximumNumberOfFailures() {
+        FailedAttemptCache cache = new FailedAttemptCache(100, 3, 1, TimeUnit.HOURS);
+        cache.recordFailure("a".toCharArray(), HASH);
+        cache.recordFailure("b".toCharArray(), HASH);
+        assertFalse(cache.isThrottled(HASH));
+
+        cache.recordFailure("c".toCharArray(), HASH);
+        assertTrue(cache.isThrottled(HASH));
+
+        cache.clearFailures(HASH);
+        assertFalse(cache.isThrottled(HASH));
+        assertTrue(cache.isKnownFailure("a".toCharArray(), HASH));
+    }
+
+    @Test
+    void failuresExpire() throws InterruptedException {
+        FailedAttemptCache cache = new FailedAttemptCache(100, 1, 20, TimeUnit.MILLISECONDS);
+        cache.recordFailure("a".toCharArray(), HASH);
+        assertTrue(cache.isThrottled(HASH));
+
+        Thread.sleep(50);
+
+        assertFalse(cache.isThrottled(HASH));
+        assertFalse(cache.isKnownFailure("a".toCharArray(), HASH));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedAttempts() {
+        FailedAttemptCache cache = new FailedAttemptCache(2, 10, 1, TimeUnit.HOURS);
+        cache.recordFailure("a".toCharArray(), HASH);
+        cache.recordFailure("b".toCharArray(), HASH);
+        cache.recordFailure("c".toCharArray(), HASH);
+
+        assertFalse(cache.isKnownFailure("a".toCharArray(), HASH));
+        assertTrue(cache.isKnownFailure("c".toCharArray(), HASH));
+    }
+
+    @Test
+    void invalidLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new FailedAttemptCache(0, 1, 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new FailedAttemptCache(1, 1, 0, TimeUnit.SECONDS));
+    }
+}
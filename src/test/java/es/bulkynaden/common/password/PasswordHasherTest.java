@@ -0,0 +1,101 @@
+package es.bulkynaden.common.password;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+    private static final char[] PASSWORD = "correct horse".toCharArray();
+    private final PasswordHasher hasher = new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA256, 1_000, 16, 32);
+
+    @Test
+    void hashesVerifyOnlyTheirPassword() {
+        String encoded = hasher.hash(PASSWORD);
+
+        assertTrue(hasher.verify(PASSWORD, encoded));
+        assertFalse(hasher.verify("correct horse!".toCharArray(), encoded));
+        assertFalse(hasher.verify(PASSWORD, null));
+        assertEquals("correct horse", new String(PASSWORD));
+    }
+
+    @Test
+    void hashesAreSaltedAndSelfDescribing() {
+        String first = hasher.hash(PASSWORD);
+        String second = hasher.hash(PASSWORD);
+
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("$pbkdf2-sha256$i=1000$"), first);
+        PasswordHash parsed = PasswordHash.parse(first);
+        assertEquals(16, parsed.getSalt().length);
+        assertEquals(32, parsed.getHash().length);
+    }
+
+    @Test
+    void everyAlgorithmRoundTrips() {
+        for (PasswordHasher.Algorithm algorithm : PasswordHasher.Algorithm.values()) {
+            PasswordHasher other = new PasswordHasher(algorithm, 1_000, 16, 32);
+            String encoded = other.hash(PASSWORD);
+
+            assertTrue(hasher.verify(PASSWORD, encoded), algorithm.name());
+            assertEquals(algorithm, PasswordHasher.Algorithm.fromId(algorithm.getId()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> PasswordHasher.Algorithm.fromId("md5"));
+    }
+
+    @Test
+    void weakerHashesNeedRehash() {
+        assertFalse(hasher.needsRehash(hasher.hash(PASSWORD)));
+        assertTrue(hasher.needsRehash(new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA256, 999, 16, 32).hash(PASSWORD)));
+        assertTrue(hasher.needsRehash(new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA1, 1_000, 16, 32).hash(PASSWORD)));
+        assertTrue(hasher.needsRehash(new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA256, 1_000, 8, 32).hash(PASSWORD)));
+        assertTrue(hasher.needsRehash("plain text"));
+        assertTrue(hasher.needsRehash(null));
+    }
+
+    @Test
+    void malformedHashesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> hasher.verify(PASSWORD, "$pbkdf2-sha256$1000$c2FsdA$aGFzaA"));
+        assertThrows(IllegalArgumentException.class, () -> hasher.verify(PASSWORD, "$pbkdf2-sha256$i=x$c2FsdA$aGFzaA"));
+        assertThrows(IllegalArgumentException.class, () -> hasher.verify(PASSWORD, "$pbkdf2-sha256$i=0$c2FsdA$aGFzaA"));
+        assertThrows(IllegalArgumentException.class, () -> new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA256, 0, 16, 32));
+    }
+
+    @Test
+    void oversizedParametersAreRejected() {
+        String salt = "c2FsdA";
+        String hash = "aGFzaA";
+        String longKey = "A".repeat(88);
+
+        assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse("$pbkdf2-sha256$i=10000001$" + salt + "$" + hash));
+        assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse("$pbkdf2-sha256$i=1000$" + longKey + "$" + hash));
+        assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse("$pbkdf2-sha256$i=1000$" + salt + "$" + longKey));
+        assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse("$pbkdf2-sha256$i=1000$" + salt + "$" + "A".repeat(87)));
+        assertEquals(64, PasswordHash.parse("$pbkdf2-sha256$i=1000$" + salt + "$" + "A".repeat(86)).getKeyLength());
+        assertThrows(IllegalArgumentException.class,
+                () -> new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA256, PasswordHash.MAX_ITERATIONS + 1, 16, 32));
+    }
+
+    @Test
+    void parsedHashesReturnCopies() {
+        PasswordHash parsed = PasswordHash.parse(hasher.hash(PASSWORD));
+        String encoded = parsed.encode();
+
+        parsed.getSalt()[0]++;
+        parsed.getHash()[0]++;
+
+        assertEquals(encoded, parsed.encode());
+        assertTrue(hasher.verify(PASSWORD, encoded));
+    }
+
+    @Test
+    void constantTimeEqualsComparesLengthAndContent() {
+        assertTrue(PasswordHasher.constantTimeEquals(new byte[]{1, 2, 3}, new byte[]{1, 2, 3}));
+        assertFalse(PasswordHasher.constantTimeEquals(new byte[]{1, 2, 3}, new byte[]{1, 2, 4}));
+        assertFalse(PasswordHasher.constantTimeEquals(new byte[]{1, 2}, new byte[]{1, 2, 0}));
+        assertTrue(PasswordHasher.constantTimeEquals(new byte[0], new byte[0]));
+    }
+}
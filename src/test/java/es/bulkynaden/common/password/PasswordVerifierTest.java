@@ -0,0 +1,117 @@
+package es.bulkynaden.common.password;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordVerifierTest {
+    private static final char[] PASSWORD = "correct horse".toCharArray();
+    private final PasswordHasher hasher = new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA256, 1_000, 16, 32);
+    private final String encoded = hasher.hash(PASSWORD);
+
+    @Test
+    void verifiesCorrectAndWrongPasswords() {
+        try (PasswordVerifier verifier = new PasswordVerifier(hasher, new FailedAttemptCache(), 1, 4)) {
+            assertEquals(VerificationResult.VALID, verifier.verify(PASSWORD, encoded));
+            assertEquals(VerificationResult.INVALID, verifier.verify("wrong".toCharArray(), encoded));
+            assertEquals(VerificationResult.INVALID, verifier.verify(PASSWORD, null));
+            assertEquals(0, verifier.getPendingCount());
+        }
+    }
+
+    @Test
+    void knownFailuresAreRejectedWithoutHashing() {
+        FailedAttemptCache cache = new FailedAttemptCache();
+        try (PasswordVerifier verifier = new PasswordVerifier(hasher, cache, 1, 4)) {
+            verifier.verify("wrong".toCharArray(), encoded);
+
+            assertTrue(cache.isKnownFailure("wrong".toCharArray(), encoded));
+            assertEquals(VerificationResult.INVALID, verifier.verify("wrong".toCharArray(), encoded));
+        }
+    }
+
+    @Test
+    void throttledHashesStillLetTheCorrectPasswordThrough() {
+        FailedAttemptCache cache = new FailedAttemptCache(100, 2, 1, TimeUnit.HOURS);
+        try (PasswordVerifier verifier = new PasswordVerifier(hasher, cache, 1, 4)) {
+            assertEquals(VerificationResult.INVALID, verifier.verify("a".toCharArray(), encoded));
+            assertEquals(VerificationResult.THROTTLED, verifier.verify("b".toCharArray(), encoded));
+            assertEquals(VerificationResult.THROTTLED, verifier.verify("c".toCharArray(), encoded));
+            assertEquals(VerificationResult.THROTTLED, verifier.verify("a".toCharArray(), encoded));
+
+            assertEquals(VerificationResult.VALID, verifier.verify(PASSWORD, encoded));
+            assertFalse(cache.isThrottled(encoded));
+        }
+    }
+
+    @Test
+    void weakerHashesAreReportedForRehash() {
+        String weak = new PasswordHasher(PasswordHasher.Algorithm.PBKDF2_SHA1, 1_000, 16, 32).hash(PASSWORD);
+        try (PasswordVerifier verifier = new PasswordVerifier(hasher, new FailedAttemptCache(), 1, 4)) {
+            assertEquals(VerificationResult.VALID_NEEDS_REHASH, verifier.verify(PASSWORD, weak));
+        }
+    }
+
+    @Test
+    void ownPoolRunsDerivationsAndStopsOnClose() throws Exception {
+        PasswordVerifier verifier = new PasswordVerifier(hasher, new FailedAttemptCache(), 2, 8);
+        char[] password = PASSWORD.clone();
+
+        CompletableFuture<VerificationResult> result = verifier.verifyAsync(password, encoded);
+        password[0] = 'X';
+
+        assertEquals(VerificationResult.VALID, result.get(10, TimeUnit.SECONDS));
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().startsWith("password-verifier-") && thread.isDaemon()));
+
+        verifier.close();
+        assertEquals(VerificationResult.OVERLOADED, verifier.verifyAsync(PASSWORD, encoded).get());
+        assertEquals(0, verifier.getPendingCount());
+    }
+
+    @Test
+    void pendingVerificationsAreBounded() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        PasswordVerifier verifier = new PasswordVerifier(hasher, new FailedAttemptCache(), queued::add, 1, 2);
+
+        CompletableFuture<VerificationResult> first = verifier.verifyAsync(PASSWORD, encoded);
+        CompletableFuture<VerificationResult> second = verifier.verifyAsync(PASSWORD, encoded);
+
+        assertEquals(VerificationResult.OVERLOADED, verifier.verifyAsync(PASSWORD, encoded).get());
+        assertEquals(VerificationResult.OVERLOADED, verifier.verify(PASSWORD, encoded));
+        assertEquals(2, verifier.getPendingCount());
+
+        queued.forEach(Runnable::run);
+        assertEquals(VerificationResult.VALID, first.get());
+        assertEquals(VerificationResult.VALID, second.get());
+        assertEquals(0, verifier.getPendingCount());
+        verifier.close();
+    }
+
+    @Test
+    void interruptedVerificationThrowsAndKeepsTheInterruptStatus() {
+        try (PasswordVerifier verifier = new PasswordVerifier(hasher, new FailedAttemptCache(), 1, 4)) {
+            Thread.currentThread().interrupt();
+
+            assertThrows(IllegalStateException.class, () -> verifier.verify(PASSWORD, encoded));
+            assertTrue(Thread.interrupted());
+            assertEquals(0, verifier.getPendingCount());
+        }
+    }
+
+    @Test
+    void invalidLimitsAreRejected() {
+        FailedAttemptCache cache = new FailedAttemptCache();
+        assertThrows(IllegalArgumentException.class, () -> new PasswordVerifier(hasher, cache, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new PasswordVerifier(hasher, cache, 4, 2));
+        assertThrows(IllegalArgumentException.class, () -> new PasswordVerifier(hasher, cache, Runnable::run, 2, 1));
+    }
+}